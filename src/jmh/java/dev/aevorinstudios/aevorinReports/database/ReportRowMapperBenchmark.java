@@ -0,0 +1,142 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of mapping a page of reports, legacy and compact. Run with the
+ * gc profiler (the default in build.gradle) to compare allocation per page:
+ * {@code mapPage} only reads what a list needs, so UUIDs and times stay
+ * undecoded, while {@code mapPageAndDecode} reads every value.
+ * {@code selectAllBaseline} is the mapping this replaced, a {@code SELECT *}
+ * read by column name with every value decoded up front; it doesn't depend on
+ * {@code compact}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportRowMapperBenchmark {
+    private static final int ROWS = 1000;
+    private static final int PAGE = 28;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private Connection conn;
+    private PreparedStatement query;
+    private PreparedStatement selectAll;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE reports (id INTEGER PRIMARY KEY, reporter_uuid TEXT, reported_uuid TEXT, "
+                    + "reason TEXT, server_name TEXT, status TEXT, is_anonymous BOOLEAN, created_at TIMESTAMP, "
+                    + "updated_at TIMESTAMP, coordinates TEXT, world TEXT, reporter_name TEXT, reported_name TEXT, "
+                    + "cluster_size INTEGER, reporter_uuid_bin BLOB, reported_uuid_bin BLOB, created_at_ms BIGINT, "
+                    + "updated_at_ms BIGINT, evidence_data TEXT)");
+        }
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO reports VALUES "
+                + "(?, ?, ?, 'Cheating', 'lobby', 'PENDING', 0, ?, ?, '0, 64, 0', 'world', 'Reporter', 'Reported', 1, "
+                + "?, ?, ?, ?, NULL)")) {
+            long now = System.currentTimeMillis();
+            for (int id = 1; id <= ROWS; id++) {
+                UUID reporter = UUID.randomUUID();
+                UUID reported = UUID.randomUUID();
+                insert.setInt(1, id);
+                insert.setString(2, reporter.toString());
+                insert.setString(3, reported.toString());
+                insert.setTimestamp(4, new Timestamp(now - id));
+                insert.setTimestamp(5, new Timestamp(now));
+                insert.setBytes(6, StorageFormat.toBytes(reporter));
+                insert.setBytes(7, StorageFormat.toBytes(reported));
+                insert.setLong(8, now - id);
+                insert.setLong(9, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        query = conn.prepareStatement("SELECT " + ReportRowMapper.columns(null, false, compact)
+                + " FROM reports ORDER BY id DESC LIMIT " + PAGE);
+        selectAll = conn.prepareStatement("SELECT * FROM reports ORDER BY id DESC LIMIT " + PAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public void mapPage(Blackhole blackhole) throws SQLException {
+        ReportRowMapper mapper = new ReportRowMapper(false, compact);
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                Report report = mapper.map(rs);
+                blackhole.consume(report.getId());
+                blackhole.consume(report.getReportedPlayerName());
+                blackhole.consume(report.getStatus());
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapPageAndDecode(Blackhole blackhole) throws SQLException {
+        ReportRowMapper mapper = new ReportRowMapper(false, compact);
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                Report report = mapper.map(rs);
+                blackhole.consume(report.getReporterUuid());
+                blackhole.consume(report.getReportedUuid());
+                blackhole.consume(report.getCreatedAt());
+                blackhole.consume(report.getUpdatedAt());
+            }
+        }
+    }
+
+    @Benchmark
+    public void selectAllBaseline(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = selectAll.executeQuery()) {
+            while (rs.next()) {
+                Report report = Report.builder()
+                        .id(rs.getLong("id"))
+                        .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
+                        .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
+                        .reason(rs.getString("reason"))
+                        .serverName(rs.getString("server_name"))
+                        .status(Report.ReportStatus.valueOf(rs.getString("status")))
+                        .isAnonymous(rs.getBoolean("is_anonymous"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                        .evidenceData(rs.getString("evidence_data"))
+                        .coordinates(rs.getString("coordinates"))
+                        .world(rs.getString("world"))
+                        .reporterName(rs.getString("reporter_name"))
+                        .reportedPlayerName(rs.getString("reported_name"))
+                        .build();
+                blackhole.consume(report.getId());
+                blackhole.consume(report.getReportedPlayerName());
+                blackhole.consume(report.getStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package dev.aevorinstudios.aevorinReports.gui;
+
+import dev.aevorinstudios.aevorinReports.config.LanguageManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The static items set when a report list opens: cloned from the per-language
+ * templates, against building every item and its meta on each open as the menus
+ * did before. There is no server here, so the item factory is a stand-in that
+ * counts how many item metas are built and cloned; compare those counters with
+ * the number of operations to get the items built per open.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GuiTemplatesBenchmark {
+    private static long built;
+    private static long cloned;
+
+    private GuiTemplates templates;
+    private LanguageManager lang;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long metasBuilt;
+        public long metasCloned;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            metasBuilt = 0;
+            metasCloned = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(proxy(Server.class, (method, args) -> switch (method.getName()) {
+                case "getLogger" -> Logger.getLogger("GuiTemplatesBenchmark");
+                case "getName", "getVersion", "getBukkitVersion" -> "benchmark";
+                case "getItemFactory" -> itemFactory();
+                default -> null;
+            }));
+        }
+        File dataFolder = Files.createTempDirectory("aevorinreports-jmh").toFile();
+        YamlConfiguration config = new YamlConfiguration();
+        Plugin plugin = proxy(Plugin.class, (method, args) -> switch (method.getName()) {
+            case "getName" -> "AevorinReports";
+            case "getLogger" -> Logger.getLogger("AevorinReports");
+            case "getConfig" -> config;
+            case "getDataFolder" -> dataFolder;
+            case "getResource" -> GuiTemplatesBenchmark.class.getClassLoader().getResourceAsStream((String) args[0]);
+            default -> null;
+        });
+        templates = new GuiTemplates(plugin);
+        lang = LanguageManager.get(plugin);
+    }
+
+    @Benchmark
+    public void openFromTemplates(Counters counters, Blackhole blackhole) {
+        long builtBefore = built;
+        long clonedBefore = cloned;
+        for (MenuLoader.Item item : templates.get(lang).listLayout(true)) {
+            blackhole.consume(templates.toItemStack(item));
+        }
+        counters.metasBuilt += built - builtBefore;
+        counters.metasCloned += cloned - clonedBefore;
+    }
+
+    @Benchmark
+    public void openBuildingItems(Counters counters, Blackhole blackhole) {
+        long builtBefore = built;
+        long clonedBefore = cloned;
+        for (MenuLoader.Item item : templates.get(lang).listLayout(true)) {
+            // An equal item that isn't a template, so it is built from scratch
+            MenuLoader.Item copy = new MenuLoader.Item(item.slot(), item.material(), item.name(),
+                    List.copyOf(item.lore()), item.reportId(), item.glowing());
+            blackhole.consume(templates.toItemStack(copy));
+        }
+        counters.metasBuilt += built - builtBefore;
+        counters.metasCloned += cloned - clonedBefore;
+    }
+
+    private static ItemFactory itemFactory() {
+        return proxy(ItemFactory.class, (method, args) -> switch (method.getName()) {
+            case "getItemMeta" -> {
+                built++;
+                yield itemMeta();
+            }
+            case "isApplicable" -> true;
+            case "asMetaFor" -> args[0];
+            case "updateMaterial" -> args[1];
+            default -> null;
+        });
+    }
+
+    private static ItemMeta itemMeta() {
+        return proxy(ItemMeta.class, (method, args) -> {
+            if (method.getName().equals("clone")) {
+                cloned++;
+                return itemMeta();
+            }
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args);
+    }
+
+    // Answers identity for equals and hashCode, and false or zero for other primitive results
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName();
+                default:
+                    break;
+            }
+            Object result = handler.handle(method, args);
+            if (result == null && method.getReturnType().isPrimitive()) {
+                Class<?> returnType = method.getReturnType();
+                if (returnType == boolean.class) {
+                    return false;
+                }
+                if (returnType != void.class) {
+                    return returnType == long.class ? 0L : returnType == double.class ? 0.0
+                            : returnType == float.class ? 0f : 0;
+                }
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package dev.aevorinstudios.aevorinReports.reports;
+
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the chat history listeners add to every chat message and command, with
+ * players' rings already allocated. Players are proxies that only answer
+ * {@code getUniqueId()}, so the numbers include one proxy call per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatHistoryBenchmark {
+    @Param({"1", "100", "1000"})
+    private int players;
+
+    private ChatHistory history;
+    private AsyncPlayerChatEvent[] chats;
+    private PlayerCommandPreprocessEvent[] commands;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        Player[] online = new Player[players];
+        chats = new AsyncPlayerChatEvent[players];
+        commands = new PlayerCommandPreprocessEvent[players];
+        for (int i = 0; i < players; i++) {
+            online[i] = player(UUID.randomUUID());
+            chats[i] = new AsyncPlayerChatEvent(true, online[i], "did you see that, he flew over the wall", new HashSet<>());
+            commands[i] = new PlayerCommandPreprocessEvent(online[i], "/msg Steve meet me at spawn");
+        }
+        history = new ChatHistory(List.of(online), 50, new ConfigManager.Config.ReportsConfig.EvidenceConfig());
+    }
+
+    @Benchmark
+    public void chat() {
+        history.onPlayerChat(chats[next]);
+        next = (next + 1) % players;
+    }
+
+    @Benchmark
+    public void command() {
+        history.onPlayerCommand(commands[next]);
+        next = (next + 1) % players;
+    }
+
+    private static Player player(UUID uuid) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUniqueId" -> uuid;
+                    case "hashCode" -> uuid.hashCode();
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package dev.aevorinstudios.aevorinReports.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking a limit and of sweeping expired entries, with {@code players}
+ * entries still inside their interval. A sweep runs at most every 30 seconds, so
+ * its cost is spread over all the checks in between.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+    private static final RateLimiter.Limit COOLDOWN = RateLimiter.Limit.cooldown("report", TimeUnit.HOURS.toMillis(1));
+    private static final RateLimiter.Limit NO_COOLDOWN = RateLimiter.Limit.cooldown("free", 0);
+
+    @Param({"100", "10000"})
+    private int players;
+
+    private RateLimiter limiter;
+    private UUID[] uuids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new RateLimiter();
+        uuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+            limiter.record(uuids[i], COOLDOWN);
+        }
+    }
+
+    /** A player on cooldown trying again: the entry is kept */
+    @Benchmark
+    public long acquireDenied() {
+        return limiter.tryAcquire(nextPlayer(), COOLDOWN);
+    }
+
+    /** An action without a cooldown: the entry expires at once and is never stored */
+    @Benchmark
+    public long acquireExpired() {
+        return limiter.tryAcquire(nextPlayer(), NO_COOLDOWN);
+    }
+
+    /** One sweep over every entry, none of which has expired */
+    @Benchmark
+    public void sweep() {
+        limiter.removeExpired(System.currentTimeMillis());
+    }
+
+    private UUID nextPlayer() {
+        UUID uuid = uuids[next];
+        next = (next + 1) % players;
+        return uuid;
+    }
+}
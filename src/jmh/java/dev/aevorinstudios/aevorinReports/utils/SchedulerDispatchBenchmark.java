@@ -0,0 +1,86 @@
+package dev.aevorinstudios.aevorinReports.utils;
+
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cost of calling a Folia entity scheduler the way {@link SchedulerUtils} does,
+ * through method handles resolved once, against the reflective dispatch it
+ * replaced. The Folia API isn't available here, so stand-in classes with the
+ * same method shapes are called instead; only the dispatch is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SchedulerDispatchBenchmark {
+    private static final MethodHandle GET_SCHEDULER;
+    private static final MethodHandle RUN;
+    private static final Method GET_SCHEDULER_METHOD;
+    private static final Method RUN_METHOD;
+
+    static {
+        try {
+            GET_SCHEDULER_METHOD = FakeEntity.class.getMethod("getScheduler");
+            RUN_METHOD = FakeScheduler.class.getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+            // Erased the same way as SchedulerUtils.Folia#handle
+            GET_SCHEDULER = MethodHandles.publicLookup().unreflect(GET_SCHEDULER_METHOD)
+                    .asType(MethodType.methodType(Object.class, FakeEntity.class));
+            RUN = MethodHandles.publicLookup().unreflect(RUN_METHOD)
+                    .asType(MethodType.methodType(Object.class, Object.class, Plugin.class, Consumer.class, Runnable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public static class FakeEntity {
+        private final FakeScheduler scheduler = new FakeScheduler();
+
+        public FakeScheduler getScheduler() {
+            return scheduler;
+        }
+    }
+
+    public static class FakeScheduler {
+        private long runs;
+
+        public Object run(Plugin plugin, Consumer<?> task, Runnable retired) {
+            return ++runs;
+        }
+    }
+
+    private final FakeEntity entity = new FakeEntity();
+    private final Consumer<Object> task = ignored -> { };
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        Object scheduler = (Object) GET_SCHEDULER.invokeExact(entity);
+        return (Object) RUN.invokeExact(scheduler, (Plugin) null, (Consumer<?>) task, (Runnable) null);
+    }
+
+    /** Reflection with the methods looked up once */
+    @Benchmark
+    public Object cachedReflection() throws ReflectiveOperationException {
+        Object scheduler = GET_SCHEDULER_METHOD.invoke(entity);
+        return RUN_METHOD.invoke(scheduler, null, task, null);
+    }
+
+    /** The dispatch SchedulerUtils used before: both methods looked up on every call */
+    @Benchmark
+    public Object lookupReflection() throws ReflectiveOperationException {
+        Object scheduler = entity.getClass().getMethod("getScheduler").invoke(entity);
+        Method run = scheduler.getClass().getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+        return run.invoke(scheduler, null, task, null);
+    }
+}
@@ -8,15 +8,28 @@ import dev.aevorinstudios.aevorinReports.placeholders.AevorinReportsExpansion;
 
 import dev.aevorinstudios.aevorinReports.config.ConfigManager;
 import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.database.ReportCounters;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.database.RetentionJob;
+import dev.aevorinstudios.aevorinReports.database.StorageFormat;
+import dev.aevorinstudios.aevorinReports.database.StorageFormatMigration;
+import dev.aevorinstudios.aevorinReports.database.TriageIndex;
 import dev.aevorinstudios.aevorinReports.discord.DiscordManager;
+import dev.aevorinstudios.aevorinReports.messaging.NotificationBus;
+import dev.aevorinstudios.aevorinReports.gui.GuiTemplates;
+import dev.aevorinstudios.aevorinReports.gui.MenuLoader;
+import dev.aevorinstudios.aevorinReports.gui.ReportViewerRegistry;
 import dev.aevorinstudios.aevorinReports.handlers.CustomReasonHandler;
 import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
 import dev.aevorinstudios.aevorinReports.utils.ModrinthUpdateChecker;
+import dev.aevorinstudios.aevorinReports.utils.RateLimiter;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
 import dev.faststats.bukkit.BukkitMetrics;
 import dev.faststats.core.ErrorTracker;
 import dev.faststats.core.data.Metric;
+import dev.aevorinstudios.aevorinReports.reports.ChatHistory;
 import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.reports.ReportDeduplicator;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -24,6 +37,15 @@ import org.bukkit.plugin.java.JavaPlugin;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * The Main Bukkit plugin class for AevorinReports
@@ -34,7 +56,7 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
     @Getter
     private static BukkitPlugin instance;
     private ConfigManager configManager;
-    private DatabaseManager databaseManager;
+    private volatile DatabaseManager databaseManager;
     private LanguageManager languageManager;
     private ModrinthUpdateChecker updateChecker;
     @Getter
@@ -42,25 +64,45 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
     @Getter
     private BukkitReportCommand bukkitReportCommand;
     @Getter
+    private ChatHistory chatHistory;
+    @Getter
+    private final RateLimiter rateLimiter = new RateLimiter();
+    @Getter
+    private final GuiTemplates guiTemplates = new GuiTemplates(this);
+    @Getter
+    private final MenuLoader menuLoader = new MenuLoader(this);
+    @Getter
     private DiscordManager discordManager;
+    @Getter
+    private volatile ReportRepository reportRepository;
+    @Getter
+    private volatile ReportCounters reportCounters;
+    @Getter
+    private volatile NotificationBus notificationBus;
+    @Getter
+    private volatile ReportDeduplicator reportDeduplicator;
+    @Getter
+    private volatile TriageIndex triageIndex;
+    @Getter
+    private volatile ReportViewerRegistry viewerRegistry;
+    private volatile StorageFormatMigration storageFormatMigration;
+    private volatile RetentionJob retentionJob;
 
     // FastStats Metrics
     public static final ErrorTracker FAST_STATS_ERROR_TRACKER = ErrorTracker.contextAware();
     private BukkitMetrics fastStats;
 
     // Plugin state tracking
-    private boolean databaseInitialized = false;
+    private volatile boolean databaseInitialized = false;
     private boolean configInitialized = false;
+    private volatile boolean ready = false;
+    private ExecutorService startupExecutor;
 
     @Override
     public void onEnable() {
-        if (dev.aevorinstudios.aevorinReports.utils.RegionGuard.isRestricted()) {
-            getLogger().severe("====================================================");
-            getLogger().severe("AevorinReports is restricted in your region.");
-            getLogger().severe("Plugin will not be enabled.");
-            getLogger().severe("#FreePalestine");
-            getLogger().severe("====================================================");
-            getServer().getPluginManager().disablePlugin(this);
+        long enableStart = System.nanoTime();
+        if (dev.aevorinstudios.aevorinReports.utils.RegionGuard.isRestrictedTimeZone()) {
+            disableRestricted();
             return;
         }
 
@@ -71,54 +113,61 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
             // Initialize exception handler first with enhanced configuration
             initializeExceptionHandler();
 
-            // Initialize configuration with validation
+            // Everything else depends on the configuration, so it is loaded on the boot thread
+            long stageStart = System.nanoTime();
             if (!initializeConfig()) {
                 getLogger().severe("Shutting down AevorinReports due to a critical configuration error.");
                 getServer().getPluginManager().disablePlugin(this);
                 return;
             }
+            logStage("config", stageStart);
 
-            // Initialize database connection
-            if (!initializeDatabase()) {
-                getServer().getPluginManager().disablePlugin(this);
-                return;
-            }
-
-            // Initialize CustomReasonHandler
+            // Commands answer "still starting" until the database is ready
+            stageStart = System.nanoTime();
             customReasonHandler = new CustomReasonHandler(this);
-
-            // Initialize Discord integration
-            discordManager = new DiscordManager(this);
-            discordManager.start();
-
-            // Register commands with error handling
             registerCommands();
-
-            // Register listeners with validation
             registerListeners();
-
-            // Register PlaceholderAPI expansion
-            registerPlaceholderExpansion();
-
-            // Register reload commands
             getCommand("ar").setExecutor(this);
             getCommand("aevorinreports").setExecutor(this);
 
-            // Initialize and start the Modrinth update checker
+            // Initialize and start the Modrinth update checker; its HTTP check already runs async
             String modrinthProjectId = "OwqSnlXx"; // Hardcoded Project ID
             updateChecker = new ModrinthUpdateChecker(this, modrinthProjectId);
             updateChecker.startUpdateChecker();
             getLogger().info("Modrinth update checker initialized with project ID: " + modrinthProjectId);
+            logStage("registration", stageStart);
 
-            // Initialize bStats Metrics
-            int pluginId = 28310;
-            new org.bstats.bukkit.Metrics(this, pluginId);
-            getLogger().info("bStats Metrics initialized properly.");
+            // The remaining stages block on the network, so they run in parallel off the boot thread
+            startupExecutor = Executors.newCachedThreadPool(new StartupThreadFactory());
+            CompletableFuture<Void> regionCheck = runStage("region-check", this::checkRegion);
+            CompletableFuture<Void> database = connectDatabase(1, startupExecutor)
+                    .thenAcceptAsync(this::initializeServices, this::runOnGlobalThread);
 
-            // Initialize FastStats Metrics
-            initializeFastStats();
+            // Initialize Discord integration
+            discordManager = new DiscordManager(this);
+            CompletableFuture<Void> discord = runStage("discord", discordManager::start);
+            database.thenAcceptBoth(discord, (ignoredDatabase, ignoredDiscord) -> discordManager.startDatabaseServices());
+
+            CompletableFuture<Void> metrics = runStage("metrics", this::initializeMetrics);
 
-            getLogger().info("AevorinReports has been enabled!");
+            CompletableFuture.allOf(regionCheck, database, discord, metrics).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    getLogger().info(String.format("AevorinReports is ready (startup took %d ms)",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enableStart)));
+                }
+                startupExecutor.shutdown();
+            });
+            database.exceptionally(error -> {
+                runOnGlobalThread(() -> {
+                    if (isEnabled()) {
+                        getServer().getPluginManager().disablePlugin(this);
+                    }
+                });
+                return null;
+            });
+
+            getLogger().info(String.format("AevorinReports has been enabled in %d ms, finishing startup in the background.",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enableStart)));
         } catch (Exception e) {
             // Use our custom exception handler for startup errors with detailed context
             Map<String, Object> context = new HashMap<>();
@@ -133,6 +182,79 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
         }
     }
 
+    /**
+     * Whether the database is connected and reports can be handled.
+     *
+     * @return true once startup has connected the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Tell the sender to try again later if the plugin is still starting.
+     *
+     * @param sender The sender of a command
+     * @return true if the plugin is ready and the command can go ahead
+     */
+    public boolean checkReady(org.bukkit.command.CommandSender sender) {
+        if (ready) {
+            return true;
+        }
+        dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(sender,
+                LanguageManager.get(this).getMessage("messages.error.still-starting"));
+        return false;
+    }
+
+    private CompletableFuture<Void> runStage(String stage, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            long stageStart = System.nanoTime();
+            task.run();
+            logStage(stage, stageStart);
+        }, startupExecutor).exceptionally(error -> {
+            ExceptionHandler.getInstance().handleException(error, "Plugin Startup", Map.of("stage", stage));
+            return null;
+        });
+    }
+
+    private void logStage(String stage, long stageStart) {
+        getLogger().info(String.format("Startup stage '%s' finished in %d ms", stage,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStart)));
+    }
+
+    private void runOnGlobalThread(Runnable task) {
+        dev.aevorinstudios.aevorinReports.utils.SchedulerUtils.runGlobalTask(this, task);
+    }
+
+    private void checkRegion() {
+        if (dev.aevorinstudios.aevorinReports.utils.RegionGuard.isRestrictedLocation()) {
+            runOnGlobalThread(() -> {
+                if (isEnabled()) {
+                    disableRestricted();
+                }
+            });
+        }
+    }
+
+    private void disableRestricted() {
+        getLogger().severe("====================================================");
+        getLogger().severe("AevorinReports is restricted in your region.");
+        getLogger().severe("Plugin will not be enabled.");
+        getLogger().severe("#FreePalestine");
+        getLogger().severe("====================================================");
+        getServer().getPluginManager().disablePlugin(this);
+    }
+
+    private void initializeMetrics() {
+        // Initialize bStats Metrics
+        int pluginId = 28310;
+        new org.bstats.bukkit.Metrics(this, pluginId);
+        getLogger().info("bStats Metrics initialized properly.");
+
+        // Initialize FastStats Metrics
+        initializeFastStats();
+    }
+
     @Override
     public boolean onCommand(org.bukkit.command.CommandSender sender, org.bukkit.command.Command command, String label,
             String[] args) {
@@ -150,6 +272,7 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
                     configManager.loadConfig();
                 }
                 LanguageManager.reloadAll(this);
+                guiTemplates.invalidate();
                 if (customReasonHandler != null) {
                     // Refresh categories or other state if needed
                 }
@@ -168,6 +291,34 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
     @Override
     public void onDisable() {
         getLogger().info("Shutting down AevorinReports");
+        ready = false;
+
+        // Interrupt startup stages that are still connecting
+        if (startupExecutor != null) {
+            startupExecutor.shutdownNow();
+        }
+
+        // Stop Discord bot before the database it relays from goes away
+        if (discordManager != null) {
+            discordManager.stop();
+        }
+
+        if (notificationBus != null) {
+            notificationBus.shutdown();
+        }
+
+        if (storageFormatMigration != null) {
+            storageFormatMigration.stop();
+        }
+
+        if (retentionJob != null) {
+            retentionJob.stop();
+        }
+
+        // Let queued queries finish before the pool goes away
+        if (reportRepository != null) {
+            reportRepository.shutdown();
+        }
 
         // Gracefully close database connections
         if (databaseManager != null) {
@@ -181,11 +332,6 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
             }
         }
 
-        // Stop Discord bot
-        if (discordManager != null) {
-            discordManager.stop();
-        }
-
         // Shutdown FastStats
         if (fastStats != null) {
             fastStats.shutdown();
@@ -253,50 +399,137 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
     }
 
     /**
-     * Initializes the database connection with a retry mechanism
-     * 
-     * @return true if a database was successfully initialized, false otherwise
+     * Connects to the database off the boot thread, retrying with an increasing delay
+     * instead of sleeping
+     *
+     * @param attempt  The 1-based attempt number
+     * @param executor The executor to run this attempt on
+     * @return A future completed with the connected database manager
      */
-    private boolean initializeDatabase() {
+    private CompletableFuture<DatabaseManager> connectDatabase(int attempt, Executor executor) {
         int maxRetries = 3;
-        int retryCount = 0;
+        long stageStart = System.nanoTime();
+        return CompletableFuture.supplyAsync(this::openDatabase, executor)
+                .handle((database, error) -> {
+                    if (error == null) {
+                        logStage("database", stageStart);
+                        return CompletableFuture.completedFuture(database);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (attempt >= maxRetries || startupExecutor.isShutdown()) {
+                        getLogger().severe("AevorinReports: Database connection failed. Please check your credentials in config.yml. Error: " + cause.getMessage());
+                        return CompletableFuture.<DatabaseManager>failedFuture(cause);
+                    }
+                    getLogger().warning("Database connection attempt " + attempt + " failed, retrying: " + cause.getMessage());
+                    return connectDatabase(attempt + 1,
+                            CompletableFuture.delayedExecutor(2L * attempt, TimeUnit.SECONDS, startupExecutor));
+                })
+                .thenCompose(Function.identity());
+    }
 
-        while (retryCount < maxRetries) {
-            try {
-                ConfigManager.Config.DatabaseConfig dbConfig = configManager.getConfig().getDatabase();
-                if ("mysql".equalsIgnoreCase(dbConfig.getType())) {
-                    ConfigManager.Config.DatabaseConfig.MySQLConfig mysqlConfig = dbConfig.getMysql();
-                    databaseManager = new DatabaseManager(
-                            mysqlConfig.getHost(),
-                            mysqlConfig.getPort(),
-                            mysqlConfig.getDatabase(),
-                            mysqlConfig.getUsername(),
-                            mysqlConfig.getPassword());
-                } else {
-                    ConfigManager.Config.DatabaseConfig.FileStorageConfig fileConfig = dbConfig.getFile();
-                    databaseManager = new DatabaseManager(fileConfig.getPath());
-                }
+    private DatabaseManager openDatabase() {
+        ConfigManager.Config.DatabaseConfig dbConfig = configManager.getConfig().getDatabase();
+        DatabaseManager database;
+        if ("mysql".equalsIgnoreCase(dbConfig.getType())) {
+            ConfigManager.Config.DatabaseConfig.MySQLConfig mysqlConfig = dbConfig.getMysql();
+            database = new DatabaseManager(
+                    mysqlConfig.getHost(),
+                    mysqlConfig.getPort(),
+                    mysqlConfig.getDatabase(),
+                    mysqlConfig.getUsername(),
+                    mysqlConfig.getPassword(),
+                    dbConfig.getPool());
+        } else {
+            ConfigManager.Config.DatabaseConfig.FileStorageConfig fileConfig = dbConfig.getFile();
+            database = new DatabaseManager(fileConfig);
+        }
 
-                if (databaseManager.testConnection()) {
-                    databaseInitialized = true;
-                    dev.aevorinstudios.aevorinReports.utils.ServerIdentity identity = new dev.aevorinstudios.aevorinReports.utils.ServerIdentity(
-                            getLogger(), getDataFolder());
-                    databaseManager.syncServerIdentity(identity.getIdentityToken(), configManager.getConfig().getServerName());
-                    return true;
-                } else {
-                    throw new Exception("Connection test failed");
-                }
-            } catch (Exception e) {
-                retryCount++;
-                if (retryCount >= maxRetries) {
-                    getLogger().severe("AevorinReports: Database connection failed. Please check your credentials in config.yml. Error: " + e.getMessage());
-                    return false;
-                } else {
-                    try { Thread.sleep(2000 * retryCount); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
-                }
+        try {
+            if (!database.testConnection()) {
+                throw new IllegalStateException("Connection test failed");
+            }
+            dev.aevorinstudios.aevorinReports.utils.ServerIdentity identity = new dev.aevorinstudios.aevorinReports.utils.ServerIdentity(
+                    getLogger(), getDataFolder());
+            database.syncServerIdentity(identity.getIdentityToken(), configManager.getConfig().getServerName());
+            database.setStorageFormat(StorageFormat.of(configManager.getConfig().getDatabase().getStorageFormat()));
+            if (!isEnabled()) {
+                throw new IllegalStateException("Plugin was disabled during startup");
             }
+        } catch (RuntimeException e) {
+            database.close();
+            throw e;
         }
-        return false;
+        // Published right away so onDisable closes the pool even if the plugin is disabled mid-startup
+        databaseManager = database;
+        return database;
+    }
+
+    /**
+     * Wires up everything that needs the database. Runs on the global thread and
+     * only schedules database work, so it doesn't block it.
+     *
+     * @param database The connected database manager
+     */
+    private void initializeServices(DatabaseManager database) {
+        if (!isEnabled()) {
+            return;
+        }
+        long stageStart = System.nanoTime();
+        try {
+            databaseInitialized = true;
+            reportRepository = new ReportRepository(this, database);
+
+            // Seed report counters used by placeholders and metrics
+            reportCounters = new ReportCounters(this, reportRepository, database);
+
+            // Merge bursts of reports about the same incident
+            ConfigManager.Config.ReportsConfig.DeduplicationConfig deduplication =
+                    configManager.getConfig().getReports().getDeduplication();
+            reportDeduplicator = new ReportDeduplicator(reportRepository, deduplication.isEnabled(),
+                    deduplication.getWindow());
+
+            // Rank pending reports for the priority view
+            triageIndex = new TriageIndex(this, reportRepository, database,
+                    configManager.getConfig().getReports().getTriage());
+
+            // Keep report lists open in chest menus up to date
+            int refreshInterval = configManager.getConfig().getReports().getGui().getRefreshInterval();
+            if (refreshInterval > 0) {
+                viewerRegistry = new ReportViewerRegistry(this, reportRepository, refreshInterval);
+            }
+
+            // Notify staff of new reports and status changes across the network
+            notificationBus = NotificationBus.create(this, reportRepository, database);
+            notificationBus.start();
+
+            // Convert older reports to the compact storage format in the background
+            if (StorageFormat.of(configManager.getConfig().getDatabase().getStorageFormat()) == StorageFormat.COMPACT) {
+                storageFormatMigration = new StorageFormatMigration(database);
+                storageFormatMigration.start();
+            } else {
+                // A database switched back from the compact format gets its text UUID indexes again
+                reportRepository.run(database::restoreLegacyIndexes).exceptionally(e -> {
+                    ExceptionHandler.getInstance().handleException(e, "StorageFormat");
+                    return null;
+                });
+            }
+
+            // Move old closed reports out of the live tables
+            if (configManager.getConfig().getDatabase().getRetention().isEnabled()) {
+                retentionJob = new RetentionJob(reportRepository, configManager.getConfig().getDatabase().getRetention());
+                retentionJob.start();
+            }
+
+            // Register PlaceholderAPI expansion
+            registerPlaceholderExpansion();
+        } catch (RuntimeException e) {
+            ExceptionHandler.getInstance().handleException(e, "Plugin Startup", Map.of("stage", "services"));
+            throw e;
+        }
+
+        ready = true;
+        logStage("services", stageStart);
     }
 
     /**
@@ -350,6 +583,15 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
         // Register central container GUI listener
         getServer().getPluginManager()
                 .registerEvents(new dev.aevorinstudios.aevorinReports.listeners.ReportsContainerListener(this), this);
+        getServer().getPluginManager().registerEvents(menuLoader, this);
+
+        // Record recent chat from startup, so reports filed as soon as the database is ready have context
+        ConfigManager.Config.ReportsConfig reports = configManager.getConfig().getReports();
+        if (reports.getEvidence().isEnabled() && reports.getChatHistoryLines() > 0) {
+            chatHistory = new ChatHistory(getServer().getOnlinePlayers(), reports.getChatHistoryLines(),
+                    reports.getEvidence());
+            getServer().getPluginManager().registerEvents(chatHistory, this);
+        }
 
         getLogger().info("Event listeners registered successfully!");
     }
@@ -432,14 +674,11 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
                     .token("cdaa0f2024f6fc7c8e32992f30799c43")
                     .errorTracker(FAST_STATS_ERROR_TRACKER)
                     .addMetric(Metric.number("pending_reports",
-                            () -> {
-                                DatabaseManager db = getDatabaseManager();
-                                return db != null ? db.getReportCountByStatus(Report.ReportStatus.PENDING) : 0;
-                            }))
-                    .addMetric(Metric.number("total_reports", () -> {
-                        DatabaseManager db = getDatabaseManager();
-                        return db != null ? db.getTotalReportsCount() : 0;
-                    }))
+                            () -> reportCounters != null
+                                    ? (int) reportCounters.getCount(Report.ReportStatus.PENDING)
+                                    : 0))
+                    .addMetric(Metric.number("total_reports",
+                            () -> reportCounters != null ? (int) reportCounters.getCount(null) : 0))
                     .addMetric(Metric.string("gui_provider",
                             () -> configManager != null && configManager.getConfig() != null
                                     && configManager.getConfig().getReports() != null
@@ -462,6 +701,12 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
                                     && configManager.getConfig().getDiscord() != null
                                             ? String.valueOf(configManager.getConfig().getDiscord().isEnabled())
                                             : "false"))
+                    .addMetric(Metric.number("discord_queue_depth",
+                            () -> discordManager != null ? discordManager.getQueueDepth() : 0))
+                    .addMetric(Metric.number("discord_delivery_latency_ms",
+                            () -> discordManager != null ? (int) discordManager.getDeliveryLatencyMillis() : 0))
+                    .addMetric(Metric.number("discord_delivery_failures",
+                            () -> discordManager != null ? (int) discordManager.getDeliveryFailures() : 0))
                     .create(this);
 
             fastStats.ready();
@@ -470,4 +715,15 @@ public class BukkitPlugin extends JavaPlugin implements org.bukkit.command.Comma
             getLogger().warning("Could not initialize FastStats Metrics: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private static final class StartupThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "AevorinReports-Startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package dev.aevorinstudios.aevorinReports.commands;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
-import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
 import dev.aevorinstudios.aevorinReports.gui.BookGUI;
 import dev.aevorinstudios.aevorinReports.gui.ReportReasonContainerGUI;
+import dev.aevorinstudios.aevorinReports.reports.ChatHistory;
+import dev.aevorinstudios.aevorinReports.reports.Evidence;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
 import dev.aevorinstudios.aevorinReports.utils.MessageUtils;
+import dev.aevorinstudios.aevorinReports.utils.RateLimiter;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -17,13 +20,13 @@ import net.md_5.bungee.api.ChatColor;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class BukkitReportCommand implements CommandExecutor, TabCompleter {
     private final BukkitPlugin plugin;
-    private final Map<java.util.UUID, Long> cooldowns = new HashMap<>();
 
     public BukkitReportCommand(BukkitPlugin plugin) {
         this.plugin = plugin;
@@ -32,6 +35,9 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         LanguageManager lang = LanguageManager.get(plugin);
+        if (!plugin.checkReady(sender)) {
+            return true;
+        }
         
         if (!(sender instanceof Player player)) {
             dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(sender, lang.getMessage("messages.error.player-only"));
@@ -48,8 +54,8 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        String targetPlayer = args[0];
-        Player target = plugin.getServer().getPlayer(targetPlayer);
+        // Matches a name prefix too, so everything below uses the resolved player rather than args[0]
+        Player target = plugin.getServer().getPlayer(args[0]);
 
         if (target == null) {
             MessageUtils.sendMessage(player, lang.getMessage("messages.error.invalid-player"));
@@ -58,21 +64,16 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
 
         // Self-reporting check
         boolean allowSelfReporting = plugin.getConfig().getBoolean("reports.allow-self-reporting", false);
-        if (!allowSelfReporting && player.getName().equalsIgnoreCase(targetPlayer)) {
+        if (!allowSelfReporting && player.getUniqueId().equals(target.getUniqueId())) {
             dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.cannot-report-self"));
             return true;
         }
 
-        // Check report cooldown
+        // Check report cooldown early; it is only taken once the report is filed, see createReport
         if (!player.hasPermission("aevorinreports.bypass.cooldown")) {
-            long lastReport = cooldowns.getOrDefault(player.getUniqueId(), 0L);
-            int cooldownSeconds = plugin.getConfigManager().getConfig().getReports().getCooldownSeconds();
-            long currentTime = System.currentTimeMillis();
-
-            if (currentTime < lastReport + (cooldownSeconds * 1000L)) {
-                long timeLeft = (lastReport + (cooldownSeconds * 1000L) - currentTime) / 1000L;
-                String message = lang.getMessage("messages.report.cooldown", Map.of("time", formatTime(timeLeft)));
-                MessageUtils.sendMessage(player, message);
+            long remaining = plugin.getRateLimiter().getRemaining(player.getUniqueId(), reportCooldown());
+            if (remaining > 0) {
+                sendCooldown(player, remaining);
                 return true;
             }
         }
@@ -80,16 +81,26 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
         // Check active reports limit
         if (!player.hasPermission("aevorinreports.bypass.limit")) {
             int maxActive = plugin.getConfigManager().getConfig().getReports().getMaxActiveReportsPerPlayer();
-            long activeCount = plugin.getDatabaseManager().getReportsByReporter(player.getUniqueId()).stream()
-                    .filter(r -> r.getStatus() == Report.ReportStatus.PENDING)
-                    .count();
-
-            if (activeCount >= maxActive) {
-                MessageUtils.sendMessage(player, lang.getMessage("messages.report.limit-reached"));
-                return true;
-            }
+            ReportRepository repository = plugin.getReportRepository();
+            repository.deliver(
+                    repository.getReportsCountByReporterAndStatus(player.getUniqueId(), Report.ReportStatus.PENDING),
+                    player, activeCount -> {
+                        if (activeCount >= maxActive) {
+                            MessageUtils.sendMessage(player, lang.getMessage("messages.report.limit-reached"));
+                            return;
+                        }
+                        handleReportArguments(player, target, args);
+                    });
+            return true;
         }
 
+        handleReportArguments(player, target, args);
+        return true;
+    }
+
+    private void handleReportArguments(Player player, Player target, String[] args) {
+        LanguageManager lang = LanguageManager.get(plugin);
+
         // If reason is provided, create report directly
         if (args.length > 1) {
             String reason = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
@@ -98,12 +109,12 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
             if (reason.equalsIgnoreCase("custom")) {
                 if (!plugin.getConfig().getBoolean("reports.allow-custom-reasons", true)) {
                     MessageUtils.sendMessage(player, lang.getMessage("messages.error.custom-reason-disabled"));
-                    return true;
+                    return;
                 }
 
-                plugin.getCustomReasonHandler().startCustomReason(player, targetPlayer);
+                plugin.getCustomReasonHandler().startCustomReason(player, target.getUniqueId(), target.getName());
                 MessageUtils.sendMessage(player, lang.getMessage("messages.report.custom-reason-prompt"));
-                return true;
+                return;
             }
 
             // Check if reason is a valid category
@@ -120,7 +131,7 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
             if (!isValidCategory) {
                 if (!plugin.getConfig().getBoolean("reports.allow-custom-reasons", true)) {
                     dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.category-invalid", java.util.Map.of("categories", String.join(", ", validCategories))));
-                    return true;
+                    return;
                 }
 
                 int minLength = plugin.getConfig().getInt("reports.custom-reason-min-length", 10);
@@ -128,22 +139,21 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
 
                 if (reason.length() < minLength) {
                     dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.custom-reason-too-short", java.util.Map.of("min", String.valueOf(minLength))));
-                    return true;
+                    return;
                 }
 
                 if (reason.length() > maxLength) {
                     dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.custom-reason-too-long", java.util.Map.of("max", String.valueOf(maxLength))));
-                    return true;
+                    return;
                 }
             }
 
-            createReport(player, targetPlayer, reason);
-            return true;
+            createReport(player, target.getUniqueId(), target.getName(), reason);
+            return;
         }
 
         // If no reason provided, show GUI
         showReportCategories(player, target.getName());
-        return true;
     }
 
     @Override
@@ -179,14 +189,22 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
         return new ArrayList<>();
     }
 
-    public void createReport(Player reporter, String targetPlayer, String category) {
+    /**
+     * File a report against a player.
+     *
+     * @param reporter   The player filing the report
+     * @param targetUuid The UUID of the reported player, as resolved from the command
+     * @param targetName The exact name of the reported player
+     * @param category   The reason of the report
+     */
+    public void createReport(Player reporter, UUID targetUuid, String targetName, String category) {
         LanguageManager lang = LanguageManager.get(plugin);
         LocalDateTime now = LocalDateTime.now();
         Report report = Report.builder()
                 .reporterUuid(reporter.getUniqueId())
-                .reportedUuid(plugin.getServer().getOfflinePlayer(targetPlayer).getUniqueId())
+                .reportedUuid(targetUuid)
                 .reporterName(reporter.getName())
-                .reportedPlayerName(targetPlayer)
+                .reportedPlayerName(targetName)
                 .reason(category)
                 .serverName(plugin.getConfigManager().getConfig().getServerName())
                 .status(Report.ReportStatus.PENDING)
@@ -198,32 +216,76 @@ public class BukkitReportCommand implements CommandExecutor, TabCompleter {
                 .updatedAt(now)
                 .build();
 
-        // Save report to database
-        DatabaseManager.getInstance().saveReport(report);
-
-        // Send Discord notification
-        if (plugin.getDiscordManager() != null) {
-            plugin.getDiscordManager().sendReportNotification(report);
+        // Take the cooldown atomically here rather than when the command is typed: the reason may still
+        // be picked from a menu or typed in chat, and two commands that both passed the early check
+        // (e.g. while the active report count loaded) must not both get through
+        RateLimiter.Limit cooldown = reportCooldown();
+        if (!reporter.hasPermission("aevorinreports.bypass.cooldown")) {
+            long remaining = plugin.getRateLimiter().tryAcquire(reporter.getUniqueId(), cooldown);
+            if (remaining > 0) {
+                sendCooldown(reporter, remaining);
+                return;
+            }
         }
 
-        // Notify staff members
-        String notification = lang.getMessage("messages.report.notification", Map.of(
-            "reporter", reporter.getName(),
-            "reported", targetPlayer,
-            "category", category
-        ));
+        // Reports of an incident that is already reported join that report. Otherwise attach the
+        // recent chat of both players, save it, then send the Discord notification from the database thread
+        ReportRepository repository = plugin.getReportRepository();
+        CompletableFuture<Report> saved = plugin.getReportDeduplicator().submit(report,
+                newReport -> attachEvidence(newReport)
+                        .thenCompose(repository::saveReport)
+                        .thenApply(savedReport -> {
+                            if (plugin.getDiscordManager() != null) {
+                                plugin.getDiscordManager().sendReportNotification(savedReport);
+                            }
+                            return savedReport;
+                        }));
+
+        // A report that couldn't be saved doesn't hold the reporter back from trying again
+        saved.exceptionally(error -> {
+            plugin.getRateLimiter().reset(reporter.getUniqueId(), cooldown.action());
+            return null;
+        });
+
+        // Staff on this and other servers are notified by the NotificationBus once the insert commits
+        repository.deliver(saved, reporter, savedReport -> {
+            // Notify reporter of success
+            MessageUtils.sendMessage(reporter, lang.getMessage("messages.success.report-created"));
+        });
+    }
 
-        for (Player staff : plugin.getServer().getOnlinePlayers()) {
-            if (staff.hasPermission("aevorinreports.notify")) {
-                MessageUtils.sendMessage(staff, notification);
-            }
-        }
+    private void sendCooldown(Player player, long remainingMillis) {
+        long timeLeft = (remainingMillis + 999) / 1000L;
+        MessageUtils.sendMessage(player, LanguageManager.get(plugin).getMessage("messages.report.cooldown",
+                Map.of("time", formatTime(timeLeft))));
+    }
+
+    // Built per use so a reloaded cooldown applies right away
+    private RateLimiter.Limit reportCooldown() {
+        int cooldownSeconds = plugin.getConfigManager().getConfig().getReports().getCooldownSeconds();
+        return RateLimiter.Limit.cooldown("report", cooldownSeconds * 1000L);
+    }
 
-        // Notify reporter of success
-        MessageUtils.sendMessage(reporter, lang.getMessage("messages.success.report-created"));
+    private CompletableFuture<Report> attachEvidence(Report report) {
+        ChatHistory chatHistory = plugin.getChatHistory();
+        if (chatHistory == null) {
+            return CompletableFuture.completedFuture(report);
+        }
 
-        // Update cooldown
-        cooldowns.put(reporter.getUniqueId(), System.currentTimeMillis());
+        // Copy the rings now, the messages sent after the report are not part of it
+        List<Evidence.Section> sections = List.of(
+                new Evidence.Section(report.getReportedUuid(), report.getReportedPlayerName(), Evidence.REPORTED,
+                        chatHistory.snapshot(report.getReportedUuid())),
+                new Evidence.Section(report.getReporterUuid(), report.getReporterName(), Evidence.REPORTER,
+                        chatHistory.snapshot(report.getReporterUuid())));
+        if (sections.stream().allMatch(section -> section.lines().isEmpty())) {
+            return CompletableFuture.completedFuture(report);
+        }
+        // Compress on the database executor rather than the player's thread
+        return plugin.getReportRepository().supply(() -> {
+            report.setEvidenceData(Evidence.encode(sections));
+            return report;
+        });
     }
 
     private String formatTime(long seconds) {
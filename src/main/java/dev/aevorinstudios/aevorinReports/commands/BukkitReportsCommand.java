@@ -5,6 +5,7 @@ import dev.aevorinstudios.aevorinReports.gui.BookGUI;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
 import dev.aevorinstudios.aevorinReports.utils.MessageUtils;
+import dev.aevorinstudios.aevorinReports.utils.RateLimiter;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -17,18 +18,11 @@ import org.bukkit.Material;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 public class BukkitReportsCommand implements CommandExecutor, TabCompleter {
     private final BukkitPlugin plugin;
-    private final Map<UUID, Long> lastCommandTime = new HashMap<>();
-    private final Map<Report.ReportStatus, List<Report>> reportCache = new HashMap<>();
-    private static final long COMMAND_COOLDOWN = 500;
-    private static final long CACHE_DURATION = 5000;
-    private long lastCacheUpdate = 0;
+    private static final RateLimiter.Limit COMMAND_COOLDOWN = RateLimiter.Limit.cooldown("reports-book", 500);
 
     public BukkitReportsCommand(BukkitPlugin plugin) {
         this.plugin = plugin;
@@ -59,6 +53,9 @@ public class BukkitReportsCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         LanguageManager lang = LanguageManager.get(plugin);
+        if (!plugin.checkReady(sender)) {
+            return true;
+        }
 
         if (!(sender instanceof Player player)) {
             MessageUtils.sendMessage(sender, lang.getMessage("messages.error.player-only"));
@@ -68,12 +65,7 @@ public class BukkitReportsCommand implements CommandExecutor, TabCompleter {
         if (!player.hasPermission("aevorinreports.manage")) {
             String guiType = plugin.getConfig().getString("reports.gui.type", "book");
             if (guiType.equalsIgnoreCase("container")) {
-                List<Report> reports = plugin.getDatabaseManager().getReportsByReporter(player.getUniqueId());
-                if (reports.isEmpty()) {
-                    MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-reports"));
-                    return true;
-                }
-                new dev.aevorinstudios.aevorinReports.gui.CategoryContainerGUI(plugin).openPlayerReportsGUI(player, reports, 0);
+                new dev.aevorinstudios.aevorinReports.gui.CategoryContainerGUI(plugin).openPlayerReportsGUI(player);
             } else {
                 new BookGUI(plugin).showPlayerReports(player);
             }
@@ -105,33 +97,17 @@ public class BukkitReportsCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        long currentTime = System.currentTimeMillis();
-        long lastTime = lastCommandTime.getOrDefault(player.getUniqueId(), 0L);
-        if (currentTime - lastTime < COMMAND_COOLDOWN) {
+        if (plugin.getRateLimiter().tryAcquire(player.getUniqueId(), COMMAND_COOLDOWN) > 0) {
             return;
         }
-        lastCommandTime.put(player.getUniqueId(), currentTime);
-
-        if (currentTime - lastCacheUpdate > CACHE_DURATION) {
-            reportCache.clear();
-            lastCacheUpdate = currentTime;
-        }
 
         new BookGUI(plugin).showReportsBook(player);
     }
 
     private void showReportsBookByStatus(Player player, Report.ReportStatus status) {
-        long currentTime = System.currentTimeMillis();
-        long lastTime = lastCommandTime.getOrDefault(player.getUniqueId(), 0L);
-        if (currentTime - lastTime < COMMAND_COOLDOWN) {
+        if (plugin.getRateLimiter().tryAcquire(player.getUniqueId(), COMMAND_COOLDOWN) > 0) {
             return;
         }
-        lastCommandTime.put(player.getUniqueId(), currentTime);
-
-        if (currentTime - lastCacheUpdate > CACHE_DURATION) {
-            reportCache.clear();
-            lastCacheUpdate = currentTime;
-        }
 
         new BookGUI(plugin).showReportsByStatus(player, status);
     }
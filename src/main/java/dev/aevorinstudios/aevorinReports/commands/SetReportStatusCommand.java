@@ -1,6 +1,7 @@
 package dev.aevorinstudios.aevorinReports.commands;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
 import dev.aevorinstudios.aevorinReports.utils.MessageUtils;
@@ -27,6 +28,9 @@ public class SetReportStatusCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         LanguageManager lang = LanguageManager.get(plugin);
+        if (!plugin.checkReady(sender)) {
+            return true;
+        }
         
         if (!(sender instanceof Player player)) {
             MessageUtils.sendMessage(sender, lang.getMessage("messages.error.player-only"));
@@ -43,46 +47,57 @@ public class SetReportStatusCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        long reportId;
+        Report.ReportStatus newStatus;
         try {
-            long reportId = Long.parseLong(args[0]);
-            String statusStr = args[2].toUpperCase();
-            Report.ReportStatus newStatus = Report.ReportStatus.valueOf(statusStr);
-            Report report = plugin.getDatabaseManager().getReport(reportId);
-            
-            if (report == null) {
-                MessageUtils.sendMessage(player, lang.getMessage("messages.error.report-not-found"));
-                return true;
-            }
-            
-            if (report.getStatus() == newStatus) {
-                MessageUtils.sendMessage(player, lang.getMessage("messages.error.status-already-set"));
-                return true;
-            }
-            
-            report.setStatus(newStatus);
-            plugin.getDatabaseManager().updateReport(report);
-            
-            String statusColor = switch(newStatus) {
-            case PENDING -> "&6";
-            case RESOLVED -> "&a";
-            case REJECTED -> "&c";
-            };
-            
-            MessageUtils.sendMessage(player, lang.getMessage("messages.report.status-change", Map.of(
-                "id", String.valueOf(reportId),
-                "status", newStatus.name(),
-                "color", statusColor
-            )));
-            
-            plugin.getLogger().fine("Report " + reportId + " status changed to " + newStatus.name() + " by " + player.getName());
-            
-            player.closeInventory();
+            reportId = Long.parseLong(args[0]);
+            newStatus = Report.ReportStatus.valueOf(args[2].toUpperCase());
         } catch (NumberFormatException e) {
             MessageUtils.sendMessage(player, lang.getMessage("messages.error.invalid-report-id"));
+            return true;
         } catch (IllegalArgumentException e) {
             String statuses = Arrays.stream(Report.ReportStatus.values()).map(Enum::name).collect(Collectors.joining(", "));
             MessageUtils.sendMessage(player, lang.getMessage("messages.error.status-invalid", Map.of("statuses", statuses)));
+            return true;
         }
+
+        ReportRepository repository = plugin.getReportRepository();
+        repository.deliver(repository.getReport(reportId), player, report -> {
+            if (report == null) {
+                MessageUtils.sendMessage(player, lang.getMessage("messages.error.report-not-found"));
+                return;
+            }
+
+            if (report.getStatus() == newStatus) {
+                MessageUtils.sendMessage(player, lang.getMessage("messages.error.status-already-set"));
+                return;
+            }
+
+            repository.deliver(repository.updateStatus(report, newStatus, player.getName()), player, updated -> {
+                if (updated == null) {
+                    MessageUtils.sendMessage(player, lang.getMessage("messages.report.status-conflict", Map.of(
+                        "id", String.valueOf(reportId)
+                    )));
+                    return;
+                }
+
+                String statusColor = switch(newStatus) {
+                    case PENDING -> "&6";
+                    case RESOLVED -> "&a";
+                    case REJECTED -> "&c";
+                };
+
+                MessageUtils.sendMessage(player, lang.getMessage("messages.report.status-change", Map.of(
+                    "id", String.valueOf(reportId),
+                    "status", newStatus.name(),
+                    "color", statusColor
+                )));
+
+                plugin.getLogger().fine("Report " + reportId + " status changed to " + newStatus.name() + " by " + player.getName());
+
+                player.closeInventory();
+            });
+        });
         return true;
     }
 
@@ -1,7 +1,10 @@
 package dev.aevorinstudios.aevorinReports.commands;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.reports.Evidence;
 import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.MessageUtils;
 import dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver;
 import dev.aevorinstudios.aevorinReports.gui.BookGUI;
 import org.bukkit.Bukkit;
@@ -14,10 +17,22 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
 
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
 public class ViewReportCommand implements CommandExecutor {
+    // A private-use character that can't appear in a language file
+    private static final String PLAYER_TEXT = "\uE000";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
     private final BukkitPlugin plugin;
 
     public ViewReportCommand(BukkitPlugin plugin) {
@@ -27,6 +42,9 @@ public class ViewReportCommand implements CommandExecutor {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         LanguageManager lang = LanguageManager.get(plugin);
+        if (!plugin.checkReady(sender)) {
+            return true;
+        }
         if (!(sender instanceof Player player)) {
             dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(sender, lang.getMessage("messages.error.player-only"));
             return true;
@@ -35,14 +53,19 @@ public class ViewReportCommand implements CommandExecutor {
         // Permission check moved to after report retrieval to allow self-viewing
 
 
-        if (args.length != 1) {
+        boolean evidence = args.length == 2 && args[1].equalsIgnoreCase("evidence");
+        if (args.length != 1 && !evidence) {
             dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.usage-viewreport"));
             return true;
         }
 
         try {
             long reportId = Long.parseLong(args[0]);
-            showReportDetails(player, reportId);
+            if (evidence) {
+                showEvidence(player, reportId);
+            } else {
+                showReportDetails(player, reportId);
+            }
         } catch (NumberFormatException e) {
             dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.invalid-report-id"));
         }
@@ -51,18 +74,63 @@ public class ViewReportCommand implements CommandExecutor {
     }
 
     private void showReportDetails(Player player, long reportId) {
-        Report report = plugin.getDatabaseManager().getReport(reportId);
-        if (report == null) {
-            dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, dev.aevorinstudios.aevorinReports.config.LanguageManager.get(plugin).getMessage("messages.error.report-not-found"));
+        ReportRepository repository = plugin.getReportRepository();
+        repository.deliver(repository.getReport(reportId), player, report -> {
+            if (report == null) {
+                dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, dev.aevorinstudios.aevorinReports.config.LanguageManager.get(plugin).getMessage("messages.error.report-not-found"));
+                return;
+            }
+
+            // Permission check: Allow if has permission OR is the reporter
+            if (!player.hasPermission("aevorinreports.manage") && !report.getReporterUuid().equals(player.getUniqueId())) {
+                 dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, dev.aevorinstudios.aevorinReports.config.LanguageManager.get(plugin).getMessage("messages.error.no-permission"));
+                 return;
+            }
+
+            new dev.aevorinstudios.aevorinReports.gui.ReportManageGUI(plugin).open(player, report);
+        });
+    }
+
+    private void showEvidence(Player player, long reportId) {
+        LanguageManager lang = LanguageManager.get(plugin);
+        if (!player.hasPermission("aevorinreports.manage")) {
+            dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-permission"));
             return;
         }
 
-        // Permission check: Allow if has permission OR is the reporter
-        if (!player.hasPermission("aevorinreports.manage") && !report.getReporterUuid().equals(player.getUniqueId())) {
-             dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, dev.aevorinstudios.aevorinReports.config.LanguageManager.get(plugin).getMessage("messages.error.no-permission"));
-             return;
-        }
+        ReportRepository repository = plugin.getReportRepository();
+        repository.deliver(repository.getEvidence(reportId).thenApply(Evidence::decode), player, sections -> {
+            if (sections.stream().allMatch(section -> section.lines() == null || section.lines().isEmpty())) {
+                dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.evidence.none"));
+                return;
+            }
+
+            MessageUtils.sendMessage(player, lang.getMessage("messages.evidence.header",
+                    Map.of("id", String.valueOf(reportId))));
+            for (Evidence.Section section : sections) {
+                if (section.lines() == null || section.lines().isEmpty()) {
+                    continue;
+                }
+                String role = lang.getMessage(Evidence.REPORTED.equals(section.role())
+                        ? "messages.evidence.role-reported"
+                        : "messages.evidence.role-reporter");
+                player.sendMessage(withText(lang.getMessage("messages.evidence.player",
+                        Map.of("player", PLAYER_TEXT, "role", role)), section.name()));
+                for (Evidence.Line line : section.lines()) {
+                    String time = TIME_FORMAT.format(Instant.ofEpochMilli(line.time()));
+                    String format = line.command() ? "messages.evidence.command-line" : "messages.evidence.chat-line";
+                    player.sendMessage(withText(lang.getMessage(format,
+                            Map.of("time", time, "message", PLAYER_TEXT)), line.message()));
+                }
+            }
+        });
+    }
 
-        new dev.aevorinstudios.aevorinReports.gui.ReportManageGUI(plugin).open(player, report);
+    // Player text is inserted after the message is formatted, so it can't carry color codes or tags
+    private static Component withText(String formatted, String text) {
+        return MessageUtils.parse(formatted).replaceText(TextReplacementConfig.builder()
+                .matchLiteral(PLAYER_TEXT)
+                .replacement(Component.text(text != null ? ChatColor.stripColor(text) : "?"))
+                .build());
     }
-}
\ No newline at end of file
+}
@@ -94,6 +94,7 @@ public class ConfigManager {
             Map<String, Object> db = (Map<String, Object>) yamlConfig.get("database");
             if (db != null) {
                 config.getDatabase().setType(asString(db.get("type"), "file"));
+                config.getDatabase().setStorageFormat(asInt(db.get("storage-format"), 1));
 
                 // MySQL Config
                 if (db.containsKey("mysql")) {
@@ -115,6 +116,34 @@ public class ConfigManager {
                     if (file != null) {
                         config.getDatabase().getFile()
                                 .setPath(asString(file.get("path"), "database/reports.db"));
+                        config.getDatabase().getFile().setMode(asString(file.get("mode"), "performance"));
+                        config.getDatabase().getFile().setReadPoolSize(asInt(file.get("read-pool-size"), 4));
+                    }
+                }
+
+                // Connection Pool Config
+                if (db.containsKey("pool")) {
+                    Map<String, Object> pool = (Map<String, Object>) db.get("pool");
+                    if (pool != null) {
+                        config.getDatabase().getPool().setMinimumIdle(asInt(pool.get("minimum-idle"), 5));
+                        config.getDatabase().getPool()
+                                .setMaximumPoolSize(asInt(pool.get("maximum-pool-size"), 10));
+                        config.getDatabase().getPool()
+                                .setConnectionTimeout(asInt(pool.get("connection-timeout"), 30000));
+                    }
+                }
+
+                // Retention Config
+                if (db.containsKey("retention")) {
+                    Map<String, Object> retention = (Map<String, Object>) db.get("retention");
+                    if (retention != null) {
+                        config.getDatabase().getRetention().setEnabled(asBoolean(retention.get("enabled"), false));
+                        config.getDatabase().getRetention()
+                                .setResolvedAfterDays(asInt(retention.get("resolved-after-days"), 90));
+                        config.getDatabase().getRetention()
+                                .setRejectedAfterDays(asInt(retention.get("rejected-after-days"), 30));
+                        config.getDatabase().getRetention().setChunkSize(asInt(retention.get("chunk-size"), 500));
+                        config.getDatabase().getRetention().setInterval(asInt(retention.get("interval"), 360));
                     }
                 }
             }
@@ -133,10 +162,53 @@ public class ConfigManager {
                 config.getReports().setLogLocation(asBoolean(reports.get("logLocation"), true));
                 config.getReports().setAllowSelfReporting(asBoolean(reports.get("allow-self-reporting"), false));
 
+                if (reports.containsKey("deduplication")) {
+                    Map<String, Object> deduplication = (Map<String, Object>) reports.get("deduplication");
+                    if (deduplication != null) {
+                        config.getReports().getDeduplication()
+                                .setEnabled(asBoolean(deduplication.get("enabled"), true));
+                        config.getReports().getDeduplication().setWindow(asInt(deduplication.get("window"), 60));
+                    }
+                }
+
+                if (reports.containsKey("evidence")) {
+                    Map<String, Object> evidence = (Map<String, Object>) reports.get("evidence");
+                    if (evidence != null) {
+                        config.getReports().getEvidence().setEnabled(asBoolean(evidence.get("enabled"), false));
+                        config.getReports().getEvidence().setCommands(asBoolean(evidence.get("commands"), true));
+                        Object ignored = evidence.get("ignored-commands");
+                        if (ignored instanceof List<?> ignoredCommands) {
+                            List<String> parsed = new ArrayList<>();
+                            for (Object command : ignoredCommands) {
+                                parsed.add(String.valueOf(command));
+                            }
+                            config.getReports().getEvidence().setIgnoredCommands(parsed);
+                        }
+                    }
+                }
+
+                if (reports.containsKey("triage")) {
+                    Map<String, Object> triage = (Map<String, Object>) reports.get("triage");
+                    if (triage != null) {
+                        config.getReports().getTriage().setClusterWeight(asInt(triage.get("cluster-weight"), 10));
+                        config.getReports().getTriage()
+                                .setPriorResolvedWeight(asInt(triage.get("prior-resolved-weight"), 5));
+                        config.getReports().getTriage().setAgeWeight(asInt(triage.get("age-weight"), 1));
+                        Object weights = triage.get("category-weights");
+                        if (weights instanceof Map<?, ?> categoryWeights) {
+                            Map<String, Integer> parsed = new HashMap<>();
+                            categoryWeights.forEach((category, weight) ->
+                                    parsed.put(String.valueOf(category), asInt(weight, 0)));
+                            config.getReports().getTriage().setCategoryWeights(parsed);
+                        }
+                    }
+                }
+
                 if (reports.containsKey("gui")) {
                     Map<String, Object> gui = (Map<String, Object>) reports.get("gui");
                     if (gui != null) {
                         config.getReports().getGui().setType(asString(gui.get("type"), "book"));
+                        config.getReports().getGui().setRefreshInterval(asInt(gui.get("refresh-interval"), 10));
                     }
                 }
 
@@ -153,6 +225,33 @@ public class ConfigManager {
             }
         }
 
+        // Performance Configuration
+        if (yamlConfig.containsKey("performance")) {
+            Map<String, Object> performance = (Map<String, Object>) yamlConfig.get("performance");
+            if (performance != null) {
+                config.getPerformance().setEnableCaching(asBoolean(performance.get("enable-caching"), true));
+                config.getPerformance().setCacheDuration(asInt(performance.get("cache-duration"), 15));
+                config.getPerformance().setMaxCacheSize(asInt(performance.get("max-cache-size"), 1000));
+                config.getPerformance()
+                        .setCacheCleanupInterval(asInt(performance.get("cache-cleanup-interval"), 30));
+                config.getPerformance()
+                        .setBackgroundTaskInterval(asInt(performance.get("background-task-interval"), 300));
+                config.getPerformance().setBatchSize(asInt(performance.get("batch-size"), 50));
+                config.getPerformance()
+                        .setBatchFlushInterval(asInt(performance.get("batch-flush-interval"), 50));
+            }
+        }
+
+        // Messaging Configuration
+        if (yamlConfig.containsKey("messaging")) {
+            Map<String, Object> messaging = (Map<String, Object>) yamlConfig.get("messaging");
+            if (messaging != null) {
+                config.getMessaging().setTransport(asString(messaging.get("transport"), "auto"));
+                config.getMessaging().setBatchWindow(asInt(messaging.get("batch-window"), 500));
+                config.getMessaging().setPollInterval(asInt(messaging.get("poll-interval"), 5));
+            }
+        }
+
         // Notifications Configuration
         if (yamlConfig.containsKey("notifications")) {
             Map<String, Object> notifications = (Map<String, Object>) yamlConfig.get("notifications");
@@ -201,6 +300,9 @@ public class ConfigManager {
                 config.getDiscord().setBotToken(asString(discordRaw.get("bot-token"), ""));
                 config.getDiscord().setChannelId(asString(discordRaw.get("channel-id"), ""));
                 config.getDiscord().setLogChannelId(asString(discordRaw.get("log-channel-id"), ""));
+                config.getDiscord().setWebhookUrl(asString(discordRaw.get("webhook-url"), ""));
+                config.getDiscord().setLogWebhookUrl(asString(discordRaw.get("log-webhook-url"), ""));
+                config.getDiscord().setSlashCommands(asBoolean(discordRaw.get("slash-commands"), true));
                 config.getDiscord().setStaffRoleId(asString(discordRaw.get("staff-role-id"), ""));
                 config.getDiscord().setLookupColor(asString(discordRaw.get("lookup-color"), "#00ffff"));
 
@@ -230,6 +332,8 @@ public class ConfigManager {
                                 .setColor(asString(notifyRaw.get("color"), "#ff5555"));
                         config.getDiscord().getNotifications()
                                 .setFooter(asString(notifyRaw.get("footer"), "AevorinReports • %date%"));
+                        config.getDiscord().getNotifications()
+                                .setEditOnStatusChange(asBoolean(notifyRaw.get("edit-on-status-change"), true));
                     }
                 }
 
@@ -453,6 +557,7 @@ public class ConfigManager {
 
         validateDatabaseConfig();
         validatePerformanceConfig();
+        validateMessagingConfig();
         validateReportsConfig();
         validateUpdateCheckerConfig();
     }
@@ -478,6 +583,51 @@ public class ConfigManager {
             db.setType("file");
         }
 
+        Config.DatabaseConfig.PoolConfig pool = db.getPool();
+        if (pool.getMaximumPoolSize() < 1) {
+            logger.warn("Invalid maximum-pool-size {}, defaulting to 10", pool.getMaximumPoolSize());
+            pool.setMaximumPoolSize(10);
+        }
+        if (pool.getMinimumIdle() < 0 || pool.getMinimumIdle() > pool.getMaximumPoolSize()) {
+            logger.warn("Invalid minimum-idle {}, defaulting to {}", pool.getMinimumIdle(),
+                    Math.min(5, pool.getMaximumPoolSize()));
+            pool.setMinimumIdle(Math.min(5, pool.getMaximumPoolSize()));
+        }
+        if (pool.getConnectionTimeout() < 250) {
+            logger.warn("Invalid connection-timeout {}, defaulting to 30000", pool.getConnectionTimeout());
+            pool.setConnectionTimeout(30000);
+        }
+        Config.DatabaseConfig.FileStorageConfig file = db.getFile();
+        if (!"performance".equals(file.getMode()) && !"compatible".equals(file.getMode())) {
+            logger.warn("Invalid file storage mode '{}', defaulting to 'performance'", file.getMode());
+            file.setMode("performance");
+        }
+        if (file.getReadPoolSize() < 1) {
+            logger.warn("Invalid read-pool-size {}, defaulting to 4", file.getReadPoolSize());
+            file.setReadPoolSize(4);
+        }
+        Config.DatabaseConfig.RetentionConfig retention = db.getRetention();
+        if (retention.getResolvedAfterDays() < 1) {
+            logger.warn("Invalid resolved-after-days {}, defaulting to 90", retention.getResolvedAfterDays());
+            retention.setResolvedAfterDays(90);
+        }
+        if (retention.getRejectedAfterDays() < 1) {
+            logger.warn("Invalid rejected-after-days {}, defaulting to 30", retention.getRejectedAfterDays());
+            retention.setRejectedAfterDays(30);
+        }
+        if (retention.getChunkSize() < 1 || retention.getChunkSize() > 5000) {
+            logger.warn("Invalid retention chunk-size {}, defaulting to 500", retention.getChunkSize());
+            retention.setChunkSize(500);
+        }
+        if (retention.getInterval() < 1) {
+            logger.warn("Invalid retention interval {}, defaulting to 360", retention.getInterval());
+            retention.setInterval(360);
+        }
+        if (db.getStorageFormat() != 1 && db.getStorageFormat() != 2) {
+            logger.warn("Invalid storage-format {}, defaulting to 1", db.getStorageFormat());
+            db.setStorageFormat(1);
+        }
+
         if ("mysql".equals(db.getType())) {
             // Correct class path: MySQLConfig is nested inside DatabaseConfig
             Config.DatabaseConfig.MySQLConfig mysql = db.getMysql();
@@ -502,16 +652,38 @@ public class ConfigManager {
             logger.warn("Invalid batchSize value, setting to default");
             performance.setBatchSize(50);
         }
+        if (performance.getBatchFlushInterval() < 1) {
+            logger.warn("Invalid batchFlushInterval value, setting to default");
+            performance.setBatchFlushInterval(50);
+        }
         if (performance.getBackgroundTaskInterval() < 0) {
             logger.warn("Invalid backgroundTaskInterval value, setting to default");
             performance.setBackgroundTaskInterval(300);
         }
-        if (performance.getCacheCleanupInterval() < 0) {
+        if (performance.getCacheCleanupInterval() < 1) {
             logger.warn("Invalid cacheCleanupInterval value, setting to default");
             performance.setCacheCleanupInterval(30);
         }
     }
 
+    private void validateMessagingConfig() {
+        Config.MessagingConfig messaging = config.getMessaging();
+        String transport = messaging.getTransport() == null ? "" : messaging.getTransport().toLowerCase();
+        if (!List.of("auto", "plugin-message", "database", "none").contains(transport)) {
+            logger.warn("Invalid messaging transport '{}', setting to default", messaging.getTransport());
+            transport = "auto";
+        }
+        messaging.setTransport(transport);
+        if (messaging.getBatchWindow() < 0) {
+            logger.warn("Invalid messaging batchWindow value, setting to default");
+            messaging.setBatchWindow(500);
+        }
+        if (messaging.getPollInterval() < 1) {
+            logger.warn("Invalid messaging pollInterval value, setting to default");
+            messaging.setPollInterval(5);
+        }
+    }
+
     private void validateReportsConfig() {
         Config.ReportsConfig reports = config.getReports();
         if (reports.getCooldownSeconds() < 0) {
@@ -522,10 +694,25 @@ public class ConfigManager {
             logger.warn("Invalid maxActiveReportsPerPlayer value, setting to default");
             reports.setMaxActiveReportsPerPlayer(3);
         }
-        if (reports.getChatHistoryLines() < 0) {
+        if (reports.getChatHistoryLines() < 0 || reports.getChatHistoryLines() > 500) {
             logger.warn("Invalid chatHistoryLines value, setting to default");
             reports.setChatHistoryLines(50);
         }
+        Config.ReportsConfig.TriageConfig triage = reports.getTriage();
+        if (triage.getClusterWeight() < 0 || triage.getPriorResolvedWeight() < 0 || triage.getAgeWeight() < 0) {
+            logger.warn("Negative triage weights are not allowed, using 0 instead");
+            triage.setClusterWeight(Math.max(0, triage.getClusterWeight()));
+            triage.setPriorResolvedWeight(Math.max(0, triage.getPriorResolvedWeight()));
+            triage.setAgeWeight(Math.max(0, triage.getAgeWeight()));
+        }
+        if (reports.getGui().getRefreshInterval() < 0) {
+            logger.warn("Invalid gui refresh-interval {}, defaulting to 10", reports.getGui().getRefreshInterval());
+            reports.getGui().setRefreshInterval(10);
+        }
+        if (reports.getDeduplication().getWindow() < 1) {
+            logger.warn("Invalid deduplication window {}, defaulting to 60", reports.getDeduplication().getWindow());
+            reports.getDeduplication().setWindow(60);
+        }
     }
 
     public void saveConfig() {
@@ -560,6 +747,7 @@ public class ConfigManager {
         // Database Configuration
         Map<String, Object> database = new HashMap<>();
         database.put("type", config.getDatabase().getType());
+        database.put("storage-format", config.getDatabase().getStorageFormat());
 
         // MySQL Config
         Map<String, Object> mysql = new HashMap<>();
@@ -573,8 +761,26 @@ public class ConfigManager {
         // File Storage Config
         Map<String, Object> file = new HashMap<>();
         file.put("path", config.getDatabase().getFile().getPath());
+        file.put("mode", config.getDatabase().getFile().getMode());
+        file.put("read-pool-size", config.getDatabase().getFile().getReadPoolSize());
         database.put("file", file);
 
+        // Connection Pool Config
+        Map<String, Object> pool = new HashMap<>();
+        pool.put("minimum-idle", config.getDatabase().getPool().getMinimumIdle());
+        pool.put("maximum-pool-size", config.getDatabase().getPool().getMaximumPoolSize());
+        pool.put("connection-timeout", config.getDatabase().getPool().getConnectionTimeout());
+        database.put("pool", pool);
+
+        // Retention Config
+        Map<String, Object> retention = new HashMap<>();
+        retention.put("enabled", config.getDatabase().getRetention().isEnabled());
+        retention.put("resolved-after-days", config.getDatabase().getRetention().getResolvedAfterDays());
+        retention.put("rejected-after-days", config.getDatabase().getRetention().getRejectedAfterDays());
+        retention.put("chunk-size", config.getDatabase().getRetention().getChunkSize());
+        retention.put("interval", config.getDatabase().getRetention().getInterval());
+        database.put("retention", retention);
+
         result.put("database", database);
 
         // Reports Configuration
@@ -585,6 +791,25 @@ public class ConfigManager {
         reports.put("chat-history-lines", config.getReports().getChatHistoryLines());
         reports.put("logInventory", config.getReports().isLogInventory());
         reports.put("logLocation", config.getReports().isLogLocation());
+        Map<String, Object> gui = new HashMap<>();
+        gui.put("type", config.getReports().getGui().getType());
+        gui.put("refresh-interval", config.getReports().getGui().getRefreshInterval());
+        reports.put("gui", gui);
+        Map<String, Object> deduplication = new HashMap<>();
+        deduplication.put("enabled", config.getReports().getDeduplication().isEnabled());
+        deduplication.put("window", config.getReports().getDeduplication().getWindow());
+        reports.put("deduplication", deduplication);
+        Map<String, Object> evidence = new HashMap<>();
+        evidence.put("enabled", config.getReports().getEvidence().isEnabled());
+        evidence.put("commands", config.getReports().getEvidence().isCommands());
+        evidence.put("ignored-commands", new ArrayList<>(config.getReports().getEvidence().getIgnoredCommands()));
+        reports.put("evidence", evidence);
+        Map<String, Object> triage = new HashMap<>();
+        triage.put("cluster-weight", config.getReports().getTriage().getClusterWeight());
+        triage.put("prior-resolved-weight", config.getReports().getTriage().getPriorResolvedWeight());
+        triage.put("age-weight", config.getReports().getTriage().getAgeWeight());
+        triage.put("category-weights", new HashMap<>(config.getReports().getTriage().getCategoryWeights()));
+        reports.put("triage", triage);
         result.put("reports", reports);
 
         // Notifications Configuration
@@ -597,15 +822,23 @@ public class ConfigManager {
 
         // Performance Configuration
         Map<String, Object> performance = new HashMap<>();
-        performance.put("enableCaching", config.getPerformance().isEnableCaching());
-        performance.put("cacheDuration", config.getPerformance().getCacheDuration());
-        performance.put("maxCacheSize", config.getPerformance().getMaxCacheSize());
+        performance.put("enable-caching", config.getPerformance().isEnableCaching());
+        performance.put("cache-duration", config.getPerformance().getCacheDuration());
+        performance.put("max-cache-size", config.getPerformance().getMaxCacheSize());
         performance.put("asyncProcessing", config.getPerformance().isAsyncProcessing());
-        performance.put("batchSize", config.getPerformance().getBatchSize());
-        performance.put("backgroundTaskInterval", config.getPerformance().getBackgroundTaskInterval());
-        performance.put("cacheCleanupInterval", config.getPerformance().getCacheCleanupInterval());
+        performance.put("batch-size", config.getPerformance().getBatchSize());
+        performance.put("batch-flush-interval", config.getPerformance().getBatchFlushInterval());
+        performance.put("background-task-interval", config.getPerformance().getBackgroundTaskInterval());
+        performance.put("cache-cleanup-interval", config.getPerformance().getCacheCleanupInterval());
         result.put("performance", performance);
 
+        // Messaging Configuration
+        Map<String, Object> messaging = new HashMap<>();
+        messaging.put("transport", config.getMessaging().getTransport());
+        messaging.put("batch-window", config.getMessaging().getBatchWindow());
+        messaging.put("poll-interval", config.getMessaging().getPollInterval());
+        result.put("messaging", messaging);
+
         // Custom Reasons
         if (config.getCustomReasons() != null) {
             result.put("customReasons", new HashMap<>(config.getCustomReasons()));
@@ -617,6 +850,9 @@ public class ConfigManager {
         discord.put("bot-token", config.getDiscord().getBotToken());
         discord.put("channel-id", config.getDiscord().getChannelId());
         discord.put("log-channel-id", config.getDiscord().getLogChannelId());
+        discord.put("webhook-url", config.getDiscord().getWebhookUrl());
+        discord.put("log-webhook-url", config.getDiscord().getLogWebhookUrl());
+        discord.put("slash-commands", config.getDiscord().isSlashCommands());
         discord.put("staff-role-id", config.getDiscord().getStaffRoleId());
         discord.put("lookup-color", config.getDiscord().getLookupColor());
 
@@ -632,6 +868,7 @@ public class ConfigManager {
         discordNotify.put("title", config.getDiscord().getNotifications().getTitle());
         discordNotify.put("color", config.getDiscord().getNotifications().getColor());
         discordNotify.put("footer", config.getDiscord().getNotifications().getFooter());
+        discordNotify.put("edit-on-status-change", config.getDiscord().getNotifications().isEditOnStatusChange());
         discord.put("notifications", discordNotify);
 
         Map<String, Object> networkMode = new HashMap<>();
@@ -746,11 +983,12 @@ public class ConfigManager {
     @Data
     public static class Config {
         private String serverName = "survival";
-        private int configVersion = 5;
+        private int configVersion = 6;
         private DatabaseConfig database = new DatabaseConfig();
         private ReportsConfig reports = new ReportsConfig();
         private NotificationsConfig notifications = new NotificationsConfig();
         private PerformanceConfig performance = new PerformanceConfig();
+        private MessagingConfig messaging = new MessagingConfig();
         private DiscordConfig discord = new DiscordConfig();
         private UpdateCheckerConfig updateChecker = new UpdateCheckerConfig();
         private Map<String, String> customReasons = new HashMap<>();
@@ -761,6 +999,9 @@ public class ConfigManager {
             private String botToken = "";
             private String channelId = "";
             private String logChannelId = "";
+            private String webhookUrl = "";
+            private String logWebhookUrl = "";
+            private boolean slashCommands = true;
             private String staffRoleId = "";
             private String lookupColor = "#00ffff";
             private NetworkModeConfig networkMode = new NetworkModeConfig();
@@ -790,6 +1031,7 @@ public class ConfigManager {
                 private String title = "New Report (#%id%)";
                 private String color = "#ff5555";
                 private String footer = "AevorinReports • %date%";
+                private boolean editOnStatusChange = true;
             }
         }
 
@@ -798,6 +1040,9 @@ public class ConfigManager {
             private String type = "file";
             private MySQLConfig mysql = new MySQLConfig();
             private FileStorageConfig file = new FileStorageConfig();
+            private PoolConfig pool = new PoolConfig();
+            private RetentionConfig retention = new RetentionConfig();
+            private int storageFormat = 1;
 
             @Data
             public static class MySQLConfig {
@@ -811,6 +1056,24 @@ public class ConfigManager {
             @Data
             public static class FileStorageConfig {
                 private String path = "database/reports.db";
+                private String mode = "performance";
+                private int readPoolSize = 4;
+            }
+
+            @Data
+            public static class PoolConfig {
+                private int minimumIdle = 5;
+                private int maximumPoolSize = 10;
+                private int connectionTimeout = 30000;
+            }
+
+            @Data
+            public static class RetentionConfig {
+                private boolean enabled = false;
+                private int resolvedAfterDays = 90;
+                private int rejectedAfterDays = 30;
+                private int chunkSize = 500;
+                private int interval = 360;
             }
         }
 
@@ -824,11 +1087,44 @@ public class ConfigManager {
             private boolean logLocation = true;
             private boolean allowSelfReporting = false;
             private GUIConfig gui = new GUIConfig();
+            private DeduplicationConfig deduplication = new DeduplicationConfig();
+            private EvidenceConfig evidence = new EvidenceConfig();
+            private TriageConfig triage = new TriageConfig();
             private List<String> categories = new ArrayList<>(Arrays.asList("Hacking/Cheating", "Harassment/Bullying", "Spam/Advertisement", "Griefing/Vandalism", "Bug Exploit", "Other"));
 
             @Data
             public static class GUIConfig {
                 private String type = "book";
+                private int refreshInterval = 10;
+            }
+
+            @Data
+            public static class DeduplicationConfig {
+                private boolean enabled = true;
+                private int window = 60;
+            }
+
+            @Data
+            public static class EvidenceConfig {
+                private boolean enabled = false;
+                private boolean commands = true;
+                private List<String> ignoredCommands = new ArrayList<>(Arrays.asList(
+                        "msg", "tell", "w", "r", "m", "whisper", "login", "l", "log", "register", "reg", "changepassword", "changepass", "cp"));
+            }
+
+            @Data
+            public static class TriageConfig {
+                private int clusterWeight = 10;
+                private int priorResolvedWeight = 5;
+                private int ageWeight = 1;
+                private Map<String, Integer> categoryWeights = new HashMap<>(Map.of(
+                        "Hacking/Cheating", 20,
+                        "Exploiting Bugs", 15,
+                        "Harassment/Bullying", 15,
+                        "Griefing/Vandalism", 10,
+                        "Inappropriate Language", 5,
+                        "Inappropriate Skin/Name", 5,
+                        "Spam/Advertisement", 5));
             }
         }
 
@@ -847,10 +1143,18 @@ public class ConfigManager {
             private int maxCacheSize = 1000;
             private boolean asyncProcessing = true;
             private int batchSize = 50;
+            private int batchFlushInterval = 50;
             private int backgroundTaskInterval = 300;
             private int cacheCleanupInterval = 30;
         }
 
+        @Data
+        public static class MessagingConfig {
+            private String transport = "auto";
+            private int batchWindow = 500;
+            private int pollInterval = 5;
+        }
+
         @Data
         public static class UpdateCheckerConfig {
             private int checkInterval = 60;
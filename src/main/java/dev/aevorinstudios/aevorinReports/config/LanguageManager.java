@@ -36,6 +36,13 @@ public class LanguageManager {
         return instances.computeIfAbsent(lang, k -> new LanguageManager(plugin, k));
     }
 
+    /**
+     * @return The name of the language, e.g. en_US
+     */
+    public String getLanguage() {
+        return langName;
+    }
+
     public static void reloadAll(Plugin plugin) {
         instances.clear();
         get(plugin);
@@ -2,6 +2,7 @@ package dev.aevorinstudios.aevorinReports.database;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import lombok.Getter;
 
@@ -13,13 +14,27 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
+    private static final String INSERT_REPORT_SQL = "INSERT INTO reports (reporter_uuid, reported_uuid, reason, server_name, status, is_anonymous, created_at, updated_at, evidence_data, coordinates, world, reporter_name, reported_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // With the compact format the binary UUID and epoch-millisecond columns are written as well
+    private static final String INSERT_REPORT_COMPACT_SQL = "INSERT INTO reports (reporter_uuid, reported_uuid, reason, server_name, status, is_anonymous, created_at, updated_at, evidence_data, coordinates, world, reporter_name, reported_name, reporter_uuid_bin, reported_uuid_bin, created_at_ms, updated_at_ms) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Names are only overwritten when known, so an update never erases them. The legacy format
+    // clears the compact columns, so the row is converted again if the compact format is re-enabled.
+    private static final String UPDATE_REPORT_SQL = "UPDATE reports SET reporter_uuid = ?, reported_uuid = ?, reason = ?, server_name = ?, status = ?, is_anonymous = ?, updated_at = ?, evidence_data = COALESCE(?, evidence_data), coordinates = ?, world = ?, reporter_name = COALESCE(?, reporter_name), reported_name = COALESCE(?, reported_name), reporter_uuid_bin = NULL, reported_uuid_bin = NULL, created_at_ms = NULL, updated_at_ms = NULL WHERE id = ?";
+    private static final String UPDATE_REPORT_COMPACT_SQL = "UPDATE reports SET reporter_uuid = ?, reported_uuid = ?, reason = ?, server_name = ?, status = ?, is_anonymous = ?, updated_at = ?, evidence_data = COALESCE(?, evidence_data), coordinates = ?, world = ?, reporter_name = COALESCE(?, reporter_name), reported_name = COALESCE(?, reported_name), reporter_uuid_bin = ?, reported_uuid_bin = ?, created_at_ms = COALESCE(created_at_ms, ?), updated_at_ms = ? WHERE id = ?";
+    private static final String INSERT_EVENT_SQL = "INSERT INTO report_events (report_id, event_type, status, previous_status, actor, origin, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int IN_LIST_CHUNK = 500;
 
     public boolean testConnection() {
         try (Connection conn = dataSource.getConnection()) {
@@ -30,45 +45,47 @@ public class DatabaseManager {
     }
 
     private HikariDataSource dataSource;
+    // Read-only connections for SQLite in WAL mode, so reads don't queue behind the single writer
+    private HikariDataSource readSource;
+    @Getter
+    private Dialect dialect;
     @Getter
     private static DatabaseManager instance;
-
-    public DatabaseManager(String host, int port, String database, String username, String password) {
+    // Recorded as the origin of outbox events, set once the server identity is synced
+    private volatile String serverName;
+    // Read the compact columns where present; filter on them once every row has been converted
+    private volatile boolean compactReads;
+    private volatile boolean compactFilters;
+
+    public DatabaseManager(String host, int port, String database, String username, String password,
+            ConfigManager.Config.DatabaseConfig.PoolConfig pool) {
         instance = this;
-        initializeDataSource(host, port, database, username, password);
+        initializeDataSource(host, port, database, username, password, pool);
         createTables();
     }
 
-    public DatabaseManager(String filePath) {
+    public DatabaseManager(ConfigManager.Config.DatabaseConfig.FileStorageConfig file) {
         instance = this;
-        initializeSQLiteDataSource(filePath);
+        boolean performance = "performance".equals(file.getMode());
+        initializeSQLiteDataSource(file.getPath(), performance);
         createTables();
+        if (performance) {
+            initializeSQLiteReadSource(file.getPath(), file.getReadPoolSize());
+        }
     }
 
     public List<Report> getResolvedReportsBefore(LocalDateTime cutoff) {
-        String sql = "SELECT * FROM reports WHERE status = 'RESOLVED' AND updated_at < ?";
+        String sql = "SELECT " + reportColumns(true) + " FROM reports WHERE status = 'RESOLVED' AND updated_at < ?";
         List<Report> reports = new ArrayList<>();
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
 
             try (var rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(true);
                 while (rs.next()) {
-                    reports.add(Report.builder()
-                            .id(rs.getLong("id"))
-                            .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
-                            .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
-                            .reason(rs.getString("reason"))
-                            .serverName(rs.getString("server_name"))
-                            .status(Report.ReportStatus.valueOf(rs.getString("status")))
-                            .isAnonymous(rs.getBoolean("is_anonymous"))
-                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
-                            .evidenceData(rs.getString("evidence_data"))
-                            .coordinates(rs.getString("coordinates"))
-                            .world(rs.getString("world"))
-                            .build());
+                    reports.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
@@ -79,29 +96,17 @@ public class DatabaseManager {
     }
 
     public List<Report> getRejectedReportsBefore(LocalDateTime cutoff) {
-        String sql = "SELECT * FROM reports WHERE status = 'INVALID' AND updated_at < ?";
+        String sql = "SELECT " + reportColumns(true) + " FROM reports WHERE status = 'REJECTED' AND updated_at < ?";
         List<Report> reports = new ArrayList<>();
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
 
             try (var rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(true);
                 while (rs.next()) {
-                    reports.add(Report.builder()
-                            .id(rs.getLong("id"))
-                            .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
-                            .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
-                            .reason(rs.getString("reason"))
-                            .serverName(rs.getString("server_name"))
-                            .status(Report.ReportStatus.valueOf(rs.getString("status")))
-                            .isAnonymous(rs.getBoolean("is_anonymous"))
-                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
-                            .evidenceData(rs.getString("evidence_data"))
-                            .coordinates(rs.getString("coordinates"))
-                            .world(rs.getString("world"))
-                            .build());
+                    reports.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
@@ -111,42 +116,188 @@ public class DatabaseManager {
         return reports;
     }
 
+    /**
+     * Move closed reports last changed before a cutoff into {@code reports_archive},
+     * together with their comments and history, in one transaction. Rows already in the
+     * archive are left alone, so servers sharing a database can run this
+     * concurrently.
+     *
+     * @param status The status of the reports to archive
+     * @param cutoff Only reports last updated before this are archived
+     * @param limit  The maximum number of reports to archive
+     * @return The IDs of the archived reports, oldest first
+     */
+    public List<Long> archiveReports(Report.ReportStatus status, LocalDateTime cutoff, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Locking the rows on MySQL keeps two servers from archiving the same chunk
+                String select = "SELECT id FROM reports WHERE status = ? AND updated_at < ? ORDER BY updated_at ASC LIMIT ?"
+                        + (dialect == Dialect.MYSQL ? " FOR UPDATE" : "");
+                try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                    stmt.setString(1, status.name());
+                    stmt.setTimestamp(2, Timestamp.valueOf(cutoff));
+                    stmt.setInt(3, limit);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getLong(1));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return ids;
+                }
+
+                String in = " IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+                String ignore = dialect == Dialect.SQLITE ? "INSERT OR IGNORE INTO " : "INSERT IGNORE INTO ";
+                String columns = ReportRowMapper.columns(null, true, true);
+                archiveStatement(conn, ignore + "reports_archive (" + columns + ", archived_at) SELECT " + columns
+                        + ", ? FROM reports WHERE id" + in, ids, Timestamp.valueOf(LocalDateTime.now()));
+                archiveStatement(conn, ignore + "report_comments_archive (id, report_id, staff_uuid, comment, created_at) "
+                        + "SELECT id, report_id, staff_uuid, comment, created_at FROM report_comments WHERE report_id" + in,
+                        ids, null);
+                archiveStatement(conn, ignore + "report_history_archive (id, report_id, staff_uuid, action, details, created_at) "
+                        + "SELECT id, report_id, staff_uuid, action, details, created_at FROM report_history WHERE report_id" + in,
+                        ids, null);
+                // SQLite doesn't enforce the cascades, so children are removed explicitly
+                archiveStatement(conn, "DELETE FROM report_comments WHERE report_id" + in, ids, null);
+                archiveStatement(conn, "DELETE FROM report_history WHERE report_id" + in, ids, null);
+                archiveStatement(conn, "DELETE FROM discord_deliveries WHERE report_id" + in, ids, null);
+                archiveStatement(conn, "DELETE FROM reports WHERE id" + in, ids, null);
+
+                try (PreparedStatement events = conn.prepareStatement(INSERT_EVENT_SQL)) {
+                    for (long id : ids) {
+                        bindEvent(events, id, ReportEvent.Type.DELETED, null, status, null);
+                        events.addBatch();
+                    }
+                    events.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to archive " + status + " reports", e);
+        }
+        return ids;
+    }
+
+    // Binds an optional leading timestamp, then the IDs
+    private static void archiveStatement(Connection conn, String sql, List<Long> ids, Timestamp first)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (first != null) {
+                stmt.setTimestamp(index++, first);
+            }
+            for (long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Merge another player's report into an existing pending report: the cluster
+     * size is incremented and the reporter is recorded in the report's history.
+     *
+     * @param reportId     The report to join
+     * @param reporterUuid The player whose report is merged
+     * @param reporterName The name of that player
+     * @return The new cluster size, or 0 if the report is no longer pending and can't be joined
+     */
+    public int joinCluster(long reportId, UUID reporterUuid, String reporterName) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int size = 0;
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE reports SET cluster_size = cluster_size + 1 WHERE id = ? AND status = 'PENDING'")) {
+                    stmt.setLong(1, reportId);
+                    if (stmt.executeUpdate() == 0) {
+                        conn.commit();
+                        return 0;
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT cluster_size FROM reports WHERE id = ?")) {
+                    stmt.setLong(1, reportId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            size = rs.getInt(1);
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO report_history (report_id, staff_uuid, action, details, created_at) VALUES (?, ?, ?, ?, ?)")) {
+                    stmt.setLong(1, reportId);
+                    stmt.setString(2, reporterUuid.toString());
+                    stmt.setString(3, "CLUSTER_JOIN");
+                    stmt.setString(4, reporterName);
+                    stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement events = conn.prepareStatement(INSERT_EVENT_SQL)) {
+                    bindEvent(events, reportId, ReportEvent.Type.UPDATED, Report.ReportStatus.PENDING, null, reporterName);
+                    events.executeUpdate();
+                }
+                conn.commit();
+                return size;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to join report cluster", e);
+        }
+    }
+
     public void deleteReport(Long id) {
         String sql = "DELETE FROM reports WHERE id = ?";
 
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, id);
-            stmt.executeUpdate();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                    PreparedStatement events = conn.prepareStatement(INSERT_EVENT_SQL);
+                    PreparedStatement deliveries = conn.prepareStatement(
+                            "DELETE FROM discord_deliveries WHERE report_id = ?")) {
+                stmt.setLong(1, id);
+                if (stmt.executeUpdate() > 0) {
+                    bindEvent(events, id, ReportEvent.Type.DELETED, null, null, null);
+                    events.executeUpdate();
+                    deliveries.setLong(1, id);
+                    deliveries.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete report", e);
         }
     }
 
     public List<Report> getReportsByStatus(Report.ReportStatus status) {
-        String sql = "SELECT * FROM reports WHERE status = ?";
+        String sql = "SELECT " + reportColumns(false) + " FROM reports WHERE status = ? ORDER BY id";
         List<Report> reports = new ArrayList<>();
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, status.name());
 
             try (ResultSet rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(false);
                 while (rs.next()) {
-                    reports.add(Report.builder()
-                            .id(rs.getLong("id"))
-                            .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
-                            .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
-                            .reason(rs.getString("reason"))
-                            .serverName(rs.getString("server_name"))
-                            .status(Report.ReportStatus.valueOf(rs.getString("status")))
-                            .isAnonymous(rs.getBoolean("is_anonymous"))
-                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
-                            .evidenceData(rs.getString("evidence_data"))
-                            .coordinates(rs.getString("coordinates"))
-                            .world(rs.getString("world"))
-                            .build());
+                    reports.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
@@ -157,29 +308,19 @@ public class DatabaseManager {
     }
 
     public List<Report> getReportsByReporter(UUID reporterUuid) {
-        String sql = "SELECT * FROM reports WHERE reporter_uuid = ? ORDER BY created_at DESC";
+        boolean compact = compactFilters;
+        String sql = "SELECT " + reportColumns(false) + " FROM reports WHERE " + uuidColumn("reporter_uuid", compact)
+                + " = ? ORDER BY created_at DESC";
         List<Report> reports = new ArrayList<>();
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reporterUuid.toString());
+            bindUuid(stmt, 1, reporterUuid, compact);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(false);
                 while (rs.next()) {
-                    reports.add(Report.builder()
-                            .id(rs.getLong("id"))
-                            .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
-                            .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
-                            .reason(rs.getString("reason"))
-                            .serverName(rs.getString("server_name"))
-                            .status(Report.ReportStatus.valueOf(rs.getString("status")))
-                            .isAnonymous(rs.getBoolean("is_anonymous"))
-                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
-                            .evidenceData(rs.getString("evidence_data"))
-                            .coordinates(rs.getString("coordinates"))
-                            .world(rs.getString("world"))
-                            .build());
+                    reports.add(mapper.map(rs));
                 }
             }
         } catch (SQLException e) {
@@ -189,19 +330,66 @@ public class DatabaseManager {
         return reports;
     }
 
-    public void deleteOldReports(Report.ReportStatus status, LocalDateTime threshold) {
-        String sql = "DELETE FROM reports WHERE status = ? AND updated_at < ?";
+    /**
+     * Fetch one page of reports with a status using keyset pagination, so the cost
+     * doesn't grow with the page number.
+     *
+     * @param status The status to filter by
+     * @param cursor The report ID to page from (exclusive)
+     * @param older  true to fetch reports with IDs below the cursor, false for IDs above it
+     * @param limit  The maximum number of reports to return
+     * @return The reports, newest first
+     */
+    public List<Report> getReportsPageByStatus(Report.ReportStatus status, long cursor, boolean older, int limit) {
+        return getReportsPage("status", status.name(), cursor, older, limit);
+    }
 
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Fetch one page of the reports submitted by a player using keyset pagination.
+     *
+     * @param reporterUuid The UUID of the reporter
+     * @param cursor       The report ID to page from (exclusive)
+     * @param older        true to fetch reports with IDs below the cursor, false for IDs above it
+     * @param limit        The maximum number of reports to return
+     * @return The reports, newest first
+     */
+    public List<Report> getReportsPageByReporter(UUID reporterUuid, long cursor, boolean older, int limit) {
+        boolean compact = compactFilters;
+        return getReportsPage(uuidColumn("reporter_uuid", compact), compact ? StorageFormat.toBytes(reporterUuid)
+                : reporterUuid.toString(), cursor, older, limit);
+    }
 
-            stmt.setString(1, status.name());
-            stmt.setTimestamp(2, Timestamp.valueOf(threshold));
-            stmt.executeUpdate();
+    // The value is a String, or the bytes of a binary UUID column
+    private List<Report> getReportsPage(String column, Object value, long cursor, boolean older, int limit) {
+        String sql = older
+                ? "SELECT " + reportColumns(false) + " FROM reports WHERE " + column + " = ? AND id < ? ORDER BY id DESC LIMIT ?"
+                : "SELECT " + reportColumns(false) + " FROM reports WHERE " + column + " = ? AND id > ? ORDER BY id ASC LIMIT ?";
+        List<Report> reports = new ArrayList<>(limit);
+
+        try (Connection conn = getReadConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (value instanceof byte[] bytes) {
+                stmt.setBytes(1, bytes);
+            } else {
+                stmt.setString(1, (String) value);
+            }
+            stmt.setLong(2, cursor);
+            stmt.setInt(3, limit);
 
+            try (ResultSet rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(false);
+                while (rs.next()) {
+                    reports.add(mapper.map(rs));
+                }
+            }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to delete old reports with status: " + status, e);
+            throw new RuntimeException("Failed to fetch page of reports by " + column, e);
+        }
+
+        if (!older) {
+            Collections.reverse(reports);
         }
+        return reports;
     }
 
     public List<Report> getActiveReports() {
@@ -210,7 +398,7 @@ public class DatabaseManager {
 
     public int getReportCountByStatus(Report.ReportStatus status) {
         String sql = "SELECT COUNT(*) FROM reports WHERE status = ?";
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, status.name());
             try (ResultSet rs = stmt.executeQuery()) {
@@ -224,7 +412,7 @@ public class DatabaseManager {
 
     public int getTotalReportsCount() {
         String sql = "SELECT COUNT(*) FROM reports";
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) return rs.getInt(1);
@@ -235,86 +423,333 @@ public class DatabaseManager {
     }
 
     /**
-     * Get the highest report ID currently in the database.
-     * 
-     * @return The maximum report ID, or 0 if no reports exist.
+     * Get the highest event ID currently in the outbox.
+     *
+     * @return The maximum event ID, or 0 if no events exist.
      */
-    public long getMaxReportId() {
-        String sql = "SELECT MAX(id) FROM reports";
-        try (Connection conn = dataSource.getConnection();
+    public long getMaxEventId() {
+        String sql = "SELECT MAX(id) FROM report_events";
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql);
                 ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
                 return rs.getLong(1);
             }
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RuntimeException("Failed to fetch the latest report event", e);
         }
         return 0;
     }
 
     /**
-     * Get all reports with an ID higher than the specified ID (for network polling)
-     * 
-     * @param lastId The last ID that was processed
-     * @return List of reports with IDs higher than lastId
+     * Get outbox events in ID order. IDs are assigned when an event is inserted,
+     * not when it commits, so an event may still show up below the highest ID
+     * returned here.
+     *
+     * @param afterId The last event ID that was processed
+     * @param limit   The maximum number of events to return
+     * @return Events with IDs higher than afterId
      */
-    public List<Report> getReportsAfterId(long lastId) {
-        String sql = "SELECT * FROM reports WHERE id > ? ORDER BY id ASC";
-        List<Report> reports = new ArrayList<>();
+    public List<ReportEvent> getEventsAfter(long afterId, int limit) {
+        String sql = "SELECT * FROM report_events WHERE id > ? ORDER BY id ASC LIMIT ?";
+        List<ReportEvent> events = new ArrayList<>();
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, lastId);
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapEvent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch report events after ID " + afterId, e);
+        }
+
+        return events;
+    }
+
+    /**
+     * Get specific events from the outbox, e.g. IDs that were skipped because
+     * their transaction had not committed yet when later events were read.
+     *
+     * @param ids The event IDs
+     * @return The events that exist, ordered by ID
+     */
+    public List<ReportEvent> getEvents(Collection<Long> ids) {
+        List<ReportEvent> events = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return events;
+        }
+        String sql = "SELECT * FROM report_events WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") ORDER BY id ASC";
+
+        try (Connection conn = getReadConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (long id : ids) {
+                stmt.setLong(index++, id);
+            }
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    reports.add(Report.builder()
-                            .id(rs.getLong("id"))
-                            .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
-                            .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
-                            .reason(rs.getString("reason"))
-                            .serverName(rs.getString("server_name"))
-                            .status(Report.ReportStatus.valueOf(rs.getString("status")))
-                            .isAnonymous(rs.getBoolean("is_anonymous"))
-                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
-                            .evidenceData(rs.getString("evidence_data"))
-                            .coordinates(rs.getString("coordinates"))
-                            .world(rs.getString("world"))
-                            .build());
+                    events.add(mapEvent(rs));
                 }
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch reports after ID", e);
+            throw new RuntimeException("Failed to fetch " + ids.size() + " report events", e);
         }
 
+        return events;
+    }
+
+    private ReportEvent mapEvent(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        String previousStatus = rs.getString("previous_status");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ReportEvent(
+                rs.getLong("id"),
+                rs.getLong("report_id"),
+                ReportEvent.Type.valueOf(rs.getString("event_type")),
+                status != null ? Report.ReportStatus.valueOf(status) : null,
+                previousStatus != null ? Report.ReportStatus.valueOf(previousStatus) : null,
+                rs.getString("actor"),
+                rs.getString("origin"),
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+    }
+
+    /**
+     * Get the position a consumer has processed the outbox up to.
+     *
+     * @param consumer The consumer name
+     * @return The last processed event ID, or -1 if the consumer has never run
+     */
+    /**
+     * Get the stored position of an outbox consumer.
+     *
+     * @param consumer The consumer's name
+     * @return The position, or null if the consumer has never run
+     */
+    public EventCursor getEventCursor(String consumer) {
+        String sql = "SELECT last_event_id, highest_event_id, open_gaps FROM event_cursors WHERE consumer = ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, consumer);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                long last = rs.getLong(1);
+                long highest = rs.getLong(2);
+                // Cursors saved before the high-water mark existed
+                if (rs.wasNull() || highest < last) {
+                    highest = last;
+                }
+                List<Long> gaps = new ArrayList<>();
+                String open = rs.getString(3);
+                if (open != null && !open.isEmpty()) {
+                    for (String id : open.split(",")) {
+                        gaps.add(Long.parseLong(id));
+                    }
+                }
+                return new EventCursor(last, highest, gaps);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch event cursor for " + consumer, e);
+        }
+    }
+
+    public void saveEventCursor(String consumer, EventCursor cursor) {
+        String sql = dialect == Dialect.SQLITE
+                ? "INSERT INTO event_cursors (consumer, last_event_id, highest_event_id, open_gaps, updated_at) VALUES (?, ?, ?, ?, ?) "
+                        + "ON CONFLICT(consumer) DO UPDATE SET last_event_id = excluded.last_event_id, "
+                        + "highest_event_id = excluded.highest_event_id, open_gaps = excluded.open_gaps, updated_at = excluded.updated_at"
+                : "INSERT INTO event_cursors (consumer, last_event_id, highest_event_id, open_gaps, updated_at) VALUES (?, ?, ?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE last_event_id = VALUES(last_event_id), highest_event_id = VALUES(highest_event_id), "
+                        + "open_gaps = VALUES(open_gaps), updated_at = VALUES(updated_at)";
+
+        StringBuilder gaps = new StringBuilder();
+        for (long id : cursor.gaps()) {
+            if (gaps.length() > 0) {
+                gaps.append(',');
+            }
+            gaps.append(id);
+        }
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, consumer);
+            stmt.setLong(2, cursor.lastEventId());
+            stmt.setLong(3, cursor.highestEventId());
+            stmt.setString(4, gaps.length() > 0 ? gaps.toString() : null);
+            stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save event cursor for " + consumer, e);
+        }
+    }
+
+    /**
+     * Delete outbox events older than a cutoff that every consumer has handled.
+     * A consumer that was offline for longer keeps its events until it has caught up.
+     *
+     * @param cutoff The creation time before which events are removed
+     * @return The number of events deleted
+     */
+    public int deleteEventsBefore(LocalDateTime cutoff) {
+        String sql = "DELETE FROM report_events WHERE created_at < ? AND id <= "
+                + "(SELECT COALESCE(MIN(last_event_id), " + Long.MAX_VALUE + ") FROM event_cursors)";
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to prune report events", e);
+        }
+    }
+
+    public DiscordDelivery getDiscordDelivery(long reportId) {
+        String sql = "SELECT * FROM discord_deliveries WHERE report_id = ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, reportId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+                return new DiscordDelivery(
+                        rs.getLong("report_id"),
+                        DiscordDelivery.State.valueOf(rs.getString("state")),
+                        rs.getString("target"),
+                        rs.getString("message_id"),
+                        rs.getInt("embed_index"),
+                        rs.getInt("attempts"),
+                        updatedAt != null ? updatedAt.toLocalDateTime() : null);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch Discord delivery for report " + reportId, e);
+        }
+    }
+
+    /**
+     * Record that a report's embed has been queued for Discord. Never downgrades
+     * a delivery that has already been confirmed, since queueing and confirmation
+     * may be written out of order.
+     *
+     * @param reportId The report being sent
+     */
+    public void recordDiscordAttempt(long reportId) {
+        String sql = dialect == Dialect.SQLITE
+                ? "INSERT INTO discord_deliveries (report_id, state, attempts, updated_at) VALUES (?, 'PENDING', 1, ?) "
+                        + "ON CONFLICT(report_id) DO UPDATE SET attempts = attempts + 1, updated_at = excluded.updated_at, "
+                        + "state = CASE WHEN state = 'SENT' THEN state ELSE 'PENDING' END"
+                : "INSERT INTO discord_deliveries (report_id, state, attempts, updated_at) VALUES (?, 'PENDING', 1, ?) "
+                        + "ON DUPLICATE KEY UPDATE attempts = attempts + 1, updated_at = VALUES(updated_at), "
+                        + "state = CASE WHEN state = 'SENT' THEN state ELSE 'PENDING' END";
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, reportId);
+            stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to record Discord attempt for report " + reportId, e);
+        }
+    }
+
+    public void markDiscordSent(long reportId, String target, String messageId, int embedIndex) {
+        String sql = dialect == Dialect.SQLITE
+                ? "INSERT INTO discord_deliveries (report_id, state, target, message_id, embed_index, attempts, updated_at) "
+                        + "VALUES (?, 'SENT', ?, ?, ?, 1, ?) ON CONFLICT(report_id) DO UPDATE SET state = 'SENT', "
+                        + "target = excluded.target, message_id = excluded.message_id, "
+                        + "embed_index = excluded.embed_index, updated_at = excluded.updated_at"
+                : "INSERT INTO discord_deliveries (report_id, state, target, message_id, embed_index, attempts, updated_at) "
+                        + "VALUES (?, 'SENT', ?, ?, ?, 1, ?) ON DUPLICATE KEY UPDATE state = 'SENT', "
+                        + "target = VALUES(target), message_id = VALUES(message_id), "
+                        + "embed_index = VALUES(embed_index), updated_at = VALUES(updated_at)";
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, reportId);
+            stmt.setString(2, target);
+            stmt.setString(3, messageId);
+            stmt.setInt(4, embedIndex);
+            stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark report " + reportId + " as sent to Discord", e);
+        }
+    }
+
+    public void markDiscordFailed(long reportId) {
+        String sql = "UPDATE discord_deliveries SET state = 'FAILED', updated_at = ? WHERE report_id = ? AND state <> 'SENT'";
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setLong(2, reportId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark report " + reportId + " as failed on Discord", e);
+        }
+    }
+
+    /**
+     * Find reports created in a time window whose embed never reached Discord,
+     * oldest first.
+     *
+     * @param serverName  Only reports filed on this server, or null for all servers
+     * @param from        The oldest creation time to consider
+     * @param to          The newest creation time to consider
+     * @param maxAttempts Reports queued this many times already are left alone
+     * @param limit       The maximum number of reports to return
+     * @return The undelivered reports
+     */
+    public List<Report> getUndeliveredReports(String serverName, LocalDateTime from, LocalDateTime to,
+            int maxAttempts, int limit) {
+        String sql = "SELECT " + ReportRowMapper.columns("r", false, compactReads) + " FROM reports r LEFT JOIN discord_deliveries d ON d.report_id = r.id "
+                + "WHERE r.created_at >= ? AND r.created_at < ? "
+                + "AND (d.report_id IS NULL OR (d.state <> 'SENT' AND d.attempts < ?)) "
+                + (serverName != null ? "AND r.server_name = ? " : "")
+                + "ORDER BY r.id ASC LIMIT ?";
+        List<Report> reports = new ArrayList<>();
+
+        try (Connection conn = getReadConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setTimestamp(index++, Timestamp.valueOf(from));
+            stmt.setTimestamp(index++, Timestamp.valueOf(to));
+            stmt.setInt(index++, maxAttempts);
+            if (serverName != null) {
+                stmt.setString(index++, serverName);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(false);
+                while (rs.next()) {
+                    reports.add(mapper.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch undelivered reports", e);
+        }
         return reports;
     }
 
     public Report getReport(long id) {
-        String sql = "SELECT * FROM reports WHERE id = ?";
+        String sql = "SELECT " + reportColumns(true) + " FROM reports WHERE id = ?";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                ReportRowMapper mapper = newMapper(true);
                 if (rs.next()) {
-                    return Report.builder()
-                            .id(rs.getLong("id"))
-                            .reporterUuid(UUID.fromString(rs.getString("reporter_uuid")))
-                            .reportedUuid(UUID.fromString(rs.getString("reported_uuid")))
-                            .reason(rs.getString("reason"))
-                            .serverName(rs.getString("server_name"))
-                            .status(Report.ReportStatus.valueOf(rs.getString("status")))
-                            .isAnonymous(rs.getBoolean("is_anonymous"))
-                            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                            .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
-                            .evidenceData(rs.getString("evidence_data"))
-                            .coordinates(rs.getString("coordinates"))
-                            .world(rs.getString("world"))
-                            .build();
+                    return mapper.map(rs);
                 }
             }
         } catch (SQLException e) {
@@ -324,7 +759,29 @@ public class DatabaseManager {
         return null;
     }
 
-    private void initializeSQLiteDataSource(String filePath) {
+    /**
+     * Fetch only the evidence of a report. Cached reports may have been loaded
+     * without it, see {@link ReportRowMapper}.
+     *
+     * @param id The report ID
+     * @return The stored evidence, or null if the report has none or doesn't exist
+     */
+    public String getEvidence(long id) {
+        String sql = "SELECT evidence_data FROM reports WHERE id = ?";
+
+        try (Connection conn = getReadConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch evidence of report with id: " + id, e);
+        }
+    }
+
+    private void initializeSQLiteDataSource(String filePath, boolean performance) {
         try {
             // Create a database directory if it doesn't exist
             java.io.File dbFile = new java.io.File(filePath);
@@ -338,12 +795,21 @@ public class DatabaseManager {
             HikariConfig config = new HikariConfig();
             config.setJdbcUrl("jdbc:sqlite:" + filePath);
             config.setDriverClassName("org.sqlite.JDBC");
+            // SQLite allows one writer at a time; callers wait for the connection in the pool's queue
             config.setMaximumPoolSize(1);
             config.setConnectionTimeout(30000);
             config.setIdleTimeout(600000);
             config.setMaxLifetime(1800000);
+            if (performance) {
+                config.setPoolName("AevorinReports-SQLite-Writer");
+                // WAL lets readers run next to the writer, and with synchronous=NORMAL a commit doesn't fsync
+                config.addDataSourceProperty("journal_mode", "WAL");
+                config.addDataSourceProperty("synchronous", "NORMAL");
+                applySQLiteTuning(config);
+            }
 
             dataSource = new HikariDataSource(config);
+            dialect = Dialect.SQLITE;
 
             // Test the connection
             try (Connection conn = dataSource.getConnection()) {
@@ -356,61 +822,86 @@ public class DatabaseManager {
         }
     }
 
-    private void initializeDataSource(String host, int port, String database, String username, String password) {
-        int maxRetries = 3;
-        int retryDelay = 5000; // 5 seconds
-        int attempts = 0;
+    private void initializeSQLiteReadSource(String filePath, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("AevorinReports-SQLite-Reader");
+        config.setJdbcUrl("jdbc:sqlite:" + filePath);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(30000);
+        config.setIdleTimeout(600000);
+        config.setMaxLifetime(1800000);
+        // SQLITE_OPEN_READONLY; the driver doesn't allow Connection#setReadOnly after opening
+        config.addDataSourceProperty("open_mode", "1");
+        applySQLiteTuning(config);
 
-        while (attempts < maxRetries) {
-            try {
-                HikariConfig config = new HikariConfig();
-                config.setJdbcUrl(String.format("jdbc:mysql://%s:%d/%s?useSSL=false&allowPublicKeyRetrieval=true", host,
-                        port, database));
-                config.setUsername(username);
-                config.setPassword(password);
-                config.setMaximumPoolSize(10);
-                config.setMinimumIdle(5);
-                config.setConnectionTimeout(30000);
-                config.setIdleTimeout(600000);
-                config.setMaxLifetime(1800000);
-                config.setConnectionTestQuery("SELECT 1");
-                config.setValidationTimeout(5000);
-                config.setInitializationFailTimeout(1);
-                config.addDataSourceProperty("cachePrepStmts", "true");
-                config.addDataSourceProperty("prepStmtCacheSize", "250");
-                config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-                config.addDataSourceProperty("useUnicode", "true");
-                config.addDataSourceProperty("characterEncoding", "utf8");
-                config.addDataSourceProperty("serverTimezone", "UTC");
-
-                dataSource = new HikariDataSource(config);
-
-                // Test the connection
-                try (Connection conn = dataSource.getConnection()) {
-                    if (!conn.isValid(5)) {
-                        throw new SQLException("Failed to validate database connection");
-                    }
-                }
-                return; // Successfully connected
-            } catch (SQLException e) {
-                attempts++;
-                if (attempts < maxRetries) {
-                    try {
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
+        try {
+            readSource = new HikariDataSource(config);
+        } catch (RuntimeException e) {
+            // Reads fall back to the writer connection
+            logger.warn("Failed to open SQLite read connections, reading through the writer: {}", e.getMessage());
+        }
+    }
+
+    private static void applySQLiteTuning(HikariConfig config) {
+        config.addDataSourceProperty("busy_timeout", "5000");
+        // Negative sizes are in KiB: 16 MiB of page cache per connection
+        config.addDataSourceProperty("cache_size", "-16384");
+        config.addDataSourceProperty("temp_store", "MEMORY");
+        config.setConnectionInitSql("PRAGMA mmap_size = 268435456");
+    }
+
+    // A single attempt; BukkitPlugin#connectDatabase retries with backoff off the main thread
+    private void initializeDataSource(String host, int port, String database, String username, String password,
+            ConfigManager.Config.DatabaseConfig.PoolConfig pool) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(String.format("jdbc:mysql://%s:%d/%s?useSSL=false&allowPublicKeyRetrieval=true", host,
+                port, database));
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(pool.getMaximumPoolSize());
+        config.setMinimumIdle(pool.getMinimumIdle());
+        config.setConnectionTimeout(pool.getConnectionTimeout());
+        config.setIdleTimeout(600000);
+        config.setMaxLifetime(1800000);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setValidationTimeout(5000);
+        config.setInitializationFailTimeout(1);
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // Lets the write queue send a batch of inserts as one multi-row statement
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("useUnicode", "true");
+        config.addDataSourceProperty("characterEncoding", "utf8");
+        config.addDataSourceProperty("serverTimezone", "UTC");
+
+        try {
+            dataSource = new HikariDataSource(config);
+            dialect = Dialect.MYSQL;
+
+            // Test the connection
+            try (Connection conn = dataSource.getConnection()) {
+                if (!conn.isValid(5)) {
+                    throw new SQLException("Failed to validate database connection");
                 }
             }
+        } catch (SQLException | RuntimeException e) {
+            // Don't leave a half-started pool behind for the next attempt
+            if (dataSource != null) {
+                dataSource.close();
+                dataSource = null;
+            }
+            throw new RuntimeException("Failed to initialize database connection pool", e);
         }
-        throw new RuntimeException("Failed to initialize database connection pool after " + maxRetries + " attempts");
     }
 
     private void createTables() {
+        boolean isSqlite = dialect == Dialect.SQLITE;
         try (Connection conn = getConnection()) {
             // Reports table
-            String createReportsTable = dataSource.getJdbcUrl().contains("sqlite") ? """
+            String createReportsTable = isSqlite ? """
                     CREATE TABLE IF NOT EXISTS reports (
                         id INTEGER PRIMARY KEY AUTOINCREMENT,
                         reporter_uuid VARCHAR(36) NOT NULL,
@@ -443,7 +934,7 @@ public class DatabaseManager {
             }
 
             // Report comments table
-            String createCommentsTable = dataSource.getJdbcUrl().contains("sqlite") ? """
+            String createCommentsTable = isSqlite ? """
                     CREATE TABLE IF NOT EXISTS report_comments (
                         id INTEGER PRIMARY KEY AUTOINCREMENT,
                         report_id BIGINT NOT NULL,
@@ -469,7 +960,7 @@ public class DatabaseManager {
             }
 
             // Report history table for audit logs
-            String createHistoryTable = dataSource.getJdbcUrl().contains("sqlite") ? """
+            String createHistoryTable = isSqlite ? """
                     CREATE TABLE IF NOT EXISTS report_history (
                         id INTEGER PRIMARY KEY AUTOINCREMENT,
                         report_id BIGINT NOT NULL,
@@ -497,7 +988,7 @@ public class DatabaseManager {
             }
 
             // Server tokens table for proxy-server authentication
-            String createTokensTable = dataSource.getJdbcUrl().contains("sqlite") ? """
+            String createTokensTable = isSqlite ? """
                     CREATE TABLE IF NOT EXISTS server_tokens (
                         id INTEGER PRIMARY KEY AUTOINCREMENT,
                         server_name VARCHAR(64) UNIQUE NOT NULL,
@@ -518,137 +1009,463 @@ public class DatabaseManager {
                 stmt.executeUpdate();
             }
 
-            // Ensure schema is up to date (add missing columns for older databases)
-            ensureTableSchema(conn);
+            // Bring older databases up to date (missing columns, indexes)
+            SchemaMigrator migrator = new SchemaMigrator(dialect);
+            migrator.migrate(conn);
+            logger.info("Database schema is at version {}", migrator.getCurrentVersion(conn));
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            throw new RuntimeException("Failed to create or migrate database schema", e);
         }
     }
 
-    private void ensureTableSchema(Connection conn) {
-        try {
-            // Use ResultSetMetaData which is more reliable than DatabaseMetaData across
-            // drivers
-            try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM reports WHERE 1=0");
-                    ResultSet rs = ps.executeQuery()) {
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
 
-                java.sql.ResultSetMetaData meta = rs.getMetaData();
-                int columnCount = meta.getColumnCount();
-                List<String> columns = new ArrayList<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    columns.add(meta.getColumnName(i).toLowerCase());
-                }
+    /**
+     * Get a connection for queries that don't write. On SQLite in performance
+     * mode this comes from a separate read-only pool; otherwise it is the same
+     * as {@link #getConnection()}.
+     *
+     * @return A connection that may be read-only
+     * @throws SQLException If no connection could be obtained
+     */
+    public Connection getReadConnection() throws SQLException {
+        HikariDataSource reads = readSource;
+        return reads != null ? reads.getConnection() : dataSource.getConnection();
+    }
 
-                boolean isSqlite = dataSource.getJdbcUrl().contains("sqlite");
+    /**
+     * Get the maximum number of pooled connections, used to size the database
+     * executor so that queued queries never wait on the pool instead of the queue.
+     *
+     * @return The configured maximum pool size, including read-only connections
+     */
+    public int getMaximumPoolSize() {
+        HikariDataSource reads = readSource;
+        return dataSource.getMaximumPoolSize() + (reads != null ? reads.getMaximumPoolSize() : 0);
+    }
 
-                // Check and add missing columns with detailed logging
-                if (!columns.contains("created_at")) {
-                    logger.info("Column 'created_at' missing. Adding...");
-                    // Use NULL for updated_at to avoid "only one TIMESTAMP with DEFAULT
-                    // CURRENT_TIMESTAMP" error on older MySQL
-                    addColumn(conn, "reports", "created_at", "TIMESTAMP NULL");
-                }
-                if (!columns.contains("updated_at")) {
-                    logger.info("Column 'updated_at' missing. Adding...");
-                    addColumn(conn, "reports", "updated_at", "TIMESTAMP NULL");
+    /**
+     * Choose the storage format. With {@link StorageFormat#COMPACT}, reports are
+     * read from the compact columns where present; filters only move to them
+     * once {@link #enableCompactFilters()} is called after every row has been converted.
+     *
+     * @param format The configured storage format
+     */
+    public void setStorageFormat(StorageFormat format) {
+        compactReads = format == StorageFormat.COMPACT;
+        if (!compactReads) {
+            compactFilters = false;
+        }
+    }
+
+    /**
+     * Filter by the binary UUID columns. Only safe once no row is missing them.
+     */
+    void enableCompactFilters() {
+        compactFilters = compactReads;
+    }
+
+    public boolean isCompactFiltering() {
+        return compactFilters;
+    }
+
+    /**
+     * Fill in the compact columns of reports written before they existed, or by
+     * an older version of the plugin. Each row is only written if it still
+     * hasn't been converted, so rows updated concurrently keep their newer values.
+     *
+     * @param afterId Only convert reports with a higher ID
+     * @param limit   The maximum number of reports to convert
+     * @return The ID of the last report looked at, or -1 if no report after {@code afterId} needs converting
+     */
+    long convertToCompact(long afterId, int limit) {
+        // The binary UUID marks a converted row: the times stay NULL where the row has none
+        String select = "SELECT id, reporter_uuid, reported_uuid, created_at, updated_at FROM reports "
+                + "WHERE id > ? AND reporter_uuid_bin IS NULL ORDER BY id ASC LIMIT ?";
+        String update = "UPDATE reports SET reporter_uuid_bin = ?, reported_uuid_bin = ?, created_at_ms = ?, "
+                + "updated_at_ms = ? WHERE id = ? AND reporter_uuid_bin IS NULL";
+        long lastId = -1;
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement query = conn.prepareStatement(select);
+                    PreparedStatement stmt = conn.prepareStatement(update)) {
+                query.setLong(1, afterId);
+                query.setInt(2, limit);
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong(1);
+                        Timestamp createdAt = rs.getTimestamp(4);
+                        Timestamp updatedAt = rs.getTimestamp(5);
+                        stmt.setBytes(1, StorageFormat.toBytes(UUID.fromString(rs.getString(2))));
+                        stmt.setBytes(2, StorageFormat.toBytes(UUID.fromString(rs.getString(3))));
+                        // Rows from before the timestamp columns existed keep NULL, so reads fall back
+                        // to the TIMESTAMP columns instead of showing 1970
+                        bindEpoch(stmt, 3, createdAt);
+                        bindEpoch(stmt, 4, updatedAt != null ? updatedAt : createdAt);
+                        stmt.setLong(5, lastId);
+                        stmt.addBatch();
+                    }
                 }
-                if (!columns.contains("evidence_data")) {
-                    logger.info("Column 'evidence_data' missing. Adding...");
-                    addColumn(conn, "reports", "evidence_data", "TEXT");
+                if (lastId >= 0) {
+                    stmt.executeBatch();
                 }
-                if (!columns.contains("coordinates")) {
-                    logger.info("Column 'coordinates' missing. Adding...");
-                    addColumn(conn, "reports", "coordinates", "VARCHAR(64)");
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to convert reports to the compact storage format", e);
+        }
+        return lastId;
+    }
+
+    private static void bindEpoch(PreparedStatement stmt, int index, Timestamp timestamp) throws SQLException {
+        if (timestamp != null) {
+            stmt.setLong(index, StorageFormat.toEpochMillis(timestamp.toLocalDateTime()));
+        } else {
+            stmt.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Index the binary UUID columns. Done after the conversion rather than in a
+     * schema migration, so databases that keep the legacy format don't maintain them.
+     */
+    void createCompactIndexes() {
+        SchemaMigrator migrator = new SchemaMigrator(dialect);
+        try (Connection conn = dataSource.getConnection()) {
+            migrator.createIndex(conn, "idx_reports_reporter_bin_status", "reports", "reporter_uuid_bin, status");
+            migrator.createIndex(conn, "idx_reports_reported_bin_status", "reports", "reported_uuid_bin, status");
+            migrator.createIndex(conn, "idx_reports_reporter_bin_id", "reports", "reporter_uuid_bin, id");
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to index the compact storage columns", e);
+        }
+    }
+
+    /**
+     * Drop the text UUID indexes of the {@code reports} table once filters use the
+     * binary columns, so inserts and updates stop maintaining both. The text columns
+     * themselves are kept, see {@link #restoreLegacyIndexes()}.
+     */
+    void dropLegacyIndexes() {
+        SchemaMigrator migrator = new SchemaMigrator(dialect);
+        try (Connection conn = dataSource.getConnection()) {
+            migrator.dropIndex(conn, "idx_reports_reporter_status", "reports");
+            migrator.dropIndex(conn, "idx_reports_reported_status", "reports");
+            migrator.dropIndex(conn, "idx_reports_reporter_id", "reports");
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to drop the legacy storage indexes", e);
+        }
+    }
+
+    /**
+     * Recreate the text UUID indexes dropped by {@link #dropLegacyIndexes()}, for a
+     * database going back to the legacy format. Does nothing if they exist.
+     */
+    public void restoreLegacyIndexes() {
+        SchemaMigrator migrator = new SchemaMigrator(dialect);
+        try (Connection conn = dataSource.getConnection()) {
+            migrator.createIndex(conn, "idx_reports_reporter_status", "reports", "reporter_uuid, status");
+            migrator.createIndex(conn, "idx_reports_reported_status", "reports", "reported_uuid, status");
+            migrator.createIndex(conn, "idx_reports_reporter_id", "reports", "reporter_uuid, id");
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to restore the legacy storage indexes", e);
+        }
+    }
+
+    /**
+     * Insert and update several reports in a single transaction, together with
+     * their {@code report_events} outbox entries. Generated IDs are set on the
+     * inserted reports. If any statement fails the whole batch is rolled back.
+     *
+     * @param inserts          New reports to insert
+     * @param updates          Existing reports to update
+     * @param previousStatuses For each entry of {@code updates}, the status it had before a
+     *                         status change, or null if the update didn't change the status.
+     *                         A status change is only written if the report still has that status
+     * @return The number of rows affected by each entry of {@code updates}, 0 if the report
+     *         is gone or its status was changed in the meantime
+     */
+    public int[] writeBatch(List<Report> inserts, List<Report> updates, List<Report.ReportStatus> previousStatuses) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!inserts.isEmpty()) {
+                    insertBatch(conn, inserts);
                 }
-                if (!columns.contains("world")) {
-                    logger.info("Column 'world' missing. Adding...");
-                    addColumn(conn, "reports", "world", "VARCHAR(64)");
+                int[] updateCounts = updates.isEmpty() ? new int[0] : updateBatch(conn, updates, previousStatuses);
+                insertEvents(conn, inserts, updates, previousStatuses, updateCounts);
+                conn.commit();
+                return updateCounts;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to write batch of " + (inserts.size() + updates.size()) + " reports", e);
+        }
+    }
+
+    private void insertEvents(Connection conn, List<Report> inserts, List<Report> updates,
+            List<Report.ReportStatus> previousStatuses, int[] updateCounts) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_EVENT_SQL)) {
+            for (Report report : inserts) {
+                bindEvent(stmt, report.getId(), ReportEvent.Type.CREATED, report.getStatus(), null,
+                        report.getReporterName());
+                stmt.addBatch();
+            }
+            for (int i = 0; i < updates.size(); i++) {
+                if (updateCounts[i] == 0) {
+                    continue;
                 }
-                if (!columns.contains("server_name")) {
-                    logger.info("Column 'server_name' missing. Adding...");
-                    addColumn(conn, "reports", "server_name", "VARCHAR(64) NOT NULL DEFAULT 'survival'");
+                Report report = updates.get(i);
+                Report.ReportStatus previous = previousStatuses.get(i);
+                boolean statusChanged = previous != null && previous != report.getStatus();
+                bindEvent(stmt, report.getId(),
+                        statusChanged ? ReportEvent.Type.STATUS_CHANGED : ReportEvent.Type.UPDATED,
+                        report.getStatus(), statusChanged ? previous : null, report.getLastUpdatedBy());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void bindEvent(PreparedStatement stmt, long reportId, ReportEvent.Type type, Report.ReportStatus status,
+            Report.ReportStatus previousStatus, String actor) throws SQLException {
+        stmt.setLong(1, reportId);
+        stmt.setString(2, type.name());
+        stmt.setString(3, status != null ? status.name() : null);
+        stmt.setString(4, previousStatus != null ? previousStatus.name() : null);
+        stmt.setString(5, actor);
+        stmt.setString(6, serverName);
+        stmt.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void insertBatch(Connection conn, List<Report> inserts) throws SQLException {
+        boolean compact = compactReads;
+        try (PreparedStatement stmt = conn.prepareStatement(insertSql(compact), PreparedStatement.RETURN_GENERATED_KEYS)) {
+            if (dialect == Dialect.SQLITE) {
+                // The SQLite driver only returns the key of the last row of a batch.
+                // Rows are still written in one transaction, which is where the cost is.
+                for (Report report : inserts) {
+                    bindInsert(stmt, report, compact);
+                    stmt.executeUpdate();
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            report.setId(generatedKeys.getLong(1));
+                        }
+                    }
                 }
-                if (!columns.contains("is_anonymous")) {
-                    logger.info("Column 'is_anonymous' missing. Adding...");
-                    addColumn(conn, "reports", "is_anonymous", isSqlite ? "BOOLEAN DEFAULT 0" : "BOOLEAN DEFAULT 0");
+                return;
+            }
+
+            for (Report report : inserts) {
+                bindInsert(stmt, report, compact);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Report report : inserts) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Driver returned fewer generated keys than batched inserts");
+                    }
+                    report.setId(generatedKeys.getLong(1));
                 }
             }
-        } catch (SQLException e) {
-            logger.error("Failed to check/update table schema: {}", e.getMessage(), e);
         }
     }
 
-    private void addColumn(Connection conn, String table, String column, String type) throws SQLException {
-        String sql = "ALTER TABLE " + table + " ADD COLUMN " + column + " " + type;
+    // A status change only applies while the report still has the status it was changed from, so a
+    // change made from an outdated view can't silently overwrite one made in the meantime
+    private int[] updateBatch(Connection conn, List<Report> updates, List<Report.ReportStatus> previousStatuses)
+            throws SQLException {
+        boolean compact = compactReads;
+        List<Integer> plain = new ArrayList<>();
+        List<Integer> conditional = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            (previousStatuses.get(i) != null ? conditional : plain).add(i);
+        }
+        int[] counts = new int[updates.size()];
+        executeUpdates(conn, updateSql(compact), compact, updates, null, plain, counts);
+        executeUpdates(conn, updateSql(compact) + " AND status = ?", compact, updates, previousStatuses,
+                conditional, counts);
+        return counts;
+    }
+
+    private void executeUpdates(Connection conn, String sql, boolean compact, List<Report> updates,
+            List<Report.ReportStatus> expectedStatuses, List<Integer> indexes, int[] counts) throws SQLException {
+        if (indexes.isEmpty()) {
+            return;
+        }
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.executeUpdate();
-            logger.info("Added missing column '{}' to table '{}'", column, table);
+            for (int i : indexes) {
+                int next = bindUpdate(stmt, updates.get(i), compact);
+                if (expectedStatuses != null) {
+                    stmt.setString(next, expectedStatuses.get(i).name());
+                }
+                stmt.addBatch();
+            }
+            int[] results = stmt.executeBatch();
+            for (int j = 0; j < indexes.size(); j++) {
+                counts[indexes.get(j)] = results[j];
+            }
         }
     }
 
-    public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+    private static String insertSql(boolean compact) {
+        return compact ? INSERT_REPORT_COMPACT_SQL : INSERT_REPORT_SQL;
     }
 
-    public void updateReport(Report report) {
-        String sql = "UPDATE reports SET reporter_uuid = ?, reported_uuid = ?, reason = ?, server_name = ?, status = ?, is_anonymous = ?, updated_at = ?, evidence_data = ?, coordinates = ?, world = ? WHERE id = ?";
+    private static String updateSql(boolean compact) {
+        return compact ? UPDATE_REPORT_COMPACT_SQL : UPDATE_REPORT_SQL;
+    }
 
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+    private void bindInsert(PreparedStatement stmt, Report report, boolean compact) throws SQLException {
+        stmt.setString(1, report.getReporterUuid().toString());
+        stmt.setString(2, report.getReportedUuid().toString());
+        stmt.setString(3, report.getReason());
+        stmt.setString(4, report.getServerName());
+        stmt.setString(5, report.getStatus().name());
+        stmt.setBoolean(6, report.isAnonymous());
+        stmt.setTimestamp(7, Timestamp.valueOf(report.getCreatedAt()));
+        stmt.setTimestamp(8, Timestamp.valueOf(report.getUpdatedAt()));
+        stmt.setString(9, report.getEvidenceData());
+        stmt.setString(10, report.getCoordinates());
+        stmt.setString(11, report.getWorld());
+        stmt.setString(12, report.getReporterName());
+        stmt.setString(13, report.getReportedPlayerName());
+        if (!compact) {
+            return;
+        }
+        stmt.setBytes(14, StorageFormat.toBytes(report.getReporterUuid()));
+        stmt.setBytes(15, StorageFormat.toBytes(report.getReportedUuid()));
+        stmt.setLong(16, StorageFormat.toEpochMillis(report.getCreatedAt()));
+        stmt.setLong(17, StorageFormat.toEpochMillis(report.getUpdatedAt()));
+    }
 
-            stmt.setString(1, report.getReporterUuid().toString());
-            stmt.setString(2, report.getReportedUuid().toString());
-            stmt.setString(3, report.getReason());
-            stmt.setString(4, report.getServerName());
-            stmt.setString(5, report.getStatus().name());
-            stmt.setBoolean(6, report.isAnonymous());
-            stmt.setTimestamp(7, Timestamp.valueOf(report.getUpdatedAt()));
-            stmt.setString(8, report.getEvidenceData());
-            stmt.setString(9, report.getCoordinates());
-            stmt.setString(10, report.getWorld());
-            stmt.setLong(11, report.getId());
+    // Returns the index of the first parameter after the ID
+    private int bindUpdate(PreparedStatement stmt, Report report, boolean compact) throws SQLException {
+        stmt.setString(1, report.getReporterUuid().toString());
+        stmt.setString(2, report.getReportedUuid().toString());
+        stmt.setString(3, report.getReason());
+        stmt.setString(4, report.getServerName());
+        stmt.setString(5, report.getStatus().name());
+        stmt.setBoolean(6, report.isAnonymous());
+        stmt.setTimestamp(7, Timestamp.valueOf(report.getUpdatedAt()));
+        stmt.setString(8, report.getEvidenceData());
+        stmt.setString(9, report.getCoordinates());
+        stmt.setString(10, report.getWorld());
+        stmt.setString(11, report.getReporterName());
+        stmt.setString(12, report.getReportedPlayerName());
+        if (!compact) {
+            stmt.setLong(13, report.getId());
+            return 14;
+        }
+        stmt.setBytes(13, StorageFormat.toBytes(report.getReporterUuid()));
+        stmt.setBytes(14, StorageFormat.toBytes(report.getReportedUuid()));
+        if (report.getCreatedAt() != null) {
+            stmt.setLong(15, StorageFormat.toEpochMillis(report.getCreatedAt()));
+        } else {
+            stmt.setNull(15, Types.BIGINT);
+        }
+        stmt.setLong(16, StorageFormat.toEpochMillis(report.getUpdatedAt()));
+        stmt.setLong(17, report.getId());
+        return 18;
+    }
+
+    private String reportColumns(boolean evidence) {
+        return ReportRowMapper.columns(null, evidence, compactReads);
+    }
+
+    private ReportRowMapper newMapper(boolean full) {
+        return new ReportRowMapper(full, compactReads);
+    }
+
+    private static String uuidColumn(String column, boolean compact) {
+        return compact ? column + "_bin" : column;
+    }
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new RuntimeException("Failed to update report: Report not found");
+    private static void bindUuid(PreparedStatement stmt, int index, UUID uuid, boolean compact) throws SQLException {
+        if (compact) {
+            stmt.setBytes(index, StorageFormat.toBytes(uuid));
+        } else {
+            stmt.setString(index, uuid.toString());
+        }
+    }
+
+    /**
+     * Look up the last known names of several players in one query per
+     * {@value #IN_LIST_CHUNK} UUIDs.
+     *
+     * @param uuids The players to look up
+     * @return The names found, keyed by UUID; players never seen are absent
+     */
+    public Map<UUID, String> getPlayerNames(Collection<UUID> uuids) {
+        Map<UUID, String> names = new HashMap<>();
+        List<UUID> pending = new ArrayList<>(uuids);
+
+        try (Connection conn = getReadConnection()) {
+            for (int start = 0; start < pending.size(); start += IN_LIST_CHUNK) {
+                List<UUID> chunk = pending.subList(start, Math.min(start + IN_LIST_CHUNK, pending.size()));
+                String sql = "SELECT uuid, name FROM player_names WHERE uuid IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setString(i + 1, chunk.get(i).toString());
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            names.put(UUID.fromString(rs.getString("uuid")), rs.getString("name"));
+                        }
+                    }
+                }
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to update report", e);
+            throw new RuntimeException("Failed to look up " + uuids.size() + " player names", e);
         }
+
+        return names;
     }
 
-    public void saveReport(Report report) {
-        String sql = "INSERT INTO reports (reporter_uuid, reported_uuid, reason, server_name, status, is_anonymous, created_at, updated_at, evidence_data, coordinates, world) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    /**
+     * Record the current name of a player so other servers sharing the database can resolve it.
+     *
+     * @param uuid The player's UUID
+     * @param name The player's current name
+     */
+    public void savePlayerName(UUID uuid, String name) {
+        String sql = dialect == Dialect.SQLITE
+                ? "INSERT INTO player_names (uuid, name, updated_at) VALUES (?, ?, ?) "
+                        + "ON CONFLICT(uuid) DO UPDATE SET name = excluded.name, updated_at = excluded.updated_at"
+                : "INSERT INTO player_names (uuid, name, updated_at) VALUES (?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE name = VALUES(name), updated_at = VALUES(updated_at)";
 
         try (Connection conn = dataSource.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setString(1, report.getReporterUuid().toString());
-            stmt.setString(2, report.getReportedUuid().toString());
-            stmt.setString(3, report.getReason());
-            stmt.setString(4, report.getServerName());
-            stmt.setString(5, report.getStatus().name());
-            stmt.setBoolean(6, report.isAnonymous());
-            stmt.setTimestamp(7, Timestamp.valueOf(report.getCreatedAt()));
-            stmt.setTimestamp(8, Timestamp.valueOf(report.getUpdatedAt()));
-            stmt.setString(9, report.getEvidenceData());
-            stmt.setString(10, report.getCoordinates());
-            stmt.setString(11, report.getWorld());
-
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, uuid.toString());
+            stmt.setString(2, name);
+            stmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
             stmt.executeUpdate();
-
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    report.setId(generatedKeys.getLong(1));
-                }
-            }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to save report", e);
+            throw new RuntimeException("Failed to save player name for " + uuid, e);
         }
     }
 
     public void close() {
+        if (readSource != null && !readSource.isClosed()) {
+            readSource.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
         }
@@ -656,6 +1473,7 @@ public class DatabaseManager {
 
     // Server Registration and Identification
     public void syncServerIdentity(String token, String currentServerName) {
+        this.serverName = currentServerName;
         String query = "SELECT server_name FROM server_tokens WHERE token = ?";
 
         try (Connection conn = getConnection()) {
@@ -765,7 +1583,7 @@ public class DatabaseManager {
 
     public boolean hasMultipleServers() {
         String query = "SELECT COUNT(DISTINCT server_name) FROM server_tokens";
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection();
                 PreparedStatement stmt = conn.prepareStatement(query);
                 ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
@@ -777,6 +1595,104 @@ public class DatabaseManager {
         return false;
     }
 
+    /**
+     * Count all reports grouped by status in a single query.
+     *
+     * @return Counts indexed by {@link Report.ReportStatus#ordinal()}
+     */
+    public long[] getStatusCounts() {
+        return getStatusCounts(null, null);
+    }
+
+    /**
+     * Count the reports submitted by a player grouped by status in a single query.
+     *
+     * @param reporterUuid The UUID of the reporter
+     * @return Counts indexed by {@link Report.ReportStatus#ordinal()}
+     */
+    public long[] getStatusCountsByReporter(UUID reporterUuid) {
+        return getStatusCounts("reporter_uuid", reporterUuid);
+    }
+
+    /**
+     * Count the reports against a player grouped by status in a single query.
+     *
+     * @param reportedUuid The UUID of the reported player
+     * @return Counts indexed by {@link Report.ReportStatus#ordinal()}
+     */
+    public long[] getStatusCountsByReported(UUID reportedUuid) {
+        return getStatusCounts("reported_uuid", reportedUuid);
+    }
+
+    /**
+     * Count the resolved reports against several players, in chunks of IN lists.
+     * Reports moved to {@code reports_archive} still count, so a player's history
+     * doesn't reset once the retention job has archived it.
+     *
+     * @param reportedUuids The players to count
+     * @return The counts keyed by UUID; players without resolved reports are absent
+     */
+    public Map<UUID, Integer> getResolvedCountsByReported(Collection<UUID> reportedUuids) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        List<UUID> pending = new ArrayList<>(reportedUuids);
+
+        boolean compact = compactFilters;
+        String column = uuidColumn("reported_uuid", compact);
+
+        try (Connection conn = getReadConnection()) {
+            for (int start = 0; start < pending.size(); start += IN_LIST_CHUNK) {
+                List<UUID> chunk = pending.subList(start, Math.min(start + IN_LIST_CHUNK, pending.size()));
+                String in = " IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                // Archived rows may predate the compact columns, so the archive is always matched on the text UUID
+                String sql = "SELECT reported_uuid, COUNT(*) FROM reports WHERE status = 'RESOLVED' AND " + column + in
+                        + " GROUP BY reported_uuid UNION ALL SELECT reported_uuid, COUNT(*) FROM reports_archive"
+                        + " WHERE status = 'RESOLVED' AND reported_uuid" + in + " GROUP BY reported_uuid";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        bindUuid(stmt, i + 1, chunk.get(i), compact);
+                        bindUuid(stmt, chunk.size() + i + 1, chunk.get(i), false);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.merge(UUID.fromString(rs.getString(1)), rs.getInt(2), Integer::sum);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count resolved reports of " + reportedUuids.size() + " players", e);
+        }
+
+        return counts;
+    }
+
+    private long[] getStatusCounts(String column, UUID uuid) {
+        boolean compact = compactFilters;
+        String sql = column == null
+                ? "SELECT status, COUNT(*) FROM reports GROUP BY status"
+                : "SELECT status, COUNT(*) FROM reports WHERE " + uuidColumn(column, compact) + " = ? GROUP BY status";
+        long[] counts = new long[Report.ReportStatus.values().length];
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (uuid != null) {
+                bindUuid(stmt, 1, uuid, compact);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        counts[Report.ReportStatus.valueOf(rs.getString(1)).ordinal()] = rs.getLong(2);
+                    } catch (IllegalArgumentException ignored) {
+                        // Rows with a status this version doesn't know about are not counted
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to count reports by status", e);
+        }
+        return counts;
+    }
+
     /**
      * Get the total number of reports submitted by a player
      *
@@ -784,10 +1700,11 @@ public class DatabaseManager {
      * @return The number of reports submitted
      */
     public int getReportsCountByReporter(UUID reporterUuid) {
-        String sql = "SELECT COUNT(*) FROM reports WHERE reporter_uuid = ?";
-        try (Connection conn = dataSource.getConnection();
+        boolean compact = compactFilters;
+        String sql = "SELECT COUNT(*) FROM reports WHERE " + uuidColumn("reporter_uuid", compact) + " = ?";
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reporterUuid.toString());
+            bindUuid(stmt, 1, reporterUuid, compact);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) return rs.getInt(1);
             }
@@ -805,10 +1722,11 @@ public class DatabaseManager {
      * @return The number of reports with the specified status
      */
     public int getReportsCountByReporterAndStatus(UUID reporterUuid, Report.ReportStatus status) {
-        String sql = "SELECT COUNT(*) FROM reports WHERE reporter_uuid = ? AND status = ?";
-        try (Connection conn = dataSource.getConnection();
+        boolean compact = compactFilters;
+        String sql = "SELECT COUNT(*) FROM reports WHERE " + uuidColumn("reporter_uuid", compact) + " = ? AND status = ?";
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reporterUuid.toString());
+            bindUuid(stmt, 1, reporterUuid, compact);
             stmt.setString(2, status.name());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) return rs.getInt(1);
@@ -826,10 +1744,11 @@ public class DatabaseManager {
      * @return The number of reports against the player
      */
     public int getReportsCountByReported(UUID reportedUuid) {
-        String sql = "SELECT COUNT(*) FROM reports WHERE reported_uuid = ?";
-        try (Connection conn = dataSource.getConnection();
+        boolean compact = compactFilters;
+        String sql = "SELECT COUNT(*) FROM reports WHERE " + uuidColumn("reported_uuid", compact) + " = ?";
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reportedUuid.toString());
+            bindUuid(stmt, 1, reportedUuid, compact);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) return rs.getInt(1);
             }
@@ -847,10 +1766,11 @@ public class DatabaseManager {
      * @return The number of reports with the specified status
      */
     public int getReportsCountByReportedAndStatus(UUID reportedUuid, Report.ReportStatus status) {
-        String sql = "SELECT COUNT(*) FROM reports WHERE reported_uuid = ? AND status = ?";
-        try (Connection conn = dataSource.getConnection();
+        boolean compact = compactFilters;
+        String sql = "SELECT COUNT(*) FROM reports WHERE " + uuidColumn("reported_uuid", compact) + " = ? AND status = ?";
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reportedUuid.toString());
+            bindUuid(stmt, 1, reportedUuid, compact);
             stmt.setString(2, status.name());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) return rs.getInt(1);
@@ -0,0 +1,19 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+/**
+ * SQL dialects supported by the storage layer.
+ */
+public enum Dialect {
+    SQLITE,
+    MYSQL;
+
+    /**
+     * Resolve the dialect from a JDBC URL.
+     *
+     * @param jdbcUrl The JDBC URL of the data source
+     * @return The matching dialect, MySQL for anything that isn't SQLite
+     */
+    public static Dialect fromJdbcUrl(String jdbcUrl) {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:sqlite:") ? SQLITE : MYSQL;
+    }
+}
@@ -0,0 +1,28 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the {@code discord_deliveries} ledger: whether a report's embed has
+ * reached Discord, and where, so it can be re-sent or edited later.
+ *
+ * @param reportId   The report the embed is about
+ * @param state      How far delivery got
+ * @param target     The webhook or channel the message was posted to
+ * @param messageId  The Discord message ID, once sent
+ * @param embedIndex The position of the report's embed within that message
+ * @param attempts   How many times the embed has been queued
+ * @param updatedAt  When the row last changed
+ */
+public record DiscordDelivery(long reportId, State state, String target, String messageId, int embedIndex,
+        int attempts, LocalDateTime updatedAt) {
+
+    public enum State {
+        /** Queued, not confirmed by Discord yet */
+        PENDING,
+        /** Posted; the message ID is known */
+        SENT,
+        /** Dropped after repeated failures or rejected by Discord */
+        FAILED
+    }
+}
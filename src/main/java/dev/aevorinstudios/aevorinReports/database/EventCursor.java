@@ -0,0 +1,17 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import java.util.List;
+
+/**
+ * A row of {@code event_cursors}: how far one consumer has read the
+ * {@code report_events} outbox.
+ *
+ * @param lastEventId    Every event up to this one has been handled; events are only pruned below
+ *                       the lowest of these
+ * @param highestEventId The highest event handled; everything between the two was handled too,
+ *                       except {@code gaps}
+ * @param gaps           Event IDs above {@code lastEventId} that were skipped because they were not
+ *                       committed yet when later ones were read
+ */
+public record EventCursor(long lastEventId, long highestEventId, List<Long> gaps) {
+}
@@ -0,0 +1,155 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Player names by UUID, so rendering a report never falls back to
+ * {@code Bukkit.getOfflinePlayer}. Names are learned when players join or quit
+ * and written to the {@code player_names} table, which other servers sharing a
+ * MySQL database read from. Reports loaded through the repository have the
+ * names of a whole page resolved in one batched query before they are handed out,
+ * except names stored with the report itself, see
+ * {@link dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver#resolvePlayerName(String, java.util.function.Supplier)}.
+ */
+public class PlayerNameCache implements Listener {
+    private final BukkitPlugin plugin;
+    private final ReportRepository repository;
+    private final DatabaseManager database;
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+
+    public PlayerNameCache(BukkitPlugin plugin, ReportRepository repository, DatabaseManager database) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.database = database;
+
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        // Players already online after a reload won't fire a join event
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            remember(player.getUniqueId(), player.getName());
+        }
+    }
+
+    /**
+     * Get a player's name without touching the database or player data files.
+     *
+     * @param uuid The player's UUID
+     * @return The name, or null if the player isn't known yet
+     */
+    public String getCached(UUID uuid) {
+        Player player = plugin.getServer().getPlayer(uuid);
+        return player != null ? player.getName() : names.get(uuid);
+    }
+
+    /**
+     * Store a name learned elsewhere, e.g. from an offline player lookup.
+     *
+     * @param uuid The player's UUID
+     * @param name The player's name
+     */
+    public void put(UUID uuid, String name) {
+        if (name != null) {
+            names.put(uuid, name);
+        }
+    }
+
+    /**
+     * Resolve a player's name on the database executor.
+     *
+     * @param uuid The player's UUID
+     * @return A future completed with the name, or null if it can't be resolved
+     */
+    public CompletableFuture<String> resolve(UUID uuid) {
+        String cached = getCached(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return repository.supply(() -> {
+            load(Set.of(uuid));
+            return names.get(uuid);
+        });
+    }
+
+    /**
+     * Make sure the reporter and reported player of every report are cached.
+     * Blocks on the database, so it must only be called on the database executor.
+     *
+     * @param reports The reports about to be displayed
+     */
+    void preload(Collection<Report> reports) {
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (Report report : reports) {
+            // Names stored with the report are shown as they are, so those UUIDs are never decoded
+            if (report.getReporterName() == null) {
+                collect(report.getReporterUuid(), missing);
+            }
+            if (report.getReportedPlayerName() == null) {
+                collect(report.getReportedUuid(), missing);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+    }
+
+    private void collect(UUID uuid, Set<UUID> missing) {
+        if (uuid != null && getCached(uuid) == null) {
+            missing.add(uuid);
+        }
+    }
+
+    // Shared table first, then the server's own player data
+    private void load(Set<UUID> missing) {
+        try {
+            names.putAll(database.getPlayerNames(missing));
+        } catch (RuntimeException e) {
+            ExceptionHandler.getInstance().handleException(e, "PlayerNameCache",
+                    Map.of("players", missing.size()));
+        }
+
+        for (UUID uuid : missing) {
+            if (names.containsKey(uuid)) {
+                continue;
+            }
+            put(uuid, plugin.getServer().getOfflinePlayer(uuid).getName());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        remember(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        // Keep the name around for reports rendered after the player leaves
+        names.put(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
+
+    private void remember(UUID uuid, String name) {
+        String previous = names.put(uuid, name);
+        if (!name.equals(previous)) {
+            repository.run(() -> database.savePlayerName(uuid, name))
+                    .exceptionally(error -> {
+                        ExceptionHandler.getInstance().handleException(error, "PlayerNameCache",
+                                Map.of("player", uuid));
+                        return null;
+                    });
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory report cache. Reports are kept by ID in an LRU map with a
+ * time-to-live, and the result of each status query is kept as a list of IDs
+ * resolved against that map. Writes made through the repository update or
+ * invalidate the affected entries; the TTL bounds how stale changes made by
+ * other servers sharing the database can get.
+ * <p>
+ * Cached reports are copied on the way in and out, since callers mutate the
+ * reports they are handed before writing them back.
+ */
+public class ReportCache implements ReportChangeListener {
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<Long, Entry> reports;
+    private final Map<Report.ReportStatus, StatusEntry> statusLists = new EnumMap<>(Report.ReportStatus.class);
+    // Bumped on every write so a query that raced with it isn't cached
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param ttlSeconds How long an entry stays valid
+     * @param maxSize    Maximum number of reports kept
+     */
+    public ReportCache(int ttlSeconds, int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxSize = maxSize;
+        this.reports = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > ReportCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached report.
+     *
+     * @param id The report ID
+     * @return A copy of the cached report, or null if it is not cached or has expired
+     */
+    public Report get(long id) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            Entry entry = reports.get(id);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return copy(entry.report);
+            }
+            if (entry != null) {
+                reports.remove(id);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Get the cached result of a status query.
+     *
+     * @param status The status that was queried
+     * @return Copies of the cached reports, or null if the list is missing, expired,
+     *         or one of its reports has been evicted
+     */
+    public List<Report> getByStatus(Report.ReportStatus status) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            StatusEntry entry = statusLists.get(status);
+            if (entry != null && entry.expiresAt > now) {
+                List<Report> result = new ArrayList<>(entry.ids.length);
+                for (long id : entry.ids) {
+                    Entry report = reports.get(id);
+                    if (report == null || report.expiresAt <= now) {
+                        result = null;
+                        break;
+                    }
+                    result.add(copy(report.report));
+                }
+                if (result != null) {
+                    hits.increment();
+                    return result;
+                }
+            }
+            statusLists.remove(status);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Get the current invalidation generation. Pass it back to
+     * {@link #put} or {@link #putByStatus} so results loaded before a write are discarded.
+     *
+     * @return The current generation
+     */
+    public long getGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Cache a report loaded from the database.
+     *
+     * @param report     The loaded report
+     * @param generation The generation read before the query was started
+     */
+    public void put(Report report, long generation) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (lock) {
+            if (generation == this.generation) {
+                reports.put(report.getId(), new Entry(copy(report), expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Cache the result of a status query.
+     *
+     * @param status     The status that was queried
+     * @param result     The reports returned, in query order
+     * @param generation The generation read before the query was started
+     */
+    public void putByStatus(Report.ReportStatus status, List<Report> result, long generation) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (lock) {
+            if (generation != this.generation || result.size() > maxSize) {
+                return;
+            }
+            long[] ids = new long[result.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Report report = result.get(i);
+                ids[i] = report.getId();
+                reports.put(report.getId(), new Entry(copy(report), expiresAt));
+            }
+            statusLists.put(status, new StatusEntry(ids, expiresAt));
+        }
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        synchronized (lock) {
+            generation++;
+            statusLists.remove(report.getStatus());
+            store(report);
+        }
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+        synchronized (lock) {
+            // The previous status isn't known here, so every list may be affected
+            generation++;
+            statusLists.clear();
+            store(report);
+        }
+    }
+
+    /**
+     * Drop a report whose cached copy is known to be outdated, e.g. because it
+     * was changed on another server, so the next read loads it again.
+     *
+     * @param id The report ID
+     */
+    public void invalidate(long id) {
+        synchronized (lock) {
+            generation++;
+            statusLists.clear();
+            reports.remove(id);
+        }
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+        invalidate(id);
+    }
+
+    @Override
+    public void onReportsArchived(List<Long> ids) {
+        synchronized (lock) {
+            generation++;
+            statusLists.clear();
+            ids.forEach(reports::remove);
+        }
+    }
+
+    /**
+     * Drop expired entries. Called periodically so memory isn't held until the next lookup.
+     */
+    public void cleanUp() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            Iterator<Entry> iterator = reports.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt <= now) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+            statusLists.values().removeIf(entry -> entry.expiresAt <= now);
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            generation++;
+            reports.clear();
+            statusLists.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return reports.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // Must be called while holding the lock
+    private void store(Report report) {
+        reports.put(report.getId(), new Entry(copy(report), System.currentTimeMillis() + ttlMillis));
+    }
+
+    private static Report copy(Report report) {
+        return report.toBuilder().build();
+    }
+
+    private record Entry(Report report, long expiresAt) {
+    }
+
+    private record StatusEntry(long[] ids, long expiresAt) {
+    }
+}
@@ -0,0 +1,57 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.util.List;
+
+/**
+ * Notified by the {@link ReportRepository} after a write has been committed.
+ * Callbacks run on a database thread and must not block.
+ */
+public interface ReportChangeListener {
+
+    /**
+     * Called after a new report has been inserted.
+     *
+     * @param report The saved report, with its generated ID
+     */
+    void onReportSaved(Report report);
+
+    /**
+     * Called after an existing report has been updated.
+     *
+     * @param report The report as it was written
+     */
+    void onReportUpdated(Report report);
+
+    /**
+     * Called after a status change made through {@link ReportRepository#updateStatus}
+     * has been committed, right after {@link #onReportUpdated}.
+     *
+     * @param report   The updated report
+     * @param previous The status before the change
+     * @param current  The status that was written
+     */
+    default void onReportStatusChanged(Report report, Report.ReportStatus previous, Report.ReportStatus current) {
+    }
+
+    /**
+     * Called after a report has been deleted.
+     *
+     * @param id The ID of the deleted report
+     */
+    void onReportDeleted(long id);
+
+    /**
+     * Called after a chunk of closed reports has been moved to the archive.
+     * Archived reports are gone from the regular tables, so by default this is
+     * treated like deleting each of them.
+     *
+     * @param ids The IDs of the archived reports
+     */
+    default void onReportsArchived(List<Long> ids) {
+        for (long id : ids) {
+            onReportDeleted(id);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import dev.aevorinstudios.aevorinReports.utils.SchedulerUtils;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory report counts for placeholders and metrics. Server-wide counts are
+ * seeded with one grouped query, per-player counts are seeded when a player
+ * joins and dropped when they leave, and both are kept current from repository
+ * change events, so reading a count never touches the database.
+ * <p>
+ * Writes made by other servers sharing the database, or by concurrent staff
+ * edits of the same report, are picked up by a full refresh every
+ * {@code performance.backgroundTaskInterval} seconds.
+ * <p>
+ * A recount replaces the counters as a whole. Every change bumps a change
+ * count, and a recount whose query overlapped a change is thrown away and run
+ * again, since its snapshot may or may not include that change. After a few
+ * such retries the last snapshot is kept and the next refresh corrects it.
+ */
+public class ReportCounters implements ReportChangeListener, Listener {
+    private static final Report.ReportStatus[] STATUSES = Report.ReportStatus.values();
+    private static final int MAX_RECOUNT_ATTEMPTS = 3;
+
+    private final BukkitPlugin plugin;
+    private final ReportRepository repository;
+    private final DatabaseManager database;
+    private final AtomicReference<LongAdder[]> global = new AtomicReference<>(newCounters(new long[STATUSES.length]));
+    private final Map<UUID, PlayerCounts> players = new ConcurrentHashMap<>();
+    // Applying a change and swapping in a recount never interleave
+    private final Object lock = new Object();
+    private long changes;
+
+    public ReportCounters(BukkitPlugin plugin, ReportRepository repository, DatabaseManager database) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.database = database;
+
+        repository.addChangeListener(this);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+        refresh();
+        long refreshTicks = 20L * plugin.getConfigManager().getConfig().getPerformance().getBackgroundTaskInterval();
+        if (refreshTicks > 0) {
+            SchedulerUtils.runTaskTimerAsynchronously(plugin, this::refresh, refreshTicks, refreshTicks);
+        }
+    }
+
+    /**
+     * Get the number of reports with a status across the server.
+     *
+     * @param status The status to count, or null for all reports
+     * @return The number of reports
+     */
+    public long getCount(Report.ReportStatus status) {
+        return sum(global.get(), status);
+    }
+
+    /**
+     * Get the number of reports submitted by an online player.
+     *
+     * @param uuid   The player's UUID
+     * @param status The status to count, or null for all reports
+     * @return The number of reports, or 0 while the player's counts are loading
+     */
+    public long getSubmitted(UUID uuid, Report.ReportStatus status) {
+        PlayerCounts counts = players.get(uuid);
+        return counts != null ? sum(counts.submitted, status) : 0;
+    }
+
+    /**
+     * Get the number of reports against an online player.
+     *
+     * @param uuid   The player's UUID
+     * @param status The status to count, or null for all reports
+     * @return The number of reports, or 0 while the player's counts are loading
+     */
+    public long getReceived(UUID uuid, Report.ReportStatus status) {
+        PlayerCounts counts = players.get(uuid);
+        return counts != null ? sum(counts.received, status) : 0;
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        synchronized (lock) {
+            changes++;
+            global.get()[report.getStatus().ordinal()].increment();
+
+            PlayerCounts reporter = players.get(report.getReporterUuid());
+            if (reporter != null) {
+                reporter.submitted[report.getStatus().ordinal()].increment();
+            }
+            PlayerCounts reported = players.get(report.getReportedUuid());
+            if (reported != null) {
+                reported.received[report.getStatus().ordinal()].increment();
+            }
+        }
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+    }
+
+    @Override
+    public void onReportStatusChanged(Report report, Report.ReportStatus previous, Report.ReportStatus current) {
+        synchronized (lock) {
+            changes++;
+            move(global.get(), previous, current);
+
+            PlayerCounts reporter = players.get(report.getReporterUuid());
+            if (reporter != null) {
+                move(reporter.submitted, previous, current);
+            }
+            PlayerCounts reported = players.get(report.getReportedUuid());
+            if (reported != null) {
+                move(reported.received, previous, current);
+            }
+        }
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+        // The status and players of a deleted report aren't known anymore, so recount
+        recountRemoved();
+    }
+
+    @Override
+    public void onReportsArchived(List<Long> ids) {
+        // One recount for the whole chunk
+        recountRemoved();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        load(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getUniqueId());
+    }
+
+    private void refresh() {
+        recountGlobal(1);
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            load(player.getUniqueId(), 1);
+        }
+    }
+
+    // Only players with at least one counted report can have lost one
+    private void recountRemoved() {
+        recountGlobal(1);
+        players.forEach((uuid, counts) -> {
+            if (sum(counts.submitted, null) + sum(counts.received, null) > 0) {
+                load(uuid, 1);
+            }
+        });
+    }
+
+    private void recountGlobal(int attempt) {
+        long stamp = changeCount();
+        repository.supply(database::getStatusCounts).thenAccept(counts -> {
+            synchronized (lock) {
+                if (changes == stamp || attempt >= MAX_RECOUNT_ATTEMPTS) {
+                    global.set(newCounters(counts));
+                    return;
+                }
+            }
+            recountGlobal(attempt + 1);
+        }).exceptionally(error -> {
+            ExceptionHandler.getInstance().handleException(error, "ReportCounters");
+            return null;
+        });
+    }
+
+    private void load(UUID uuid) {
+        load(uuid, 1);
+    }
+
+    private void load(UUID uuid, int attempt) {
+        long stamp = changeCount();
+        repository.supply(() -> new PlayerCounts(database.getStatusCountsByReporter(uuid),
+                database.getStatusCountsByReported(uuid))).thenAccept(counts -> {
+            synchronized (lock) {
+                if (changes == stamp || attempt >= MAX_RECOUNT_ATTEMPTS) {
+                    // Skip players who left while their counts were loading
+                    if (plugin.getServer().getPlayer(uuid) != null) {
+                        players.put(uuid, counts);
+                    }
+                    return;
+                }
+            }
+            load(uuid, attempt + 1);
+        }).exceptionally(error -> {
+            ExceptionHandler.getInstance().handleException(error, "ReportCounters", Map.of("player", uuid));
+            return null;
+        });
+    }
+
+    private long changeCount() {
+        synchronized (lock) {
+            return changes;
+        }
+    }
+
+    private static void move(LongAdder[] counters, Report.ReportStatus from, Report.ReportStatus to) {
+        counters[from.ordinal()].decrement();
+        counters[to.ordinal()].increment();
+    }
+
+    private static long sum(LongAdder[] counters, Report.ReportStatus status) {
+        if (status != null) {
+            return counters[status.ordinal()].sum();
+        }
+        long total = 0;
+        for (LongAdder counter : counters) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    private static LongAdder[] newCounters(long[] values) {
+        LongAdder[] counters = new LongAdder[STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+            counters[i].add(values[i]);
+        }
+        return counters;
+    }
+
+    private static final class PlayerCounts {
+        private final LongAdder[] submitted;
+        private final LongAdder[] received;
+
+        private PlayerCounts(long[] submitted, long[] received) {
+            this.submitted = newCounters(submitted);
+            this.received = newCounters(received);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry of the {@code report_events} outbox. Events are written in the same
+ * transaction as the change they describe and read back in ID order by a
+ * {@link ReportEventFeed}.
+ *
+ * @param id             The event ID, increasing in commit order
+ * @param reportId       The report the event is about
+ * @param type           What happened to the report
+ * @param status         The status of the report after the change, null for deletions
+ * @param previousStatus The status before a {@link Type#STATUS_CHANGED} event, otherwise null
+ * @param actor          Who made the change, if known
+ * @param origin         The name of the server the change was made on
+ * @param createdAt      When the change was committed
+ */
+public record ReportEvent(long id, long reportId, Type type, Report.ReportStatus status,
+        Report.ReportStatus previousStatus, String actor, String origin, LocalDateTime createdAt) {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,340 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the {@code report_events} outbox for one named consumer. The position
+ * of the consumer is stored in {@code event_cursors} after every batch, so
+ * events committed while the server was down are delivered on the next start
+ * and events are not handed out again after a restart.
+ * <p>
+ * The outbox is polled with an adaptive delay: immediately while there is a
+ * backlog, doubling up to {@code maxDelayMillis} while idle. Writes made on
+ * this server wake the feed right away, so the maximum delay only bounds how
+ * long changes from other servers sharing the database take to show up.
+ * <p>
+ * Event IDs are assigned when a transaction inserts the event but only become
+ * visible when it commits, so on a shared database a later ID can be read
+ * before an earlier one. IDs skipped over are remembered as gaps and checked
+ * again on every poll until they show up or {@link #GAP_TIMEOUT_MILLIS} has
+ * passed (an ID may also be missing because its transaction rolled back). The
+ * open gaps are stored together with the highest event handled, so a restart
+ * checks them again without handing out the events above them a second time.
+ */
+public class ReportEventFeed implements ReportChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(ReportEventFeed.class);
+    private static final int BATCH_SIZE = 100;
+    private static final long MIN_DELAY_MILLIS = 250;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int RETENTION_DAYS = 7;
+    private static final long PRUNE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long GAP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+    // More missing IDs than this in one jump are a changed auto-increment step, not uncommitted events
+    private static final int MAX_GAPS = 1000;
+
+    private final ReportRepository repository;
+    private final DatabaseManager database;
+    private final String consumer;
+    private final long maxDelayMillis;
+    private final Handler handler;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private ScheduledFuture<?> nextPoll;
+    private long delayMillis = MIN_DELAY_MILLIS;
+    private boolean running;
+
+    // Only touched on the scheduler thread
+    private long cursor;
+    // The highest event handed out; everything up to it was delivered except the gaps
+    private long highest;
+    // Skipped event IDs, and when they were first missed
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long failedEventId = -1;
+    private int failedAttempts;
+    private long lastPrune;
+
+    /**
+     * Processes events handed out by the feed.
+     */
+    public interface Handler {
+
+        /**
+         * Handle a single event. Throwing makes the feed retry the event on the
+         * next poll; an event that keeps failing is skipped after a few attempts.
+         *
+         * @param event The event to handle
+         * @throws Exception If the event couldn't be handled
+         */
+        void handle(ReportEvent event) throws Exception;
+
+        /**
+         * Whether the handler can accept events right now. The feed holds its
+         * position while this returns false.
+         *
+         * @return true if events should be delivered
+         */
+        default boolean isReady() {
+            return true;
+        }
+    }
+
+    /**
+     * @param repository     The repository whose writes wake the feed
+     * @param database       The database holding the outbox
+     * @param consumer       A name identifying this consumer's stored position
+     * @param maxDelayMillis The longest time the feed waits between polls while idle
+     * @param handler        The handler events are passed to, in order
+     */
+    public ReportEventFeed(ReportRepository repository, DatabaseManager database, String consumer,
+            long maxDelayMillis, Handler handler) {
+        this.repository = repository;
+        this.database = database;
+        this.consumer = consumer;
+        this.maxDelayMillis = Math.max(MIN_DELAY_MILLIS, maxDelayMillis);
+        this.handler = handler;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-EventFeed-" + consumer);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load the stored position and start polling. A consumer that has never run
+     * starts at the end of the outbox instead of replaying its history.
+     */
+    public void start() {
+        synchronized (lock) {
+            running = true;
+        }
+        scheduler.execute(() -> {
+            try {
+                EventCursor stored = database.getEventCursor(consumer);
+                if (stored == null) {
+                    cursor = database.getMaxEventId();
+                    highest = cursor;
+                    database.saveEventCursor(consumer, position());
+                } else {
+                    cursor = stored.lastEventId();
+                    highest = stored.highestEventId();
+                    long now = System.currentTimeMillis();
+                    for (long id : stored.gaps()) {
+                        gaps.put(id, now);
+                    }
+                }
+                logger.info("Report event feed '{}' starting after event {} ({} open gaps)", consumer, highest, gaps.size());
+                repository.addChangeListener(this);
+                schedule(0);
+            } catch (RuntimeException e) {
+                ExceptionHandler.getInstance().handleException(e, "ReportEventFeed", Map.of("consumer", consumer));
+                synchronized (lock) {
+                    running = false;
+                }
+            }
+        });
+    }
+
+    private void poll() {
+        if (!handler.isReady()) {
+            schedule(maxDelayMillis);
+            return;
+        }
+
+        List<ReportEvent> late;
+        List<ReportEvent> events;
+        try {
+            late = gaps.isEmpty() ? List.of() : database.getEvents(new ArrayList<>(gaps.keySet()));
+            events = database.getEventsAfter(highest, BATCH_SIZE);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read report events for '{}': {}", consumer, e.getMessage());
+            schedule(maxDelayMillis);
+            return;
+        }
+
+        long start = cursor;
+        long startHighest = highest;
+        int startGaps = gaps.size();
+        boolean failed = false;
+        // Events that committed after later ones were read
+        for (ReportEvent event : late) {
+            if (!deliver(event)) {
+                failed = true;
+                break;
+            }
+            gaps.remove(event.id());
+        }
+        for (int i = 0; i < events.size() && !failed; i++) {
+            ReportEvent event = events.get(i);
+            if (!deliver(event)) {
+                failed = true;
+                break;
+            }
+            addGaps(highest, event.id());
+            highest = event.id();
+        }
+        expireGaps();
+        cursor = gaps.isEmpty() ? highest : gaps.firstKey() - 1;
+
+        if (cursor != start || highest != startHighest || gaps.size() != startGaps) {
+            try {
+                database.saveEventCursor(consumer, position());
+            } catch (RuntimeException e) {
+                // Events since the last saved position are delivered again after a restart
+                logger.warn("Failed to save report event cursor for '{}': {}", consumer, e.getMessage());
+            }
+        }
+        prune();
+
+        synchronized (lock) {
+            if (failed) {
+                delayMillis = maxDelayMillis;
+            } else if (events.size() >= BATCH_SIZE) {
+                delayMillis = 0;
+            } else if (!events.isEmpty()) {
+                delayMillis = MIN_DELAY_MILLIS;
+            } else {
+                delayMillis = Math.min(Math.max(MIN_DELAY_MILLIS, delayMillis * 2), maxDelayMillis);
+            }
+        }
+        schedule(-1);
+    }
+
+    private EventCursor position() {
+        return new EventCursor(cursor, highest, new ArrayList<>(gaps.keySet()));
+    }
+
+    private void addGaps(long from, long to) {
+        if (to - from - 1 > MAX_GAPS) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (long id = from + 1; id < to; id++) {
+            gaps.put(id, now);
+        }
+    }
+
+    private void expireGaps() {
+        long cutoff = System.currentTimeMillis() - GAP_TIMEOUT_MILLIS;
+        for (Iterator<Map.Entry<Long, Long>> it = gaps.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, Long> gap = it.next();
+            if (gap.getValue() < cutoff) {
+                // Rolled back, or committed too late to be picked up
+                logger.debug("Giving up on report event {} for '{}'", gap.getKey(), consumer);
+                it.remove();
+            }
+        }
+    }
+
+    private boolean deliver(ReportEvent event) {
+        try {
+            handler.handle(event);
+            failedAttempts = 0;
+            return true;
+        } catch (Exception e) {
+            if (failedEventId != event.id()) {
+                failedEventId = event.id();
+                failedAttempts = 0;
+            }
+            if (++failedAttempts < MAX_ATTEMPTS) {
+                logger.warn("Failed to handle report event {} for '{}' (attempt {}): {}", event.id(), consumer,
+                        failedAttempts, e.getMessage());
+                return false;
+            }
+            ExceptionHandler.getInstance().handleException(e, "ReportEventFeed",
+                    Map.of("consumer", consumer, "event", event.id(), "report", event.reportId()));
+            failedAttempts = 0;
+            return true;
+        }
+    }
+
+    private void prune() {
+        long now = System.currentTimeMillis();
+        if (now - lastPrune < PRUNE_INTERVAL_MILLIS) {
+            return;
+        }
+        lastPrune = now;
+        try {
+            int deleted = database.deleteEventsBefore(LocalDateTime.now().minusDays(RETENTION_DAYS));
+            if (deleted > 0) {
+                logger.debug("Pruned {} report events older than {} days", deleted, RETENTION_DAYS);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to prune report events: {}", e.getMessage());
+        }
+    }
+
+    // A negative delay uses the current adaptive delay
+    private void schedule(long delay) {
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            nextPoll = scheduler.schedule(this::poll, delay < 0 ? delayMillis : delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Poll soon, because an event has just been committed.
+     */
+    public void wake() {
+        synchronized (lock) {
+            delayMillis = MIN_DELAY_MILLIS;
+            if (running && nextPoll != null && nextPoll.getDelay(TimeUnit.MILLISECONDS) > MIN_DELAY_MILLIS
+                    && nextPoll.cancel(false)) {
+                nextPoll = scheduler.schedule(this::poll, MIN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        wake();
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+        wake();
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+        wake();
+    }
+
+    /**
+     * Stop polling. The position of everything handled so far has already been stored.
+     */
+    public void stop() {
+        repository.removeChangeListener(this);
+        synchronized (lock) {
+            running = false;
+            if (nextPoll != null) {
+                nextPoll.cancel(false);
+            }
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
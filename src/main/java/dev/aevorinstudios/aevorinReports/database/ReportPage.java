@@ -0,0 +1,44 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated report query, newest report first. The page
+ * remembers the IDs at its edges so the neighbouring pages can be fetched with
+ * {@code id < lastId} or {@code id > firstId} instead of an OFFSET scan.
+ *
+ * @param reports     The reports on this page
+ * @param number      The 0-based page number
+ * @param hasPrevious Whether there are newer reports before this page
+ * @param hasNext     Whether there are older reports after this page
+ */
+public record ReportPage(List<Report> reports, int number, boolean hasPrevious, boolean hasNext) {
+
+    /**
+     * Which page to load relative to the one currently shown. {@code CURRENT}
+     * reloads the page shown, starting from its newest report.
+     */
+    public enum Direction {
+        FIRST, NEXT, PREVIOUS, CURRENT
+    }
+
+    /**
+     * @return The ID of the newest report on the page, or 0 if the page is empty
+     */
+    public long firstId() {
+        return reports.isEmpty() ? 0 : reports.get(0).getId();
+    }
+
+    /**
+     * @return The ID of the oldest report on the page, or 0 if the page is empty
+     */
+    public long lastId() {
+        return reports.isEmpty() ? 0 : reports.get(reports.size() - 1).getId();
+    }
+
+    public boolean isEmpty() {
+        return reports.isEmpty();
+    }
+}
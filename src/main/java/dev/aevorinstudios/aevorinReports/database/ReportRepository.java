@@ -0,0 +1,503 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver;
+import dev.aevorinstudios.aevorinReports.utils.SchedulerUtils;
+import org.bukkit.entity.Player;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access layer in front of {@link DatabaseManager}.
+ * Every query runs on a bounded, named executor sized from the connection pool,
+ * so no JDBC call ever blocks the main thread or a Folia region thread.
+ * Results are handed back to the caller's thread with {@link #deliver}.
+ */
+public class ReportRepository {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long SERVER_REFRESH_TICKS = 20L * 60 * 5;
+
+    private final BukkitPlugin plugin;
+    private final DatabaseManager database;
+    private final ThreadPoolExecutor executor;
+    private final ReportWriteQueue writeQueue;
+    private final ReportCache cache;
+    private final PlayerNameCache names;
+    private final List<ReportChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean multipleServers;
+
+    public ReportRepository(BukkitPlugin plugin, DatabaseManager database) {
+        this.plugin = plugin;
+        this.database = database;
+
+        int threads = Math.max(1, database.getMaximumPoolSize());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), new NamedThreadFactory("AevorinReports-DB"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        ConfigManager.Config.PerformanceConfig performance = plugin.getConfigManager().getConfig().getPerformance();
+        this.writeQueue = new ReportWriteQueue(database, executor, performance.getBatchSize(),
+                performance.getBatchFlushInterval());
+
+        if (performance.isEnableCaching()) {
+            this.cache = new ReportCache(performance.getCacheDuration(), performance.getMaxCacheSize());
+            addChangeListener(cache);
+            long cleanupTicks = 20L * performance.getCacheCleanupInterval();
+            SchedulerUtils.runTaskTimerAsynchronously(plugin, cache::cleanUp, cleanupTicks, cleanupTicks);
+        } else {
+            this.cache = null;
+        }
+
+        this.names = new PlayerNameCache(plugin, this, database);
+        PlayerNameResolver.setCache(names);
+
+        // The server list only changes when a new backend registers, so keep a cached copy
+        refreshMultipleServers();
+        SchedulerUtils.runTaskTimerAsynchronously(plugin, this::refreshMultipleServers,
+                SERVER_REFRESH_TICKS, SERVER_REFRESH_TICKS);
+    }
+
+    /**
+     * Get the executor all database work is submitted to.
+     *
+     * @return The database executor
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Runs an arbitrary query on the database executor.
+     *
+     * @param query The query to run
+     * @return A future completed with the query result
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, executor);
+        } catch (RuntimeException e) {
+            // Rejected because the queue is full or the repository is shutting down
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Void> run(Runnable statement) {
+        return supply(() -> {
+            statement.run();
+            return null;
+        });
+    }
+
+    /**
+     * Register a listener notified after every committed write.
+     *
+     * @param listener The listener to add
+     */
+    public void addChangeListener(ReportChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(ReportChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Get the report cache.
+     *
+     * @return The cache, or null if caching is disabled
+     */
+    public ReportCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Get the player name cache.
+     *
+     * @return The name cache
+     */
+    public PlayerNameCache getNames() {
+        return names;
+    }
+
+    public CompletableFuture<Report> getReport(long id) {
+        if (cache == null) {
+            return supply(() -> withNames(database.getReport(id)));
+        }
+
+        Report cached = cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long generation = cache.getGeneration();
+        return supply(() -> {
+            Report report = database.getReport(id);
+            if (report != null) {
+                cache.put(report, generation);
+            }
+            return withNames(report);
+        });
+    }
+
+    /**
+     * Get the evidence of a report, always read from the database as cached
+     * reports may have been loaded without it.
+     *
+     * @param id The report ID
+     * @return A future completed with the evidence, or null if there is none
+     */
+    public CompletableFuture<String> getEvidence(long id) {
+        return supply(() -> database.getEvidence(id));
+    }
+
+    public CompletableFuture<List<Report>> getReportsByStatus(Report.ReportStatus status) {
+        if (cache == null) {
+            return supply(() -> withNames(database.getReportsByStatus(status)));
+        }
+
+        List<Report> cached = cache.getByStatus(status);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        long generation = cache.getGeneration();
+        return supply(() -> {
+            List<Report> reports = database.getReportsByStatus(status);
+            cache.putByStatus(status, reports, generation);
+            return withNames(reports);
+        });
+    }
+
+    public CompletableFuture<List<Report>> getReportsByReporter(UUID reporterUuid) {
+        return supply(() -> withNames(database.getReportsByReporter(reporterUuid)));
+    }
+
+    /**
+     * Loads one page of reports with a status, newest first.
+     *
+     * @param status    The status to filter by
+     * @param from      The page currently shown, or null when loading the first page
+     * @param direction Which page to load relative to {@code from}
+     * @param pageSize  The number of reports per page
+     * @return A future completed with the requested page
+     */
+    public CompletableFuture<ReportPage> getStatusPage(Report.ReportStatus status, ReportPage from,
+            ReportPage.Direction direction, int pageSize) {
+        return loadPage((cursor, older, limit) -> database.getReportsPageByStatus(status, cursor, older, limit),
+                from, direction, pageSize);
+    }
+
+    /**
+     * Loads one page of the reports submitted by a player, newest first.
+     *
+     * @param reporterUuid The UUID of the reporter
+     * @param from         The page currently shown, or null when loading the first page
+     * @param direction    Which page to load relative to {@code from}
+     * @param pageSize     The number of reports per page
+     * @return A future completed with the requested page
+     */
+    public CompletableFuture<ReportPage> getReporterPage(UUID reporterUuid, ReportPage from,
+            ReportPage.Direction direction, int pageSize) {
+        return loadPage((cursor, older, limit) -> database.getReportsPageByReporter(reporterUuid, cursor, older, limit),
+                from, direction, pageSize);
+    }
+
+    private CompletableFuture<ReportPage> loadPage(PageQuery query, ReportPage from, ReportPage.Direction direction,
+            int pageSize) {
+        if (from == null || from.isEmpty()
+                || (direction == ReportPage.Direction.CURRENT && from.number() == 0)) {
+            direction = ReportPage.Direction.FIRST;
+        }
+        ReportPage.Direction resolved = direction;
+        long generation = cache != null ? cache.getGeneration() : 0;
+
+        return supply(() -> {
+            // Fetch one extra row to find out whether there is another page beyond this one
+            ReportPage page;
+            if (resolved == ReportPage.Direction.PREVIOUS) {
+                List<Report> reports = query.fetch(from.firstId(), false, pageSize + 1);
+                boolean newer = reports.size() > pageSize;
+                if (newer) {
+                    reports = reports.subList(1, reports.size());
+                }
+                // Without newer rows this is the first page, even if reports were removed since
+                int number = newer ? Math.max(1, from.number() - 1) : 0;
+                page = new ReportPage(reports, number, newer, true);
+            } else if (resolved == ReportPage.Direction.CURRENT) {
+                List<Report> reports = query.fetch(from.firstId() + 1, true, pageSize + 1);
+                boolean older = reports.size() > pageSize;
+                if (older) {
+                    reports = reports.subList(0, pageSize);
+                }
+                page = new ReportPage(reports, from.number(), true, older);
+            } else {
+                boolean next = resolved == ReportPage.Direction.NEXT;
+                List<Report> reports = query.fetch(next ? from.lastId() : Long.MAX_VALUE, true, pageSize + 1);
+                boolean older = reports.size() > pageSize;
+                if (older) {
+                    reports = reports.subList(0, pageSize);
+                }
+                page = new ReportPage(reports, next ? from.number() + 1 : 0, next, older);
+            }
+
+            if (cache != null) {
+                page.reports().forEach(report -> cache.put(report, generation));
+            }
+            withNames(page.reports());
+            return page;
+        });
+    }
+
+    public CompletableFuture<List<Report>> getActiveReports() {
+        return supply(() -> withNames(database.getActiveReports()));
+    }
+
+    public CompletableFuture<Integer> getReportsCountByReporterAndStatus(UUID reporterUuid,
+            Report.ReportStatus status) {
+        return supply(() -> database.getReportsCountByReporterAndStatus(reporterUuid, status));
+    }
+
+    // Resolve the names of everyone on a page in one lookup, while still on the database thread
+    private List<Report> withNames(List<Report> reports) {
+        names.preload(reports);
+        return reports;
+    }
+
+    private Report withNames(Report report) {
+        if (report != null) {
+            names.preload(List.of(report));
+        }
+        return report;
+    }
+
+    /**
+     * Inserts a new report through the write queue. The generated ID is set on
+     * the report before the future completes.
+     *
+     * @param report The report to insert
+     * @return A future completed with the saved report
+     */
+    public CompletableFuture<Report> saveReport(Report report) {
+        return writeQueue.insert(report).thenApply(saved -> {
+            notifyListeners(listener -> listener.onReportSaved(saved));
+            return saved;
+        });
+    }
+
+    /**
+     * Updates a report through the write queue.
+     *
+     * @param report The report to update
+     * @return A future completed with the report once the update is committed
+     */
+    public CompletableFuture<Report> updateReport(Report report) {
+        return writeQueue.update(report, null).thenApply(updated -> {
+            notifyListeners(listener -> listener.onReportUpdated(updated));
+            return updated;
+        });
+    }
+
+    /**
+     * Changes the status of a report and writes it through the queue. Status
+     * changes go through here rather than {@link #updateReport} so listeners
+     * are told which transition happened.
+     *
+     * @param report The report to change
+     * @param status The new status
+     * @return A future completed with the report once the update is committed, or with null
+     *         if its status was changed in the meantime
+     */
+    public CompletableFuture<Report> updateStatus(Report report, Report.ReportStatus status) {
+        return updateStatus(report, status, report.getLastUpdatedBy());
+    }
+
+    /**
+     * Changes the status of a report on behalf of a staff member, who is recorded
+     * as the actor of the resulting {@link ReportEvent}.
+     *
+     * @param report The report to change
+     * @param status The new status
+     * @param actor  Who made the change, or null if unknown
+     * @return A future completed with the report once the update is committed, or with null
+     *         if the report's status was changed by someone else since it was read, in which
+     *         case nothing is written and the report is left as it was
+     */
+    public CompletableFuture<Report> updateStatus(Report report, Report.ReportStatus status, String actor) {
+        Report.ReportStatus previous = report.getStatus();
+        LocalDateTime previousUpdatedAt = report.getUpdatedAt();
+        String previousUpdatedBy = report.getLastUpdatedBy();
+        report.setStatus(status);
+        report.setUpdatedAt(LocalDateTime.now());
+        report.setLastUpdatedBy(actor);
+        return writeQueue.update(report, previous).thenApply(updated -> {
+            if (updated == null) {
+                report.setStatus(previous);
+                report.setUpdatedAt(previousUpdatedAt);
+                report.setLastUpdatedBy(previousUpdatedBy);
+                // Whatever is cached is outdated as well
+                if (cache != null) {
+                    cache.invalidate(report.getId());
+                }
+                return null;
+            }
+            notifyListeners(listener -> {
+                listener.onReportUpdated(updated);
+                if (previous != status) {
+                    listener.onReportStatusChanged(updated, previous, status);
+                }
+            });
+            return updated;
+        });
+    }
+
+    public CompletableFuture<Void> deleteReport(long id) {
+        return run(() -> database.deleteReport(id))
+                .thenRun(() -> notifyListeners(listener -> listener.onReportDeleted(id)));
+    }
+
+    /**
+     * Merge another player's report into a pending report, see {@link DatabaseManager#joinCluster}.
+     *
+     * @param report       The pending report to join
+     * @param reporterUuid The player whose report is merged
+     * @param reporterName The name of that player
+     * @return A copy of the joined report with its new cluster size, or null if it is no longer pending
+     */
+    public CompletableFuture<Report> joinCluster(Report report, UUID reporterUuid, String reporterName) {
+        return supply(() -> database.joinCluster(report.getId(), reporterUuid, reporterName)).thenApply(size -> {
+            if (size == 0) {
+                return null;
+            }
+            // The report is shared by every join of the incident, so it is copied rather than changed.
+            // Joins can complete out of order, never lower the size
+            Report joined = report.toBuilder()
+                    .clusterSize(Math.max(report.getClusterSize(), size))
+                    .build();
+            notifyListeners(listener -> listener.onReportUpdated(joined));
+            return joined;
+        });
+    }
+
+    /**
+     * Move one chunk of closed reports to the archive, see {@link DatabaseManager#archiveReports}.
+     *
+     * @return The IDs of the archived reports, empty once nothing is left to archive
+     */
+    public CompletableFuture<List<Long>> archiveReports(Report.ReportStatus status, LocalDateTime cutoff, int limit) {
+        return supply(() -> database.archiveReports(status, cutoff, limit)).thenApply(ids -> {
+            if (!ids.isEmpty()) {
+                notifyListeners(listener -> listener.onReportsArchived(ids));
+            }
+            return ids;
+        });
+    }
+
+    private void notifyListeners(Consumer<ReportChangeListener> event) {
+        for (ReportChangeListener listener : changeListeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                ExceptionHandler.getInstance().handleException(e, "ReportChangeListener",
+                        Map.of("listener", listener.getClass().getSimpleName()));
+            }
+        }
+    }
+
+    /**
+     * Whether more than one server is registered in the shared database.
+     * Served from a periodically refreshed copy so it is safe to call while rendering.
+     *
+     * @return true if reports may come from several servers
+     */
+    public boolean hasMultipleServers() {
+        return multipleServers;
+    }
+
+    private void refreshMultipleServers() {
+        supply(database::hasMultipleServers).thenAccept(value -> multipleServers = value);
+    }
+
+    /**
+     * Hands the result of a future back to the player's region thread (or the main
+     * thread on Paper/Spigot). Failures are reported through the {@link ExceptionHandler}
+     * and the action is skipped if the player has logged out in the meantime.
+     *
+     * @param future The pending database result
+     * @param player The player the result belongs to
+     * @param action The action to run on the player's thread
+     */
+    public <T> void deliver(CompletableFuture<T> future, Player player, Consumer<T> action) {
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                ExceptionHandler.getInstance().handleException(cause, "Database",
+                        Map.of("player", player.getName()));
+                return;
+            }
+            SchedulerUtils.runTask(plugin, player, () -> {
+                if (player.isOnline()) {
+                    action.accept(value);
+                }
+            });
+        });
+    }
+
+    /**
+     * Flushes queued writes, then stops accepting new work and waits for
+     * queued queries to finish.
+     */
+    public void shutdown() {
+        PlayerNameResolver.setCache(null);
+        writeQueue.shutdown();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for pending database tasks, "
+                        + executor.getQueue().size() + " task(s) dropped.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<Report> fetch(long cursor, boolean older, int limit);
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
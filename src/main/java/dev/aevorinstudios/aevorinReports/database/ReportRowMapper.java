@@ -0,0 +1,143 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code reports} table to {@link Report}s. Queries select an
+ * explicit column list from {@link #columns(String, boolean, boolean)} in a
+ * fixed order, so values are read by index instead of looking every column up
+ * by name.
+ * <p>
+ * Listing queries leave out {@code evidence_data}, which can be large and is
+ * never shown in a list; such reports have null evidence, which report updates
+ * leave untouched.
+ * <p>
+ * UUIDs and times are not decoded here: each report keeps the raw column value
+ * and decodes it the first time it is read, so a page of reports only pays for
+ * the values that are actually shown.
+ * <p>
+ * With the compact columns selected, binary UUIDs and epoch timestamps are
+ * read where present and the text columns only for rows that haven't been
+ * converted yet, so both layouts can be read while {@link StorageFormatMigration} runs.
+ */
+final class ReportRowMapper {
+    private static final String[] COLUMNS = {
+            "id", "reporter_uuid", "reported_uuid", "reason", "server_name", "status", "is_anonymous",
+            "created_at", "updated_at", "coordinates", "world", "reporter_name", "reported_name",
+            "cluster_size"
+    };
+    private static final String[] COMPACT_COLUMNS = {
+            "reporter_uuid_bin", "reported_uuid_bin", "created_at_ms", "updated_at_ms"
+    };
+    private static final int ID = 1;
+    private static final int REPORTER_UUID = 2;
+    private static final int REPORTED_UUID = 3;
+    private static final int REASON = 4;
+    private static final int SERVER_NAME = 5;
+    private static final int STATUS = 6;
+    private static final int IS_ANONYMOUS = 7;
+    private static final int CREATED_AT = 8;
+    private static final int UPDATED_AT = 9;
+    private static final int COORDINATES = 10;
+    private static final int WORLD = 11;
+    private static final int REPORTER_NAME = 12;
+    private static final int REPORTED_NAME = 13;
+    private static final int CLUSTER_SIZE = 14;
+    // Offsets of the optional columns after the base ones
+    private static final int REPORTER_UUID_BIN = 1;
+    private static final int REPORTED_UUID_BIN = 2;
+    private static final int CREATED_AT_MS = 3;
+    private static final int UPDATED_AT_MS = 4;
+
+    private final boolean full;
+    private final boolean compact;
+
+    /**
+     * @param full    Whether the query selected the evidence column
+     * @param compact Whether the query selected the compact columns
+     */
+    ReportRowMapper(boolean full, boolean compact) {
+        this.full = full;
+        this.compact = compact;
+    }
+
+    /**
+     * Build a column list for a query.
+     *
+     * @param alias    The table alias to qualify the columns with, or null
+     * @param evidence Whether to include the evidence column
+     * @param compact  Whether to include the binary UUID and epoch timestamp columns
+     * @return The comma-separated columns, in the order the mapper expects them
+     */
+    static String columns(String alias, boolean evidence, boolean compact) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, alias, COLUMNS);
+        if (compact) {
+            append(builder, alias, COMPACT_COLUMNS);
+        }
+        if (evidence) {
+            append(builder, alias, "evidence_data");
+        }
+        return builder.toString();
+    }
+
+    private static void append(StringBuilder builder, String alias, String... columns) {
+        for (String column : columns) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            if (alias != null) {
+                builder.append(alias).append('.');
+            }
+            builder.append(column);
+        }
+    }
+
+    Report map(ResultSet rs) throws SQLException {
+        Object reporter = null;
+        Object reported = null;
+        Object createdAt = null;
+        Object updatedAt = null;
+        int next = CLUSTER_SIZE + 1;
+        if (compact) {
+            reporter = uuidBytes(rs, CLUSTER_SIZE + REPORTER_UUID_BIN);
+            reported = uuidBytes(rs, CLUSTER_SIZE + REPORTED_UUID_BIN);
+            createdAt = epoch(rs, CLUSTER_SIZE + CREATED_AT_MS);
+            updatedAt = epoch(rs, CLUSTER_SIZE + UPDATED_AT_MS);
+            next += COMPACT_COLUMNS.length;
+        }
+
+        // UUIDs and times are handed over undecoded, see Report#getReporterUuid
+        return Report.builder()
+                .id(rs.getLong(ID))
+                .encodedReporterUuid(reporter != null ? reporter : rs.getString(REPORTER_UUID))
+                .encodedReportedUuid(reported != null ? reported : rs.getString(REPORTED_UUID))
+                .reason(rs.getString(REASON))
+                .serverName(rs.getString(SERVER_NAME))
+                .status(Report.ReportStatus.valueOf(rs.getString(STATUS)))
+                .isAnonymous(rs.getBoolean(IS_ANONYMOUS))
+                .encodedCreatedAt(createdAt != null ? createdAt : rs.getTimestamp(CREATED_AT))
+                .encodedUpdatedAt(updatedAt != null ? updatedAt : rs.getTimestamp(UPDATED_AT))
+                .coordinates(rs.getString(COORDINATES))
+                .world(rs.getString(WORLD))
+                .reporterName(rs.getString(REPORTER_NAME))
+                .reportedPlayerName(rs.getString(REPORTED_NAME))
+                .clusterSize(Math.max(1, rs.getInt(CLUSTER_SIZE)))
+                .evidenceData(full ? rs.getString(next) : null)
+                .build();
+    }
+
+    // Malformed binary values fall back to the text column, like unconverted rows
+    private static byte[] uuidBytes(ResultSet rs, int index) throws SQLException {
+        byte[] bytes = rs.getBytes(index);
+        return bytes != null && bytes.length == 16 ? bytes : null;
+    }
+
+    private static Long epoch(ResultSet rs, int index) throws SQLException {
+        long millis = rs.getLong(index);
+        return rs.wasNull() ? null : millis;
+    }
+}
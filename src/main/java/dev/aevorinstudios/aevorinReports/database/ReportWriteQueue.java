@@ -0,0 +1,222 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for report inserts and updates. Pending writes are flushed
+ * as JDBC batches inside a single transaction once {@code batchSize} writes are
+ * queued or the oldest one has waited {@code flushIntervalMillis}, whichever
+ * comes first. Repeated updates of the same report within one window are
+ * coalesced into a single statement. Each write is recorded in the
+ * {@code report_events} outbox within the same transaction.
+ */
+public class ReportWriteQueue {
+    private static final Logger logger = LoggerFactory.getLogger(ReportWriteQueue.class);
+
+    private final DatabaseManager database;
+    private final Executor completionExecutor;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private List<PendingWrite> inserts = new ArrayList<>();
+    private Map<Long, PendingWrite> updates = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean accepting = true;
+
+    /**
+     * @param database            The database to write to
+     * @param completionExecutor  Executor the callers' futures are completed on, so
+     *                            their continuations never run on the flush thread
+     * @param batchSize           Number of pending writes that triggers an immediate flush
+     * @param flushIntervalMillis Maximum time a write waits before it is flushed
+     */
+    public ReportWriteQueue(DatabaseManager database, Executor completionExecutor, int batchSize,
+            long flushIntervalMillis) {
+        this.database = database;
+        this.completionExecutor = completionExecutor;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-DB-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a new report for insertion.
+     *
+     * @param report The report to insert
+     * @return A future completed with the report once its generated ID is set
+     */
+    public CompletableFuture<Report> insert(Report report) {
+        CompletableFuture<Report> future = new CompletableFuture<>();
+        synchronized (lock) {
+            if (!accepting) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Report write queue is shut down"));
+            }
+            inserts.add(new PendingWrite(report, future));
+            scheduleFlush();
+        }
+        return future;
+    }
+
+    /**
+     * Queue an update of an existing report. If the same report is already
+     * waiting to be updated, only the latest state is written.
+     *
+     * @param report         The report to update
+     * @param previousStatus The status before this update if it is a status change, otherwise null
+     * @return A future completed with the report once the update is committed, or with null if
+     *         it is a status change and the report no longer had {@code previousStatus}
+     */
+    public CompletableFuture<Report> update(Report report, Report.ReportStatus previousStatus) {
+        CompletableFuture<Report> future = new CompletableFuture<>();
+        synchronized (lock) {
+            if (!accepting) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Report write queue is shut down"));
+            }
+            PendingWrite pending = updates.get(report.getId());
+            if (pending == null) {
+                pending = new PendingWrite(report, future);
+                updates.put(report.getId(), pending);
+            } else {
+                pending.report = report;
+                pending.futures.add(future);
+            }
+            // Keep the status from before the first change in the window
+            if (pending.previousStatus == null) {
+                pending.previousStatus = previousStatus;
+            }
+            scheduleFlush();
+        }
+        return future;
+    }
+
+    // Must be called while holding the lock
+    private void scheduleFlush() {
+        boolean full = inserts.size() + updates.size() >= batchSize;
+        if (scheduledFlush != null) {
+            if (!full || scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+                return;
+            }
+            // Batch is full, don't wait for the timer
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = flusher.schedule(this::flush, full ? 0 : flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        List<PendingWrite> batchInserts;
+        List<PendingWrite> batchUpdates;
+        synchronized (lock) {
+            scheduledFlush = null;
+            if (inserts.isEmpty() && updates.isEmpty()) {
+                return;
+            }
+            batchInserts = inserts;
+            batchUpdates = new ArrayList<>(updates.values());
+            inserts = new ArrayList<>();
+            updates = new LinkedHashMap<>();
+        }
+
+        List<Report> insertReports = new ArrayList<>(batchInserts.size());
+        for (PendingWrite write : batchInserts) {
+            insertReports.add(write.report);
+        }
+        List<Report> updateReports = new ArrayList<>(batchUpdates.size());
+        List<Report.ReportStatus> previousStatuses = new ArrayList<>(batchUpdates.size());
+        for (PendingWrite write : batchUpdates) {
+            updateReports.add(write.report);
+            previousStatuses.add(write.previousStatus);
+        }
+
+        int[] updateCounts;
+        try {
+            updateCounts = database.writeBatch(insertReports, updateReports, previousStatuses);
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush {} queued report write(s): {}", insertReports.size() + updateReports.size(),
+                    e.getMessage());
+            batchInserts.forEach(write -> complete(write, null, e));
+            batchUpdates.forEach(write -> complete(write, null, e));
+            return;
+        }
+
+        batchInserts.forEach(write -> complete(write, write.report, null));
+        for (int i = 0; i < batchUpdates.size(); i++) {
+            PendingWrite write = batchUpdates.get(i);
+            if (updateCounts[i] != 0) {
+                complete(write, write.report, null);
+            } else if (write.previousStatus != null) {
+                // The status was changed by someone else since the caller read it
+                complete(write, null, null);
+            } else {
+                complete(write, null, new RuntimeException("Failed to update report: Report not found"));
+            }
+        }
+    }
+
+    private void complete(PendingWrite write, Report result, Throwable error) {
+        Runnable completion = () -> {
+            for (CompletableFuture<Report> future : write.futures) {
+                if (error == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(error);
+                }
+            }
+        };
+        try {
+            completionExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    /**
+     * Stops accepting writes and flushes everything still queued.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            accepting = false;
+        }
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Timed out while flushing queued report writes");
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flusher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingWrite {
+        private Report report;
+        private Report.ReportStatus previousStatus;
+        private final List<CompletableFuture<Report>> futures = new ArrayList<>(1);
+
+        private PendingWrite(Report report, CompletableFuture<Report> future) {
+            this.report = report;
+            this.futures.add(future);
+        }
+    }
+}
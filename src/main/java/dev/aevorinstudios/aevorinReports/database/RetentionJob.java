@@ -0,0 +1,107 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically moves resolved and rejected reports that haven't changed for a
+ * configured number of days into the archive tables, see
+ * {@link DatabaseManager#archiveReports}. Each chunk is its own transaction and
+ * chunks are spaced out, so a large backlog is worked off without holding the
+ * database for long.
+ */
+public class RetentionJob {
+    private static final Logger logger = LoggerFactory.getLogger(RetentionJob.class);
+    private static final long INITIAL_DELAY_SECONDS = 60;
+    private static final long CHUNK_DELAY_MILLIS = 250;
+    private static final int LOG_EVERY_CHUNKS = 20;
+
+    private final ReportRepository repository;
+    private final ConfigManager.Config.DatabaseConfig.RetentionConfig config;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public RetentionJob(ReportRepository repository, ConfigManager.Config.DatabaseConfig.RetentionConfig config) {
+        this.repository = repository;
+        this.config = config;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-Retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        scheduler.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::run, INITIAL_DELAY_SECONDS,
+                TimeUnit.MINUTES.toSeconds(config.getInterval()), TimeUnit.SECONDS);
+    }
+
+    private void run() {
+        LocalDateTime now = LocalDateTime.now();
+        archive(Report.ReportStatus.RESOLVED, now.minusDays(config.getResolvedAfterDays()));
+        archive(Report.ReportStatus.REJECTED, now.minusDays(config.getRejectedAfterDays()));
+    }
+
+    private void archive(Report.ReportStatus status, LocalDateTime cutoff) {
+        int total = 0;
+        int chunks = 0;
+        while (!scheduler.isShutdown()) {
+            List<Long> ids;
+            try {
+                ids = repository.archiveReports(status, cutoff, config.getChunkSize()).join();
+            } catch (RuntimeException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                ExceptionHandler.getInstance().handleException(cause, "RetentionJob",
+                        Map.of("status", status.name(), "archived", total));
+                break;
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            total += ids.size();
+            if (++chunks % LOG_EVERY_CHUNKS == 0) {
+                logger.info("Archived {} {} report(s) so far", total, status.name().toLowerCase());
+            }
+            if (ids.size() < config.getChunkSize()) {
+                break;
+            }
+            try {
+                Thread.sleep(CHUNK_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Archived {} {} report(s) last changed before {}", total, status.name().toLowerCase(),
+                    cutoff.toLocalDate());
+        }
+    }
+
+    /**
+     * Stop archiving. The chunk in progress is either committed or rolled back.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
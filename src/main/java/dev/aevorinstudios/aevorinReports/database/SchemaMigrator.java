@@ -0,0 +1,421 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned schema migrations. The applied version is stored in the
+ * {@code schema_version} table and every migration above it runs once, in order.
+ * Migrations must be idempotent because MySQL commits DDL implicitly, so a
+ * migration interrupted halfway is simply re-run on the next start. On MySQL,
+ * servers of a network starting together migrate one at a time under a named
+ * lock, each reading the version only once it holds the lock.
+ */
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+    private static final String LOCK_NAME = "aevorinreports_schema";
+    private static final int LOCK_TIMEOUT_SECONDS = 300;
+
+    private final Dialect dialect;
+    private final List<Migration> migrations = new ArrayList<>();
+
+    public SchemaMigrator(Dialect dialect) {
+        this.dialect = dialect;
+
+        register(1, "Add columns missing from older databases", this::addLegacyColumns);
+        register(2, "Add secondary indexes", this::addSecondaryIndexes);
+        register(3, "Add keyset pagination indexes", this::addPaginationIndexes);
+        register(4, "Add player name cache", this::addPlayerNames);
+        register(5, "Add report event outbox", this::addEventOutbox);
+        register(6, "Add Discord delivery ledger", this::addDiscordDeliveries);
+        register(7, "Add compact storage columns", this::addCompactColumns);
+        register(8, "Add report archive", this::addArchive);
+        register(9, "Add report cluster size", this::addClusterSize);
+        register(10, "Add event cursor high-water marks", this::addEventCursorGaps);
+    }
+
+    private void register(int version, String description, Step step) {
+        migrations.add(new Migration(version, description, step));
+    }
+
+    /**
+     * Bring the schema up to the latest version.
+     *
+     * @param conn The connection to migrate with
+     * @throws SQLException If a migration fails; later migrations are not attempted
+     */
+    public void migrate(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(128) NOT NULL,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+                """)) {
+            stmt.executeUpdate();
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        if (dialect == Dialect.MYSQL) {
+            acquireLock(conn);
+        }
+        try {
+            // Read inside the lock, another server may have just finished migrating
+            int current = getCurrentVersion(conn);
+            for (Migration migration : migrations) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+
+                logger.info("Applying schema migration {}: {}", migration.version(), migration.description());
+                conn.setAutoCommit(false);
+                try {
+                    migration.step().apply(conn);
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                        stmt.setInt(1, migration.version());
+                        stmt.setString(2, migration.description());
+                        stmt.executeUpdate();
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Schema migration " + migration.version() + " failed", e);
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+            if (dialect == Dialect.MYSQL) {
+                releaseLock(conn);
+            }
+        }
+    }
+
+    // A session lock, so it is held across the commit of every migration
+    private void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another server to finish migrating the schema");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            // Pooled connections aren't closed, so the lock stays held until the pool retires this one
+            logger.warn("Failed to release the schema migration lock: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the highest applied migration version.
+     *
+     * @param conn The connection to query with
+     * @return The current schema version, or 0 for a database that predates migrations
+     * @throws SQLException If the query fails
+     */
+    public int getCurrentVersion(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT MAX(version) FROM schema_version");
+                ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Migration 1: databases created by early versions lack these columns (MySQL never had the timestamps)
+    private void addLegacyColumns(Connection conn) throws SQLException {
+        List<String> columns = getColumns(conn, "reports");
+
+        if (!columns.contains("created_at")) {
+            // Use NULL to avoid "only one TIMESTAMP with DEFAULT CURRENT_TIMESTAMP" on older MySQL
+            addColumn(conn, "reports", "created_at", "TIMESTAMP NULL");
+        }
+        if (!columns.contains("updated_at")) {
+            addColumn(conn, "reports", "updated_at", "TIMESTAMP NULL");
+        }
+        if (!columns.contains("evidence_data")) {
+            addColumn(conn, "reports", "evidence_data", "TEXT");
+        }
+        if (!columns.contains("coordinates")) {
+            addColumn(conn, "reports", "coordinates", "VARCHAR(64)");
+        }
+        if (!columns.contains("world")) {
+            addColumn(conn, "reports", "world", "VARCHAR(64)");
+        }
+        if (!columns.contains("server_name")) {
+            addColumn(conn, "reports", "server_name", "VARCHAR(64) NOT NULL DEFAULT 'survival'");
+        }
+        if (!columns.contains("is_anonymous")) {
+            addColumn(conn, "reports", "is_anonymous", "BOOLEAN DEFAULT 0");
+        }
+    }
+
+    // Migration 2: cover the status/reporter/reported filters and the retention cutoff
+    private void addSecondaryIndexes(Connection conn) throws SQLException {
+        createIndex(conn, "idx_reports_status_updated", "reports", "status, updated_at");
+        createIndex(conn, "idx_reports_reporter_status", "reports", "reporter_uuid, status");
+        createIndex(conn, "idx_reports_reported_status", "reports", "reported_uuid, status");
+        createIndex(conn, "idx_report_comments_report", "report_comments", "report_id");
+        createIndex(conn, "idx_report_history_report", "report_history", "report_id");
+    }
+
+    // Migration 3: let "WHERE status = ? AND id < ? ORDER BY id DESC" walk the index instead of sorting
+    private void addPaginationIndexes(Connection conn) throws SQLException {
+        createIndex(conn, "idx_reports_status_id", "reports", "status, id");
+        createIndex(conn, "idx_reports_reporter_id", "reports", "reporter_uuid, id");
+    }
+
+    // Migration 4: names shared across servers, and the names reports were filed under
+    private void addPlayerNames(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                CREATE TABLE IF NOT EXISTS player_names (
+                    uuid VARCHAR(36) PRIMARY KEY,
+                    name VARCHAR(16) NOT NULL,
+                    updated_at TIMESTAMP NULL
+                )
+                """)) {
+            stmt.executeUpdate();
+        }
+
+        List<String> columns = getColumns(conn, "reports");
+        if (!columns.contains("reporter_name")) {
+            addColumn(conn, "reports", "reporter_name", "VARCHAR(16)");
+        }
+        if (!columns.contains("reported_name")) {
+            addColumn(conn, "reports", "reported_name", "VARCHAR(16)");
+        }
+    }
+
+    // Migration 5: append-only change feed written with each report mutation, and per-consumer read positions
+    private void addEventOutbox(Connection conn) throws SQLException {
+        String id = dialect == Dialect.SQLITE ? "id INTEGER PRIMARY KEY AUTOINCREMENT" : "id BIGINT AUTO_INCREMENT PRIMARY KEY";
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                CREATE TABLE IF NOT EXISTS report_events (
+                    %s,
+                    report_id BIGINT NOT NULL,
+                    event_type VARCHAR(32) NOT NULL,
+                    status VARCHAR(32),
+                    previous_status VARCHAR(32),
+                    actor VARCHAR(64),
+                    origin VARCHAR(64),
+                    created_at TIMESTAMP NULL
+                )
+                """.formatted(id))) {
+            stmt.executeUpdate();
+        }
+        createIndex(conn, "idx_report_events_created", "report_events", "created_at");
+
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                CREATE TABLE IF NOT EXISTS event_cursors (
+                    consumer VARCHAR(64) PRIMARY KEY,
+                    last_event_id BIGINT NOT NULL,
+                    updated_at TIMESTAMP NULL
+                )
+                """)) {
+            stmt.executeUpdate();
+        }
+    }
+
+    // Migration 6: where each report's Discord embed was posted, so it can be re-sent or edited
+    private void addDiscordDeliveries(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                CREATE TABLE IF NOT EXISTS discord_deliveries (
+                    report_id BIGINT PRIMARY KEY,
+                    state VARCHAR(16) NOT NULL,
+                    target VARCHAR(64),
+                    message_id VARCHAR(32),
+                    embed_index INT NOT NULL DEFAULT 0,
+                    attempts INT NOT NULL DEFAULT 0,
+                    updated_at TIMESTAMP NULL
+                )
+                """)) {
+            stmt.executeUpdate();
+        }
+        createIndex(conn, "idx_discord_deliveries_state", "discord_deliveries", "state");
+        // Nothing is backfilled: no Discord message ID was stored before the ledger, so whether an older
+        // report was delivered is unknown. The reconciler re-sends those from its 24 hour lookback.
+    }
+
+    // Migration 7: nullable, so adding them is instant; existing rows are converted by StorageFormatMigration
+    private void addCompactColumns(Connection conn) throws SQLException {
+        List<String> columns = getColumns(conn, "reports");
+        String binary = dialect == Dialect.SQLITE ? "BLOB" : "BINARY(16)";
+
+        if (!columns.contains("reporter_uuid_bin")) {
+            addColumn(conn, "reports", "reporter_uuid_bin", binary);
+        }
+        if (!columns.contains("reported_uuid_bin")) {
+            addColumn(conn, "reports", "reported_uuid_bin", binary);
+        }
+        if (!columns.contains("created_at_ms")) {
+            addColumn(conn, "reports", "created_at_ms", "BIGINT");
+        }
+        if (!columns.contains("updated_at_ms")) {
+            addColumn(conn, "reports", "updated_at_ms", "BIGINT");
+        }
+    }
+
+    // Migration 8: closed reports moved out of the hot tables by the retention job, keeping their IDs
+    private void addArchive(Connection conn) throws SQLException {
+        String binary = dialect == Dialect.SQLITE ? "BLOB" : "BINARY(16)";
+        String[] tables = {
+                """
+                CREATE TABLE IF NOT EXISTS reports_archive (
+                    id BIGINT PRIMARY KEY,
+                    reporter_uuid VARCHAR(36) NOT NULL,
+                    reported_uuid VARCHAR(36) NOT NULL,
+                    reason TEXT NOT NULL,
+                    server_name VARCHAR(64) NOT NULL,
+                    status VARCHAR(32) NOT NULL,
+                    is_anonymous BOOLEAN DEFAULT 0,
+                    created_at TIMESTAMP NULL,
+                    updated_at TIMESTAMP NULL,
+                    coordinates VARCHAR(64),
+                    world VARCHAR(64),
+                    reporter_name VARCHAR(16),
+                    reported_name VARCHAR(16),
+                    reporter_uuid_bin %1$s,
+                    reported_uuid_bin %1$s,
+                    created_at_ms BIGINT,
+                    updated_at_ms BIGINT,
+                    evidence_data TEXT,
+                    archived_at TIMESTAMP NULL
+                )
+                """.formatted(binary),
+                """
+                CREATE TABLE IF NOT EXISTS report_comments_archive (
+                    id BIGINT PRIMARY KEY,
+                    report_id BIGINT NOT NULL,
+                    staff_uuid VARCHAR(36) NOT NULL,
+                    comment TEXT NOT NULL,
+                    created_at TIMESTAMP NULL
+                )
+                """,
+                """
+                CREATE TABLE IF NOT EXISTS report_history_archive (
+                    id BIGINT PRIMARY KEY,
+                    report_id BIGINT NOT NULL,
+                    staff_uuid VARCHAR(36) NOT NULL,
+                    action VARCHAR(32) NOT NULL,
+                    details TEXT,
+                    created_at TIMESTAMP NULL
+                )
+                """
+        };
+        for (String table : tables) {
+            try (PreparedStatement stmt = conn.prepareStatement(table)) {
+                stmt.executeUpdate();
+            }
+        }
+        createIndex(conn, "idx_reports_archive_reporter", "reports_archive", "reporter_uuid");
+        createIndex(conn, "idx_reports_archive_reported", "reports_archive", "reported_uuid");
+        createIndex(conn, "idx_report_comments_archive_report", "report_comments_archive", "report_id");
+        createIndex(conn, "idx_report_history_archive_report", "report_history_archive", "report_id");
+    }
+
+    // Migration 9: number of reports merged into one by the deduplicator
+    private void addClusterSize(Connection conn) throws SQLException {
+        for (String table : new String[] { "reports", "reports_archive" }) {
+            if (!getColumns(conn, table).contains("cluster_size")) {
+                addColumn(conn, table, "cluster_size", "INT NOT NULL DEFAULT 1");
+            }
+        }
+    }
+
+    // Migration 10: the highest handled event and the skipped ones, so a restart doesn't redeliver everything above a gap
+    private void addEventCursorGaps(Connection conn) throws SQLException {
+        List<String> columns = getColumns(conn, "event_cursors");
+        if (!columns.contains("highest_event_id")) {
+            addColumn(conn, "event_cursors", "highest_event_id", "BIGINT");
+        }
+        if (!columns.contains("open_gaps")) {
+            addColumn(conn, "event_cursors", "open_gaps", "TEXT");
+        }
+    }
+
+    List<String> getColumns(Connection conn, String table) throws SQLException {
+        // ResultSetMetaData is more reliable than DatabaseMetaData across drivers
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM " + table + " WHERE 1=0");
+                ResultSet rs = ps.executeQuery()) {
+            java.sql.ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                columns.add(meta.getColumnName(i).toLowerCase());
+            }
+        }
+        return columns;
+    }
+
+    void addColumn(Connection conn, String table, String column, String type) throws SQLException {
+        String sql = "ALTER TABLE " + table + " ADD COLUMN " + column + " " + type;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.executeUpdate();
+            logger.info("Added missing column '{}' to table '{}'", column, table);
+        }
+    }
+
+    void createIndex(Connection conn, String name, String table, String columns) throws SQLException {
+        String sql;
+        if (dialect == Dialect.SQLITE) {
+            sql = "CREATE INDEX IF NOT EXISTS " + name + " ON " + table + " (" + columns + ")";
+        } else {
+            // MySQL has no IF NOT EXISTS for indexes
+            if (hasIndex(conn, table, name)) {
+                return;
+            }
+            sql = "CREATE INDEX " + name + " ON " + table + " (" + columns + ")";
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.executeUpdate();
+        }
+    }
+
+    void dropIndex(Connection conn, String name, String table) throws SQLException {
+        String sql;
+        if (dialect == Dialect.SQLITE) {
+            sql = "DROP INDEX IF EXISTS " + name;
+        } else {
+            if (!hasIndex(conn, table, name)) {
+                return;
+            }
+            sql = "DROP INDEX " + name + " ON " + table;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.executeUpdate();
+        }
+    }
+
+    private boolean hasIndex(Connection conn, String table, String name) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (name.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private record Migration(int version, String description, Step step) {
+    }
+}
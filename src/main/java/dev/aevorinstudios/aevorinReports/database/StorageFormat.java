@@ -0,0 +1,82 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Storage formats of the {@code reports} table, selected with
+ * {@code database.storage-format}.
+ * <p>
+ * {@link #COMPACT} keeps UUIDs as 16 bytes ({@code BINARY(16)}, {@code BLOB}
+ * on SQLite) and timestamps as epoch milliseconds next to the original
+ * columns. The compact columns are only written while the format is enabled;
+ * updates under {@link #LEGACY} clear them, so switching converts every report
+ * not written under the compact format, see {@link StorageFormatMigration}.
+ * All servers sharing a database must use the same format.
+ */
+public enum StorageFormat {
+    /** UUIDs as text, timestamps as {@code TIMESTAMP} */
+    LEGACY,
+    /** Binary UUIDs and epoch-millisecond timestamps */
+    COMPACT;
+
+    /**
+     * @param version The configured format number
+     * @return The matching format, {@link #LEGACY} for anything but 2
+     */
+    public static StorageFormat of(int version) {
+        return version == 2 ? COMPACT : LEGACY;
+    }
+
+    static byte[] toBytes(UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID toUuid(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Decode a UUID column value kept undecoded by {@link ReportRowMapper}.
+     *
+     * @param encoded The 16 bytes of a binary column or the text of a legacy one
+     * @return The UUID, or null for a malformed binary value
+     */
+    public static UUID decodeUuid(Object encoded) {
+        return encoded instanceof byte[] bytes ? toUuid(bytes) : UUID.fromString(encoded.toString());
+    }
+
+    /**
+     * Decode a time column value kept undecoded by {@link ReportRowMapper}.
+     *
+     * @param encoded The epoch milliseconds of a compact column or the {@link Timestamp} of a legacy one
+     * @return The time
+     */
+    public static LocalDateTime decodeDateTime(Object encoded) {
+        return encoded instanceof Timestamp timestamp
+                ? timestamp.toLocalDateTime() : toDateTime(((Number) encoded).longValue());
+    }
+
+    // Timestamps are stored in the server's zone, like Timestamp.valueOf does for the legacy columns
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,110 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts existing reports to the {@link StorageFormat#COMPACT} columns while
+ * the server keeps running. Reports are converted in small chunks by ID, each
+ * in its own short transaction with a pause in between, so regular queries are
+ * never blocked for long. Reads already prefer the compact columns of converted
+ * rows; once every row is converted the binary UUID columns are indexed,
+ * filters switch over to them and the text UUID indexes are dropped.
+ * <p>
+ * Progress is not stored: after a restart the conversion resumes by skipping
+ * rows that already have their compact columns.
+ */
+public class StorageFormatMigration {
+    private static final Logger logger = LoggerFactory.getLogger(StorageFormatMigration.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final long CHUNK_DELAY_MILLIS = 50;
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int LOG_EVERY_CHUNKS = 20;
+
+    private final DatabaseManager database;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    // Only touched on the scheduler thread
+    private long cursor;
+    private int chunks;
+
+    public StorageFormatMigration(DatabaseManager database) {
+        this.database = database;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-StorageFormat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The next chunk is dropped on shutdown instead of running against a closing pool
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public void start() {
+        scheduler.execute(this::step);
+    }
+
+    private void step() {
+        long last;
+        try {
+            last = database.convertToCompact(cursor, CHUNK_SIZE);
+        } catch (RuntimeException e) {
+            logger.warn("Converting reports to the compact storage format failed, retrying: {}", e.getMessage());
+            schedule(RETRY_DELAY_MILLIS);
+            return;
+        }
+
+        if (last >= 0) {
+            cursor = last;
+            if (++chunks % LOG_EVERY_CHUNKS == 0) {
+                logger.info("Converted reports up to #{} to the compact storage format", cursor);
+            }
+            schedule(CHUNK_DELAY_MILLIS);
+            return;
+        }
+
+        try {
+            database.createCompactIndexes();
+        } catch (RuntimeException e) {
+            ExceptionHandler.getInstance().handleException(e, "StorageFormatMigration", Map.of("cursor", cursor));
+            schedule(RETRY_DELAY_MILLIS);
+            return;
+        }
+        database.enableCompactFilters();
+        try {
+            database.dropLegacyIndexes();
+        } catch (RuntimeException e) {
+            // Only costs index upkeep; tried again on the next start
+            logger.warn("Dropping the legacy storage indexes failed: {}", e.getMessage());
+        }
+        if (chunks > 0) {
+            logger.info("All reports use the compact storage format");
+        }
+        scheduler.shutdown();
+    }
+
+    private void schedule(long delayMillis) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::step, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop converting. A chunk in progress is either committed or rolled back.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package dev.aevorinstudios.aevorinReports.database;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import dev.aevorinstudios.aevorinReports.utils.SchedulerUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Pending reports ranked by urgency for the priority view and Discord's
+ * {@code /reports}. A report's score is the sum of
+ * <ul>
+ * <li>{@code cluster-weight} for every additional player who reported the same incident,</li>
+ * <li>{@code prior-resolved-weight} for every resolved report against the same player, archived or not,</li>
+ * <li>the weight of its category, and</li>
+ * <li>{@code age-weight} for every hour it has been waiting.</li>
+ * </ul>
+ * The age term grows at the same rate for every report, so the ranking is kept
+ * by a key that leaves it out and never has to be re-sorted as time passes.
+ * Reports are re-scored individually from repository change events; the whole
+ * index is only rebuilt by the periodic refresh that also picks up changes made
+ * on other servers. The index keeps its own copies of reports and hands out
+ * copies, since a shared report is changed before its update is committed.
+ */
+public class TriageIndex implements ReportChangeListener {
+    private static final double MILLIS_PER_HOUR = 3_600_000d;
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::key).reversed()
+            .thenComparingLong(Entry::id);
+
+    private final ReportRepository repository;
+    private final DatabaseManager database;
+    private final double clusterWeight;
+    private final double priorResolvedWeight;
+    private final double ageWeight;
+    private final Map<String, Integer> categoryWeights = new HashMap<>();
+
+    private final Object lock = new Object();
+    // Replaced as a whole on refresh, so lock-free readers never see a half-built ranking
+    private volatile ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private volatile Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> resolvedCounts = new ConcurrentHashMap<>();
+    // Reports changed while a refresh is loading, guarded by lock
+    private Set<Long> touched;
+    private volatile boolean loaded;
+
+    private record Entry(long id, double key, Report report) {
+    }
+
+    public TriageIndex(BukkitPlugin plugin, ReportRepository repository, DatabaseManager database,
+            ConfigManager.Config.ReportsConfig.TriageConfig config) {
+        this.repository = repository;
+        this.database = database;
+        this.clusterWeight = config.getClusterWeight();
+        this.priorResolvedWeight = config.getPriorResolvedWeight();
+        this.ageWeight = config.getAgeWeight();
+        config.getCategoryWeights().forEach((category, weight) ->
+                categoryWeights.put(category.toLowerCase(Locale.ROOT), weight));
+
+        repository.addChangeListener(this);
+
+        refresh();
+        long refreshTicks = 20L * plugin.getConfigManager().getConfig().getPerformance().getBackgroundTaskInterval();
+        if (refreshTicks > 0) {
+            SchedulerUtils.runTaskTimerAsynchronously(plugin, this::refresh, refreshTicks, refreshTicks);
+        }
+    }
+
+    /**
+     * Whether the index has been loaded. Until then callers should fall back to the database.
+     *
+     * @return true once the first refresh has completed
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Get a page of pending reports, most urgent first.
+     *
+     * @param page     The 0-based page number
+     * @param pageSize The number of reports per page
+     * @return Copies of the reports on the page
+     */
+    public List<Report> getPage(int page, int pageSize) {
+        List<Report> reports = new ArrayList<>(pageSize);
+        Iterator<Entry> iterator = ranking.iterator();
+        for (long skip = (long) page * pageSize; skip > 0 && iterator.hasNext(); skip--) {
+            iterator.next();
+        }
+        while (reports.size() < pageSize && iterator.hasNext()) {
+            reports.add(iterator.next().report().toBuilder().build());
+        }
+        return reports;
+    }
+
+    /**
+     * @return The number of pending reports in the index
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the current score of a pending report.
+     *
+     * @param id The report ID
+     * @return The score, rounded, or 0 if the report isn't pending
+     */
+    public long getScore(long id) {
+        Entry entry = entries.get(id);
+        return entry != null ? Math.round(entry.key() + ageWeight * hours(System.currentTimeMillis())) : 0;
+    }
+
+    /**
+     * Reload every pending report and the resolved counts of the reported players.
+     */
+    public void refresh() {
+        synchronized (lock) {
+            touched = new HashSet<>();
+        }
+        repository.getActiveReports()
+                .thenCompose(reports -> {
+                    Set<UUID> players = new HashSet<>();
+                    for (Report report : reports) {
+                        players.add(report.getReportedUuid());
+                    }
+                    return repository.supply(() -> database.getResolvedCountsByReported(players))
+                            .thenAccept(counts -> apply(reports, players, counts));
+                })
+                .exceptionally(error -> {
+                    synchronized (lock) {
+                        touched = null;
+                    }
+                    ExceptionHandler.getInstance().handleException(error, "TriageIndex");
+                    return null;
+                });
+    }
+
+    private void apply(List<Report> reports, Set<UUID> players, Map<UUID, Integer> counts) {
+        synchronized (lock) {
+            Set<Long> changed = touched != null ? touched : Set.of();
+            touched = null;
+
+            resolvedCounts.keySet().retainAll(players);
+            for (UUID player : players) {
+                resolvedCounts.put(player, counts.getOrDefault(player, 0));
+            }
+
+            ConcurrentSkipListSet<Entry> rebuilt = new ConcurrentSkipListSet<>(ORDER);
+            Map<Long, Entry> byId = new ConcurrentHashMap<>();
+            for (Report report : reports) {
+                if (!changed.contains(report.getId())) {
+                    add(rebuilt, byId, report);
+                }
+            }
+            // Reports changed during the load are more current here than in the snapshot
+            for (long id : changed) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    add(rebuilt, byId, entry.report());
+                }
+            }
+            ranking = rebuilt;
+            entries = byId;
+            loaded = true;
+        }
+    }
+
+    private void add(Set<Entry> ranked, Map<Long, Entry> byId, Report report) {
+        if (report.getStatus() != Report.ReportStatus.PENDING) {
+            return;
+        }
+        Entry entry = new Entry(report.getId(), key(report), report.toBuilder().build());
+        byId.put(entry.id(), entry);
+        ranked.add(entry);
+    }
+
+    private void put(Report report) {
+        synchronized (lock) {
+            if (touched != null) {
+                touched.add(report.getId());
+            }
+            Entry previous = entries.remove(report.getId());
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            add(ranking, entries, report);
+        }
+    }
+
+    private void remove(long id) {
+        synchronized (lock) {
+            if (touched != null) {
+                touched.add(id);
+            }
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+        }
+    }
+
+    // Re-score the pending reports against a player after their resolved count changed
+    private void rescore(UUID player) {
+        synchronized (lock) {
+            for (Entry entry : List.copyOf(entries.values())) {
+                if (player.equals(entry.report().getReportedUuid())) {
+                    put(entry.report());
+                }
+            }
+        }
+    }
+
+    private double key(Report report) {
+        LocalDateTime createdAt = report.getCreatedAt() != null ? report.getCreatedAt() : LocalDateTime.now();
+        int category = report.getReason() != null
+                ? categoryWeights.getOrDefault(report.getReason().toLowerCase(Locale.ROOT), 0)
+                : 0;
+        return clusterWeight * (Math.max(1, report.getClusterSize()) - 1)
+                + priorResolvedWeight * resolvedCounts.getOrDefault(report.getReportedUuid(), 0)
+                + category
+                - ageWeight * hours(StorageFormat.toEpochMillis(createdAt));
+    }
+
+    private static double hours(long epochMillis) {
+        return epochMillis / MILLIS_PER_HOUR;
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        put(report);
+
+        UUID player = report.getReportedUuid();
+        if (player != null && !resolvedCounts.containsKey(player)) {
+            repository.supply(() -> database.getResolvedCountsByReported(List.of(player)))
+                    .thenAccept(counts -> {
+                        resolvedCounts.put(player, counts.getOrDefault(player, 0));
+                        rescore(player);
+                    })
+                    .exceptionally(error -> {
+                        ExceptionHandler.getInstance().handleException(error, "TriageIndex");
+                        return null;
+                    });
+        }
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+        put(report);
+    }
+
+    @Override
+    public void onReportStatusChanged(Report report, Report.ReportStatus previous, Report.ReportStatus current) {
+        int delta = (current == Report.ReportStatus.RESOLVED ? 1 : 0)
+                - (previous == Report.ReportStatus.RESOLVED ? 1 : 0);
+        UUID player = report.getReportedUuid();
+        if (delta != 0 && player != null
+                && resolvedCounts.computeIfPresent(player, (uuid, count) -> Math.max(0, count + delta)) != null) {
+            rescore(player);
+        }
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+        remove(id);
+    }
+}
@@ -1,7 +1,10 @@
 package dev.aevorinstudios.aevorinReports.discord;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.database.TriageIndex;
 import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
 import dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
@@ -9,13 +12,18 @@ import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.InteractionHook;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.Color;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class DiscordListener extends ListenerAdapter {
+    private static final int LIST_LIMIT = 50;
+
     private final BukkitPlugin plugin;
 
     public DiscordListener(BukkitPlugin plugin) {
@@ -34,7 +42,7 @@ public class DiscordListener extends ListenerAdapter {
             return;
         }
 
-        if (plugin.getDatabaseManager() == null) {
+        if (plugin.getReportRepository() == null) {
             event.reply(
                     "The report database is currently unavailable. Please contact an administrator or check the server console.")
                     .setEphemeral(true).queue();
@@ -55,7 +63,7 @@ public class DiscordListener extends ListenerAdapter {
         EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("AevorinReports Help")
                 .setDescription("Manage Minecraft reports from Discord using official Slash Commands.")
-                .addField("/reports", "List all active pending reports.", false)
+                .addField("/reports", "List pending reports, most urgent first.", false)
                 .addField("/lookup <id>", "Show detailed info about a report.", false)
                 .addField("/resolve <id>", "Mark a report as resolved.", false)
                 .addField("/reject <id>", "Mark a report as rejected.", false)
@@ -68,48 +76,62 @@ public class DiscordListener extends ListenerAdapter {
 
     private void handleSetStatusSlash(SlashCommandInteractionEvent event, Report.ReportStatus status) {
         long id = event.getOption("id").getAsLong();
-        Report report = plugin.getDatabaseManager().getReport(id);
-
-        if (report == null) {
-            event.reply("Report #" + id + " not found.").setEphemeral(true).queue();
-            return;
-        }
-
-        if (report.getStatus() == status) {
-            event.reply("Report #" + id + " is already " + status.name().toLowerCase() + ".").setEphemeral(true)
-                    .queue();
-            return;
-        }
-
-        report.setStatus(status);
-        report.setLastUpdatedBy("Discord:" + event.getUser().getName());
-        plugin.getDatabaseManager().updateReport(report);
-
-        // Professional Embed for the Ephemeral success message
-        EmbedBuilder successEmbed = new EmbedBuilder()
-                .setTitle("Report Updated")
-                .setDescription(
-                        "Successfully updated Report **#" + id + "** to **" + status.name().toLowerCase() + "**.")
-                .setColor(status == Report.ReportStatus.RESOLVED ? Color.GREEN
-                        : (status == Report.ReportStatus.REJECTED ? Color.RED : Color.ORANGE));
+        ReportRepository repository = plugin.getReportRepository();
+        InteractionHook hook = event.getHook();
+        event.deferReply(true).queue();
+
+        repository.getReport(id).thenCompose(report -> {
+            if (report == null) {
+                hook.editOriginal("Report #" + id + " not found.").queue();
+                return CompletableFuture.completedFuture(null);
+            }
 
-        event.replyEmbeds(successEmbed.build()).setEphemeral(true).queue();
+            if (report.getStatus() == status) {
+                hook.editOriginal("Report #" + id + " is already " + status.name().toLowerCase() + ".").queue();
+                return CompletableFuture.completedFuture(null);
+            }
 
-        // Public log message to log channel
-        plugin.getDiscordManager().sendLogUpdate(report, event.getUser().getAsMention());
+            report.setLastUpdatedBy("Discord:" + event.getUser().getName());
+            return repository.updateStatus(report, status).thenAccept(updated -> {
+                if (updated == null) {
+                    hook.editOriginal("Report #" + id + " was changed by someone else in the meantime. Nothing was updated.").queue();
+                    return;
+                }
+
+                // Professional Embed for the Ephemeral success message
+                EmbedBuilder successEmbed = new EmbedBuilder()
+                        .setTitle("Report Updated")
+                        .setDescription(
+                                "Successfully updated Report **#" + id + "** to **" + status.name().toLowerCase() + "**.")
+                        .setColor(status == Report.ReportStatus.RESOLVED ? Color.GREEN
+                                : (status == Report.ReportStatus.REJECTED ? Color.RED : Color.ORANGE));
+
+                hook.editOriginalEmbeds(successEmbed.build()).queue();
+
+                // Public log message to log channel
+                plugin.getDiscordManager().sendLogNotification(updated, event.getUser().getAsMention());
+            });
+        }).exceptionally(error -> failReply(hook, error));
     }
 
     private void handleLookupSlash(SlashCommandInteractionEvent event) {
         long id = event.getOption("id").getAsLong();
-        Report report = plugin.getDatabaseManager().getReport(id);
+        InteractionHook hook = event.getHook();
+        event.deferReply(true).queue();
 
+        plugin.getReportRepository().getReport(id)
+                .thenAccept(report -> sendLookup(hook, id, report))
+                .exceptionally(error -> failReply(hook, error));
+    }
+
+    private void sendLookup(InteractionHook hook, long id, Report report) {
         if (report == null) {
-            event.reply("Report #" + id + " not found.").setEphemeral(true).queue();
+            hook.editOriginal("Report #" + id + " not found.").queue();
             return;
         }
 
-        String reporter = PlayerNameResolver.resolvePlayerName(report.getReporterUuid());
-        String reported = PlayerNameResolver.resolvePlayerName(report.getReportedUuid());
+        String reporter = PlayerNameResolver.resolvePlayerName(report.getReporterName(), report::getReporterUuid);
+        String reported = PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
 
         String colorHex = plugin.getConfig().getString("discord.lookup-color", "#00ffff");
         Color color = Color.CYAN;
@@ -124,7 +146,7 @@ public class DiscordListener extends ListenerAdapter {
                 .addField("Reported Player", reported, true)
                 .addField("Reason", report.getReason(), false);
 
-        if (plugin.getDatabaseManager().hasMultipleServers()) {
+        if (plugin.getReportRepository().hasMultipleServers()) {
             embed.addField("Server", report.getServerName(), true);
         }
 
@@ -137,14 +159,28 @@ public class DiscordListener extends ListenerAdapter {
                         report.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")), false)
                 .setColor(color);
 
-        event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+        hook.editOriginalEmbeds(embed.build()).queue();
     }
 
     private void handleListReportsSlash(SlashCommandInteractionEvent event) {
-        List<Report> activeReports = plugin.getDatabaseManager().getActiveReports();
+        InteractionHook hook = event.getHook();
+        event.deferReply(true).queue();
+
+        // Most urgent first, straight from memory; the embed can't show more than a page anyway
+        TriageIndex index = plugin.getTriageIndex();
+        if (index != null && index.isLoaded()) {
+            sendReportList(hook, index.getPage(0, LIST_LIMIT));
+            return;
+        }
 
+        plugin.getReportRepository().getActiveReports()
+                .thenAccept(activeReports -> sendReportList(hook, activeReports))
+                .exceptionally(error -> failReply(hook, error));
+    }
+
+    private void sendReportList(InteractionHook hook, List<Report> activeReports) {
         if (activeReports.isEmpty()) {
-            event.reply("There are no active reports.").setEphemeral(true).queue();
+            hook.editOriginal("There are no active reports.").queue();
             return;
         }
 
@@ -154,9 +190,13 @@ public class DiscordListener extends ListenerAdapter {
 
         StringBuilder sb = new StringBuilder();
         for (Report report : activeReports) {
-            String reported = PlayerNameResolver.resolvePlayerName(report.getReportedUuid());
+            String reported = PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
             sb.append("`#").append(report.getId()).append("` - **").append(reported).append("** (")
-                    .append(report.getReason()).append(")\n");
+                    .append(report.getReason()).append(")");
+            if (report.getClusterSize() > 1) {
+                sb.append(" ×").append(report.getClusterSize());
+            }
+            sb.append("\n");
 
             if (sb.length() > 1800) {
                 sb.append("*...and more*");
@@ -165,7 +205,14 @@ public class DiscordListener extends ListenerAdapter {
         }
 
         embed.setDescription(sb.toString());
-        event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+        hook.editOriginalEmbeds(embed.build()).queue();
+    }
+
+    private Void failReply(InteractionHook hook, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        ExceptionHandler.getInstance().handleException(cause, "Discord");
+        hook.editOriginal("The report database is currently unavailable. Please try again later.").queue();
+        return null;
     }
 
     private boolean hasPermission(Member member) {
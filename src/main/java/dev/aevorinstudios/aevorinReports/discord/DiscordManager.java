@@ -2,13 +2,19 @@ package dev.aevorinstudios.aevorinReports.discord;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
 import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.database.DiscordDelivery;
+import dev.aevorinstudios.aevorinReports.database.ReportEvent;
+import dev.aevorinstudios.aevorinReports.database.ReportEventFeed;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
 import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.requests.GatewayIntent;
 import net.dv8tion.jda.api.utils.ChunkingFilter;
 import net.dv8tion.jda.api.utils.MemberCachePolicy;
@@ -16,25 +22,35 @@ import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import org.bukkit.Bukkit;
 
 import java.awt.Color;
+import java.net.URI;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 public class DiscordManager {
     private final BukkitPlugin plugin;
-    private JDA jda;
+    private volatile JDA jda;
     private String channelId;
     private String logChannelId;
     private boolean enabled;
     private ScheduledExecutorService scheduler;
     private ScheduledFuture<?> presenceTask;
-    private ScheduledFuture<?> pollTask;
-    private long lastReportId = -1;
+    private ReportEventFeed eventFeed;
+    private DiscordReconciler reconciler;
+    // Ledger writes for deliveries confirmed before the database was ready
+    private final Queue<Consumer<DatabaseManager>> pendingLedger = new ConcurrentLinkedQueue<>();
+    private volatile boolean ledgerReady;
+    private volatile DiscordOutboundQueue reportQueue;
+    private volatile DiscordOutboundQueue logQueue;
 
     public DiscordManager(BukkitPlugin plugin) {
         this.plugin = plugin;
@@ -47,10 +63,27 @@ public class DiscordManager {
         this.logChannelId = plugin.getConfig().getString("discord.log-channel-id");
     }
 
+    /**
+     * Set up the webhooks and log the bot in. Blocks until JDA is ready, so it must
+     * not be called on the main thread.
+     */
     public void start() {
         if (!enabled)
             return;
 
+        reportQueue = openQueue("reports", createWebhook("discord.webhook-url"));
+        logQueue = openQueue("logs", createWebhook("discord.log-webhook-url"));
+
+        // The gateway is only needed to answer slash commands, and to post to channels without a webhook
+        if (!plugin.getConfig().getBoolean("discord.slash-commands", true)) {
+            if (reportQueue == null && logQueue == null) {
+                plugin.getLogger().warning("[Discord] Slash commands are disabled and no webhook is set, nothing will be sent to Discord!");
+            } else {
+                plugin.getLogger().info("[Discord] Webhook-only mode - not connecting to the Discord gateway");
+            }
+            return;
+        }
+
         String token = plugin.getConfig().getString("discord.bot-token");
         if (token == null || token.isEmpty() || token.equals("YOUR_BOT_TOKEN_HERE")) {
             plugin.getLogger().warning("Discord bot token is not set!");
@@ -59,16 +92,25 @@ public class DiscordManager {
 
         try {
             jda = JDABuilder.createDefault(token)
-                    .enableIntents(GatewayIntent.GUILD_MESSAGES, GatewayIntent.MESSAGE_CONTENT,
-                            GatewayIntent.GUILD_MEMBERS)
-                    .setMemberCachePolicy(MemberCachePolicy.ALL)
-                    .setChunkingFilter(ChunkingFilter.ALL)
+                    // Only slash commands are received and messages are sent over REST, so no message
+                    // events or privileged intents are needed
+                    .disableIntents(GatewayIntent.GUILD_MESSAGES)
+                    // Slash commands carry the member with their roles, so the member list isn't downloaded
+                    .setMemberCachePolicy(MemberCachePolicy.DEFAULT)
+                    .setChunkingFilter(ChunkingFilter.NONE)
                     .disableCache(CacheFlag.FORUM_TAGS) // Workaround: JDA 5.4.0 crashes on forum channels with null
                                                         // available_tags
                     .addEventListeners(new DiscordListener(plugin))
                     .build();
             jda.awaitReady();
 
+            if (reportQueue == null && channelId != null && !channelId.isEmpty()) {
+                reportQueue = openQueue("reports", new GatewayTransport(jda, channelId));
+            }
+            if (logQueue == null && logChannelId != null && !logChannelId.isEmpty()) {
+                logQueue = openQueue("logs", new GatewayTransport(jda, logChannelId));
+            }
+
             // Set initial Presence
             updatePresence();
 
@@ -76,11 +118,6 @@ public class DiscordManager {
             scheduler = Executors.newSingleThreadScheduledExecutor();
             presenceTask = scheduler.scheduleAtFixedRate(this::updatePresence, 5, 5, TimeUnit.MINUTES);
 
-            // Start network mode polling if enabled
-            if (plugin.getConfigManager().getConfig().getDiscord().getNetworkMode().isEnabled()) {
-                startNetworkPolling();
-            }
-
             // Register Slash Commands
             jda.updateCommands().addCommands(
                     net.dv8tion.jda.api.interactions.commands.build.Commands.slash("resolve", "Resolve a report")
@@ -98,22 +135,16 @@ public class DiscordManager {
                             .addOption(net.dv8tion.jda.api.interactions.commands.OptionType.INTEGER, "id",
                                     "The Report ID", true),
                     net.dv8tion.jda.api.interactions.commands.build.Commands.slash("reports",
-                            "List all active reports"),
+                            "List pending reports by priority"),
                     net.dv8tion.jda.api.interactions.commands.build.Commands.slash("help", "Show the help menu"))
                     .queue();
 
             plugin.getLogger().info("Discord bot successfully started and commands registered!");
+        } catch (InterruptedException e) {
+            // The plugin was disabled while the bot was still logging in
+            Thread.currentThread().interrupt();
         } catch (IllegalStateException e) {
-            if (e.getMessage().contains("intents")) {
-                plugin.getLogger().severe("--------------------------------------------------");
-                plugin.getLogger().severe("DISCORD BOT ERROR: DISALLOWED INTENTS");
-                plugin.getLogger().severe("Please enable 'MESSAGE_CONTENT' and 'SERVER MEMBERS'");
-                plugin.getLogger().severe("intents in the Discord Developer Portal under the 'Bot' tab!");
-                plugin.getLogger().severe("Link: https://discord.com/developers/applications");
-                plugin.getLogger().severe("--------------------------------------------------");
-            } else {
-                plugin.getLogger().severe("Failed to initialize Discord bot: " + e.getMessage());
-            }
+            plugin.getLogger().severe("Failed to initialize Discord bot: " + e.getMessage());
         } catch (Exception e) {
             plugin.getLogger().severe("--------------------------------------------------");
             plugin.getLogger().severe("UNEXPECTED ERROR STARTING DISCORD BOT");
@@ -128,6 +159,105 @@ public class DiscordManager {
         }
     }
 
+    private DiscordTransport createWebhook(String path) {
+        String url = plugin.getConfig().getString(path, "");
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            return new WebhookTransport(URI.create(url.trim()),
+                    "AevorinReports/" + plugin.getDescription().getVersion());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("[Discord] Invalid webhook URL in " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private DiscordOutboundQueue openQueue(String name, DiscordTransport transport) {
+        if (transport == null) {
+            return null;
+        }
+        DiscordOutboundQueue queue = new DiscordOutboundQueue(name, transport,
+                plugin.getDataFolder().toPath().resolve("discord-queue").resolve(name + ".json"), plugin.getLogger());
+        String target = transport.getTarget();
+        queue.setListener(new DiscordOutboundQueue.Listener() {
+            @Override
+            public void onSent(List<Long> reportIds, String messageId) {
+                recordDelivery(db -> {
+                    for (int i = 0; i < reportIds.size(); i++) {
+                        if (reportIds.get(i) > 0) {
+                            db.markDiscordSent(reportIds.get(i), target, messageId, i);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onFailed(long reportId) {
+                recordDelivery(db -> db.markDiscordFailed(reportId));
+            }
+        });
+        queue.start();
+        return queue;
+    }
+
+    private void recordDelivery(Consumer<DatabaseManager> write) {
+        if (!ledgerReady) {
+            pendingLedger.add(write);
+            // The database may have become ready in the meantime
+            if (ledgerReady) {
+                flushLedger();
+            }
+            return;
+        }
+        ReportRepository repository = plugin.getReportRepository();
+        DatabaseManager db = plugin.getDatabaseManager();
+        if (repository == null || db == null) {
+            return;
+        }
+        repository.run(() -> write.accept(db)).exceptionally(error -> {
+            ExceptionHandler.getInstance().handleException(error, "DiscordManager");
+            return null;
+        });
+    }
+
+    private void flushLedger() {
+        Consumer<DatabaseManager> write;
+        while ((write = pendingLedger.poll()) != null) {
+            recordDelivery(write);
+        }
+    }
+
+    private boolean isTransportReady() {
+        DiscordOutboundQueue reports = reportQueue;
+        DiscordOutboundQueue logs = logQueue;
+        return (reports != null || logs != null)
+                && (reports == null || reports.isReady())
+                && (logs == null || logs.isReady());
+    }
+
+    /**
+     * @return The number of embeds waiting to be sent to Discord
+     */
+    public int getQueueDepth() {
+        return (reportQueue != null ? reportQueue.getDepth() : 0) + (logQueue != null ? logQueue.getDepth() : 0);
+    }
+
+    /**
+     * @return The recent time between queueing an embed and Discord accepting it, in milliseconds
+     */
+    public long getDeliveryLatencyMillis() {
+        return Math.max(reportQueue != null ? reportQueue.getLatencyMillis() : 0,
+                logQueue != null ? logQueue.getLatencyMillis() : 0);
+    }
+
+    /**
+     * @return The number of embeds dropped or given up on since startup
+     */
+    public long getDeliveryFailures() {
+        return (reportQueue != null ? reportQueue.getFailures() : 0) + (logQueue != null ? logQueue.getFailures() : 0);
+    }
+
     private void updatePresence() {
         if (jda == null)
             return;
@@ -159,8 +289,17 @@ public class DiscordManager {
         if (presenceTask != null) {
             presenceTask.cancel(false);
         }
-        if (pollTask != null) {
-            pollTask.cancel(false);
+        if (reconciler != null) {
+            reconciler.stop();
+        }
+        if (eventFeed != null) {
+            eventFeed.stop();
+        }
+        if (reportQueue != null) {
+            reportQueue.stop();
+        }
+        if (logQueue != null) {
+            logQueue.stop();
         }
         if (scheduler != null) {
             scheduler.shutdown();
@@ -170,63 +309,92 @@ public class DiscordManager {
         }
     }
 
-    private void startNetworkPolling() {
+    /**
+     * Start the parts of the integration that need both Discord and the database:
+     * recording deliveries in the ledger, re-sending reports that never arrived
+     * and, if network mode is enabled, relaying changes from all servers. Called
+     * once both have started.
+     */
+    public void startDatabaseServices() {
+        if (reportQueue == null && logQueue == null) {
+            return;
+        }
+        ledgerReady = true;
+        flushLedger();
+
+        boolean networkMode = plugin.getConfigManager().getConfig().getDiscord().getNetworkMode().isEnabled();
+        if (reportQueue != null && reconciler == null) {
+            // In network mode this server relays reports from every server, otherwise only its own
+            reconciler = new DiscordReconciler(plugin, plugin.getDatabaseManager(), reportQueue,
+                    networkMode ? null : plugin.getConfigManager().getConfig().getServerName(), this::sendReportEmbed);
+            reconciler.start();
+        }
+        if (networkMode && eventFeed == null) {
+            startEventFeed();
+        }
+    }
+
+    private void startEventFeed() {
         dev.aevorinstudios.aevorinReports.database.DatabaseManager db = plugin.getDatabaseManager();
         if (db == null) {
             throw new IllegalStateException(
                     "Database manager is not initialized. Discord network mode requires a working database connection.");
         }
 
-        // Initialize with high current ID so we only poll for NEW reports
-        lastReportId = db.getMaxReportId();
         int pollInterval = plugin.getConfigManager().getConfig().getDiscord().getNetworkMode().getPollInterval();
-
-        plugin.getLogger().info("[Discord] Network mode enabled - polling database every " + pollInterval
-                + " seconds (Starting from ID: " + lastReportId + ")");
-
-        pollTask = scheduler.scheduleAtFixedRate(this::pollForNewReports, pollInterval, pollInterval, TimeUnit.SECONDS);
+        String consumer = "discord:" + plugin.getConfigManager().getConfig().getServerName();
+
+        plugin.getLogger().info("[Discord] Network mode enabled - relaying report changes from the database (checking at least every "
+                + pollInterval + " seconds)");
+
+        eventFeed = new ReportEventFeed(plugin.getReportRepository(), db, consumer, pollInterval * 1000L,
+                new ReportEventFeed.Handler() {
+                    @Override
+                    public void handle(ReportEvent event) {
+                        handleReportEvent(event);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return isTransportReady();
+                    }
+                });
+        eventFeed.start();
     }
 
-    private void pollForNewReports() {
-        if (jda == null || jda.getStatus() != JDA.Status.CONNECTED) {
+    // Runs on the event feed thread, so loading the report from the database is fine here
+    private void handleReportEvent(ReportEvent event) {
+        if (event.type() != ReportEvent.Type.CREATED && event.type() != ReportEvent.Type.STATUS_CHANGED) {
             return;
         }
 
-        try {
-            List<dev.aevorinstudios.aevorinReports.reports.Report> newReports = plugin.getDatabaseManager()
-                    .getReportsAfterId(lastReportId);
-
-            for (dev.aevorinstudios.aevorinReports.reports.Report report : newReports) {
-                // Update tracker immediately to the highest ID processed
-                if (report.getId() > lastReportId) {
-                    lastReportId = report.getId();
-                }
-
-                // Resolve player names before sending
-                String reporterName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver
-                        .resolvePlayerName(report.getReporterUuid());
-                String reportedName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver
-                        .resolvePlayerName(report.getReportedUuid());
-
-                report.setReporterName(reporterName);
-                report.setReportedPlayerName(reportedName);
+        Report report = plugin.getDatabaseManager().getReport(event.reportId());
+        if (report == null) {
+            // Deleted since
+            return;
+        }
 
-                sendReportEmbed(report);
-            }
+        // Names are stored with the report, only resolve them for reports filed before that
+        if (report.getReporterName() == null) {
+            report.setReporterName(dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver
+                    .resolvePlayerName(report.getReporterName(), report::getReporterUuid));
+        }
+        if (report.getReportedPlayerName() == null) {
+            report.setReportedPlayerName(dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver
+                    .resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid));
+        }
 
-            if (!newReports.isEmpty()) {
-                plugin.getLogger().info("[Discord] Polled and sent " + newReports.size() + " new report(s) to Discord");
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("[Discord] Error polling for new reports: " + e.getMessage());
-            if (plugin.getConfig().getBoolean("debug.enabled", false)) {
-                e.printStackTrace();
-            }
+        if (event.type() == ReportEvent.Type.CREATED) {
+            sendReportEmbed(report);
+        } else {
+            // Log the status this event moved to, even if the report has changed again since
+            report.setStatus(event.status());
+            sendLogUpdate(report, event.actor() != null ? event.actor() : "Unknown");
         }
     }
 
     public void sendReportNotification(Report report) {
-        // In network mode, we rely purely on the polling task to avoid duplicates
+        // In network mode, we rely purely on the event feed to avoid duplicates
         // and to centralized notifications in multi-server networks.
         if (plugin.getConfigManager().getConfig().getDiscord().getNetworkMode().isEnabled()) {
             return;
@@ -236,15 +404,32 @@ public class DiscordManager {
     }
 
     private void sendReportEmbed(Report report) {
-        if (!enabled || jda == null || channelId == null || channelId.isEmpty())
+        DiscordOutboundQueue queue = reportQueue;
+        if (!enabled || queue == null)
             return;
 
-        TextChannel channel = jda.getTextChannelById(channelId);
-        if (channel == null) {
-            plugin.getLogger().warning("Discord channel with ID " + channelId + " not found!");
+        // Re-sent reports may have been handled by now, so show where they stand
+        MessageEmbed embed = report.getStatus() == Report.ReportStatus.PENDING
+                ? buildReportEmbed(report).build()
+                : buildStatusEmbed(report, report.getLastUpdatedBy());
+        ReportRepository repository = plugin.getReportRepository();
+        DatabaseManager db = plugin.getDatabaseManager();
+        if (repository == null || db == null) {
+            queue.add(embed, report.getId());
             return;
         }
+        // Record the attempt first, so the reconciler knows about it even if the server dies before sending
+        repository.run(() -> db.recordDiscordAttempt(report.getId()))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        ExceptionHandler.getInstance().handleException(error, "DiscordManager",
+                                Map.of("report", report.getId()));
+                    }
+                    queue.add(embed, report.getId());
+                });
+    }
 
+    private EmbedBuilder buildReportEmbed(Report report) {
         String title = plugin.getConfig().getString("discord.notifications.title", "New Report (#%id%)")
                 .replace("%id%", String.valueOf(report.getId()));
 
@@ -264,7 +449,13 @@ public class DiscordManager {
                 .addField("ID", "#" + report.getId(), true)
                 .addField("Reason", "```" + report.getReason() + "```", false);
 
-        if (plugin.getDatabaseManager().hasMultipleServers()) {
+        if (report.getClusterSize() > 1) {
+            embed.addField("Reporters", String.valueOf(report.getClusterSize()), true);
+        }
+
+        // The repository isn't set until the database has connected
+        ReportRepository repository = plugin.getReportRepository();
+        if (repository != null && repository.hasMultipleServers()) {
             embed.addField("Server", "`" + report.getServerName() + "`", true);
         }
 
@@ -274,42 +465,71 @@ public class DiscordManager {
         String footer = plugin.getConfig().getString("discord.notifications.footer", "AevorinReports • %date%")
                 .replace("%date%", report.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         embed.setFooter(footer);
-
-        try {
-            if (channel.getGuild().getSelfMember() == null) {
-                plugin.getLogger().warning("[Discord] Cannot send report: Self member not cached for guild "
-                        + channel.getGuild().getName());
-                return;
-            }
-
-            channel.sendMessageEmbeds(embed.build()).queue(
-                    success -> {
-                    },
-                    error -> plugin.getLogger()
-                            .warning("[Discord] Failed to send report embed to #" + channel.getName() + ": "
-                                    + error.getMessage()));
-        } catch (Exception e) {
-            plugin.getLogger().warning(
-                    "[Discord] Could not send report notification to channel " + channelId + " - " + e.getMessage());
-        }
+        return embed;
     }
 
-    public void sendLogUpdate(Report report, String adminName) {
-        if (!enabled || jda == null || logChannelId == null || logChannelId.isEmpty())
+    public void sendLogNotification(Report report, String adminName) {
+        // In network mode, status changes are relayed from the event feed instead
+        if (plugin.getConfigManager().getConfig().getDiscord().getNetworkMode().isEnabled()) {
             return;
+        }
 
-        TextChannel channel = jda.getTextChannelById(logChannelId);
-        if (channel == null) {
-            plugin.getLogger().warning("Discord log channel with ID " + logChannelId + " not found!");
+        sendLogUpdate(report, adminName);
+    }
+
+    private void sendLogUpdate(Report report, String adminName) {
+        DiscordOutboundQueue reports = reportQueue;
+        ReportRepository repository = plugin.getReportRepository();
+        DatabaseManager db = plugin.getDatabaseManager();
+        if (!enabled || reports == null || repository == null || db == null
+                || !plugin.getConfigManager().getConfig().getDiscord().getNotifications().isEditOnStatusChange()) {
+            postLogUpdate(report, adminName);
             return;
         }
 
+        repository.supply(() -> db.getDiscordDelivery(report.getId())).whenComplete((delivery, error) -> {
+            // Only messages posted through the current webhook or channel can be edited
+            if (error == null && delivery != null && delivery.state() == DiscordDelivery.State.SENT
+                    && delivery.messageId() != null && reports.getTarget().equals(delivery.target())) {
+                reports.edit(delivery.messageId(), delivery.embedIndex(), buildStatusEmbed(report, adminName),
+                        report.getId());
+            } else {
+                postLogUpdate(report, adminName);
+            }
+        });
+    }
+
+    // adminName may be null when the actor isn't known
+    private MessageEmbed buildStatusEmbed(Report report, String adminName) {
         Report.ReportStatus status = report.getStatus();
-        Color color = switch (status) {
+        EmbedBuilder embed = buildReportEmbed(report)
+                .addField("Status", "**" + capitalize(status.name()) + "**"
+                        + (adminName != null ? " by " + adminName : ""), false);
+        if (status != Report.ReportStatus.PENDING) {
+            embed.setColor(statusColor(status));
+        }
+        return embed.build();
+    }
+
+    private static String capitalize(String name) {
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static Color statusColor(Report.ReportStatus status) {
+        return switch (status) {
             case RESOLVED -> Color.GREEN;
             case REJECTED -> Color.RED;
             case PENDING -> Color.ORANGE;
         };
+    }
+
+    private void postLogUpdate(Report report, String adminName) {
+        DiscordOutboundQueue queue = logQueue;
+        if (!enabled || queue == null)
+            return;
+
+        Report.ReportStatus status = report.getStatus();
+        Color color = statusColor(status);
 
         EmbedBuilder embed = new EmbedBuilder()
                 .setTitle("Report Updated")
@@ -317,22 +537,6 @@ public class DiscordManager {
                         + "** by " + adminName + ".")
                 .setColor(color);
 
-        try {
-            if (channel.getGuild().getSelfMember() == null) {
-                plugin.getLogger().warning("[Discord] Cannot send log update: Self member not cached for guild "
-                        + channel.getGuild().getName());
-                return;
-            }
-
-            channel.sendMessageEmbeds(embed.build()).queue(
-                    success -> {
-                    },
-                    error -> plugin.getLogger()
-                            .warning("[Discord] Failed to send log update embed to #" + channel.getName() + ": "
-                                    + error.getMessage()));
-        } catch (Exception e) {
-            plugin.getLogger().warning(
-                    "[Discord] Could not send log update to channel " + logChannelId + " - " + e.getMessage());
-        }
+        queue.add(embed.build());
     }
 }
@@ -0,0 +1,472 @@
+package dev.aevorinstudios.aevorinReports.discord;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.utils.data.DataObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Outbound queue for one Discord channel. Embeds are sent in order on a
+ * dedicated thread, packed up to {@value DiscordTransport.Limits#MAX_EMBEDS}
+ * per message, so a burst of reports costs a handful of requests instead of
+ * one each.
+ * <p>
+ * The queue waits for the channel's rate limit bucket to refill when the
+ * transport reports it empty, honours {@code Retry-After} on 429s and backs off
+ * exponentially on other temporary failures. Embeds still queued on shutdown,
+ * or while Discord is unreachable, are written to a spool file and sent after
+ * the next start.
+ * <p>
+ * Embeds may carry the ID of the report they announce; a {@link Listener} is
+ * told which message each of them ended up in, or that it was given up on, so
+ * the delivery can be recorded. Edits of earlier messages go through the same
+ * queue to share its rate limit, one request each.
+ */
+public class DiscordOutboundQueue {
+    private static final int CAPACITY = 500;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+    private static final long NOT_READY_DELAY_MILLIS = 2000;
+
+    private final String name;
+    private final DiscordTransport transport;
+    private final Path spoolFile;
+    private final Logger logger;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    private boolean draining;
+
+    // Only touched on the queue thread
+    private long blockedUntil;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile long latencyMillis;
+
+    private volatile Listener listener;
+
+    /**
+     * Told about the fate of embeds queued with a report ID. Called on the
+     * queue thread, so implementations must not block for long.
+     */
+    public interface Listener {
+
+        /**
+         * @param reportIds The reports announced in the message, by embed index; 0 where an embed has no report
+         * @param messageId The ID of the message, or null if the transport couldn't tell
+         */
+        void onSent(List<Long> reportIds, String messageId);
+
+        /**
+         * @param reportId The report whose embed was dropped or given up on
+         */
+        void onFailed(long reportId);
+    }
+
+    private static final class Entry {
+        private final MessageEmbed embed;
+        private final long enqueuedAt;
+        private final long reportId;
+        // Set for edits of an already sent message
+        private final String messageId;
+        private final int embedIndex;
+        private int attempts;
+        // Set after a message containing this embed was rejected, to find the bad one
+        private boolean isolate;
+
+        private Entry(MessageEmbed embed, long enqueuedAt, long reportId, String messageId, int embedIndex) {
+            this.embed = embed;
+            this.enqueuedAt = enqueuedAt;
+            this.reportId = reportId;
+            this.messageId = messageId;
+            this.embedIndex = embedIndex;
+            this.isolate = messageId != null;
+        }
+
+        private boolean isEdit() {
+            return messageId != null;
+        }
+    }
+
+    /**
+     * @param name      A short name for the channel, used in logs and thread names
+     * @param transport The transport messages are delivered through
+     * @param spoolFile Where unsent embeds are kept across restarts
+     * @param logger    The logger failures are reported to
+     */
+    public DiscordOutboundQueue(String name, DiscordTransport transport, Path spoolFile, Logger logger) {
+        this.name = name;
+        this.transport = transport;
+        this.spoolFile = spoolFile;
+        this.logger = logger;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-Discord-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load embeds left over from the last run and start sending.
+     */
+    public void start() {
+        List<Entry> restored = readSpool();
+        if (!restored.isEmpty()) {
+            logger.info("[Discord] Resending " + restored.size() + " " + name + " embed(s) queued before the last shutdown");
+            synchronized (lock) {
+                restored.forEach(queue::offerLast);
+            }
+        }
+        wake(0);
+    }
+
+    /**
+     * @param listener Told where embeds queued with a report ID were delivered
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Queue an embed. Never blocks; the oldest embed is dropped if the queue is full.
+     *
+     * @param embed The embed to send
+     */
+    public void add(MessageEmbed embed) {
+        add(embed, 0);
+    }
+
+    /**
+     * Queue an embed announcing a report.
+     *
+     * @param embed    The embed to send
+     * @param reportId The report the embed is about, reported back to the listener
+     */
+    public void add(MessageEmbed embed, long reportId) {
+        offer(new Entry(embed, System.currentTimeMillis(), reportId, null, 0));
+    }
+
+    /**
+     * Queue a replacement for one embed of a message sent earlier.
+     *
+     * @param messageId The message to edit
+     * @param index     The position of the embed within the message
+     * @param embed     The new embed
+     * @param reportId  The report the embed is about
+     */
+    public void edit(String messageId, int index, MessageEmbed embed, long reportId) {
+        offer(new Entry(embed, System.currentTimeMillis(), reportId, messageId, index));
+    }
+
+    private void offer(Entry entry) {
+        Entry dropped = null;
+        synchronized (lock) {
+            if (scheduler.isShutdown()) {
+                return;
+            }
+            if (queue.size() >= CAPACITY) {
+                dropped = queue.pollFirst();
+                failed.incrementAndGet();
+                logger.warning("[Discord] The " + name + " queue is full, dropped the oldest embed");
+            }
+            queue.offerLast(entry);
+        }
+        if (dropped != null) {
+            failed(List.of(dropped));
+        }
+        wake(0);
+    }
+
+    private void wake(long delayMillis) {
+        synchronized (lock) {
+            if (draining || queue.isEmpty() || scheduler.isShutdown()) {
+                return;
+            }
+            draining = true;
+            scheduler.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            long now = System.currentTimeMillis();
+            long wait = !transport.isReady() ? NOT_READY_DELAY_MILLIS : blockedUntil - now;
+            List<Entry> batch = wait > 0 ? List.of() : nextBatch();
+            if (wait > 0 || batch.isEmpty()) {
+                synchronized (lock) {
+                    if (queue.isEmpty() || scheduler.isShutdown()) {
+                        draining = false;
+                        return;
+                    }
+                    scheduler.schedule(this::drain, Math.max(wait, 1), TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+
+            requests.incrementAndGet();
+            DiscordTransport.Result result = send(batch);
+            now = System.currentTimeMillis();
+            if (result.remaining() == 0) {
+                blockedUntil = now + result.resetAfterMillis();
+            }
+
+            switch (result.outcome()) {
+                case SENT -> {
+                    remove(batch);
+                    sent.addAndGet(batch.size());
+                    delivered(batch, result.messageId());
+                    for (Entry entry : batch) {
+                        long latency = now - entry.enqueuedAt;
+                        // Exponentially weighted, so the metric follows recent deliveries
+                        latencyMillis = latencyMillis == 0 ? latency : (latencyMillis * 4 + latency) / 5;
+                    }
+                }
+                case REJECTED -> {
+                    if (batch.size() > 1) {
+                        // Send them one by one, so only the embed Discord refuses is dropped
+                        batch.forEach(entry -> entry.isolate = true);
+                    } else {
+                        remove(batch);
+                        failed.incrementAndGet();
+                        failed(batch);
+                        logger.warning("[Discord] Dropped a " + name + " embed rejected by Discord: " + result.detail());
+                    }
+                }
+                case RETRY -> {
+                    int attempts = ++batch.get(0).attempts;
+                    if (attempts >= MAX_ATTEMPTS) {
+                        remove(batch);
+                        failed.addAndGet(batch.size());
+                        failed(batch);
+                        logger.warning("[Discord] Giving up on " + batch.size() + " " + name + " embed(s) after "
+                                + attempts + " attempts: " + result.detail());
+                    } else {
+                        long backoff = result.retryAfterMillis() > 0
+                                ? result.retryAfterMillis()
+                                : Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempts - 1));
+                        blockedUntil = Math.max(blockedUntil, now + backoff);
+                        // Keep what we have on disk in case the server stops during an outage
+                        writeSpool();
+                    }
+                }
+            }
+        }
+    }
+
+    private DiscordTransport.Result send(List<Entry> batch) {
+        Entry first = batch.get(0);
+        if (first.isEdit()) {
+            return transport.edit(first.messageId, first.embedIndex, first.embed);
+        }
+        List<MessageEmbed> embeds = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            embeds.add(entry.embed);
+        }
+        return transport.deliver(embeds);
+    }
+
+    private void delivered(List<Entry> batch, String messageId) {
+        Listener current = listener;
+        if (current == null || batch.get(0).isEdit()) {
+            return;
+        }
+        List<Long> reportIds = new ArrayList<>(batch.size());
+        boolean any = false;
+        for (Entry entry : batch) {
+            reportIds.add(entry.reportId);
+            any |= entry.reportId > 0;
+        }
+        if (any) {
+            current.onSent(reportIds, messageId);
+        }
+    }
+
+    private void failed(List<Entry> entries) {
+        Listener current = listener;
+        if (current == null) {
+            return;
+        }
+        for (Entry entry : entries) {
+            // A failed edit leaves the original message in place, so the report still counts as delivered
+            if (entry.reportId > 0 && !entry.isEdit()) {
+                current.onFailed(entry.reportId);
+            }
+        }
+    }
+
+    // Take embeds from the head of the queue while they fit in one message
+    private List<Entry> nextBatch() {
+        synchronized (lock) {
+            List<Entry> batch = new ArrayList<>(DiscordTransport.Limits.MAX_EMBEDS);
+            int length = 0;
+            for (Entry entry : queue) {
+                int entryLength = entry.embed.getLength();
+                if (!batch.isEmpty() && (entry.isolate || batch.get(0).isolate
+                        || batch.size() >= DiscordTransport.Limits.MAX_EMBEDS
+                        || length + entryLength > DiscordTransport.Limits.MAX_EMBED_LENGTH)) {
+                    break;
+                }
+                batch.add(entry);
+                length += entryLength;
+            }
+            return batch;
+        }
+    }
+
+    private void remove(List<Entry> batch) {
+        synchronized (lock) {
+            // Entries may already have been dropped by an overflow
+            for (Entry entry : batch) {
+                queue.removeFirstOccurrence(entry);
+            }
+        }
+    }
+
+    /**
+     * @return The number of embeds waiting to be sent
+     */
+    public int getDepth() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * @return The recent time between queueing an embed and Discord accepting it, in milliseconds
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * @return The number of embeds dropped or given up on since startup
+     */
+    public long getFailures() {
+        return failed.get();
+    }
+
+    /**
+     * @return The number of embeds delivered since startup
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * @return The number of messages sent to Discord since startup
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public boolean isReady() {
+        return transport.isReady();
+    }
+
+    /**
+     * @return The destination of this queue's transport, see {@link DiscordTransport#getTarget()}
+     */
+    public String getTarget() {
+        return transport.getTarget();
+    }
+
+    /**
+     * Stop sending, give an in-flight request a few seconds to finish and spool
+     * whatever is left for the next start.
+     */
+    public void stop() {
+        synchronized (lock) {
+            scheduler.shutdown();
+        }
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        writeSpool();
+        transport.stop();
+    }
+
+    private void writeSpool() {
+        JsonArray array = new JsonArray();
+        synchronized (lock) {
+            for (Entry entry : queue) {
+                JsonObject object = new JsonObject();
+                object.add("embed", JsonParser.parseString(
+                        new String(entry.embed.toData().toJson(), StandardCharsets.UTF_8)));
+                object.addProperty("queued-at", entry.enqueuedAt);
+                if (entry.reportId > 0) {
+                    object.addProperty("report-id", entry.reportId);
+                }
+                if (entry.isEdit()) {
+                    object.addProperty("message-id", entry.messageId);
+                    object.addProperty("embed-index", entry.embedIndex);
+                }
+                array.add(object);
+            }
+        }
+
+        try {
+            if (array.isEmpty()) {
+                Files.deleteIfExists(spoolFile);
+                return;
+            }
+            Files.createDirectories(spoolFile.getParent());
+            Path temp = spoolFile.resolveSibling(spoolFile.getFileName() + ".tmp");
+            Files.writeString(temp, array.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warning("[Discord] Could not save unsent " + name + " embeds: " + e.getMessage());
+        }
+    }
+
+    private List<Entry> readSpool() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(spoolFile)) {
+            return entries;
+        }
+        try {
+            JsonArray array = JsonParser.parseString(Files.readString(spoolFile, StandardCharsets.UTF_8))
+                    .getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject object = element.getAsJsonObject();
+                MessageEmbed embed = EmbedBuilder.fromData(DataObject.fromJson(object.get("embed").toString()))
+                        .build();
+                entries.add(new Entry(embed, object.get("queued-at").getAsLong(),
+                        object.has("report-id") ? object.get("report-id").getAsLong() : 0,
+                        object.has("message-id") ? object.get("message-id").getAsString() : null,
+                        object.has("embed-index") ? object.get("embed-index").getAsInt() : 0));
+            }
+            Files.delete(spoolFile);
+        } catch (IOException | RuntimeException e) {
+            logger.warning("[Discord] Could not read unsent " + name + " embeds from " + spoolFile + ": "
+                    + e.getMessage());
+        }
+        return entries;
+    }
+}
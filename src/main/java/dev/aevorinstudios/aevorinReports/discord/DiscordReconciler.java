@@ -0,0 +1,92 @@
+package dev.aevorinstudios.aevorinReports.discord;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Re-sends reports whose embed never reached Discord, found through the
+ * {@code discord_deliveries} ledger. Covers reports filed while the bot was
+ * offline, embeds lost in a crash before they could be spooled and embeds
+ * Discord kept refusing, up to a few attempts each. Reports handled in the
+ * meantime are sent with their current status rather than as new reports.
+ * <p>
+ * Only runs while the outbound queue is empty, so embeds that are merely
+ * waiting for their turn are not queued a second time.
+ */
+public class DiscordReconciler {
+    private static final long INITIAL_DELAY_SECONDS = 60;
+    private static final long INTERVAL_SECONDS = 300;
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 5;
+    // Reports younger than this are most likely still on their way
+    private static final long GRACE_MINUTES = 2;
+    private static final long LOOKBACK_HOURS = 24;
+
+    private final BukkitPlugin plugin;
+    private final DatabaseManager database;
+    private final DiscordOutboundQueue queue;
+    private final String serverName;
+    private final Consumer<Report> sender;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param plugin     The plugin instance
+     * @param database   The database holding the ledger
+     * @param queue      The queue report embeds are sent through
+     * @param serverName Only reconcile reports filed on this server, or null for all servers
+     * @param sender     Queues the embed for a report again
+     */
+    public DiscordReconciler(BukkitPlugin plugin, DatabaseManager database, DiscordOutboundQueue queue,
+            String serverName, Consumer<Report> sender) {
+        this.plugin = plugin;
+        this.database = database;
+        this.queue = queue;
+        this.serverName = serverName;
+        this.sender = sender;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-Discord-Reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::reconcile, INITIAL_DELAY_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void reconcile() {
+        if (!queue.isReady() || queue.getDepth() > 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Report> reports;
+        try {
+            reports = database.getUndeliveredReports(serverName, now.minusHours(LOOKBACK_HOURS),
+                    now.minusMinutes(GRACE_MINUTES), MAX_ATTEMPTS, BATCH_SIZE);
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("[Discord] Could not check for undelivered reports: " + e.getMessage());
+            return;
+        }
+        if (reports.isEmpty()) {
+            return;
+        }
+
+        plugin.getLogger().info("[Discord] Re-sending " + reports.size() + " report(s) that never reached Discord");
+        for (Report report : reports) {
+            sender.accept(report);
+        }
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+}
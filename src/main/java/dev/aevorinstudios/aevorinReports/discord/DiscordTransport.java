@@ -0,0 +1,90 @@
+package dev.aevorinstudios.aevorinReports.discord;
+
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+import java.util.List;
+
+/**
+ * Delivers messages to one Discord channel. Called by a
+ * {@link DiscordOutboundQueue} on its own thread, so delivery may block.
+ */
+public interface DiscordTransport {
+
+    /**
+     * Send one message carrying the given embeds.
+     *
+     * @param embeds Between 1 and {@value Limits#MAX_EMBEDS} embeds
+     * @return What happened, including the rate limit state Discord reported
+     */
+    Result deliver(List<MessageEmbed> embeds);
+
+    /**
+     * Replace one embed of a message sent earlier through this transport,
+     * keeping the others.
+     *
+     * @param messageId The message to edit
+     * @param index     The position of the embed within the message
+     * @param embed     The new embed
+     * @return What happened
+     */
+    Result edit(String messageId, int index, MessageEmbed embed);
+
+    /**
+     * Identifies where this transport posts to. Messages can only be edited
+     * through a transport with the same target they were sent with.
+     *
+     * @return A short identifier such as {@code webhook:<id>} or {@code channel:<id>}
+     */
+    String getTarget();
+
+    /**
+     * @return true if messages can currently be delivered
+     */
+    boolean isReady();
+
+    void stop();
+
+    /**
+     * Limits of a single Discord message.
+     */
+    final class Limits {
+        public static final int MAX_EMBEDS = 10;
+        public static final int MAX_EMBED_LENGTH = MessageEmbed.EMBED_MAX_LENGTH_BOT;
+
+        private Limits() {
+        }
+    }
+
+    enum Outcome {
+        /** Delivered */
+        SENT,
+        /** Not delivered, but may succeed later */
+        RETRY,
+        /** Refused by Discord; sending it again won't help */
+        REJECTED
+    }
+
+    /**
+     * @param outcome          What happened
+     * @param retryAfterMillis For {@link Outcome#RETRY}, how long Discord asked us to wait, or 0 if unknown
+     * @param remaining        Requests left in the rate limit bucket, or -1 if unknown
+     * @param resetAfterMillis Time until the bucket refills
+     * @param detail           A description of the failure for logging
+     * @param messageId        For {@link Outcome#SENT}, the ID of the message sent or edited, if known
+     */
+    record Result(Outcome outcome, long retryAfterMillis, int remaining, long resetAfterMillis, String detail,
+            String messageId) {
+
+        public static Result sent(String messageId, int remaining, long resetAfterMillis) {
+            return new Result(Outcome.SENT, 0, remaining, resetAfterMillis, null, messageId);
+        }
+
+        public static Result retry(long retryAfterMillis, String detail) {
+            return new Result(Outcome.RETRY, retryAfterMillis, -1, 0, detail, null);
+        }
+
+        public static Result rejected(String detail) {
+            return new Result(Outcome.REJECTED, 0, -1, 0, detail, null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dev.aevorinstudios.aevorinReports.discord;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends embeds through the bot's gateway connection, as the bot user. JDA
+ * handles the rate limit buckets of its own requests, so results never carry
+ * bucket information.
+ */
+public class GatewayTransport implements DiscordTransport {
+    private final JDA jda;
+    private final String channelId;
+
+    public GatewayTransport(JDA jda, String channelId) {
+        this.jda = jda;
+        this.channelId = channelId;
+    }
+
+    @Override
+    public Result deliver(List<MessageEmbed> embeds) {
+        TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) {
+            return Result.rejected("Discord channel with ID " + channelId + " not found");
+        }
+        if (channel.getGuild().getSelfMember() == null) {
+            return Result.retry(0, "Self member not cached for guild " + channel.getGuild().getName());
+        }
+
+        try {
+            // Runs on the queue's thread, which is allowed to block
+            Message message = channel.sendMessageEmbeds(embeds).complete();
+            return Result.sent(message.getId(), -1, 0);
+        } catch (ErrorResponseException e) {
+            return failure(e);
+        } catch (RuntimeException e) {
+            return Result.retry(0, e.getMessage());
+        }
+    }
+
+    @Override
+    public Result edit(String messageId, int index, MessageEmbed embed) {
+        TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) {
+            return Result.rejected("Discord channel with ID " + channelId + " not found");
+        }
+
+        try {
+            Message message = channel.retrieveMessageById(messageId).complete();
+            List<MessageEmbed> embeds = new ArrayList<>(message.getEmbeds());
+            if (index >= embeds.size()) {
+                return Result.rejected("Message " + messageId + " has no embed " + index);
+            }
+            embeds.set(index, embed);
+            message.editMessageEmbeds(embeds).complete();
+            return Result.sent(messageId, -1, 0);
+        } catch (ErrorResponseException e) {
+            return failure(e);
+        } catch (RuntimeException e) {
+            return Result.retry(0, e.getMessage());
+        }
+    }
+
+    private Result failure(ErrorResponseException e) {
+        return e.isServerError() ? Result.retry(0, e.getMessage()) : Result.rejected(e.getMessage());
+    }
+
+    @Override
+    public String getTarget() {
+        return "channel:" + channelId;
+    }
+
+    @Override
+    public boolean isReady() {
+        return jda.getStatus() == JDA.Status.CONNECTED;
+    }
+
+    @Override
+    public void stop() {
+        // The JDA instance is shut down by the DiscordManager
+    }
+}
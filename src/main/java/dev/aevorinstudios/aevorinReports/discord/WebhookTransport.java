@@ -0,0 +1,207 @@
+package dev.aevorinstudios.aevorinReports.discord;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts embeds to a Discord webhook over plain HTTPS, without a gateway
+ * connection or bot account. Reports the webhook's rate limit bucket from the
+ * response headers so the queue can wait for it to refill instead of running
+ * into 429s.
+ * <p>
+ * Only depends on the webhook URL, so it can be pointed at a local HTTP stub.
+ * Messages are posted with {@code wait=true} so Discord returns the message ID,
+ * which is needed to edit the message later.
+ */
+public class WebhookTransport implements DiscordTransport {
+    private final URI webhookUrl;
+    private final String userAgent;
+    private final HttpClient client;
+
+    /**
+     * @param webhookUrl The webhook URL, as copied from the channel settings
+     * @param userAgent  The User-Agent sent with every request
+     */
+    public WebhookTransport(URI webhookUrl, String userAgent) {
+        this.webhookUrl = webhookUrl;
+        this.userAgent = userAgent;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Serialize embeds into a webhook execute payload. Mentions in report
+     * reasons are never resolved into pings.
+     *
+     * @param embeds The embeds to send
+     * @return The JSON request body
+     */
+    static String toPayload(List<MessageEmbed> embeds) {
+        JsonArray array = new JsonArray();
+        for (MessageEmbed embed : embeds) {
+            array.add(toJson(embed));
+        }
+        return toPayload(array);
+    }
+
+    private static JsonElement toJson(MessageEmbed embed) {
+        return JsonParser.parseString(new String(embed.toData().toJson(), StandardCharsets.UTF_8));
+    }
+
+    private static String toPayload(JsonArray array) {
+        JsonObject allowedMentions = new JsonObject();
+        allowedMentions.add("parse", new JsonArray());
+
+        JsonObject payload = new JsonObject();
+        payload.add("embeds", array);
+        payload.add("allowed_mentions", allowedMentions);
+        return payload.toString();
+    }
+
+    @Override
+    public Result deliver(List<MessageEmbed> embeds) {
+        return send(request(endpoint("", "wait=true"))
+                .POST(HttpRequest.BodyPublishers.ofString(toPayload(embeds), StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public Result edit(String messageId, int index, MessageEmbed embed) {
+        URI message = endpoint("/messages/" + messageId, null);
+        try {
+            // Fetch the current embeds so the others in the message are kept as they are
+            HttpResponse<String> current = client.send(request(message).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (current.statusCode() != 200) {
+                return interpret(current, null);
+            }
+            JsonObject body = JsonParser.parseString(current.body()).getAsJsonObject();
+            JsonArray embeds = body.has("embeds") ? body.getAsJsonArray("embeds") : new JsonArray();
+            if (index >= embeds.size()) {
+                return Result.rejected("Message " + messageId + " has no embed " + index);
+            }
+            embeds.set(index, toJson(embed));
+            return send(request(message)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(toPayload(embeds), StandardCharsets.UTF_8)));
+        } catch (IOException | RuntimeException e) {
+            return Result.retry(0, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry(0, "interrupted");
+        }
+    }
+
+    @Override
+    public String getTarget() {
+        // https://discord.com/api/webhooks/<id>/<token>
+        String[] segments = webhookUrl.getPath().split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (segments[i].equals("webhooks")) {
+                return "webhook:" + segments[i + 1];
+            }
+        }
+        return "webhook:" + webhookUrl.getHost() + webhookUrl.getPath().hashCode();
+    }
+
+    // Keeps the query of the configured URL, e.g. thread_id for forum posts
+    private URI endpoint(String suffix, String extraQuery) {
+        String query = webhookUrl.getRawQuery();
+        if (extraQuery != null) {
+            query = query == null || query.isEmpty() ? extraQuery : query + "&" + extraQuery;
+        }
+        String base = webhookUrl.getScheme() + "://" + webhookUrl.getRawAuthority() + webhookUrl.getRawPath() + suffix;
+        return URI.create(query == null || query.isEmpty() ? base : base + "?" + query);
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .header("User-Agent", userAgent);
+    }
+
+    private Result send(HttpRequest.Builder request) {
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return interpret(response, response.body());
+        } catch (IOException e) {
+            return Result.retry(0, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry(0, "interrupted");
+        }
+    }
+
+    private Result interpret(HttpResponse<String> response, String body) {
+        int status = response.statusCode();
+        HttpHeaders headers = response.headers();
+        if (status >= 200 && status < 300) {
+            int remaining = headers.firstValue("X-RateLimit-Remaining").map(WebhookTransport::parseInt)
+                    .orElse(-1);
+            return Result.sent(messageId(body), remaining, seconds(headers, "X-RateLimit-Reset-After"));
+        }
+        if (status == 429) {
+            return Result.retry(seconds(headers, "Retry-After"), "rate limited");
+        }
+        if (status >= 500) {
+            return Result.retry(0, "HTTP " + status);
+        }
+        // A bad payload or a deleted webhook won't get better by retrying
+        return Result.rejected("HTTP " + status + ": " + response.body());
+    }
+
+    private static String messageId(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            JsonElement element = JsonParser.parseString(body);
+            return element.isJsonObject() && element.getAsJsonObject().has("id")
+                    ? element.getAsJsonObject().get("id").getAsString()
+                    : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Discord sends delays in seconds, possibly fractional
+    private static long seconds(HttpHeaders headers, String name) {
+        return headers.firstValue(name).map(value -> {
+            try {
+                return (long) Math.ceil(Double.parseDouble(value) * 1000);
+            } catch (NumberFormatException e) {
+                return 0L;
+            }
+        }).orElse(0L);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void stop() {
+    }
+}
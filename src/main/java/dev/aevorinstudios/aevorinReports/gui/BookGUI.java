@@ -1,6 +1,8 @@
 package dev.aevorinstudios.aevorinReports.gui;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
 import dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver;
@@ -30,6 +32,8 @@ import java.util.Map;
 public class BookGUI {
     private final BukkitPlugin plugin;
     private static final int ITEMS_PER_PAGE = 8;
+    // Books are capped at 50 pages on older clients, so only the newest reports that fit are loaded
+    private static final int MAX_BOOK_REPORTS = (ITEMS_PER_PAGE - 1) * 50;
 
     public BookGUI(BukkitPlugin plugin) {
         this.plugin = plugin;
@@ -152,18 +156,37 @@ public class BookGUI {
      */
     public void showReportsByStatus(Player player, Report.ReportStatus status) {
         LanguageManager lang = LanguageManager.get(plugin);
-        List<Report> reports = plugin.getDatabaseManager().getReportsByStatus(status);
-        if (reports.isEmpty()) {
-            MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-status-reports", Map.of("status", status.toString().toLowerCase())));
-            return;
-        }
+        String formattedStatus = status.name().substring(0, 1) + status.name().substring(1).toLowerCase();
+        ReportRepository repository = plugin.getReportRepository();
+        // Names are resolved and pages built in the background, the book is only opened on the player's thread
+        plugin.getMenuLoader().load(player,
+                repository.getStatusPage(status, null, ReportPage.Direction.FIRST, MAX_BOOK_REPORTS),
+                page -> prepareReportsByStatus(status, page.reports(),
+                        Math.max(page.reports().size(), plugin.getReportCounters().getCount(status)), lang),
+                pages -> {
+                    if (pages.isEmpty()) {
+                        MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-status-reports", Map.of("status", status.toString().toLowerCase())));
+                        return;
+                    }
+                    openBook(player, formattedStatus + " Reports", pages);
+                });
+    }
 
+    private void openBook(Player player, String title, List<BaseComponent[]> pages) {
         ItemStack book = new ItemStack(Material.WRITTEN_BOOK);
         BookMeta meta = (BookMeta) book.getItemMeta();
-        
-        String formattedStatus = status.name().substring(0, 1) + status.name().substring(1).toLowerCase();
-        meta.setTitle(formattedStatus + " Reports");
+        meta.setTitle(title);
         meta.setAuthor("Report System");
+        meta.spigot().setPages(pages);
+        book.setItemMeta(meta);
+        player.openBook(book);
+    }
+
+    private List<BaseComponent[]> prepareReportsByStatus(Report.ReportStatus status, List<Report> reports, long total,
+            LanguageManager lang) {
+        if (reports.isEmpty()) {
+            return List.of();
+        }
 
         List<BaseComponent[]> pages = new ArrayList<>();
         int itemsOnPage = 0;
@@ -173,7 +196,7 @@ public class BookGUI {
         String statusName = lang.getLocalizedStatus(status);
         ComponentBuilder currentPage = new ComponentBuilder("");
         currentPage.append(createLegacy(lang.getMessage("gui.book.report_list.title", Map.of("color", statusColor, "status", statusName))));
-        currentPage.append(createLegacy(lang.getMessage("gui.book.report_list.total", Map.of("total", String.valueOf(reports.size())))));
+        currentPage.append(createLegacy(lang.getMessage("gui.book.report_list.total", Map.of("total", String.valueOf(total)))));
 
         for (Report report : reports) {
             if (itemsOnPage >= ITEMS_PER_PAGE - 1) {
@@ -190,7 +213,7 @@ public class BookGUI {
                 itemsOnPage = 0;
             }
 
-            String reportedName = PlayerNameResolver.resolvePlayerName(report.getReported());
+            String reportedName = PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
             
             TextComponent reportEntry = createInteractiveLegacy(
                 lang.getMessage("gui.book.report_list.entry", Map.of(
@@ -217,9 +240,7 @@ public class BookGUI {
             pages.add(currentPage.create());
         }
 
-        meta.spigot().setPages(pages);
-        book.setItemMeta(meta);
-        player.openBook(book);
+        return pages;
     }
 
     /**
@@ -228,25 +249,33 @@ public class BookGUI {
      */
     public void showPlayerReports(Player player) {
         LanguageManager lang = LanguageManager.get(plugin);
-        List<Report> reports = plugin.getDatabaseManager().getReportsByReporter(player.getUniqueId());
+        ReportRepository repository = plugin.getReportRepository();
+        plugin.getMenuLoader().load(player,
+                repository.getReporterPage(player.getUniqueId(), null, ReportPage.Direction.FIRST, MAX_BOOK_REPORTS),
+                page -> preparePlayerReports(page.reports(),
+                        Math.max(page.reports().size(), plugin.getReportCounters().getSubmitted(player.getUniqueId(), null)),
+                        lang),
+                pages -> {
+                    if (pages.isEmpty()) {
+                        MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-reports"));
+                        return;
+                    }
+                    openBook(player, "Your Reports", pages);
+                });
+    }
+
+    private List<BaseComponent[]> preparePlayerReports(List<Report> reports, long total, LanguageManager lang) {
         if (reports.isEmpty()) {
-            MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-reports"));
-            return;
+            return List.of();
         }
 
-        ItemStack book = new ItemStack(Material.WRITTEN_BOOK);
-        BookMeta meta = (BookMeta) book.getItemMeta();
-        
-        meta.setTitle("Your Reports");
-        meta.setAuthor("Report System");
-
         List<BaseComponent[]> pages = new ArrayList<>();
         int itemsOnPage = 0;
         int reportNumber = 1;
 
         ComponentBuilder currentPage = new ComponentBuilder("");
         currentPage.append(createLegacy(lang.getMessage("gui.book.report_list.user_title")));
-        currentPage.append(createLegacy(lang.getMessage("gui.book.report_list.total", Map.of("total", String.valueOf(reports.size())))));
+        currentPage.append(createLegacy(lang.getMessage("gui.book.report_list.total", Map.of("total", String.valueOf(total)))));
 
         for (Report report : reports) {
             if (itemsOnPage >= ITEMS_PER_PAGE - 1) {
@@ -255,7 +284,7 @@ public class BookGUI {
                 itemsOnPage = 0;
             }
 
-            String reportedName = PlayerNameResolver.resolvePlayerName(report.getReported());
+            String reportedName = PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
             String statusColor = getStatusColor(report.getStatus());
             
             TextComponent reportEntry = createInteractiveLegacy(
@@ -278,9 +307,7 @@ public class BookGUI {
             pages.add(currentPage.create());
         }
 
-        meta.spigot().setPages(pages);
-        book.setItemMeta(meta);
-        player.openBook(book);
+        return pages;
     }
 
     /**
@@ -311,8 +338,8 @@ public class BookGUI {
         meta.setAuthor("Report System");
 
         String reporterName = report.isAnonymous() ? lang.getMessage("common.anonymous", "Anonymous") : 
-            PlayerNameResolver.resolvePlayerName(report.getReporter());
-        String reportedName = PlayerNameResolver.resolvePlayerName(report.getReported());
+            PlayerNameResolver.resolvePlayerName(report.getReporterName(), report::getReporterUuid);
+        String reportedName = PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
         
         List<BaseComponent> components = new ArrayList<>();
         components.add(createLegacy(lang.getMessage("gui.book.page.title")));
@@ -333,7 +360,7 @@ public class BookGUI {
         components.add(createLegacy(lang.getMessage("gui.book.page.status", Map.of("color", statusColor, "status", statusName))));
         components.add(createLegacy(lang.getMessage("gui.book.page.id", Map.of("id", String.valueOf(report.getId())))));
         
-        if (plugin.getDatabaseManager().hasMultipleServers()) {
+        if (plugin.getReportRepository().hasMultipleServers()) {
             String serverName = report.getServerName();
             if (serverName == null || serverName.isEmpty()) serverName = lang.getMessage("common.unknown");
             components.add(createLegacy(lang.getMessage("gui.book.page.server", Map.of("server", serverName))));
@@ -402,8 +429,8 @@ public class BookGUI {
         for (int i = 0; i < 54; i++) gui.setItem(i, background);
 
         String reporterName = report.isAnonymous() ? lang.getMessage("common.anonymous", "Anonymous") : 
-            PlayerNameResolver.resolvePlayerName(report.getReporter());
-        String reportedName = PlayerNameResolver.resolvePlayerName(report.getReported());
+            PlayerNameResolver.resolvePlayerName(report.getReporterName(), report::getReporterUuid);
+        String reportedName = PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
         if (reporterName == null) reporterName = lang.getMessage("common.unknown");
         if (reportedName == null) reportedName = lang.getMessage("common.unknown");
         
@@ -424,7 +451,7 @@ public class BookGUI {
         lore.add(lang.getMessage("gui.container.manage_report.details.lore.status", Map.of("status", report.getStatus().toString())));
         lore.add(lang.getMessage("gui.container.manage_report.details.lore.id", Map.of("id", String.valueOf(report.getId()))));
         
-        if (plugin.getDatabaseManager().hasMultipleServers()) {
+        if (plugin.getReportRepository().hasMultipleServers()) {
             lore.add(lang.getMessage("gui.container.manage_report.details.lore.server", Map.of("server", serverName)));
         }
         
@@ -3,17 +3,33 @@ package dev.aevorinstudios.aevorinReports.gui;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.database.TriageIndex;
+import dev.aevorinstudios.aevorinReports.gui.holders.CategoryReportsHolder;
+import dev.aevorinstudios.aevorinReports.gui.holders.PlayerReportsHolder;
+import dev.aevorinstudios.aevorinReports.gui.holders.PriorityReportsHolder;
+import dev.aevorinstudios.aevorinReports.utils.MessageUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class CategoryContainerGUI {
+    /** Number of inner slots (rows 1-4, columns 1-7) available for reports */
+    public static final int REPORTS_PER_PAGE = 28;
+
     private final BukkitPlugin plugin;
 
     public CategoryContainerGUI(BukkitPlugin plugin) {
@@ -21,26 +37,39 @@ public class CategoryContainerGUI {
     }
 
     /**
-     * Opens a paginated category GUI showing reports with the specified status
-     * 
-     * @param player  The player to show the GUI to
-     * @param status  The status of reports to display
-     * @param reports The list of all reports with this status
-     * @param page    The page number to display (0-based)
+     * Opens the first page of the reports a player has submitted
+     *
+     * @param player The player to show their own reports to
      */
+    public void openPlayerReportsGUI(Player player) {
+        openPlayerReportsGUI(player, null, ReportPage.Direction.FIRST);
+    }
+
     /**
-     * Opens a paginated GUI showing reports for a player (their own reports)
+     * Opens a page of the reports a player has submitted. Only the rows for that
+     * page are loaded.
+     *
+     * @param player    The player to show their own reports to
+     * @param from      The page currently shown, or null for the first page
+     * @param direction Which page to open relative to {@code from}
      */
-    public void openPlayerReportsGUI(Player player, List<Report> reports, int page) {
+    public void openPlayerReportsGUI(Player player, ReportPage from, ReportPage.Direction direction) {
         LanguageManager lang = LanguageManager.get(plugin);
-        String title = lang.getMessage("gui.container.menus.player_reports.title", "Your Reports");
-        Inventory gui = Bukkit.createInventory(
-                new dev.aevorinstudios.aevorinReports.gui.holders.PlayerReportsHolder(page), 54, title);
-
-        openReportsListGUI(gui, player, reports, page, lang);
+        PlayerReportsHolder holder = new PlayerReportsHolder(null);
+        Inventory gui = openListSkeleton(player, holder,
+                lang.getMessage("gui.container.menus.player_reports.title", "Your Reports"), false, lang);
+
+        ReportRepository repository = plugin.getReportRepository();
+        boolean manage = player.hasPermission("aevorinreports.manage");
+        plugin.getMenuLoader().load(player,
+                repository.getReporterPage(player.getUniqueId(), from, direction, REPORTS_PER_PAGE),
+                page -> prepareList(page, plugin.getReportCounters().getSubmitted(player.getUniqueId(), null),
+                        manage, false, lang),
+                view -> showList(player, gui, view, true, holder::setPage, lang));
     }
 
     public void openMainMenu(Player player) {
+        plugin.getMenuLoader().invalidate(player);
         LanguageManager lang = LanguageManager.get(plugin);
         Inventory gui = Bukkit.createInventory(new dev.aevorinstudios.aevorinReports.gui.holders.ReportsMenuHolder(),
                 27, lang.getMessage("gui.container.menus.main_menu.title"));
@@ -81,124 +110,214 @@ public class CategoryContainerGUI {
         }
         gui.setItem(16, rejected);
 
+        // Pending reports ranked by the triage index
+        ItemStack priority = new ItemStack(Material.NETHER_STAR);
+        ItemMeta priorityMeta = priority.getItemMeta();
+        if (priorityMeta != null) {
+            priorityMeta.setDisplayName(lang.getMessage("gui.container.menus.main_menu.priority.title"));
+            priorityMeta.setLore(java.util.List.of(
+                    lang.getMessage("gui.container.menus.main_menu.priority.lore.description"),
+                    lang.getMessage("gui.container.menus.main_menu.priority.lore.action")));
+            priority.setItemMeta(priorityMeta);
+        }
+        gui.setItem(22, priority);
+
         player.openInventory(gui);
     }
 
-    public void openCategoryGUI(Player player, Report.ReportStatus status, List<Report> reports, int page) {
+    /**
+     * Opens a page of pending reports ordered by priority. Pages are served from
+     * the in-memory triage index; until it has loaded the pending category is
+     * shown instead.
+     *
+     * @param player The player to show the GUI to
+     * @param page   The 0-based page number
+     */
+    public void openPriorityGUI(Player player, int page) {
+        TriageIndex index = plugin.getTriageIndex();
+        if (index == null || !index.isLoaded()) {
+            openCategoryGUI(player, Report.ReportStatus.PENDING);
+            return;
+        }
+
+        ReportPage reportPage = priorityPage(index, page);
+
+        LanguageManager lang = LanguageManager.get(plugin);
+        if (reportPage.isEmpty()) {
+            MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-reports"));
+            return;
+        }
+        PriorityReportsHolder holder = new PriorityReportsHolder(null);
+        Inventory gui = openListSkeleton(player, holder, lang.getMessage("gui.container.menus.priority_view.title"),
+                true, lang);
+
+        // The page is already in memory, only its names and lore are prepared in the background
+        boolean manage = player.hasPermission("aevorinreports.manage");
+        ReportRepository repository = plugin.getReportRepository();
+        Function<ReportPage, ListView> prepare = loaded -> prepareList(loaded, index.size(), manage, true, lang);
+        plugin.getMenuLoader().load(player, CompletableFuture.completedFuture(reportPage), prepare, view -> {
+            if (showList(player, gui, view, false, holder::setPage, lang)) {
+                watch(player, gui, new ReportViewerRegistry.ViewKey(PriorityReportsHolder.class,
+                        Report.ReportStatus.PENDING), holder::getPage, holder::setPage, view,
+                        () -> repository.supply(() -> prepare.apply(priorityPage(index, holder.getPage().number()))));
+            }
+        });
+    }
+
+    private static ReportPage priorityPage(TriageIndex index, int page) {
+        int total = index.size();
+        int number = Math.max(0, Math.min(page, (total - 1) / REPORTS_PER_PAGE));
+        List<Report> reports = index.getPage(number, REPORTS_PER_PAGE);
+        return new ReportPage(reports, number, number > 0, (long) (number + 1) * REPORTS_PER_PAGE < total);
+    }
+
+    /**
+     * Opens the first page of a category
+     *
+     * @param player The player to show the GUI to
+     * @param status The status of reports to display
+     */
+    public void openCategoryGUI(Player player, Report.ReportStatus status) {
+        openCategoryGUI(player, status, null, ReportPage.Direction.FIRST);
+    }
+
+    /**
+     * Opens a paginated category GUI showing reports with the specified status.
+     * Only the rows for the requested page are loaded.
+     *
+     * @param player    The player to show the GUI to
+     * @param status    The status of reports to display
+     * @param from      The page currently shown, or null for the first page
+     * @param direction Which page to open relative to {@code from}
+     */
+    public void openCategoryGUI(Player player, Report.ReportStatus status, ReportPage from,
+            ReportPage.Direction direction) {
         LanguageManager lang = LanguageManager.get(plugin);
         String statusName = lang.getLocalizedStatus(status);
         String title = lang.getMessage("gui.container.menus.category_view.title", Map.of("status", statusName));
-        Inventory gui = Bukkit.createInventory(
-                new dev.aevorinstudios.aevorinReports.gui.holders.CategoryReportsHolder(status, page), 54, title);
+        CategoryReportsHolder holder = new CategoryReportsHolder(status, null);
+        Inventory gui = openListSkeleton(player, holder, title, true, lang);
+
+        ReportRepository repository = plugin.getReportRepository();
+        boolean manage = player.hasPermission("aevorinreports.manage");
+        Function<ReportPage, ListView> prepare = page -> prepareList(page, plugin.getReportCounters().getCount(status),
+                manage, false, lang);
+        plugin.getMenuLoader().load(player, repository.getStatusPage(status, from, direction, REPORTS_PER_PAGE),
+                prepare, view -> {
+                    if (showList(player, gui, view, false, holder::setPage, lang)) {
+                        watch(player, gui, new ReportViewerRegistry.ViewKey(CategoryReportsHolder.class, status),
+                                holder::getPage, holder::setPage, view,
+                                () -> repository.getStatusPage(status, holder.getPage(), ReportPage.Direction.CURRENT,
+                                        REPORTS_PER_PAGE).thenApplyAsync(prepare, repository.getExecutor()));
+                    }
+                });
+    }
 
-        openReportsListGUI(gui, player, reports, page, lang);
+    private record ListView(ReportPage page, List<MenuLoader.Item> items) {
     }
 
-    private void openReportsListGUI(Inventory gui, Player player, List<Report> reports, int page,
+    // The frame and back button, shown while the page loads
+    private Inventory openListSkeleton(Player player, InventoryHolder holder, String title, boolean backButton,
             LanguageManager lang) {
-        int size = 54;
-
-        // Fill base background
-        ItemStack background = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
-        ItemMeta bgMeta = background.getItemMeta();
-        if (bgMeta != null) {
-            bgMeta.setDisplayName(" ");
-            background.setItemMeta(bgMeta);
+        return plugin.getMenuLoader().openSkeleton(player, holder, 54, title,
+                plugin.getGuiTemplates().get(lang).listLayout(backButton));
+    }
+
+    // Returns false if the list was closed instead
+    private boolean showList(Player player, Inventory gui, ListView view, boolean closeIfEmpty,
+            Consumer<ReportPage> setPage, LanguageManager lang) {
+        if (!plugin.getMenuLoader().isOpen(player, gui)) {
+            return false;
+        }
+        if (closeIfEmpty && view.page().isEmpty() && view.page().number() == 0) {
+            player.closeInventory();
+            MessageUtils.sendMessage(player, lang.getMessage("messages.error.no-reports"));
+            return false;
         }
+        // Set before the arrows appear, so navigation always has the page it starts from
+        setPage.accept(view.page());
+        plugin.getMenuLoader().apply(gui, view.items());
+        return true;
+    }
 
-        for (int i = 0; i < 9; i++)
-            gui.setItem(i, background);
-        for (int i = 45; i < 54; i++)
-            gui.setItem(i, background);
-        for (int i = 9; i <= 36; i += 9)
-            gui.setItem(i, background);
-        for (int i = 17; i <= 44; i += 9)
-            gui.setItem(i, background);
-
-        java.util.List<Integer> innerSlots = new java.util.ArrayList<>();
-        for (int row = 1; row < 5; row++) {
-            for (int col = 1; col < 8; col++) {
-                innerSlots.add(row * 9 + col);
-            }
+    // Keeps an open list up to date as reports change
+    private void watch(Player player, Inventory gui, ReportViewerRegistry.ViewKey key, Supplier<ReportPage> getPage,
+            Consumer<ReportPage> setPage, ListView view, Supplier<CompletableFuture<ListView>> reload) {
+        ReportViewerRegistry registry = plugin.getViewerRegistry();
+        if (registry == null) {
+            return;
         }
-        innerSlots.remove(Integer.valueOf(49));
-
-        int reportsPerPage = innerSlots.size();
-        int totalPages = (int) Math.ceil(reports.size() / (double) reportsPerPage);
-        if (totalPages == 0)
-            totalPages = 1;
-
-        int startIndex = page * reportsPerPage;
-        int endIndex = Math.min(startIndex + reportsPerPage, reports.size());
-
-        if (totalPages > 1) {
-            ItemStack pageIndicator = new ItemStack(Material.PAPER);
-            ItemMeta pageMeta = pageIndicator.getItemMeta();
-            pageMeta.setDisplayName(lang.getMessage("gui.container.shared.navigation.page_indicator.title", Map.of(
-                    "page", String.valueOf(page + 1),
-                    "total", String.valueOf(totalPages))));
-            pageMeta.setLore(java.util.List.of(lang.getMessage("gui.container.shared.navigation.page_indicator.lore",
-                    Map.of(
+        registry.register(player, gui, key, getPage, view.items(), () -> reload.get().thenApply(loaded -> {
+            setPage.accept(loaded.page());
+            return loaded.items();
+        }));
+    }
+
+    // Runs off the player's thread: resolves names and builds every string of the page
+    private ListView prepareList(ReportPage reportPage, long totalReports, boolean manage, boolean priorityView,
+            LanguageManager lang) {
+        List<MenuLoader.Item> items = new ArrayList<>();
+        GuiTemplates.Templates templates = plugin.getGuiTemplates().get(lang);
+
+        List<Report> reports = reportPage.reports();
+        int page = reportPage.number();
+        int startIndex = page * REPORTS_PER_PAGE;
+        int endIndex = startIndex + reports.size();
+
+        // The total comes from the in-memory counters and may briefly lag behind the page itself
+        long total = Math.max(totalReports, endIndex + (reportPage.hasNext() ? 1 : 0));
+        int totalPages = (int) Math.max(1, Math.ceil(total / (double) REPORTS_PER_PAGE));
+
+        boolean paginated = reportPage.hasPrevious() || reportPage.hasNext();
+        if (paginated) {
+            items.add(new MenuLoader.Item(49, Material.PAPER,
+                    lang.getMessage("gui.container.shared.navigation.page_indicator.title", Map.of(
+                            "page", String.valueOf(page + 1),
+                            "total", String.valueOf(totalPages))),
+                    List.of(lang.getMessage("gui.container.shared.navigation.page_indicator.lore", Map.of(
                             "start", String.valueOf(startIndex + 1),
                             "end", String.valueOf(endIndex),
-                            "total", String.valueOf(reports.size())))));
-            pageIndicator.setItemMeta(pageMeta);
-            gui.setItem(49, pageIndicator);
-
-            if (page > 0) {
-                ItemStack prevArrow = new ItemStack(Material.ARROW);
-                ItemMeta prevMeta = prevArrow.getItemMeta();
-                prevMeta.setDisplayName(lang.getMessage("gui.container.shared.navigation.previous_page.title"));
-                prevMeta.setLore(java.util.List.of(lang.getMessage("gui.container.shared.navigation.previous_page.lore",
-                        Map.of("page", String.valueOf(page)))));
-                prevArrow.setItemMeta(prevMeta);
-                gui.setItem(48, prevArrow);
-            }
+                            "total", String.valueOf(total))))));
 
-            if (page < totalPages - 1) {
-                ItemStack nextArrow = new ItemStack(Material.ARROW);
-                ItemMeta nextMeta = nextArrow.getItemMeta();
-                nextMeta.setDisplayName(lang.getMessage("gui.container.shared.navigation.next_page.title"));
-                nextMeta.setLore(java.util.List.of(lang.getMessage("gui.container.shared.navigation.next_page.lore",
-                        Map.of("page", String.valueOf(page + 2)))));
-                nextArrow.setItemMeta(nextMeta);
-                gui.setItem(50, nextArrow);
+            if (reportPage.hasPrevious()) {
+                items.add(new MenuLoader.Item(48, Material.ARROW,
+                        lang.getMessage("gui.container.shared.navigation.previous_page.title"),
+                        List.of(lang.getMessage("gui.container.shared.navigation.previous_page.lore",
+                                Map.of("page", String.valueOf(page))))));
             }
-        }
 
-        if (gui.getHolder() instanceof dev.aevorinstudios.aevorinReports.gui.holders.CategoryReportsHolder) {
-            ItemStack backButton = new ItemStack(Material.DARK_OAK_DOOR);
-            ItemMeta backMeta = backButton.getItemMeta();
-            if (backMeta != null) {
-                backMeta.setDisplayName(lang.getMessage("gui.container.shared.navigation.back_button.title", "&cBack"));
-                backMeta.setLore(java.util.List.of(lang.getMessage("gui.container.shared.navigation.back_button.lore",
-                        "&7Go back to categories")));
-                backButton.setItemMeta(backMeta);
+            if (reportPage.hasNext()) {
+                items.add(new MenuLoader.Item(50, Material.ARROW,
+                        lang.getMessage("gui.container.shared.navigation.next_page.title"),
+                        List.of(lang.getMessage("gui.container.shared.navigation.next_page.lore",
+                                Map.of("page", String.valueOf(page + 2))))));
             }
-            gui.setItem(45, backButton); // Bottom left corner
+        }
+        // Unused navigation slots keep their frame, so a live refresh that removes an arrow restores it
+        if (!reportPage.hasPrevious()) {
+            items.add(templates.listFrame(48));
+        }
+        if (!paginated) {
+            items.add(templates.listFrame(49));
+        }
+        if (!reportPage.hasNext()) {
+            items.add(templates.listFrame(50));
         }
 
-        for (int i = startIndex; i < endIndex; i++) {
-            Report report = reports.get(i);
-            int slotIndex = i - startIndex;
-            if (slotIndex >= innerSlots.size())
+        for (int slotIndex = 0; slotIndex < reports.size(); slotIndex++) {
+            Report report = reports.get(slotIndex);
+            if (slotIndex >= GuiTemplates.LIST_SLOTS.length)
                 break;
 
             String reporterName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver
-                    .resolvePlayerName(report.getReporter());
+                    .resolvePlayerName(report.getReporterName(), report::getReporterUuid);
             String reportedName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver
-                    .resolvePlayerName(report.getReported());
+                    .resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
             if (reporterName == null)
                 reporterName = lang.getMessage("common.unknown");
             if (reportedName == null)
                 reportedName = lang.getMessage("common.unknown");
 
-            ItemStack item = new ItemStack(Material.WRITABLE_BOOK);
-            ItemMeta meta = item.getItemMeta();
-            meta.setDisplayName(lang.getMessage("gui.container.menus.category_view.report_item.title", Map.of(
-                    "reporter", reporterName,
-                    "reported", reportedName)));
-
             String serverName = report.getServerName();
             if (serverName == null || serverName.isEmpty())
                 serverName = lang.getMessage("common.unknown");
@@ -213,25 +332,26 @@ public class CategoryContainerGUI {
                     Map.of("id", String.valueOf(report.getId()))));
             lore.add(lang.getMessage("gui.container.menus.category_view.report_item.lore.server",
                     Map.of("server", serverName)));
+            if (report.getClusterSize() > 1) {
+                lore.add(lang.getMessage("gui.container.menus.category_view.report_item.lore.reporters",
+                        Map.of("count", String.valueOf(report.getClusterSize()))));
+            }
+            if (priorityView) {
+                lore.add(lang.getMessage("gui.container.menus.category_view.report_item.lore.priority",
+                        Map.of("score", String.valueOf(plugin.getTriageIndex().getScore(report.getId())))));
+            }
             lore.add(lang.getMessage("gui.container.shared.separator"));
 
-            if (player.hasPermission("aevorinreports.manage")) {
+            if (manage) {
                 lore.add(lang.getMessage("gui.container.menus.category_view.report_item.lore.action"));
             }
 
-            meta.setLore(lore);
-            meta.getPersistentDataContainer().set(
-                    new org.bukkit.NamespacedKey(plugin, "report_id"),
-                    org.bukkit.persistence.PersistentDataType.LONG,
-                    report.getId());
-
-            item.setItemMeta(meta);
-            gui.setItem(innerSlots.get(slotIndex), item);
+            items.add(new MenuLoader.Item(GuiTemplates.LIST_SLOTS[slotIndex], Material.WRITABLE_BOOK,
+                    lang.getMessage("gui.container.menus.category_view.report_item.title", Map.of(
+                            "reporter", reporterName,
+                            "reported", reportedName)),
+                    lore, report.getId(), false));
         }
-        player.openInventory(gui);
-    }
-
-    public void openCategoryGUI(Player player, Report.ReportStatus status, List<Report> reports) {
-        openCategoryGUI(player, status, reports, 0);
+        return new ListView(reportPage, items);
     }
 }
@@ -0,0 +1,212 @@
+package dev.aevorinstudios.aevorinReports.gui;
+
+import dev.aevorinstudios.aevorinReports.config.LanguageManager;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parts of the chest menus that look the same every time they are opened.
+ * Slot layouts are fixed arrays, and the static items (frames, the back button,
+ * the loading placeholder) are prepared once per language together with their
+ * {@link ItemStack}, which is cloned for each menu instead of building the item
+ * and its meta again. Cleared on {@code /ar reload} so edited language files
+ * take effect.
+ */
+public class GuiTemplates {
+    /** The frame around report lists: the top and bottom rows and the outer columns */
+    public static final int[] LIST_FRAME = {
+            0, 1, 2, 3, 4, 5, 6, 7, 8,
+            9, 17, 18, 26, 27, 35, 36, 44,
+            45, 46, 47, 48, 49, 50, 51, 52, 53
+    };
+    /** The slots reports are listed in: rows 1-4, columns 1-7 */
+    public static final int[] LIST_SLOTS = {
+            10, 11, 12, 13, 14, 15, 16,
+            19, 20, 21, 22, 23, 24, 25,
+            28, 29, 30, 31, 32, 33, 34,
+            37, 38, 39, 40, 41, 42, 43
+    };
+    /** The frame around the report details in the manage menu */
+    public static final int[] MANAGE_FRAME = {12, 13, 14, 21, 23, 30, 31, 32};
+    /** The back button of report lists */
+    public static final int LIST_BACK_SLOT = 45;
+
+    private static final int SLOTS = 54;
+
+    private final NamespacedKey reportIdKey;
+    private final Map<String, Templates> languages = new ConcurrentHashMap<>();
+
+    /**
+     * The static items of one language. Immutable once built, so it can be read from any thread.
+     */
+    public static final class Templates {
+        private final Map<MenuLoader.Item, ItemStack> prototypes = new IdentityHashMap<>();
+        private final MenuLoader.Item[] listFrame = new MenuLoader.Item[SLOTS];
+        private final List<MenuLoader.Item> listLayout;
+        private final List<MenuLoader.Item> listLayoutWithBack;
+        private final List<MenuLoader.Item> manageBackground;
+        private final List<MenuLoader.Item> manageFrame;
+        private final MenuLoader.Item loading;
+
+        private Templates(GuiTemplates owner, LanguageManager lang) {
+            List<MenuLoader.Item> frame = new ArrayList<>(LIST_FRAME.length);
+            for (int slot : LIST_FRAME) {
+                listFrame[slot] = pane(Material.GRAY_STAINED_GLASS_PANE, slot);
+                frame.add(listFrame[slot]);
+            }
+            listLayout = Collections.unmodifiableList(frame);
+
+            List<MenuLoader.Item> withBack = new ArrayList<>(frame);
+            withBack.set(withBack.indexOf(listFrame[LIST_BACK_SLOT]), new MenuLoader.Item(LIST_BACK_SLOT,
+                    Material.DARK_OAK_DOOR,
+                    lang.getMessage("gui.container.shared.navigation.back_button.title", "&cBack"),
+                    List.of(lang.getMessage("gui.container.shared.navigation.back_button.lore",
+                            "&7Go back to categories"))));
+            listLayoutWithBack = Collections.unmodifiableList(withBack);
+
+            List<MenuLoader.Item> background = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                background.add(pane(Material.LIGHT_GRAY_STAINED_GLASS_PANE, slot));
+            }
+            manageBackground = Collections.unmodifiableList(background);
+
+            List<MenuLoader.Item> details = new ArrayList<>(MANAGE_FRAME.length);
+            for (int slot : MANAGE_FRAME) {
+                details.add(pane(Material.BLACK_STAINED_GLASS_PANE, slot));
+            }
+            manageFrame = Collections.unmodifiableList(details);
+
+            loading = new MenuLoader.Item(MenuLoader.LOADING_SLOT, Material.CLOCK,
+                    lang.getMessage("gui.container.shared.loading.title"),
+                    List.of(lang.getMessage("gui.container.shared.loading.lore")));
+
+            for (List<MenuLoader.Item> items : List.of(listLayoutWithBack, manageBackground, manageFrame,
+                    List.of(listFrame[LIST_BACK_SLOT], loading))) {
+                for (MenuLoader.Item item : items) {
+                    prototypes.put(item, owner.build(item));
+                }
+            }
+        }
+
+        /**
+         * @param backButton Whether the list has a back button
+         * @return The frame of a report list
+         */
+        public List<MenuLoader.Item> listLayout(boolean backButton) {
+            return backButton ? listLayoutWithBack : listLayout;
+        }
+
+        /**
+         * @param slot A slot of {@link #LIST_FRAME}
+         * @return The frame pane of a report list in that slot
+         */
+        public MenuLoader.Item listFrame(int slot) {
+            return listFrame[slot];
+        }
+
+        /**
+         * @return The background filling every slot of the manage menu
+         */
+        public List<MenuLoader.Item> manageBackground() {
+            return manageBackground;
+        }
+
+        /**
+         * @return The frame around the report details in the manage menu
+         */
+        public List<MenuLoader.Item> manageFrame() {
+            return manageFrame;
+        }
+
+        /**
+         * @return The placeholder shown while a menu loads
+         */
+        public MenuLoader.Item loading() {
+            return loading;
+        }
+
+        private static MenuLoader.Item pane(Material material, int slot) {
+            return new MenuLoader.Item(slot, material, " ", List.of());
+        }
+    }
+
+    public GuiTemplates(Plugin plugin) {
+        this.reportIdKey = new NamespacedKey(plugin, "report_id");
+    }
+
+    /**
+     * @return The key report items store their report ID under
+     */
+    public NamespacedKey getReportIdKey() {
+        return reportIdKey;
+    }
+
+    /**
+     * Get the static items of a language, building them on first use.
+     *
+     * @param lang The language
+     * @return The static items
+     */
+    public Templates get(LanguageManager lang) {
+        return languages.computeIfAbsent(lang.getLanguage(), language -> new Templates(this, lang));
+    }
+
+    /**
+     * Drop the static items of every language, e.g. after the language files were reloaded.
+     */
+    public void invalidate() {
+        languages.clear();
+    }
+
+    /**
+     * Turn a prepared item into an item stack. Static items are copied from their prebuilt stack.
+     *
+     * @param item The item
+     * @return A new item stack
+     */
+    public ItemStack toItemStack(MenuLoader.Item item) {
+        for (Templates templates : languages.values()) {
+            ItemStack prototype = templates.prototypes.get(item);
+            if (prototype != null) {
+                return prototype.clone();
+            }
+        }
+        return build(item);
+    }
+
+    private ItemStack build(MenuLoader.Item item) {
+        ItemStack stack = new ItemStack(item.material());
+        ItemMeta meta = stack.getItemMeta();
+        if (meta == null) {
+            return stack;
+        }
+        meta.setDisplayName(item.name());
+        if (!item.lore().isEmpty()) {
+            meta.setLore(item.lore());
+        }
+        if (item.reportId() >= 0) {
+            meta.getPersistentDataContainer().set(reportIdKey, PersistentDataType.LONG, item.reportId());
+        }
+        if (item.glowing()) {
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS, ItemFlag.HIDE_ATTRIBUTES);
+        }
+        stack.setItemMeta(meta);
+        if (item.glowing()) {
+            stack.addUnsafeEnchantment(Enchantment.DURABILITY, 1);
+        }
+        return stack;
+    }
+}
@@ -0,0 +1,135 @@
+package dev.aevorinstudios.aevorinReports.gui;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.config.LanguageManager;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Opens menus without waiting for their data. A menu is opened right away with
+ * a loading layout; its data is loaded and its names and lore are prepared off
+ * the player's thread, and only the finished items are set on the player's
+ * thread. Every view a player opens gets a new generation, so results that
+ * arrive after the player has moved on to another view are dropped.
+ */
+public class MenuLoader implements Listener {
+    /** The slot the loading placeholder is shown in */
+    public static final int LOADING_SLOT = 22;
+
+    private final BukkitPlugin plugin;
+    private final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * An item prepared off the player's thread.
+     *
+     * @param slot     The slot to put it in
+     * @param material The item type
+     * @param name     The display name
+     * @param lore     The lore lines
+     * @param reportId The report the item opens, or -1
+     * @param glowing  Whether the item gets an enchantment glint
+     */
+    public record Item(int slot, Material material, String name, List<String> lore, long reportId, boolean glowing) {
+        public Item(int slot, Material material, String name, List<String> lore) {
+            this(slot, material, name, lore, -1, false);
+        }
+    }
+
+    public MenuLoader(BukkitPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Open a menu showing only its loading layout.
+     *
+     * @param player The player to open the menu for
+     * @param holder The holder identifying the menu
+     * @param size   The number of slots
+     * @param title  The title
+     * @param layout The static items of the menu, such as its frame
+     * @return The opened menu
+     */
+    public Inventory openSkeleton(Player player, InventoryHolder holder, int size, String title, List<Item> layout) {
+        GuiTemplates templates = plugin.getGuiTemplates();
+        Inventory inventory = org.bukkit.Bukkit.createInventory(holder, size, title);
+        for (Item item : layout) {
+            inventory.setItem(item.slot(), templates.toItemStack(item));
+        }
+        inventory.setItem(LOADING_SLOT, templates.toItemStack(templates.get(LanguageManager.get(plugin)).loading()));
+        player.openInventory(inventory);
+        return inventory;
+    }
+
+    /**
+     * Load and prepare a view, then show it unless the player opened another view in the meantime.
+     *
+     * @param player  The player the view is for
+     * @param data    The pending data of the view
+     * @param prepare Turns the data into the view, off the player's thread
+     * @param apply   Shows the view, on the player's thread
+     */
+    public <T, V> void load(Player player, CompletableFuture<T> data, Function<T, V> prepare, Consumer<V> apply) {
+        long generation = generations.merge(player.getUniqueId(), 1L, Long::sum);
+        ReportRepository repository = plugin.getReportRepository();
+        // Cached data completes right away, so prepare explicitly off the calling thread
+        repository.deliver(data.thenApplyAsync(prepare, repository.getExecutor()), player, view -> {
+            if (generations.getOrDefault(player.getUniqueId(), 0L) == generation) {
+                apply.accept(view);
+            }
+        });
+    }
+
+    /**
+     * Drop the results still loading for a player, when they open a view that doesn't load anything.
+     *
+     * @param player The player
+     */
+    public void invalidate(Player player) {
+        generations.merge(player.getUniqueId(), 1L, Long::sum);
+    }
+
+    /**
+     * Whether a menu opened by {@link #openSkeleton} is still the one the player is looking at.
+     *
+     * @param player    The player
+     * @param inventory The menu
+     * @return true if the menu is open
+     */
+    public boolean isOpen(Player player, Inventory inventory) {
+        return player.getOpenInventory().getTopInventory() == inventory;
+    }
+
+    /**
+     * Set prepared items, replacing the loading placeholder.
+     *
+     * @param inventory The menu
+     * @param items     The items to set
+     */
+    public void apply(Inventory inventory, List<Item> items) {
+        if (inventory.getItem(LOADING_SLOT) != null && inventory.getItem(LOADING_SLOT).getType() == Material.CLOCK) {
+            inventory.setItem(LOADING_SLOT, null);
+        }
+        for (Item item : items) {
+            inventory.setItem(item.slot(), plugin.getGuiTemplates().toItemStack(item));
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        generations.remove(event.getPlayer().getUniqueId());
+    }
+}
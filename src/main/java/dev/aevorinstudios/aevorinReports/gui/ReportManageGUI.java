@@ -3,14 +3,15 @@ package dev.aevorinstudios.aevorinReports.gui;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class ReportManageGUI {
     private final BukkitPlugin plugin;
@@ -26,144 +27,128 @@ public class ReportManageGUI {
 
         LanguageManager lang = LanguageManager.get(plugin);
         String title = lang.getMessage("gui.container.manage_report.title", Map.of("id", String.valueOf(report.getId())));
-        Inventory gui = Bukkit.createInventory(new dev.aevorinstudios.aevorinReports.gui.holders.ReportManageHolder(report), 54, title);
-        
         // Fill a background with light-gray glass panes
-        ItemStack background = new ItemStack(Material.LIGHT_GRAY_STAINED_GLASS_PANE);
-        ItemMeta bgMeta = background.getItemMeta();
-        if (bgMeta != null) {
-            bgMeta.setDisplayName(" ");
-            background.setItemMeta(bgMeta);
-        }
-        
-        for (int i = 0; i < 54; i++) {
-            gui.setItem(i, background);
-        }
+        Inventory gui = plugin.getMenuLoader().openSkeleton(player,
+                new dev.aevorinstudios.aevorinReports.gui.holders.ReportManageHolder(report), 54, title,
+                plugin.getGuiTemplates().get(lang).manageBackground());
+
+        // Player names may have to be looked up, so the items are prepared in the background
+        boolean manage = player.hasPermission("aevorinreports.manage");
+        plugin.getMenuLoader().load(player, CompletableFuture.completedFuture(report),
+                loaded -> prepareItems(loaded, manage, lang),
+                items -> {
+                    if (plugin.getMenuLoader().isOpen(player, gui)) {
+                        plugin.getMenuLoader().apply(gui, items);
+                    }
+                });
+    }
+
+    private List<MenuLoader.Item> prepareItems(Report report, boolean manage, LanguageManager lang) {
+        List<MenuLoader.Item> items = new ArrayList<>();
 
         // Convert UUIDs to player names
-        String reporterName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver.resolvePlayerName(report.getReporter());
-        String reportedName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver.resolvePlayerName(report.getReported());
+        String reporterName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver.resolvePlayerName(report.getReporterName(), report::getReporterUuid);
+        String reportedName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
         
         if (reporterName == null) reporterName = lang.getMessage("common.unknown");
         if (reportedName == null) reportedName = lang.getMessage("common.unknown");
         
-        // Info item
-        ItemStack info = new ItemStack(Material.ENCHANTED_BOOK);
-        ItemMeta infoMeta = info.getItemMeta();
-        infoMeta.setDisplayName(lang.getMessage("gui.container.manage_report.details.title"));
-        infoMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ENCHANTS);
-        infoMeta.addItemFlags(org.bukkit.inventory.ItemFlag.HIDE_ATTRIBUTES);
         // Get server name with fallback
         String serverName = report.getServerName();
         if (serverName == null || serverName.isEmpty()) {
             serverName = lang.getMessage("common.unknown");
         }
         
-        infoMeta.setLore(java.util.List.of(
-            lang.getMessage("gui.container.shared.separator"),
-            lang.getMessage("gui.container.manage_report.details.lore.reporter", Map.of("reporter", reporterName)),
-            lang.getMessage("gui.container.manage_report.details.lore.reported", Map.of("reported", reportedName)),
-            lang.getMessage("gui.container.manage_report.details.lore.reason", Map.of("reason", lang.getLocalizedReason(report.getReason()))),
-            lang.getMessage("gui.container.manage_report.details.lore.status", Map.of("status", lang.getLocalizedStatus(report.getStatus()))),
-            lang.getMessage("gui.container.manage_report.details.lore.id", Map.of("id", String.valueOf(report.getId()))),
-            lang.getMessage("gui.container.manage_report.details.lore.server", Map.of("server", serverName)),
-            lang.getMessage("gui.container.shared.separator")
-        ));
-        info.addUnsafeEnchantment(org.bukkit.enchantments.Enchantment.DURABILITY, 1);
-        info.setItemMeta(infoMeta);
-        
-        // Center the book in the GUI (slot 22 is the center of a chest inventory)
-        gui.setItem(22, info);
-
-        // Add decorative items around the main info for a centered frame
-        ItemStack glass = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
-        ItemMeta glassMeta = glass.getItemMeta();
-        if (glassMeta != null) {
-            glassMeta.setDisplayName(" ");
-            glass.setItemMeta(glassMeta);
-        }
-        
+        // Info item, centered in the GUI (slot 22 is the center of a chest inventory)
+        items.add(new MenuLoader.Item(22, Material.ENCHANTED_BOOK,
+            lang.getMessage("gui.container.manage_report.details.title"),
+            java.util.List.of(
+                lang.getMessage("gui.container.shared.separator"),
+                lang.getMessage("gui.container.manage_report.details.lore.reporter", Map.of("reporter", reporterName)),
+                lang.getMessage("gui.container.manage_report.details.lore.reported", Map.of("reported", reportedName)),
+                lang.getMessage("gui.container.manage_report.details.lore.reason", Map.of("reason", lang.getLocalizedReason(report.getReason()))),
+                lang.getMessage("gui.container.manage_report.details.lore.status", Map.of("status", lang.getLocalizedStatus(report.getStatus()))),
+                lang.getMessage("gui.container.manage_report.details.lore.id", Map.of("id", String.valueOf(report.getId()))),
+                lang.getMessage("gui.container.manage_report.details.lore.server", Map.of("server", serverName)),
+                lang.getMessage("gui.container.shared.separator")
+            ), -1, true));
+
         // Create a visual frame around the centered report details
-        for (int slot : new int[]{12, 13, 14, 21, 23, 30, 31, 32}) {
-            gui.setItem(slot, glass);
-        }
+        items.addAll(plugin.getGuiTemplates().get(lang).manageFrame());
         
         // Only show management buttons if player has permission
-        if (player.hasPermission("aevorinreports.manage")) {
+        if (manage) {
             // Move to Pending
             if (report.getStatus() != Report.ReportStatus.PENDING) {
-                ItemStack pending = new ItemStack(Material.HOPPER);
-                ItemMeta pendingMeta = pending.getItemMeta();
-                pendingMeta.setDisplayName(lang.getMessage("gui.container.manage_report.pending.title"));
-                pendingMeta.setLore(java.util.List.of(
-                    lang.getMessage("gui.container.shared.separator"),
-                    lang.getMessage("gui.container.manage_report.pending.lore.description"),
-                    lang.getMessage("gui.container.manage_report.pending.lore.current_status", Map.of("status", report.getStatus().toString())),
-                    lang.getMessage("gui.container.shared.separator"),
-                    lang.getMessage("gui.container.manage_report.pending.lore.action")
-                ));
-                pending.setItemMeta(pendingMeta);
-                gui.setItem(45, pending);
+                items.add(new MenuLoader.Item(45, Material.HOPPER,
+                    lang.getMessage("gui.container.manage_report.pending.title"),
+                    java.util.List.of(
+                        lang.getMessage("gui.container.shared.separator"),
+                        lang.getMessage("gui.container.manage_report.pending.lore.description"),
+                        lang.getMessage("gui.container.manage_report.pending.lore.current_status", Map.of("status", report.getStatus().toString())),
+                        lang.getMessage("gui.container.shared.separator"),
+                        lang.getMessage("gui.container.manage_report.pending.lore.action")
+                    )));
             }
             // Move to Resolved
             if (report.getStatus() != Report.ReportStatus.RESOLVED) {
-                ItemStack resolved = new ItemStack(Material.EMERALD_BLOCK);
-                ItemMeta resolvedMeta = resolved.getItemMeta();
-                resolvedMeta.setDisplayName(lang.getMessage("gui.container.manage_report.resolved.title"));
-                resolvedMeta.setLore(java.util.List.of(
-                    lang.getMessage("gui.container.shared.separator"),
-                    lang.getMessage("gui.container.manage_report.resolved.lore.description"),
-                    lang.getMessage("gui.container.manage_report.resolved.lore.current_status", Map.of("status", report.getStatus().toString())),
-                    lang.getMessage("gui.container.shared.separator"),
-                    lang.getMessage("gui.container.manage_report.resolved.lore.action")
-                ));
-                resolved.setItemMeta(resolvedMeta);
-                gui.setItem(49, resolved);
+                items.add(new MenuLoader.Item(49, Material.EMERALD_BLOCK,
+                    lang.getMessage("gui.container.manage_report.resolved.title"),
+                    java.util.List.of(
+                        lang.getMessage("gui.container.shared.separator"),
+                        lang.getMessage("gui.container.manage_report.resolved.lore.description"),
+                        lang.getMessage("gui.container.manage_report.resolved.lore.current_status", Map.of("status", report.getStatus().toString())),
+                        lang.getMessage("gui.container.shared.separator"),
+                        lang.getMessage("gui.container.manage_report.resolved.lore.action")
+                    )));
             }
             // Move to Rejected
             if (report.getStatus() != Report.ReportStatus.REJECTED) {
-                ItemStack rejected = new ItemStack(Material.BARRIER);
-                ItemMeta rejectedMeta = rejected.getItemMeta();
-                rejectedMeta.setDisplayName(lang.getMessage("gui.container.manage_report.rejected.title"));
-                rejectedMeta.setLore(java.util.List.of(
-                    lang.getMessage("gui.container.shared.separator"),
-                    lang.getMessage("gui.container.manage_report.rejected.lore.description"),
-                    lang.getMessage("gui.container.manage_report.rejected.lore.current_status", Map.of("status", lang.getLocalizedStatus(report.getStatus()))),
-                    lang.getMessage("gui.container.shared.separator"),
-                    lang.getMessage("gui.container.manage_report.rejected.lore.action")
-                ));
-                rejected.setItemMeta(rejectedMeta);
-                gui.setItem(53, rejected);
+                items.add(new MenuLoader.Item(53, Material.BARRIER,
+                    lang.getMessage("gui.container.manage_report.rejected.title"),
+                    java.util.List.of(
+                        lang.getMessage("gui.container.shared.separator"),
+                        lang.getMessage("gui.container.manage_report.rejected.lore.description"),
+                        lang.getMessage("gui.container.manage_report.rejected.lore.current_status", Map.of("status", lang.getLocalizedStatus(report.getStatus()))),
+                        lang.getMessage("gui.container.shared.separator"),
+                        lang.getMessage("gui.container.manage_report.rejected.lore.action")
+                    )));
             }
         }
         
         // Add back button to go back to category reports
-        ItemStack backButton = new ItemStack(Material.DARK_OAK_DOOR);
-        ItemMeta backMeta = backButton.getItemMeta();
-        if (backMeta != null) {
-            backMeta.setDisplayName(lang.getMessage("gui.container.manage_report.back_button.title", "&c&lBack"));
-            backMeta.setLore(java.util.List.of(lang.getMessage("gui.container.manage_report.back_button.lore", Map.of("status", lang.getLocalizedStatus(report.getStatus())))));
-            backButton.setItemMeta(backMeta);
-        }
-        gui.setItem(36, backButton);
-
-        player.openInventory(gui);
+        items.add(new MenuLoader.Item(36, Material.DARK_OAK_DOOR,
+            lang.getMessage("gui.container.manage_report.back_button.title", "&c&lBack"),
+            java.util.List.of(lang.getMessage("gui.container.manage_report.back_button.lore", Map.of("status", lang.getLocalizedStatus(report.getStatus()))))));
+        return items;
     }
 
     private void openBookGUI(Player player, Report report) {
         LanguageManager lang = LanguageManager.get(plugin);
-        ItemStack book = new ItemStack(Material.WRITTEN_BOOK);
-        org.bukkit.inventory.meta.BookMeta meta = (org.bukkit.inventory.meta.BookMeta) book.getItemMeta();
-        if (meta == null) {
-            player.sendMessage(lang.getMessage("gui.book.error_creating"));
-            return;
-        }
+        boolean manage = player.hasPermission("aevorinreports.manage");
+        // The pages are built in the background, the book is only opened on the player's thread
+        plugin.getMenuLoader().load(player, CompletableFuture.completedFuture(report),
+                loaded -> prepareBookPages(loaded, manage, lang),
+                pages -> {
+                    ItemStack book = new ItemStack(Material.WRITTEN_BOOK);
+                    org.bukkit.inventory.meta.BookMeta meta = (org.bukkit.inventory.meta.BookMeta) book.getItemMeta();
+                    if (meta == null) {
+                        player.sendMessage(lang.getMessage("gui.book.error_creating"));
+                        return;
+                    }
 
-        meta.setTitle("Report #" + report.getId());
-        meta.setAuthor("Report System");
+                    meta.setTitle("Report #" + report.getId());
+                    meta.setAuthor("Report System");
+                    meta.spigot().setPages(pages);
+                    book.setItemMeta(meta);
+                    player.openBook(book);
+                });
+    }
 
-        String reporterName = Bukkit.getOfflinePlayer(report.getReporter()).getName();
-        String reportedName = Bukkit.getOfflinePlayer(report.getReported()).getName();
+    private net.md_5.bungee.api.chat.BaseComponent[][] prepareBookPages(Report report, boolean manage,
+            LanguageManager lang) {
+        String reporterName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver.resolvePlayerName(report.getReporterName(), report::getReporterUuid);
+        String reportedName = dev.aevorinstudios.aevorinReports.utils.PlayerNameResolver.resolvePlayerName(report.getReportedPlayerName(), report::getReportedUuid);
         if (reporterName == null) reporterName = lang.getMessage("common.unknown");
         if (reportedName == null) reportedName = lang.getMessage("common.unknown");
 
@@ -248,7 +233,7 @@ public class ReportManageGUI {
         String idText = lang.getMessage("gui.book.page.id", Map.of("id", String.valueOf(report.getId())));
         paginator.add(createLegacy(idText), idText);
 
-        if (plugin.getDatabaseManager().hasMultipleServers()) {
+        if (plugin.getReportRepository().hasMultipleServers()) {
             String serverName = report.getServerName();
             if (serverName == null || serverName.isEmpty()) serverName = lang.getMessage("common.unknown");
             String serverText = lang.getMessage("gui.book.page.server", Map.of("server", serverName));
@@ -257,7 +242,7 @@ public class ReportManageGUI {
 
         paginator.add(createLegacy("\n"), "\n");
 
-        if (player.hasPermission("aevorinreports.manage")) {
+        if (manage) {
             String clickChangeText = lang.getMessage("gui.book.page.click_to_change");
             paginator.add(createLegacy(clickChangeText), clickChangeText);
 
@@ -298,9 +283,7 @@ public class ReportManageGUI {
             lang.getMessage("gui.book.hover_text.back")
         ), backButtonText);
 
-        meta.spigot().setPages(paginator.getPagesArray());
-        book.setItemMeta(meta);
-        player.openBook(book);
+        return paginator.getPagesArray();
     }
 
     private net.md_5.bungee.api.chat.TextComponent createLegacy(String text) {
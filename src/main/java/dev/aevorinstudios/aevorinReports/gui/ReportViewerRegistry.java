@@ -0,0 +1,242 @@
+package dev.aevorinstudios.aevorinReports.gui;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.ReportChangeListener;
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.gui.holders.PriorityReportsHolder;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.SchedulerUtils;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Keeps open report lists up to date while staff look at them. Every open list
+ * is registered under its holder type and status. When a report changes, only
+ * the lists whose page holds, or would now hold, that report are reloaded, and
+ * only the slots whose item actually changed are set again.
+ * <p>
+ * A viewer's list is reloaded at most once per {@code reports.gui.refresh-interval}
+ * ticks; changes arriving in between are folded into the next reload, so
+ * resolving many reports at once sends each viewer a single update.
+ */
+public class ReportViewerRegistry implements ReportChangeListener, Listener {
+    private final BukkitPlugin plugin;
+    private final ReportRepository repository;
+    private final long intervalMillis;
+    private final Map<ViewKey, Map<UUID, View>> views = new ConcurrentHashMap<>();
+    private final Map<UUID, View> viewers = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies which reports a list shows.
+     *
+     * @param holder The holder type of the list
+     * @param status The status of the reports listed
+     */
+    public record ViewKey(Class<? extends InventoryHolder> holder, Report.ReportStatus status) {
+    }
+
+    private static final class View {
+        private final Player player;
+        private final Inventory inventory;
+        private final ViewKey key;
+        private final Supplier<ReportPage> page;
+        private final Supplier<CompletableFuture<List<MenuLoader.Item>>> reload;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastRefresh = System.currentTimeMillis();
+        // The items last set, by slot; only used on the viewer's thread
+        private Map<Integer, MenuLoader.Item> shown;
+
+        private View(Player player, Inventory inventory, ViewKey key, Supplier<ReportPage> page,
+                List<MenuLoader.Item> items, Supplier<CompletableFuture<List<MenuLoader.Item>>> reload) {
+            this.player = player;
+            this.inventory = inventory;
+            this.key = key;
+            this.page = page;
+            this.reload = reload;
+            this.shown = bySlot(items);
+        }
+
+        private boolean affectedBy(long id, boolean removed) {
+            ReportPage current = page.get();
+            if (current == null) {
+                // Still loading, and the load sees the change itself
+                return false;
+            }
+            for (Report report : current.reports()) {
+                if (report.getId() == id) {
+                    return true;
+                }
+            }
+            if (removed) {
+                return false;
+            }
+            // The priority view is ordered by score, so a change anywhere may move reports onto this page
+            if (key.holder() == PriorityReportsHolder.class) {
+                return true;
+            }
+            // Pages are ordered by ID: the report belongs here if it falls between the page's edges,
+            // or beyond them on the first or last page
+            return (id <= current.firstId() || !current.hasPrevious())
+                    && (id >= current.lastId() || !current.hasNext());
+        }
+    }
+
+    /**
+     * @param plugin        The plugin instance
+     * @param repository    The repository whose changes are watched
+     * @param intervalTicks The minimum number of ticks between two reloads of a viewer's list
+     */
+    public ReportViewerRegistry(BukkitPlugin plugin, ReportRepository repository, int intervalTicks) {
+        this.plugin = plugin;
+        this.repository = repository;
+        this.intervalMillis = intervalTicks * 50L;
+
+        repository.addChangeListener(this);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Watch a list a player has open. Replaces any list the player was watching before.
+     * Must be called on the player's thread, once the list's items have been set.
+     *
+     * @param player    The viewer
+     * @param inventory The open list
+     * @param key       Which reports the list shows
+     * @param page      The page currently shown
+     * @param items     The items currently shown
+     * @param reload    Loads the current page again and prepares its items, off the player's thread
+     */
+    public void register(Player player, Inventory inventory, ViewKey key, Supplier<ReportPage> page,
+            List<MenuLoader.Item> items, Supplier<CompletableFuture<List<MenuLoader.Item>>> reload) {
+        View view = new View(player, inventory, key, page, items, reload);
+        View previous = viewers.put(player.getUniqueId(), view);
+        if (previous != null) {
+            remove(previous);
+        }
+        views.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(player.getUniqueId(), view);
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        changed(report.getStatus(), report.getId());
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+        changed(report.getStatus(), report.getId());
+    }
+
+    @Override
+    public void onReportStatusChanged(Report report, Report.ReportStatus previous, Report.ReportStatus current) {
+        // The new status was handled by onReportUpdated
+        changed(previous, report.getId());
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+        changed(null, id);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        View view = viewers.get(event.getPlayer().getUniqueId());
+        if (view != null && view.inventory == event.getInventory()) {
+            remove(view);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        View view = viewers.get(event.getPlayer().getUniqueId());
+        if (view != null) {
+            remove(view);
+        }
+    }
+
+    // A null status means the report is gone, which only affects pages showing it
+    private void changed(Report.ReportStatus status, long id) {
+        for (Map.Entry<ViewKey, Map<UUID, View>> entry : views.entrySet()) {
+            if (status != null && entry.getKey().status() != status) {
+                continue;
+            }
+            for (View view : entry.getValue().values()) {
+                if (view.affectedBy(id, status == null)) {
+                    schedule(view);
+                }
+            }
+        }
+    }
+
+    private void schedule(View view) {
+        if (!view.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long delay = view.lastRefresh + intervalMillis - System.currentTimeMillis();
+        if (delay <= 0) {
+            refresh(view);
+        } else {
+            SchedulerUtils.runTaskLaterAsynchronously(plugin, () -> refresh(view), (delay + 49) / 50);
+        }
+    }
+
+    private void refresh(View view) {
+        // Changes made while this reload runs schedule the next one
+        view.scheduled.set(false);
+        if (viewers.get(view.player.getUniqueId()) != view) {
+            return;
+        }
+        view.lastRefresh = System.currentTimeMillis();
+        repository.deliver(view.reload.get(), view.player, items -> show(view, items));
+    }
+
+    private void show(View view, List<MenuLoader.Item> items) {
+        if (viewers.get(view.player.getUniqueId()) != view
+                || !plugin.getMenuLoader().isOpen(view.player, view.inventory)) {
+            return;
+        }
+        Map<Integer, MenuLoader.Item> next = bySlot(items);
+        for (Integer slot : view.shown.keySet()) {
+            if (!next.containsKey(slot)) {
+                view.inventory.setItem(slot, null);
+            }
+        }
+        for (MenuLoader.Item item : items) {
+            if (!item.equals(view.shown.get(item.slot()))) {
+                view.inventory.setItem(item.slot(), plugin.getGuiTemplates().toItemStack(item));
+            }
+        }
+        view.shown = next;
+    }
+
+    private void remove(View view) {
+        viewers.remove(view.player.getUniqueId(), view);
+        Map<UUID, View> keyed = views.get(view.key);
+        if (keyed != null) {
+            keyed.remove(view.player.getUniqueId(), view);
+        }
+    }
+
+    private static Map<Integer, MenuLoader.Item> bySlot(List<MenuLoader.Item> items) {
+        Map<Integer, MenuLoader.Item> slots = new HashMap<>(items.size() * 2);
+        for (MenuLoader.Item item : items) {
+            slots.put(item.slot(), item);
+        }
+        return slots;
+    }
+}
@@ -1,5 +1,6 @@
 package dev.aevorinstudios.aevorinReports.gui.holders;
 
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
@@ -7,9 +8,10 @@ import org.jetbrains.annotations.NotNull;
 
 public class CategoryReportsHolder implements InventoryHolder {
     private final Report.ReportStatus status;
-    private final int page;
+    // Null until the page has loaded
+    private volatile ReportPage page;
 
-    public CategoryReportsHolder(Report.ReportStatus status, int page) {
+    public CategoryReportsHolder(Report.ReportStatus status, ReportPage page) {
         this.status = status;
         this.page = page;
     }
@@ -18,10 +20,14 @@ public class CategoryReportsHolder implements InventoryHolder {
         return status;
     }
 
-    public int getPage() {
+    public ReportPage getPage() {
         return page;
     }
 
+    public void setPage(ReportPage page) {
+        this.page = page;
+    }
+
     @Override
     public @NotNull Inventory getInventory() {
         return null;
@@ -1,19 +1,25 @@
 package dev.aevorinstudios.aevorinReports.gui.holders;
 
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 
 public class PlayerReportsHolder implements InventoryHolder {
-    private final int page;
+    // Null until the page has loaded
+    private volatile ReportPage page;
 
-    public PlayerReportsHolder(int page) {
+    public PlayerReportsHolder(ReportPage page) {
         this.page = page;
     }
 
-    public int getPage() {
+    public ReportPage getPage() {
         return page;
     }
 
+    public void setPage(ReportPage page) {
+        this.page = page;
+    }
+
     @Override
     public Inventory getInventory() {
         return null; // Not used
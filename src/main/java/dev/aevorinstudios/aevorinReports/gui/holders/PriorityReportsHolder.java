@@ -0,0 +1,28 @@
+package dev.aevorinstudios.aevorinReports.gui.holders;
+
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+public class PriorityReportsHolder implements InventoryHolder {
+    // Null until the page has loaded
+    private volatile ReportPage page;
+
+    public PriorityReportsHolder(ReportPage page) {
+        this.page = page;
+    }
+
+    public ReportPage getPage() {
+        return page;
+    }
+
+    public void setPage(ReportPage page) {
+        this.page = page;
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return null;
+    }
+}
@@ -8,9 +8,9 @@ import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CustomReasonHandler implements Listener {
     private final BukkitPlugin plugin;
@@ -18,12 +18,13 @@ public class CustomReasonHandler implements Listener {
 
     public CustomReasonHandler(BukkitPlugin plugin) {
         this.plugin = plugin;
-        this.pendingCustomReasons = new HashMap<>();
+        // Written from command threads and read from the async chat thread
+        this.pendingCustomReasons = new ConcurrentHashMap<>();
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
-    public void startCustomReason(Player player, String targetPlayer) {
-        pendingCustomReasons.put(player.getUniqueId(), new CustomReasonData(targetPlayer));
+    public void startCustomReason(Player player, UUID targetUuid, String targetName) {
+        pendingCustomReasons.put(player.getUniqueId(), new CustomReasonData(targetUuid, targetName));
     }
 
     @EventHandler
@@ -50,11 +51,15 @@ public class CustomReasonHandler implements Listener {
                 return;
             }
             
+            // Only the first valid message submits the report, even if several arrive at once
+            if (!pendingCustomReasons.remove(player.getUniqueId(), data)) {
+                return;
+            }
+
             // Submit the report
-            dev.aevorinstudios.aevorinReports.utils.SchedulerUtils.runTask(plugin, player, () -> {
-                plugin.getBukkitReportCommand().createReport(player, data.targetPlayer(), reason);
-                pendingCustomReasons.remove(player.getUniqueId());
-            });
+            dev.aevorinstudios.aevorinReports.utils.SchedulerUtils.runTask(plugin, player,
+                    () -> plugin.getBukkitReportCommand().createReport(player, data.targetUuid(), data.targetName(),
+                            reason));
         }
     }
 
@@ -63,5 +68,5 @@ public class CustomReasonHandler implements Listener {
         pendingCustomReasons.remove(event.getPlayer().getUniqueId());
     }
 
-    private record CustomReasonData(String targetPlayer) {}
+    private record CustomReasonData(UUID targetUuid, String targetName) {}
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package dev.aevorinstudios.aevorinReports.listeners;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.database.ReportPage;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
 import dev.aevorinstudios.aevorinReports.gui.CategoryContainerGUI;
 import dev.aevorinstudios.aevorinReports.gui.ReportManageGUI;
 import dev.aevorinstudios.aevorinReports.gui.ReportReasonContainerGUI;
 import dev.aevorinstudios.aevorinReports.gui.holders.*;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import dev.aevorinstudios.aevorinReports.config.LanguageManager;
+import dev.aevorinstudios.aevorinReports.utils.RateLimiter;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -16,9 +19,10 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.List;
-
 public class ReportsContainerListener implements Listener {
+    // Menu clicks load pages and reports, so click spam is capped at a short burst
+    private static final RateLimiter.Limit CLICK_LIMIT = new RateLimiter.Limit("menu-click", 5, 150);
+
     private final BukkitPlugin plugin;
 
     public ReportsContainerListener(BukkitPlugin plugin) {
@@ -37,6 +41,7 @@ public class ReportsContainerListener implements Listener {
         // If the click is in our custom inventory, cancel it by default
         if (holder instanceof ReportsMenuHolder || 
             holder instanceof CategoryReportsHolder || 
+            holder instanceof PriorityReportsHolder ||
             holder instanceof ReportManageHolder || 
             holder instanceof ReportReasonHolder ||
             holder instanceof PlayerReportsHolder) {
@@ -47,11 +52,14 @@ public class ReportsContainerListener implements Listener {
             if (inv != event.getView().getTopInventory()) return;
             ItemStack clicked = event.getCurrentItem();
             if (clicked == null || clicked.getType() == Material.AIR) return;
+            if (plugin.getRateLimiter().tryAcquire(player.getUniqueId(), CLICK_LIMIT) > 0) return;
 
             if (holder instanceof ReportsMenuHolder) {
                 handleMainMenuClick(player, event.getSlot());
             } else if (holder instanceof CategoryReportsHolder) {
                 handleCategoryClick(player, (CategoryReportsHolder) holder, event.getSlot(), clicked);
+            } else if (holder instanceof PriorityReportsHolder) {
+                handlePriorityClick(player, (PriorityReportsHolder) holder, event.getSlot(), clicked);
             } else if (holder instanceof PlayerReportsHolder) {
                 handlePlayerReportsClick(player, (PlayerReportsHolder) holder, event.getSlot(), clicked);
             } else if (holder instanceof ReportManageHolder) {
@@ -67,10 +75,13 @@ public class ReportsContainerListener implements Listener {
         if (slot == 10) status = Report.ReportStatus.PENDING;
         else if (slot == 13) status = Report.ReportStatus.RESOLVED;
         else if (slot == 16) status = Report.ReportStatus.REJECTED;
+        else if (slot == 22) {
+            new CategoryContainerGUI(plugin).openPriorityGUI(player, 0);
+            return;
+        }
 
         if (status != null) {
-            List<Report> reports = plugin.getDatabaseManager().getReportsByStatus(status);
-            new CategoryContainerGUI(plugin).openCategoryGUI(player, status, reports);
+            new CategoryContainerGUI(plugin).openCategoryGUI(player, status);
         }
     }
 
@@ -78,11 +89,8 @@ public class ReportsContainerListener implements Listener {
         // Handle pagination arrows
         if (slot == 48 || slot == 50) {
             if (clicked.getType() == Material.ARROW) {
-                int targetPage = holder.getPage() + (slot == 50 ? 1 : -1);
-                if (targetPage >= 0) {
-                    List<Report> reports = plugin.getDatabaseManager().getReportsByStatus(holder.getStatus());
-                    new CategoryContainerGUI(plugin).openCategoryGUI(player, holder.getStatus(), reports, targetPage);
-                }
+                new CategoryContainerGUI(plugin).openCategoryGUI(player, holder.getStatus(), holder.getPage(),
+                        slot == 50 ? ReportPage.Direction.NEXT : ReportPage.Direction.PREVIOUS);
             }
             return;
         }
@@ -93,16 +101,34 @@ public class ReportsContainerListener implements Listener {
             return;
         }
 
+        openClickedReport(player, clicked);
+    }
+
+    private void handlePriorityClick(Player player, PriorityReportsHolder holder, int slot, ItemStack clicked) {
+        if (slot == 48 || slot == 50) {
+            if (clicked.getType() == Material.ARROW) {
+                new CategoryContainerGUI(plugin).openPriorityGUI(player,
+                        holder.getPage().number() + (slot == 50 ? 1 : -1));
+            }
+            return;
+        }
+
+        if (slot == 45 && clicked.getType() == Material.DARK_OAK_DOOR) {
+            new CategoryContainerGUI(plugin).openMainMenu(player);
+            return;
+        }
+
+        openClickedReport(player, clicked);
+    }
+
+    private void openClickedReport(Player player, ItemStack clicked) {
         // Handle report item clicks using PersistentDataContainer (robust)
         ItemMeta meta = clicked.getItemMeta();
         if (meta != null) {
-            org.bukkit.NamespacedKey key = new org.bukkit.NamespacedKey(plugin, "report_id");
+            org.bukkit.NamespacedKey key = plugin.getGuiTemplates().getReportIdKey();
             if (meta.getPersistentDataContainer().has(key, org.bukkit.persistence.PersistentDataType.LONG)) {
                 long id = meta.getPersistentDataContainer().get(key, org.bukkit.persistence.PersistentDataType.LONG);
-                Report report = plugin.getDatabaseManager().getReport(id);
-                if (report != null) {
-                    new ReportManageGUI(plugin).open(player, report);
-                }
+                openManageGUI(player, id);
                 return;
             }
         }
@@ -116,11 +142,8 @@ public class ReportsContainerListener implements Listener {
                         String[] parts = plain.split(": ");
                         if (parts.length > 1) {
                             long id = Long.parseLong(parts[parts.length-1].trim());
-                            Report report = plugin.getDatabaseManager().getReport(id);
-                            if (report != null) {
-                                new ReportManageGUI(plugin).open(player, report);
-                                break;
-                            }
+                            openManageGUI(player, id);
+                            break;
                         }
                     } catch (Exception ignored) {}
                 }
@@ -128,12 +151,20 @@ public class ReportsContainerListener implements Listener {
         }
     }
 
+    private void openManageGUI(Player player, long id) {
+        ReportRepository repository = plugin.getReportRepository();
+        repository.deliver(repository.getReport(id), player, report -> {
+            if (report != null) {
+                new ReportManageGUI(plugin).open(player, report);
+            }
+        });
+    }
+
     private void handleManageClick(Player player, ReportManageHolder holder, int slot) {
         Report report = holder.getReport();
         
         if (slot == 36) {
-            java.util.List<Report> reports = plugin.getDatabaseManager().getReportsByStatus(report.getStatus());
-            new CategoryContainerGUI(plugin).openCategoryGUI(player, report.getStatus(), reports, 0);
+            new CategoryContainerGUI(plugin).openCategoryGUI(player, report.getStatus());
             return;
         }
 
@@ -144,24 +175,34 @@ public class ReportsContainerListener implements Listener {
         else if (slot == 53) newStatus = Report.ReportStatus.REJECTED;
 
         if (newStatus != null && newStatus != report.getStatus()) {
-            report.setStatus(newStatus);
-            plugin.getDatabaseManager().updateReport(report);
-            
-            // Reopen category view
-            List<Report> reports = plugin.getDatabaseManager().getReportsByStatus(newStatus);
-            new CategoryContainerGUI(plugin).openCategoryGUI(player, newStatus, reports);
-            
-            LanguageManager lang = LanguageManager.get(plugin);
-            String statusColor = switch(newStatus) {
-                case PENDING -> "&6";
-                case RESOLVED -> "&a";
-                case REJECTED -> "&c";
-            };
-            dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.report.status-change", java.util.Map.of(
-                "id", String.valueOf(report.getId()),
-                "status", newStatus.name(),
-                "color", statusColor
-            )));
+            Report.ReportStatus updatedStatus = newStatus;
+            ReportRepository repository = plugin.getReportRepository();
+
+            // Reopen category view once the update is committed
+            repository.deliver(repository.updateStatus(report, updatedStatus, player.getName()), player, updated -> {
+                LanguageManager lang = LanguageManager.get(plugin);
+                if (updated == null) {
+                    // The menu was outdated: show the report as it is now
+                    dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.report.status-conflict", java.util.Map.of(
+                        "id", String.valueOf(report.getId())
+                    )));
+                    openManageGUI(player, report.getId());
+                    return;
+                }
+
+                new CategoryContainerGUI(plugin).openCategoryGUI(player, updatedStatus);
+
+                String statusColor = switch(updatedStatus) {
+                    case PENDING -> "&6";
+                    case RESOLVED -> "&a";
+                    case REJECTED -> "&c";
+                };
+                dev.aevorinstudios.aevorinReports.utils.MessageUtils.sendMessage(player, lang.getMessage("messages.report.status-change", java.util.Map.of(
+                    "id", String.valueOf(report.getId()),
+                    "status", updatedStatus.name(),
+                    "color", statusColor
+                )));
+            });
         }
     }
 
@@ -209,11 +250,8 @@ public class ReportsContainerListener implements Listener {
         // Handle pagination arrows
         if (slot == 48 || slot == 50) {
             if (clicked.getType() == Material.ARROW) {
-                int targetPage = holder.getPage() + (slot == 50 ? 1 : -1);
-                if (targetPage >= 0) {
-                    List<Report> reports = plugin.getDatabaseManager().getReportsByReporter(player.getUniqueId());
-                    new CategoryContainerGUI(plugin).openPlayerReportsGUI(player, reports, targetPage);
-                }
+                new CategoryContainerGUI(plugin).openPlayerReportsGUI(player, holder.getPage(),
+                        slot == 50 ? ReportPage.Direction.NEXT : ReportPage.Direction.PREVIOUS);
             }
         }
     }
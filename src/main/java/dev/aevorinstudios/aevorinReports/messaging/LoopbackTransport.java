@@ -0,0 +1,47 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport: every batch is handed to all loopback transports
+ * started in the same JVM, including the sender's own. Used to test the
+ * notification bus without a proxy; the bus drops batches that originated on
+ * its own server. It can't be selected in the config, since on a real server
+ * it would deliver nothing.
+ */
+public class LoopbackTransport implements NotificationTransport {
+    private static final Set<Consumer<List<StaffNotification>>> RECEIVERS = new CopyOnWriteArraySet<>();
+
+    private Consumer<List<StaffNotification>> receiver;
+
+    @Override
+    public void start(Consumer<List<StaffNotification>> receiver) {
+        this.receiver = receiver;
+        RECEIVERS.add(receiver);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publish(List<StaffNotification> batch) {
+        List<StaffNotification> copy = List.copyOf(batch);
+        for (Consumer<List<StaffNotification>> target : RECEIVERS) {
+            target.accept(copy);
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public void stop() {
+        if (receiver != null) {
+            RECEIVERS.remove(receiver);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "loopback";
+    }
+}
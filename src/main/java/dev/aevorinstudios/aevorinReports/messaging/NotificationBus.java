@@ -0,0 +1,294 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.database.ReportChangeListener;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Tells online staff about new reports and status changes, on this server and,
+ * through a {@link NotificationTransport}, on the other servers of the network.
+ * <p>
+ * Local staff are notified as soon as a change is committed. Outgoing and
+ * incoming notifications are collected for {@code messaging.batch-window}
+ * milliseconds and handled as one batch, with repeated changes to the same
+ * report within the window collapsed into the latest one.
+ */
+public class NotificationBus implements ReportChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBus.class);
+    private static final int MAX_PENDING = 500;
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final ReportRepository repository;
+    private final NotificationTransport transport;
+    private final Consumer<List<StaffNotification>> display;
+    private final String serverName;
+    private final long batchWindowMillis;
+    private final long retryDelayMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, StaffNotification> outbound = new LinkedHashMap<>();
+    private final LinkedHashMap<String, StaffNotification> inbound = new LinkedHashMap<>();
+    private boolean outboundScheduled;
+    // A batch is being published; the next one waits so a retried batch can't overtake newer changes
+    private boolean outboundInFlight;
+    private boolean inboundScheduled;
+
+    /**
+     * @param plugin            The plugin instance
+     * @param repository        The repository whose changes are announced
+     * @param transport         The transport to other servers, or null to only notify this server
+     * @param serverName        The name of this server, used to drop our own notifications
+     * @param batchWindowMillis How long notifications are collected before being sent or shown
+     */
+    public NotificationBus(BukkitPlugin plugin, ReportRepository repository, NotificationTransport transport,
+            String serverName, long batchWindowMillis) {
+        this(repository, transport, new StaffBroadcast(plugin), serverName, batchWindowMillis, RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * @param repository        The repository whose changes are announced, or null to only announce
+     *                          notifications passed to {@link #publish}
+     * @param transport         The transport to other servers, or null to only notify this server
+     * @param display           Shows a batch of notifications to the staff on this server
+     * @param serverName        The name of this server, used to drop our own notifications
+     * @param batchWindowMillis How long notifications are collected before being sent or shown
+     * @param retryDelayMillis  How long a batch that couldn't be sent waits before it is sent again
+     */
+    NotificationBus(ReportRepository repository, NotificationTransport transport,
+            Consumer<List<StaffNotification>> display, String serverName, long batchWindowMillis,
+            long retryDelayMillis) {
+        this.repository = repository;
+        this.transport = transport;
+        this.display = display;
+        this.serverName = serverName;
+        this.batchWindowMillis = batchWindowMillis;
+        this.retryDelayMillis = retryDelayMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AevorinReports-Notify");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a bus using the transport selected in the {@code messaging} config section.
+     *
+     * @param plugin     The plugin instance
+     * @param repository The report repository
+     * @param database   The database, used by the {@code database} transport
+     * @return The bus, not yet started
+     */
+    public static NotificationBus create(BukkitPlugin plugin, ReportRepository repository, DatabaseManager database) {
+        ConfigManager.Config config = plugin.getConfigManager().getConfig();
+        ConfigManager.Config.MessagingConfig messaging = config.getMessaging();
+        String type = messaging.getTransport();
+        if ("auto".equals(type)) {
+            type = "mysql".equalsIgnoreCase(config.getDatabase().getType()) ? "plugin-message" : "none";
+        }
+
+        NotificationTransport transport = switch (type) {
+            case "plugin-message" -> new PluginMessageTransport(plugin);
+            case "database" -> new OutboxTransport(repository, database, config.getServerName(),
+                    TimeUnit.SECONDS.toMillis(messaging.getPollInterval()));
+            default -> null;
+        };
+        return new NotificationBus(plugin, repository, transport, config.getServerName(),
+                messaging.getBatchWindow());
+    }
+
+    public void start() {
+        if (repository != null) {
+            repository.addChangeListener(this);
+        }
+        if (transport != null) {
+            transport.start(this::receive);
+            logger.info("Cross-server staff notifications enabled using the {} transport", transport.getName());
+        }
+    }
+
+    /**
+     * Notify staff on this server right away and queue the notification for the
+     * other servers.
+     *
+     * @param notification The notification to publish
+     */
+    public void publish(StaffNotification notification) {
+        display.accept(List.of(notification));
+        if (transport == null) {
+            return;
+        }
+        synchronized (lock) {
+            enqueue(outbound, notification);
+            if (!outboundScheduled) {
+                outboundScheduled = schedule(this::flushOutbound, batchWindowMillis);
+            }
+        }
+    }
+
+    private void flushOutbound() {
+        List<StaffNotification> batch;
+        synchronized (lock) {
+            outboundScheduled = false;
+            if (outbound.isEmpty() || outboundInFlight) {
+                return;
+            }
+            batch = new ArrayList<>(outbound.values());
+            outbound.clear();
+            outboundInFlight = true;
+        }
+
+        CompletableFuture<Boolean> sent;
+        try {
+            sent = transport.publish(batch);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((success, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                if (!(cause instanceof CancellationException)) {
+                    ExceptionHandler.getInstance().handleException(cause, "NotificationBus",
+                            Map.of("transport", transport.getName(), "notifications", batch.size()));
+                }
+            }
+            if (error != null || !Boolean.TRUE.equals(success)) {
+                requeue(batch);
+                return;
+            }
+            synchronized (lock) {
+                outboundInFlight = false;
+                if (!outbound.isEmpty() && !outboundScheduled) {
+                    outboundScheduled = schedule(this::flushOutbound, batchWindowMillis);
+                }
+            }
+        });
+    }
+
+    // Put the batch back in front of anything queued since, keeping the newer entries
+    private void requeue(List<StaffNotification> batch) {
+        synchronized (lock) {
+            outboundInFlight = false;
+            LinkedHashMap<String, StaffNotification> newer = new LinkedHashMap<>(outbound);
+            outbound.clear();
+            for (StaffNotification notification : batch) {
+                enqueue(outbound, notification);
+            }
+            for (StaffNotification notification : newer.values()) {
+                enqueue(outbound, notification);
+            }
+            if (!outboundScheduled) {
+                outboundScheduled = schedule(this::flushOutbound, retryDelayMillis);
+            }
+        }
+    }
+
+    private void receive(List<StaffNotification> batch) {
+        synchronized (lock) {
+            for (StaffNotification notification : batch) {
+                if (!serverName.equals(notification.origin())) {
+                    enqueue(inbound, notification);
+                }
+            }
+            if (!inbound.isEmpty() && !inboundScheduled) {
+                inboundScheduled = schedule(this::flushInbound, batchWindowMillis);
+            }
+        }
+    }
+
+    private void flushInbound() {
+        List<StaffNotification> batch;
+        synchronized (lock) {
+            inboundScheduled = false;
+            batch = new ArrayList<>(inbound.values());
+            inbound.clear();
+        }
+        if (!batch.isEmpty()) {
+            display.accept(batch);
+        }
+    }
+
+    // Called with the lock held. Once shut down, whatever is still queued is dropped.
+    private boolean schedule(Runnable task, long delayMillis) {
+        if (scheduler.isShutdown()) {
+            return false;
+        }
+        scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    // Called with the lock held; a newer notification for the same report replaces the queued one
+    private static void enqueue(LinkedHashMap<String, StaffNotification> queue, StaffNotification notification) {
+        String key = notification.coalesceKey();
+        queue.remove(key);
+        queue.put(key, notification);
+        if (queue.size() > MAX_PENDING) {
+            Iterator<String> oldest = queue.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        publish(StaffNotification.created(report, serverName));
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+    }
+
+    @Override
+    public void onReportStatusChanged(Report report, Report.ReportStatus previous, Report.ReportStatus current) {
+        publish(StaffNotification.statusChanged(report, report.getLastUpdatedBy(), serverName));
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+    }
+
+    /**
+     * Stop listening for changes and close the transport. A batch still inside
+     * its window is sent if the transport can do so while the plugin disables.
+     */
+    public void shutdown() {
+        if (repository != null) {
+            repository.removeChangeListener(this);
+        }
+        synchronized (lock) {
+            scheduler.shutdown();
+        }
+        try {
+            if (!scheduler.awaitTermination(batchWindowMillis + 1000, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (transport != null) {
+            transport.stop();
+        }
+    }
+}
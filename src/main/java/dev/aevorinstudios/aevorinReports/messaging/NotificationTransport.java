@@ -0,0 +1,34 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Carries staff notifications between the servers of a network.
+ */
+public interface NotificationTransport {
+
+    /**
+     * Start listening for notifications from other servers.
+     *
+     * @param receiver Called with each batch received; may be called from any thread
+     */
+    void start(Consumer<List<StaffNotification>> receiver);
+
+    /**
+     * Send a batch of notifications to the other servers.
+     *
+     * @param batch The notifications to send
+     * @return A future completed once the batch was handed over, with false (or
+     *         exceptionally) if it couldn't be sent and should be retried later
+     */
+    CompletableFuture<Boolean> publish(List<StaffNotification> batch);
+
+    void stop();
+
+    /**
+     * @return A short name for logging
+     */
+    String getName();
+}
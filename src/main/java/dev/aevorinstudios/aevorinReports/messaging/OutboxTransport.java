@@ -0,0 +1,80 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.database.ReportEvent;
+import dev.aevorinstudios.aevorinReports.database.ReportEventFeed;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Receives notifications from the {@code report_events} outbox that every
+ * server already writes to. Nothing has to be published: the outbox rows are
+ * committed together with the report changes, so this transport works without
+ * a proxy and without players online, at the cost of a poll of the shared
+ * database. Each server reads the outbox with its own cursor.
+ */
+public class OutboxTransport implements NotificationTransport {
+    private final ReportRepository repository;
+    private final DatabaseManager database;
+    private final String serverName;
+    private final long maxDelayMillis;
+    private ReportEventFeed feed;
+
+    public OutboxTransport(ReportRepository repository, DatabaseManager database, String serverName,
+            long maxDelayMillis) {
+        this.repository = repository;
+        this.database = database;
+        this.serverName = serverName;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    @Override
+    public void start(Consumer<List<StaffNotification>> receiver) {
+        feed = new ReportEventFeed(repository, database, "notify:" + serverName, maxDelayMillis,
+                event -> handle(event, receiver));
+        feed.start();
+    }
+
+    private void handle(ReportEvent event, Consumer<List<StaffNotification>> receiver) {
+        // Changes made here were already shown to local staff when they happened
+        if (serverName.equals(event.origin())) {
+            return;
+        }
+        if (event.type() != ReportEvent.Type.CREATED && event.type() != ReportEvent.Type.STATUS_CHANGED) {
+            return;
+        }
+
+        // Runs on the feed's own thread, so the lookup may block
+        Report report = database.getReport(event.reportId());
+        if (report == null) {
+            return;
+        }
+        report.setStatus(event.status());
+        StaffNotification notification = event.type() == ReportEvent.Type.CREATED
+                ? StaffNotification.created(report, event.origin())
+                : StaffNotification.statusChanged(report, event.actor(), event.origin());
+        receiver.accept(List.of(notification));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publish(List<StaffNotification> batch) {
+        // The outbox row is written in the same transaction as the change itself
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public void stop() {
+        if (feed != null) {
+            feed.stop();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "database";
+    }
+}
@@ -0,0 +1,119 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.utils.ExceptionHandler;
+import dev.aevorinstudios.aevorinReports.utils.SchedulerUtils;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Sends notifications to every other server through the proxy's
+ * {@code BungeeCord} channel, which BungeeCord and Velocity both understand.
+ * <p>
+ * Plugin messages travel over a player connection, so a batch can only be sent
+ * while someone is online here, and the proxy only forwards it to servers that
+ * have a player online. The batch is sent on the carrier's own thread, and if
+ * the carrier has left by then the bus is told so and retries the batch with
+ * another player; servers without players simply have nobody to notify.
+ */
+public class PluginMessageTransport implements NotificationTransport, PluginMessageListener {
+    private static final String CHANNEL = "BungeeCord";
+    private static final String SUBCHANNEL = "AevorinReports";
+    // Stays well below the 32 KiB plugin message limit even with long reasons
+    private static final int MAX_PER_MESSAGE = 50;
+
+    private final BukkitPlugin plugin;
+    private Consumer<List<StaffNotification>> receiver;
+
+    public PluginMessageTransport(BukkitPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void start(Consumer<List<StaffNotification>> receiver) {
+        this.receiver = receiver;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> publish(List<StaffNotification> batch) {
+        Iterator<? extends Player> players = plugin.getServer().getOnlinePlayers().iterator();
+        if (!players.hasNext()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        Player carrier = players.next();
+
+        List<byte[]> messages = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += MAX_PER_MESSAGE) {
+            messages.add(forward(batch.subList(from, Math.min(batch.size(), from + MAX_PER_MESSAGE))));
+        }
+        // On Folia the task is dropped, and the future cancelled, if the carrier is removed first
+        return SchedulerUtils.supplyTask(plugin, carrier, () -> {
+            if (!carrier.isOnline()) {
+                return false;
+            }
+            for (byte[] message : messages) {
+                carrier.sendPluginMessage(plugin, CHANNEL, message);
+            }
+            return true;
+        });
+    }
+
+    private byte[] forward(List<StaffNotification> batch) {
+        byte[] data = StaffNotification.encode(batch);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length + 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(SUBCHANNEL);
+            out.writeShort(data.length);
+            out.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write plugin message", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void onPluginMessageReceived(@NotNull String channel, @NotNull Player player, byte @NotNull [] message) {
+        if (!CHANNEL.equals(channel) || receiver == null) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (!SUBCHANNEL.equals(in.readUTF())) {
+                return;
+            }
+            byte[] data = new byte[in.readUnsignedShort()];
+            in.readFully(data);
+            receiver.accept(StaffNotification.decode(data));
+        } catch (IOException e) {
+            ExceptionHandler.getInstance().handleException(e, "PluginMessageTransport",
+                    Map.of("length", message.length));
+        }
+    }
+
+    @Override
+    public void stop() {
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, CHANNEL, this);
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, CHANNEL);
+    }
+
+    @Override
+    public String getName() {
+        return "plugin-message";
+    }
+}
@@ -0,0 +1,74 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
+import dev.aevorinstudios.aevorinReports.config.LanguageManager;
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import dev.aevorinstudios.aevorinReports.utils.MessageUtils;
+import dev.aevorinstudios.aevorinReports.utils.SchedulerUtils;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Shows staff notifications to the online staff of this server, honouring the
+ * {@code notifications} settings.
+ */
+final class StaffBroadcast implements Consumer<List<StaffNotification>> {
+    private final BukkitPlugin plugin;
+
+    StaffBroadcast(BukkitPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void accept(List<StaffNotification> batch) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        boolean newReports = plugin.getConfig().getBoolean("notifications.new-report", true);
+        boolean statusChanges = plugin.getConfig().getBoolean("notifications.status-change", true);
+
+        SchedulerUtils.runGlobalTask(plugin, () -> {
+            LanguageManager lang = LanguageManager.get(plugin);
+            for (StaffNotification notification : batch) {
+                boolean created = notification.type() == StaffNotification.Type.REPORT_CREATED;
+                if (created ? !newReports : !statusChanges) {
+                    continue;
+                }
+                String message = created ? createdMessage(lang, notification) : statusMessage(lang, notification);
+                for (Player staff : plugin.getServer().getOnlinePlayers()) {
+                    // The staff member who changed the status has already been told
+                    if (!created && staff.getName().equals(notification.actor())) {
+                        continue;
+                    }
+                    if (staff.hasPermission("aevorinreports.notify")) {
+                        MessageUtils.sendMessage(staff, message);
+                    }
+                }
+            }
+        });
+    }
+
+    private static String createdMessage(LanguageManager lang, StaffNotification notification) {
+        return lang.getMessage("messages.report.notification", Map.of(
+                "reporter", String.valueOf(notification.reporter()),
+                "reported", String.valueOf(notification.reported()),
+                "category", String.valueOf(notification.reason())));
+    }
+
+    private static String statusMessage(LanguageManager lang, StaffNotification notification) {
+        Report.ReportStatus status = notification.status();
+        String statusColor = switch (status) {
+            case PENDING -> "&6";
+            case RESOLVED -> "&a";
+            case REJECTED -> "&c";
+        };
+        return lang.getMessage("messages.report.status-change-notification", Map.of(
+                "actor", notification.actor() != null ? notification.actor() : "Unknown",
+                "id", String.valueOf(notification.reportId()),
+                "status", status.name(),
+                "color", statusColor));
+    }
+}
@@ -0,0 +1,121 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A staff notification shared between the servers of a network.
+ *
+ * @param type     What happened
+ * @param reportId The report the notification is about
+ * @param reporter The name of the reporter
+ * @param reported The name of the reported player
+ * @param reason   The report reason
+ * @param status   The status of the report after the change
+ * @param actor    Who changed the status, for {@link Type#STATUS_CHANGED}
+ * @param origin   The server the change was made on
+ */
+public record StaffNotification(Type type, long reportId, String reporter, String reported, String reason,
+        Report.ReportStatus status, String actor, String origin) {
+    private static final int FORMAT_VERSION = 1;
+
+    public enum Type {
+        REPORT_CREATED, STATUS_CHANGED
+    }
+
+    public static StaffNotification created(Report report, String origin) {
+        return new StaffNotification(Type.REPORT_CREATED, report.getId(), report.getReporterName(),
+                report.getReportedPlayerName(), report.getReason(), report.getStatus(), null, origin);
+    }
+
+    public static StaffNotification statusChanged(Report report, String actor, String origin) {
+        return new StaffNotification(Type.STATUS_CHANGED, report.getId(), report.getReporterName(),
+                report.getReportedPlayerName(), report.getReason(), report.getStatus(), actor, origin);
+    }
+
+    /**
+     * Key under which notifications are coalesced: a newer status change of a
+     * report replaces an older one that hasn't been delivered yet.
+     */
+    String coalesceKey() {
+        return type + ":" + reportId;
+    }
+
+    /**
+     * Serialize a batch of notifications for a transport.
+     *
+     * @param batch The notifications to encode
+     * @return The encoded batch
+     */
+    public static byte[] encode(List<StaffNotification> batch) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(batch.size());
+            for (StaffNotification notification : batch) {
+                out.writeUTF(notification.type.name());
+                out.writeLong(notification.reportId);
+                writeNullable(out, notification.reporter);
+                writeNullable(out, notification.reported);
+                writeNullable(out, notification.reason);
+                writeNullable(out, notification.status != null ? notification.status.name() : null);
+                writeNullable(out, notification.actor);
+                writeNullable(out, notification.origin);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode staff notifications", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize a batch written by {@link #encode}.
+     *
+     * @param data The encoded batch
+     * @return The notifications
+     * @throws IOException If the data is malformed or from an incompatible version
+     */
+    public static List<StaffNotification> decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported notification format version " + version);
+            }
+            int size = in.readUnsignedShort();
+            List<StaffNotification> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Type type = Type.valueOf(in.readUTF());
+                long reportId = in.readLong();
+                String reporter = readNullable(in);
+                String reported = readNullable(in);
+                String reason = readNullable(in);
+                String status = readNullable(in);
+                String actor = readNullable(in);
+                String origin = readNullable(in);
+                batch.add(new StaffNotification(type, reportId, reporter, reported, reason,
+                        status != null ? Report.ReportStatus.valueOf(status) : null, actor, origin));
+            }
+            return batch;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed staff notification", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
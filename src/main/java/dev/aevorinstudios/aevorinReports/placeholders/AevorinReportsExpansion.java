@@ -1,16 +1,18 @@
 package dev.aevorinstudios.aevorinReports.placeholders;
 
 import dev.aevorinstudios.aevorinReports.bukkit.BukkitPlugin;
-import dev.aevorinstudios.aevorinReports.database.DatabaseManager;
+import dev.aevorinstudios.aevorinReports.database.ReportCounters;
 import dev.aevorinstudios.aevorinReports.reports.Report;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.UUID;
+
 /**
  * PlaceholderAPI Expansion for AevorinReports
- * Provides player report statistics as placeholders
+ * Provides player report statistics as placeholders, served from {@link ReportCounters}
  */
 public class AevorinReportsExpansion extends PlaceholderExpansion {
 
@@ -55,66 +57,67 @@ public class AevorinReportsExpansion extends PlaceholderExpansion {
             return null;
         }
 
-        DatabaseManager db = plugin.getDatabaseManager();
-        if (db == null) {
+        ReportCounters counters = plugin.getReportCounters();
+        if (counters == null) {
             return "0";
         }
 
+        UUID uuid = player.getUniqueId();
         switch (identifier.toLowerCase()) {
             // Reports submitted by the player (as reporter)
             case "reports_submitted":
             case "submitted":
-                return String.valueOf(db.getReportsCountByReporter(player.getUniqueId()));
+                return String.valueOf(counters.getSubmitted(uuid, null));
 
             case "reports_submitted_pending":
             case "submitted_pending":
-                return String.valueOf(db.getReportsCountByReporterAndStatus(player.getUniqueId(), Report.ReportStatus.PENDING));
+                return String.valueOf(counters.getSubmitted(uuid, Report.ReportStatus.PENDING));
 
             case "reports_submitted_resolved":
             case "submitted_resolved":
-                return String.valueOf(db.getReportsCountByReporterAndStatus(player.getUniqueId(), Report.ReportStatus.RESOLVED));
+                return String.valueOf(counters.getSubmitted(uuid, Report.ReportStatus.RESOLVED));
 
             case "reports_submitted_rejected":
             case "submitted_rejected":
-                return String.valueOf(db.getReportsCountByReporterAndStatus(player.getUniqueId(), Report.ReportStatus.REJECTED));
+                return String.valueOf(counters.getSubmitted(uuid, Report.ReportStatus.REJECTED));
 
             case "reports_submitted_valid":
             case "submitted_valid":
                 // Valid reports = resolved reports (reports that were acted upon)
-                return String.valueOf(db.getReportsCountByReporterAndStatus(player.getUniqueId(), Report.ReportStatus.RESOLVED));
+                return String.valueOf(counters.getSubmitted(uuid, Report.ReportStatus.RESOLVED));
 
             // Reports received against the player (as reported)
             case "reports_received":
             case "received":
-                return String.valueOf(db.getReportsCountByReported(player.getUniqueId()));
+                return String.valueOf(counters.getReceived(uuid, null));
 
             case "reports_received_pending":
             case "received_pending":
-                return String.valueOf(db.getReportsCountByReportedAndStatus(player.getUniqueId(), Report.ReportStatus.PENDING));
+                return String.valueOf(counters.getReceived(uuid, Report.ReportStatus.PENDING));
 
             case "reports_received_resolved":
             case "received_resolved":
-                return String.valueOf(db.getReportsCountByReportedAndStatus(player.getUniqueId(), Report.ReportStatus.RESOLVED));
+                return String.valueOf(counters.getReceived(uuid, Report.ReportStatus.RESOLVED));
 
             case "reports_received_rejected":
             case "received_rejected":
-                return String.valueOf(db.getReportsCountByReportedAndStatus(player.getUniqueId(), Report.ReportStatus.REJECTED));
+                return String.valueOf(counters.getReceived(uuid, Report.ReportStatus.REJECTED));
 
             // Server-wide statistics (player-independent)
             case "total_reports":
-                return String.valueOf(db.getTotalReportsCount());
+                return String.valueOf(counters.getCount(null));
 
             case "pending_reports":
             case "total_pending":
-                return String.valueOf(db.getReportCountByStatus(Report.ReportStatus.PENDING));
+                return String.valueOf(counters.getCount(Report.ReportStatus.PENDING));
 
             case "resolved_reports":
             case "total_resolved":
-                return String.valueOf(db.getReportCountByStatus(Report.ReportStatus.RESOLVED));
+                return String.valueOf(counters.getCount(Report.ReportStatus.RESOLVED));
 
             case "rejected_reports":
             case "total_rejected":
-                return String.valueOf(db.getReportCountByStatus(Report.ReportStatus.REJECTED));
+                return String.valueOf(counters.getCount(Report.ReportStatus.REJECTED));
 
             default:
                 return null;
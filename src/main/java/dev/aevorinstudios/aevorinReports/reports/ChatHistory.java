@@ -0,0 +1,148 @@
+package dev.aevorinstudios.aevorinReports.reports;
+
+import dev.aevorinstudios.aevorinReports.config.ConfigManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The last chat messages and commands of every player, kept in memory so a
+ * report can capture what led up to it. Each player has a fixed-size ring that
+ * is allocated once and overwritten in place, so recording a message costs no
+ * allocation beyond the message itself. A player's ring is kept for a while
+ * after they leave, so players who log out right after an incident can still
+ * be reported with context.
+ */
+public class ChatHistory implements Listener {
+    private static final long RETAIN_AFTER_QUIT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final int capacity;
+    private final boolean commands;
+    private final Set<String> ignoredCommands = new HashSet<>();
+    private final Map<UUID, Ring> rings = new ConcurrentHashMap<>();
+
+    private static final class Ring {
+        private final String[] messages;
+        private final long[] times;
+        private final boolean[] isCommand;
+        private int next;
+        private int size;
+        // 0 while the player is online
+        private volatile long leftAt;
+
+        Ring(int capacity) {
+            messages = new String[capacity];
+            times = new long[capacity];
+            isCommand = new boolean[capacity];
+        }
+
+        synchronized void add(long time, boolean command, String message) {
+            messages[next] = message;
+            times[next] = time;
+            isCommand[next] = command;
+            next = (next + 1) % messages.length;
+            size = Math.min(size + 1, messages.length);
+        }
+
+        synchronized List<Evidence.Line> snapshot() {
+            List<Evidence.Line> lines = new ArrayList<>(size);
+            int start = (next - size + messages.length) % messages.length;
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % messages.length;
+                lines.add(new Evidence.Line(times[index], isCommand[index], messages[index]));
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * @param online   The players already online, e.g. after a reload
+     * @param capacity The number of messages kept per player
+     * @param config   Which messages are recorded
+     */
+    public ChatHistory(Collection<? extends Player> online, int capacity,
+            ConfigManager.Config.ReportsConfig.EvidenceConfig config) {
+        this.capacity = capacity;
+        this.commands = config.isCommands();
+        for (String command : config.getIgnoredCommands()) {
+            ignoredCommands.add(command.toLowerCase(Locale.ROOT));
+        }
+
+        for (Player player : online) {
+            rings.put(player.getUniqueId(), new Ring(capacity));
+        }
+    }
+
+    /**
+     * Copy a player's recent messages. Safe to call from any thread.
+     *
+     * @param uuid The player's UUID
+     * @return The messages, oldest first; empty if none were recorded
+     */
+    public List<Evidence.Line> snapshot(UUID uuid) {
+        Ring ring = uuid != null ? rings.get(uuid) : null;
+        return ring != null ? ring.snapshot() : List.of();
+    }
+
+    @SuppressWarnings("deprecation")
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerChat(AsyncPlayerChatEvent event) {
+        record(event.getPlayer(), false, event.getMessage());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        if (!commands) {
+            return;
+        }
+        String message = event.getMessage();
+        int end = message.indexOf(' ');
+        String label = (end < 0 ? message.substring(1) : message.substring(1, end)).toLowerCase(Locale.ROOT);
+        // Namespaced commands such as /authme:login
+        label = label.substring(label.indexOf(':') + 1);
+        if (!ignoredCommands.contains(label)) {
+            record(event.getPlayer(), true, message);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        sweep();
+        rings.computeIfAbsent(event.getPlayer().getUniqueId(), uuid -> new Ring(capacity)).leftAt = 0;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Ring ring = rings.get(event.getPlayer().getUniqueId());
+        if (ring != null) {
+            ring.leftAt = System.currentTimeMillis();
+        }
+        sweep();
+    }
+
+    private void record(Player player, boolean command, String message) {
+        Ring ring = rings.computeIfAbsent(player.getUniqueId(), uuid -> new Ring(capacity));
+        ring.add(System.currentTimeMillis(), command, message);
+    }
+
+    private void sweep() {
+        long cutoff = System.currentTimeMillis() - RETAIN_AFTER_QUIT_MILLIS;
+        rings.values().removeIf(ring -> ring.leftAt != 0 && ring.leftAt < cutoff);
+    }
+}
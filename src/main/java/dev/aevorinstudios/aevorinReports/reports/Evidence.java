@@ -0,0 +1,82 @@
+package dev.aevorinstudios.aevorinReports.reports;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The chat context stored with a report in {@code evidence_data}: the recent
+ * chat messages and commands of the reported player and the reporter, as
+ * gzipped JSON in Base64 behind a version prefix.
+ */
+public final class Evidence {
+    public static final String REPORTED = "reported";
+    public static final String REPORTER = "reporter";
+
+    private static final String PREFIX = "gz1:";
+    private static final Gson GSON = new Gson();
+
+    /**
+     * @param uuid  The player's UUID
+     * @param name  The player's name when the report was filed
+     * @param role  {@link #REPORTED} or {@link #REPORTER}
+     * @param lines The player's recent messages, oldest first
+     */
+    public record Section(UUID uuid, String name, String role, List<Line> lines) {
+    }
+
+    /**
+     * @param time    When the message was sent, in epoch milliseconds
+     * @param command Whether the message was a command
+     * @param message The message as sent
+     */
+    public record Line(long time, boolean command, String message) {
+    }
+
+    private record Document(List<Section> sections) {
+    }
+
+    private Evidence() {
+    }
+
+    public static String encode(List<Section> sections) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            GSON.toJson(new Document(sections), writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress report evidence", e);
+        }
+        return PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param data The stored evidence
+     * @return The captured sections, empty if there is no evidence or it isn't chat evidence
+     */
+    public static List<Section> decode(String data) {
+        if (data == null || !data.startsWith(PREFIX)) {
+            return List.of();
+        }
+        try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(
+                Base64.getDecoder().decode(data.substring(PREFIX.length())))), StandardCharsets.UTF_8)) {
+            Document document = GSON.fromJson(reader, Document.class);
+            return document != null && document.sections() != null ? document.sections() : List.of();
+        } catch (IOException | IllegalArgumentException | JsonParseException e) {
+            throw new IllegalArgumentException("Unreadable report evidence", e);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package dev.aevorinstudios.aevorinReports.reports;
 
+import dev.aevorinstudios.aevorinReports.database.StorageFormat;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.bukkit.configuration.ConfigurationSection;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class Report {
     private Long id;
     private UUID reporterUuid;
@@ -25,6 +31,23 @@ public class Report {
     private String evidenceData;
     private String coordinates;
     private String world;
+    /** How many reports of the same incident were merged into this one, see {@link ReportDeduplicator} */
+    @Builder.Default
+    private int clusterSize = 1;
+
+    /*
+     * Column values as read from the database, decoded by the getters on first use, so
+     * listing a page doesn't parse UUIDs and times that are never looked at. Decoding
+     * twice from two threads is harmless: both produce equal immutable values.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+    private Object encodedReporterUuid;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+    private Object encodedReportedUuid;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+    private Object encodedCreatedAt;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) @EqualsAndHashCode.Exclude @ToString.Exclude
+    private Object encodedUpdatedAt;
 
     public enum ReportStatus {
         PENDING,
@@ -52,12 +75,64 @@ public class Report {
         return status != ReportStatus.RESOLVED && status != ReportStatus.REJECTED;
     }
 
+    public UUID getReporterUuid() {
+        UUID uuid = reporterUuid;
+        if (uuid == null && encodedReporterUuid != null) {
+            reporterUuid = uuid = StorageFormat.decodeUuid(encodedReporterUuid);
+        }
+        return uuid;
+    }
+
+    public void setReporterUuid(UUID reporterUuid) {
+        this.reporterUuid = reporterUuid;
+        this.encodedReporterUuid = null;
+    }
+
+    public UUID getReportedUuid() {
+        UUID uuid = reportedUuid;
+        if (uuid == null && encodedReportedUuid != null) {
+            reportedUuid = uuid = StorageFormat.decodeUuid(encodedReportedUuid);
+        }
+        return uuid;
+    }
+
+    public void setReportedUuid(UUID reportedUuid) {
+        this.reportedUuid = reportedUuid;
+        this.encodedReportedUuid = null;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        LocalDateTime time = createdAt;
+        if (time == null && encodedCreatedAt != null) {
+            createdAt = time = StorageFormat.decodeDateTime(encodedCreatedAt);
+        }
+        return time;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+        this.encodedCreatedAt = null;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        LocalDateTime time = updatedAt;
+        if (time == null && encodedUpdatedAt != null) {
+            updatedAt = time = StorageFormat.decodeDateTime(encodedUpdatedAt);
+        }
+        return time;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+        this.encodedUpdatedAt = null;
+    }
+
     public UUID getReporter() {
-        return reporterUuid;
+        return getReporterUuid();
     }
 
     public UUID getReported() {
-        return reportedUuid;
+        return getReportedUuid();
     }
 
     public String getCategory() {
@@ -0,0 +1,165 @@
+package dev.aevorinstudios.aevorinReports.reports;
+
+import dev.aevorinstudios.aevorinReports.database.ReportChangeListener;
+import dev.aevorinstudios.aevorinReports.database.ReportRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Merges reports of the same incident into one. The first report against a
+ * player for a category opens a window; reports from other players for the
+ * same player and category arriving before it closes join that report instead
+ * of creating a new one. Joining only increments the report's cluster size and
+ * records the reporter in its history, so staff are notified and a Discord
+ * embed is sent once per incident however many players report it.
+ * <p>
+ * A window closes when it expires, or earlier once staff change the report's
+ * status. Windows only cover reports filed on this server, and rely on the
+ * reported UUID being the resolved player's, not one derived from a typed name.
+ */
+public class ReportDeduplicator implements ReportChangeListener {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ReportRepository repository;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    private record Key(UUID reported, String category) {
+    }
+
+    private enum Outcome {
+        OPENED, JOINED, REPEATED
+    }
+
+    private static final class Window {
+        final CompletableFuture<Report> head = new CompletableFuture<>();
+        final long expiresAt;
+        // Only touched inside ConcurrentHashMap#compute for this window's key
+        final Set<UUID> reporters = new HashSet<>();
+        volatile long reportId = -1;
+
+        Window(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * @param repository    The repository clusters are written through
+     * @param enabled       Whether reports are merged at all
+     * @param windowSeconds How long after the first report others are merged into it
+     */
+    public ReportDeduplicator(ReportRepository repository, boolean enabled, int windowSeconds) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.windowMillis = windowSeconds * 1000L;
+
+        repository.addChangeListener(this);
+    }
+
+    /**
+     * Submit a new report. It either joins an open cluster for the same player
+     * and category, or is created through {@code create} and opens a new one.
+     *
+     * @param report The report to submit
+     * @param create Saves a report that starts a new cluster and sends its notifications
+     * @return The report the submission ended up in
+     */
+    public CompletableFuture<Report> submit(Report report, Function<Report, CompletableFuture<Report>> create) {
+        if (!enabled || report.getReportedUuid() == null || report.getReason() == null) {
+            return create.apply(report);
+        }
+
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> window.expiresAt <= now);
+
+        Key key = new Key(report.getReportedUuid(), category(report.getReason()));
+        UUID reporter = report.getReporterUuid();
+        Outcome[] outcome = new Outcome[1];
+        Window window = windows.compute(key, (k, existing) -> {
+            if (existing != null && existing.expiresAt > now && !existing.head.isCompletedExceptionally()) {
+                // A player already in the cluster doesn't count twice
+                outcome[0] = existing.reporters.add(reporter) ? Outcome.JOINED : Outcome.REPEATED;
+                return existing;
+            }
+            outcome[0] = Outcome.OPENED;
+            Window opened = new Window(now + windowMillis);
+            opened.reporters.add(reporter);
+            return opened;
+        });
+
+        if (outcome[0] == Outcome.OPENED) {
+            return open(key, window, report, create);
+        }
+        if (outcome[0] == Outcome.REPEATED) {
+            return window.head;
+        }
+        return window.head
+                .thenCompose(head -> repository.joinCluster(head, reporter, report.getReporterName()))
+                .thenCompose(head -> {
+                    if (head != null) {
+                        return CompletableFuture.completedFuture(head);
+                    }
+                    // Handled by staff in the meantime, this is a new incident
+                    windows.remove(key, window);
+                    return submit(report, create);
+                });
+    }
+
+    private CompletableFuture<Report> open(Key key, Window window, Report report,
+            Function<Report, CompletableFuture<Report>> create) {
+        create.apply(report).whenComplete((saved, error) -> {
+            if (error != null) {
+                windows.remove(key, window);
+                window.head.completeExceptionally(error);
+                return;
+            }
+            window.reportId = saved.getId();
+            window.head.complete(saved);
+        });
+        return window.head;
+    }
+
+    // Reasons typed with a different case or spacing are the same category
+    private static String category(String reason) {
+        return WHITESPACE.matcher(reason.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private void close(long reportId) {
+        windows.values().removeIf(window -> window.reportId == reportId);
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+    }
+
+    @Override
+    public void onReportUpdated(Report report) {
+    }
+
+    @Override
+    public void onReportStatusChanged(Report report, Report.ReportStatus previous, Report.ReportStatus current) {
+        if (current != Report.ReportStatus.PENDING) {
+            close(report.getId());
+        }
+    }
+
+    @Override
+    public void onReportDeleted(long id) {
+        close(id);
+    }
+
+    @Override
+    public void onReportsArchived(List<Long> ids) {
+        windows.values().removeIf(window -> ids.contains(window.reportId));
+    }
+}
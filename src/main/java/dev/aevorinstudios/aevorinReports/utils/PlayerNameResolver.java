@@ -1,12 +1,26 @@
 package dev.aevorinstudios.aevorinReports.utils;
 
+import dev.aevorinstudios.aevorinReports.database.PlayerNameCache;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class PlayerNameResolver {
+    private static volatile PlayerNameCache cache;
+
+    /**
+     * Set the cache names are served from. Reports loaded through the repository
+     * have their names preloaded, so lookups for them never reach the fallback.
+     *
+     * @param nameCache The name cache, or null to disable it
+     */
+    public static void setCache(PlayerNameCache nameCache) {
+        cache = nameCache;
+    }
+
     public static String resolvePlayerName(UUID uuid) {
         if (uuid == null) return "Unknown";
         
@@ -15,13 +29,41 @@ public class PlayerNameResolver {
         if (player != null) {
             return player.getName();
         }
+
+        PlayerNameCache nameCache = cache;
+        if (nameCache != null) {
+            String cached = nameCache.getCached(uuid);
+            if (cached != null) {
+                return cached;
+            }
+        }
         
         // Fallback to offline player
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
+        if (nameCache != null) {
+            nameCache.put(uuid, offlinePlayer.getName());
+        }
         return offlinePlayer.getName() != null ? offlinePlayer.getName() : "Unknown";
     }
     
+    /**
+     * Resolve a player's name for a report, preferring the name stored with it.
+     * The UUID is only decoded and looked up for reports filed before names were
+     * stored, so listing reports doesn't decode every row's UUIDs.
+     *
+     * @param storedName The name stored with the report, or null
+     * @param uuid       Supplies the player's UUID
+     * @return The player's name
+     */
+    public static String resolvePlayerName(String storedName, Supplier<UUID> uuid) {
+        return storedName != null ? storedName : resolvePlayerName(uuid.get());
+    }
+
     public static CompletableFuture<String> resolvePlayerNameAsync(UUID uuid) {
+        PlayerNameCache nameCache = cache;
+        if (nameCache != null && uuid != null) {
+            return nameCache.resolve(uuid).thenApply(name -> name != null ? name : "Unknown");
+        }
         return CompletableFuture.supplyAsync(() -> resolvePlayerName(uuid));
     }
-}
\ No newline at end of file
+}
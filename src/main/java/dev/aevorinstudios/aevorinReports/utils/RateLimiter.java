@@ -0,0 +1,131 @@
+package dev.aevorinstudios.aevorinReports.utils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cooldowns and rate limits per player and action, safe to use from any
+ * thread. A limit allows a burst of {@code capacity} uses, then one more every
+ * {@code interval}; a plain cooldown is a limit with a capacity of 1.
+ * <p>
+ * Each player and action is tracked by a single timestamp, the time at which
+ * the player's allowance is full again (the generic cell rate algorithm).
+ * Once that time has passed the entry carries no information and is dropped
+ * by a sweep that runs at most once per {@link #SWEEP_INTERVAL_MILLIS}, so
+ * memory is bounded by the players who used an action within its interval.
+ */
+public class RateLimiter {
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final Map<Key, Long> fullAt = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    private record Key(UUID player, String action) {
+    }
+
+    /**
+     * @param action   The action the limit applies to
+     * @param capacity The number of uses allowed in a burst
+     * @param interval The time in milliseconds it takes to regain one use
+     */
+    public record Limit(String action, int capacity, long interval) {
+        public Limit {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be at least 1");
+            }
+            interval = Math.max(0, interval);
+        }
+
+        /**
+         * @param action The action the cooldown applies to
+         * @param millis The time in milliseconds between two uses
+         * @return A limit allowing one use per {@code millis}
+         */
+        public static Limit cooldown(String action, long millis) {
+            return new Limit(action, 1, millis);
+        }
+    }
+
+    /**
+     * Use an action if the limit allows it.
+     *
+     * @param player The player using the action
+     * @param limit  The limit of the action
+     * @return 0 if the action was used, otherwise the milliseconds until it can be
+     */
+    public long tryAcquire(UUID player, Limit limit) {
+        long now = System.currentTimeMillis();
+        sweep(now);
+
+        long[] wait = new long[1];
+        fullAt.compute(new Key(player, limit.action()), (key, current) -> {
+            long full = current != null ? Math.max(current, now) : now;
+            wait[0] = Math.max(0, full - (limit.capacity() - 1) * limit.interval() - now);
+            if (wait[0] > 0) {
+                return current;
+            }
+            return expiring(full + limit.interval(), now);
+        });
+        return wait[0];
+    }
+
+    /**
+     * Check how long until an action can be used, without using it.
+     *
+     * @param player The player using the action
+     * @param limit  The limit of the action
+     * @return 0 if the action can be used now, otherwise the milliseconds until it can be
+     */
+    public long getRemaining(UUID player, Limit limit) {
+        Long full = fullAt.get(new Key(player, limit.action()));
+        if (full == null) {
+            return 0;
+        }
+        return Math.max(0, full - (limit.capacity() - 1) * limit.interval() - System.currentTimeMillis());
+    }
+
+    /**
+     * Record a use of an action regardless of the limit, e.g. once an action
+     * checked with {@link #getRemaining} completes.
+     *
+     * @param player The player using the action
+     * @param limit  The limit of the action
+     */
+    public void record(UUID player, Limit limit) {
+        long now = System.currentTimeMillis();
+        sweep(now);
+        fullAt.compute(new Key(player, limit.action()), (key, current) ->
+                expiring((current != null ? Math.max(current, now) : now) + limit.interval(), now));
+    }
+
+    /**
+     * Forget all limits of a player for an action.
+     *
+     * @param player The player
+     * @param action The action
+     */
+    public void reset(UUID player, String action) {
+        fullAt.remove(new Key(player, action));
+    }
+
+    // An entry that is already full again would be dropped by the next sweep anyway
+    private static Long expiring(long full, long now) {
+        return full > now ? full : null;
+    }
+
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_MILLIS)) {
+            return;
+        }
+        removeExpired(now);
+    }
+
+    // Package-private so the benchmark can time a sweep without waiting for one to be due
+    void removeExpired(long now) {
+        fullAt.values().removeIf(full -> full <= now);
+    }
+}
@@ -15,16 +15,28 @@ public class RegionGuard {
 
     /**
      * Checks if the current server environment is in a restricted region.
+     * Performs a blocking HTTP request, see {@link #isRestrictedLocation()}.
      * @return true if restricted, false otherwise.
      */
     public static boolean isRestricted() {
-        // 1. Check Timezone (Fast, non-network)
+        return isRestrictedTimeZone() || isRestrictedLocation();
+    }
+
+    /**
+     * Checks the server's time zone. Fast, safe to call on the main thread.
+     * @return true if restricted, false otherwise.
+     */
+    public static boolean isRestrictedTimeZone() {
         String tzId = TimeZone.getDefault().getID();
-        if (tzId != null && (tzId.equalsIgnoreCase("Asia/Jerusalem") || tzId.equalsIgnoreCase("Israel"))) {
-            return true;
-        }
+        return tzId != null && (tzId.equalsIgnoreCase("Asia/Jerusalem") || tzId.equalsIgnoreCase("Israel"));
+    }
 
-        // 2. Check IP Geolocation (Requires network)
+    /**
+     * Checks the server's IP geolocation. Blocks for up to a few seconds on the
+     * network, so it must not be called on the main thread.
+     * @return true if restricted, false otherwise.
+     */
+    public static boolean isRestrictedLocation() {
         try {
             URL url = new URL("http://ip-api.com/json/");
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
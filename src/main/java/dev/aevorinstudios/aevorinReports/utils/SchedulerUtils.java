@@ -4,20 +4,93 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
+/**
+ * Schedules tasks on Folia's region schedulers, or on the Bukkit scheduler
+ * everywhere else. The Folia API isn't on the compile classpath, so its
+ * methods are looked up once when the class loads and called through method
+ * handles; scheduling a task costs no reflection.
+ */
 public class SchedulerUtils {
 
-    private static boolean isFolia = false;
+    private static final boolean isFolia = Folia.AVAILABLE;
 
-    static {
-        try {
-            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
-            isFolia = true;
-        } catch (ClassNotFoundException e) {
-            isFolia = false;
+    /**
+     * The Folia scheduler methods. Only loaded on Folia.
+     */
+    private static final class Folia {
+        static final boolean AVAILABLE;
+        static final MethodHandle ENTITY_SCHEDULER;
+        static final MethodHandle ENTITY_RUN;
+        static final MethodHandle ENTITY_RUN_DELAYED;
+        static final MethodHandle GLOBAL_SCHEDULER;
+        static final MethodHandle GLOBAL_RUN;
+        static final MethodHandle ASYNC_SCHEDULER;
+        static final MethodHandle ASYNC_RUN_DELAYED;
+        static final MethodHandle ASYNC_RUN_AT_FIXED_RATE;
+        static final MethodHandle TASK_CANCEL;
+
+        static {
+            boolean available = false;
+            MethodHandle entityScheduler = null, entityRun = null, entityRunDelayed = null, globalScheduler = null,
+                    globalRun = null, asyncScheduler = null, asyncRunDelayed = null, asyncRunAtFixedRate = null,
+                    taskCancel = null;
+            try {
+                Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+                String schedulers = "io.papermc.paper.threadedregions.scheduler.";
+                Class<?> entitySchedulerClass = Class.forName(schedulers + "EntityScheduler");
+                Class<?> globalSchedulerClass = Class.forName(schedulers + "GlobalRegionScheduler");
+                Class<?> asyncSchedulerClass = Class.forName(schedulers + "AsyncScheduler");
+                Class<?> taskClass = Class.forName(schedulers + "ScheduledTask");
+
+                entityScheduler = handle(Entity.class.getMethod("getScheduler"), Entity.class);
+                entityRun = handle(entitySchedulerClass.getMethod("run", Plugin.class, Consumer.class, Runnable.class),
+                        Object.class, Plugin.class, Consumer.class, Runnable.class);
+                entityRunDelayed = handle(entitySchedulerClass.getMethod("runDelayed", Plugin.class, Consumer.class,
+                        Runnable.class, long.class), Object.class, Plugin.class, Consumer.class, Runnable.class, long.class);
+                globalScheduler = handle(Bukkit.class.getMethod("getGlobalRegionScheduler"));
+                globalRun = handle(globalSchedulerClass.getMethod("run", Plugin.class, Consumer.class),
+                        Object.class, Plugin.class, Consumer.class);
+                asyncScheduler = handle(Bukkit.class.getMethod("getAsyncScheduler"));
+                asyncRunDelayed = handle(asyncSchedulerClass.getMethod("runDelayed", Plugin.class, Consumer.class,
+                        long.class, TimeUnit.class), Object.class, Plugin.class, Consumer.class, long.class, TimeUnit.class);
+                asyncRunAtFixedRate = handle(asyncSchedulerClass.getMethod("runAtFixedRate", Plugin.class,
+                        Consumer.class, long.class, long.class, TimeUnit.class),
+                        Object.class, Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
+                taskCancel = handle(taskClass.getMethod("cancel"), Object.class);
+                available = true;
+            } catch (ClassNotFoundException e) {
+                // Not Folia
+            } catch (ReflectiveOperationException e) {
+                Bukkit.getLogger().log(Level.SEVERE, "[AevorinReports] Unsupported Folia scheduler API", e);
+            }
+            AVAILABLE = available;
+            ENTITY_SCHEDULER = entityScheduler;
+            ENTITY_RUN = entityRun;
+            ENTITY_RUN_DELAYED = entityRunDelayed;
+            GLOBAL_SCHEDULER = globalScheduler;
+            GLOBAL_RUN = globalRun;
+            ASYNC_SCHEDULER = asyncScheduler;
+            ASYNC_RUN_DELAYED = asyncRunDelayed;
+            ASYNC_RUN_AT_FIXED_RATE = asyncRunAtFixedRate;
+            TASK_CANCEL = taskCancel;
+        }
+
+        // Erase the Folia types, so call sites can use invokeExact without referencing them
+        private static MethodHandle handle(Method method, Class<?>... parameters) throws IllegalAccessException {
+            return MethodHandles.publicLookup().unreflect(method)
+                    .asType(MethodType.methodType(Object.class, parameters));
         }
     }
 
@@ -29,38 +102,44 @@ public class SchedulerUtils {
      * Schedules a task to run on the entity's current region.
      * If not on Folia, falls back to the main Bukkit scheduler.
      */
-    public static void runTask(Plugin plugin, Entity entity, Runnable task) {
-        if (isFolia) {
-            try {
-                Object scheduler = entity.getClass().getMethod("getScheduler").invoke(entity);
-                Method runMethod = scheduler.getClass().getMethod("run", Plugin.class, Consumer.class, Runnable.class);
-                runMethod.invoke(scheduler, plugin, (Consumer<Object>) t -> task.run(), null);
-            } catch (Exception e) {
-                e.printStackTrace();
-                // Fallback catch-all, though mostly shouldn't happen if isFolia is true
-                Bukkit.getScheduler().runTask(plugin, task);
-            }
-        } else {
-            Bukkit.getScheduler().runTask(plugin, task);
+    public static TaskHandle runTask(Plugin plugin, Entity entity, Runnable task) {
+        return runTask(plugin, entity, new TaskHandle(task, null));
+    }
+
+    private static TaskHandle runTask(Plugin plugin, Entity entity, TaskHandle handle) {
+        if (!isFolia) {
+            return handle.bind(Bukkit.getScheduler().runTask(plugin, (Runnable) handle));
+        }
+        Object scheduled;
+        try {
+            Object scheduler = (Object) Folia.ENTITY_SCHEDULER.invokeExact(entity);
+            scheduled = (Object) Folia.ENTITY_RUN.invokeExact(scheduler, plugin, (Consumer<?>) handle,
+                    handle.retiredCallback());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+        if (scheduled == null) {
+            // The entity was already removed
+            handle.retire();
         }
+        return handle.bind(scheduled);
     }
 
     /**
      * Schedules a task to run on the entity's current region after a delay.
      * If not on Folia, falls back to the main Bukkit scheduler.
      */
-    public static void runTaskLater(Plugin plugin, Entity entity, Runnable task, long delayTicks) {
-        if (isFolia) {
-            try {
-                Object scheduler = entity.getClass().getMethod("getScheduler").invoke(entity);
-                Method runDelayedMethod = scheduler.getClass().getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class);
-                runDelayedMethod.invoke(scheduler, plugin, (Consumer<Object>) t -> task.run(), null, delayTicks);
-            } catch (Exception e) {
-                e.printStackTrace();
-                Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
-            }
-        } else {
-            Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+    public static TaskHandle runTaskLater(Plugin plugin, Entity entity, Runnable task, long delayTicks) {
+        TaskHandle handle = new TaskHandle(task, null);
+        if (!isFolia) {
+            return handle.bind(Bukkit.getScheduler().runTaskLater(plugin, (Runnable) handle, delayTicks));
+        }
+        try {
+            Object scheduler = (Object) Folia.ENTITY_SCHEDULER.invokeExact(entity);
+            return handle.bind((Object) Folia.ENTITY_RUN_DELAYED.invokeExact(scheduler, plugin, (Consumer<?>) handle,
+                    (Runnable) null, delayTicks));
+        } catch (Throwable e) {
+            throw rethrow(e);
         }
     }
 
@@ -68,18 +147,16 @@ public class SchedulerUtils {
      * Schedules a task to run on the global region.
      * Use this for tasks that don't involve a specific world or entity, or are truly global.
      */
-    public static void runGlobalTask(Plugin plugin, Runnable task) {
-        if (isFolia) {
-            try {
-                Object globalScheduler = Bukkit.class.getMethod("getGlobalRegionScheduler").invoke(null);
-                Method runMethod = globalScheduler.getClass().getMethod("run", Plugin.class, Consumer.class);
-                runMethod.invoke(globalScheduler, plugin, (Consumer<Object>) t -> task.run());
-            } catch (Exception e) {
-                e.printStackTrace();
-                Bukkit.getScheduler().runTask(plugin, task);
-            }
-        } else {
-            Bukkit.getScheduler().runTask(plugin, task);
+    public static TaskHandle runGlobalTask(Plugin plugin, Runnable task) {
+        TaskHandle handle = new TaskHandle(task, null);
+        if (!isFolia) {
+            return handle.bind(Bukkit.getScheduler().runTask(plugin, (Runnable) handle));
+        }
+        try {
+            Object scheduler = (Object) Folia.GLOBAL_SCHEDULER.invokeExact();
+            return handle.bind((Object) Folia.GLOBAL_RUN.invokeExact(scheduler, plugin, (Consumer<?>) handle));
+        } catch (Throwable e) {
+            throw rethrow(e);
         }
     }
 
@@ -88,37 +165,101 @@ public class SchedulerUtils {
      * Note: Bukkit's async scheduler works on Folia effectively the same for general purpose async tasks.
      * However, Folia has an AsyncScheduler, but Bukkit's is also supported.
      */
-    public static void runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period) {
-        if (isFolia) {
-            try {
-                Object asyncScheduler = Bukkit.class.getMethod("getAsyncScheduler").invoke(null);
-                Method runMethod = asyncScheduler.getClass().getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
-                // Convert ticks to milliseconds (50ms per tick)
-                runMethod.invoke(asyncScheduler, plugin, (Consumer<Object>) t -> task.run(), delay * 50, period * 50, TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        } else {
+    public static TaskHandle runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period) {
+        TaskHandle handle = new TaskHandle(task, null);
+        if (!isFolia) {
             // Bukkit's async scheduler is compatible
-            Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period);
+            return handle.bind(Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, (Runnable) handle, delay, period));
+        }
+        try {
+            Object scheduler = (Object) Folia.ASYNC_SCHEDULER.invokeExact();
+            // Convert ticks to milliseconds (50ms per tick)
+            return handle.bind((Object) Folia.ASYNC_RUN_AT_FIXED_RATE.invokeExact(scheduler, plugin, (Consumer<?>) handle,
+                    delay * 50, period * 50, TimeUnit.MILLISECONDS));
+        } catch (Throwable e) {
+            throw rethrow(e);
         }
     }
-    
+
     /**
      * Schedules a delayed async task.
      */
-    public static void runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay) {
-        if (isFolia) {
-            try {
-                Object asyncScheduler = Bukkit.class.getMethod("getAsyncScheduler").invoke(null);
-                Method runMethod = asyncScheduler.getClass().getMethod("runDelayed", Plugin.class, Consumer.class, long.class, TimeUnit.class);
-                // Convert ticks to milliseconds (50ms per tick)
-                runMethod.invoke(asyncScheduler, plugin, (Consumer<Object>) t -> task.run(), delay * 50, TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        } else {
-            Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, task, delay);
+    public static TaskHandle runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay) {
+        TaskHandle handle = new TaskHandle(task, null);
+        if (!isFolia) {
+            return handle.bind(Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, (Runnable) handle, delay));
+        }
+        try {
+            Object scheduler = (Object) Folia.ASYNC_SCHEDULER.invokeExact();
+            // Convert ticks to milliseconds (50ms per tick)
+            return handle.bind((Object) Folia.ASYNC_RUN_DELAYED.invokeExact(scheduler, plugin, (Consumer<?>) handle,
+                    delay * 50, TimeUnit.MILLISECONDS));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Computes a value on the entity's current region.
+     *
+     * @return A future completed with the value, or cancelled if the entity is removed first
+     */
+    public static <T> CompletableFuture<T> supplyTask(Plugin plugin, Entity entity, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        runTask(plugin, entity, new TaskHandle(() -> complete(future, task),
+                () -> future.completeExceptionally(new CancellationException("Entity was removed"))));
+        return future;
+    }
+
+    /**
+     * Computes a value on the global region.
+     *
+     * @return A future completed with the value
+     */
+    public static <T> CompletableFuture<T> supplyGlobal(Plugin plugin, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        runGlobalTask(plugin, () -> complete(future, task));
+        return future;
+    }
+
+    /**
+     * An executor running tasks on the global region, for the async stages of a {@link CompletableFuture}.
+     */
+    public static Executor globalExecutor(Plugin plugin) {
+        return task -> runGlobalTask(plugin, task);
+    }
+
+    /**
+     * An executor running tasks on the entity's current region, for the async stages of a
+     * {@link CompletableFuture}. Tasks are dropped if the entity is removed.
+     */
+    public static Executor entityExecutor(Plugin plugin, Entity entity) {
+        return task -> runTask(plugin, entity, task);
+    }
+
+    static void cancelFoliaTask(Object scheduledTask) {
+        try {
+            Object ignored = (Object) Folia.TASK_CANCEL.invokeExact(scheduledTask);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> task) {
+        try {
+            future.complete(task.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
         }
+        throw new IllegalStateException("Failed to schedule task", e);
     }
 }
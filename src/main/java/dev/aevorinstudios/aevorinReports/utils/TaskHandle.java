@@ -0,0 +1,81 @@
+package dev.aevorinstudios.aevorinReports.utils;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
+
+/**
+ * A task scheduled through {@link SchedulerUtils}, on either the Bukkit or the
+ * Folia scheduler. The handle is also the callback handed to the scheduler, so
+ * scheduling a task allocates nothing else.
+ */
+public final class TaskHandle implements Runnable, Consumer<Object> {
+    private final Runnable task;
+    private final Runnable retired;
+    // The BukkitTask or Folia ScheduledTask, once scheduled
+    private volatile Object scheduled;
+    private volatile boolean cancelled;
+
+    TaskHandle(Runnable task, Runnable retired) {
+        this.task = task;
+        this.retired = retired;
+    }
+
+    /**
+     * Cancel the task. A task that is already running finishes, but a repeating
+     * task doesn't run again.
+     */
+    public void cancel() {
+        cancelled = true;
+        cancelScheduled(scheduled);
+    }
+
+    /**
+     * @return true if the task was cancelled, or will never run because its entity was removed
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void run() {
+        if (!cancelled) {
+            task.run();
+        }
+    }
+
+    // Folia passes its ScheduledTask to the callback
+    @Override
+    public void accept(Object scheduledTask) {
+        run();
+    }
+
+    // Only handed to Folia when someone is waiting for the task
+    Runnable retiredCallback() {
+        return retired != null ? this::retire : null;
+    }
+
+    void retire() {
+        cancelled = true;
+        if (retired != null) {
+            retired.run();
+        }
+    }
+
+    TaskHandle bind(Object scheduledTask) {
+        scheduled = scheduledTask;
+        // Cancelled before the scheduler returned
+        if (cancelled) {
+            cancelScheduled(scheduledTask);
+        }
+        return this;
+    }
+
+    private static void cancelScheduled(Object scheduledTask) {
+        if (scheduledTask instanceof BukkitTask bukkitTask) {
+            bukkitTask.cancel();
+        } else if (scheduledTask != null) {
+            SchedulerUtils.cancelFoliaTask(scheduledTask);
+        }
+    }
+}
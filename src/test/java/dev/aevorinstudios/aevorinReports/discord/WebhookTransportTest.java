@@ -0,0 +1,229 @@
+package dev.aevorinstudios.aevorinReports.discord;
+
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link WebhookTransport} and {@link DiscordOutboundQueue} against a local HTTP
+ * stub standing in for a Discord webhook.
+ */
+class WebhookTransportTest {
+    private static final String PATH = "/api/webhooks/123/token";
+
+    @TempDir
+    Path spoolDir;
+
+    private HttpServer server;
+    private final BlockingQueue<Response> responses = new LinkedBlockingQueue<>();
+    private final List<Request> requests = Collections.synchronizedList(new ArrayList<>());
+    private final BlockingQueue<Request> received = new LinkedBlockingQueue<>();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private DiscordOutboundQueue queue;
+
+    private record Response(int status, Map<String, String> headers, String body) {
+    }
+
+    private record Request(String method, String query, int embeds, long at) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        if (queue != null) {
+            queue.stop();
+        }
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        int embeds = body.isEmpty() ? 0 : JsonParser.parseString(body).getAsJsonObject().getAsJsonArray("embeds").size();
+        Request request = new Request(exchange.getRequestMethod(), exchange.getRequestURI().getRawQuery(), embeds,
+                System.currentTimeMillis());
+        requests.add(request);
+        received.add(request);
+        try {
+            gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Response response = responses.poll();
+        if (response == null) {
+            response = new Response(200, Map.of("X-RateLimit-Remaining", "4", "X-RateLimit-Reset-After", "1"),
+                    "{\"id\":\"" + requests.size() + "\"}");
+        }
+        response.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+        byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(response.status(), bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void readsTheMessageIdAndRateLimitBucket() {
+        responses.add(new Response(200, Map.of("X-RateLimit-Remaining", "0", "X-RateLimit-Reset-After", "1.5"),
+                "{\"id\":\"987\"}"));
+
+        DiscordTransport.Result result = transport("").deliver(List.of(embed("Report #1")));
+
+        assertEquals(DiscordTransport.Outcome.SENT, result.outcome());
+        assertEquals("987", result.messageId());
+        assertEquals(0, result.remaining());
+        assertEquals(1500, result.resetAfterMillis());
+        assertEquals("POST", requests.get(0).method());
+        assertEquals("wait=true", requests.get(0).query());
+    }
+
+    @Test
+    void keepsTheQueryOfTheConfiguredUrl() {
+        transport("?thread_id=55").deliver(List.of(embed("Report #1")));
+
+        assertEquals("thread_id=55&wait=true", requests.get(0).query());
+    }
+
+    @Test
+    void honoursRetryAfterOn429() {
+        responses.add(new Response(429, Map.of("Retry-After", "0.25"), "{\"retry_after\":0.25}"));
+
+        DiscordTransport.Result result = transport("").deliver(List.of(embed("Report #1")));
+
+        assertEquals(DiscordTransport.Outcome.RETRY, result.outcome());
+        assertEquals(250, result.retryAfterMillis());
+    }
+
+    @Test
+    void retriesServerErrorsAndRejectsBadRequests() {
+        responses.add(new Response(502, Map.of(), ""));
+        responses.add(new Response(400, Map.of(), "{\"message\":\"Invalid Form Body\"}"));
+        WebhookTransport transport = transport("");
+
+        assertEquals(DiscordTransport.Outcome.RETRY, transport.deliver(List.of(embed("Report #1"))).outcome());
+        assertEquals(DiscordTransport.Outcome.REJECTED, transport.deliver(List.of(embed("Report #1"))).outcome());
+    }
+
+    @Test
+    void queueWaitsForRetryAfterBeforeSendingAgain() throws InterruptedException {
+        responses.add(new Response(429, Map.of("Retry-After", "0.3"), ""));
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sent = new CountDownLatch(1);
+        startQueue().setListener(new DiscordOutboundQueue.Listener() {
+            @Override
+            public void onSent(List<Long> reportIds, String messageId) {
+                delivered.add(reportIds + "@" + messageId);
+                sent.countDown();
+            }
+
+            @Override
+            public void onFailed(long reportId) {
+            }
+        });
+
+        queue.add(embed("Report #7"), 7);
+
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertEquals(2, requests.size());
+        assertTrue(requests.get(1).at() - requests.get(0).at() >= 290,
+                "Sent again after " + (requests.get(1).at() - requests.get(0).at()) + " ms");
+        assertEquals(List.of("[7]@2"), delivered);
+    }
+
+    @Test
+    void packsAtMostTenEmbedsPerMessage() throws InterruptedException {
+        holdFirstRequest();
+        for (int i = 1; i <= 12; i++) {
+            queue.add(embed("Report #" + i));
+        }
+        gate.countDown();
+
+        assertEquals(List.of(1, 10, 2), embedsPerRequest(3));
+    }
+
+    @Test
+    void packsNoMoreThanTheEmbedLengthLimit() throws InterruptedException {
+        holdFirstRequest();
+        // Two fit in one message, a third would go over the limit
+        String description = "x".repeat(DiscordTransport.Limits.MAX_EMBED_LENGTH * 2 / 5);
+        for (int i = 1; i <= 3; i++) {
+            queue.add(new EmbedBuilder().setTitle("Report #" + i).setDescription(description).build());
+        }
+        gate.countDown();
+
+        assertEquals(List.of(1, 2, 1), embedsPerRequest(3));
+    }
+
+    // Queue one embed and keep its request open, so the next ones pile up behind it
+    private void holdFirstRequest() throws InterruptedException {
+        gate = new CountDownLatch(1);
+        startQueue();
+        queue.add(embed("Report #0"));
+        assertNotNull(received.poll(5, TimeUnit.SECONDS));
+    }
+
+    private List<Integer> embedsPerRequest(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (requests.size() < count && System.currentTimeMillis() < deadline) {
+            received.poll(100, TimeUnit.MILLISECONDS);
+        }
+        List<Integer> embeds = new ArrayList<>();
+        synchronized (requests) {
+            for (Request request : requests) {
+                embeds.add(request.embeds());
+            }
+        }
+        return embeds;
+    }
+
+    private DiscordOutboundQueue startQueue() {
+        queue = new DiscordOutboundQueue("test", transport(""), spoolDir.resolve("test.json"),
+                Logger.getLogger("WebhookTransportTest"));
+        queue.start();
+        return queue;
+    }
+
+    private WebhookTransport transport(String query) {
+        return new WebhookTransport(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + PATH + query),
+                "AevorinReports-Test");
+    }
+
+    private static MessageEmbed embed(String title) {
+        return new EmbedBuilder().setTitle(title).setDescription("Reported for cheating").build();
+    }
+}
@@ -0,0 +1,159 @@
+package dev.aevorinstudios.aevorinReports.messaging;
+
+import dev.aevorinstudios.aevorinReports.reports.Report;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two buses, "a" and "b", connected through the {@link LoopbackTransport}.
+ */
+class NotificationBusTest {
+    private static final long BATCH_WINDOW_MILLIS = 50;
+    private static final long RETRY_DELAY_MILLIS = 200;
+
+    private final BlockingQueue<List<StaffNotification>> shownOnA = new LinkedBlockingQueue<>();
+    private final BlockingQueue<List<StaffNotification>> shownOnB = new LinkedBlockingQueue<>();
+    private NotificationBus a;
+    private NotificationBus b;
+
+    @BeforeEach
+    void setUp() {
+        b = new NotificationBus(null, new LoopbackTransport(), shownOnB::add, "b", BATCH_WINDOW_MILLIS,
+                RETRY_DELAY_MILLIS);
+        b.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (a != null) {
+            a.shutdown();
+        }
+        b.shutdown();
+    }
+
+    @Test
+    void sendsChangesWithinTheWindowAsOneBatch() throws InterruptedException {
+        startA(new LoopbackTransport());
+
+        a.publish(created(1));
+        a.publish(created(2));
+        a.publish(created(3));
+
+        // Shown on the sending server right away, one by one
+        assertEquals(List.of(created(1)), shownOnA.poll());
+        assertEquals(List.of(created(2)), shownOnA.poll());
+        assertEquals(List.of(created(3)), shownOnA.poll());
+
+        assertEquals(List.of(created(1), created(2), created(3)), shownOnB.poll(2, TimeUnit.SECONDS));
+        assertNull(shownOnB.poll(4 * BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void keepsOnlyTheLatestChangePerTypeAndReport() throws InterruptedException {
+        startA(new LoopbackTransport());
+
+        a.publish(created(1));
+        a.publish(statusChanged(1, Report.ReportStatus.RESOLVED));
+        a.publish(created(2));
+        a.publish(statusChanged(1, Report.ReportStatus.REJECTED));
+
+        assertEquals(List.of(created(1), created(2), statusChanged(1, Report.ReportStatus.REJECTED)),
+                shownOnB.poll(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void retriesABatchThatCouldNotBeSent() throws InterruptedException {
+        FailingOnce transport = new FailingOnce();
+        startA(transport);
+
+        a.publish(created(1));
+        assertTrue(transport.failed.await(2, TimeUnit.SECONDS));
+        // Queued while the failed batch waits for its retry
+        a.publish(created(2));
+
+        List<StaffNotification> received = new ArrayList<>();
+        while (received.size() < 2) {
+            List<StaffNotification> batch = shownOnB.poll(2, TimeUnit.SECONDS);
+            assertNotNull(batch, "Batch was not retried");
+            received.addAll(batch);
+        }
+        // The retried batch goes first, so newer changes are never overtaken
+        assertEquals(List.of(created(1), created(2)), received);
+        assertEquals(2, transport.attempts.get());
+    }
+
+    @Test
+    void dropsNotificationsFromItsOwnServer() throws InterruptedException {
+        startA(new LoopbackTransport());
+
+        b.publish(new StaffNotification(StaffNotification.Type.REPORT_CREATED, 1, "Reporter", "Reported",
+                "Cheating", Report.ReportStatus.PENDING, null, "b"));
+
+        assertEquals(1, shownOnB.poll().size());
+        assertNull(shownOnB.poll(4 * BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    private void startA(NotificationTransport transport) {
+        a = new NotificationBus(null, transport, shownOnA::add, "a", BATCH_WINDOW_MILLIS, RETRY_DELAY_MILLIS);
+        a.start();
+    }
+
+    private static StaffNotification created(long id) {
+        return new StaffNotification(StaffNotification.Type.REPORT_CREATED, id, "Reporter", "Reported", "Cheating",
+                Report.ReportStatus.PENDING, null, "a");
+    }
+
+    private static StaffNotification statusChanged(long id, Report.ReportStatus status) {
+        return new StaffNotification(StaffNotification.Type.STATUS_CHANGED, id, "Reporter", "Reported", "Cheating",
+                status, "Staff", "a");
+    }
+
+    /**
+     * A loopback transport whose first publish fails.
+     */
+    private static final class FailingOnce implements NotificationTransport {
+        private final LoopbackTransport loopback = new LoopbackTransport();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final CountDownLatch failed = new CountDownLatch(1);
+
+        @Override
+        public void start(Consumer<List<StaffNotification>> receiver) {
+            loopback.start(receiver);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> publish(List<StaffNotification> batch) {
+            if (attempts.incrementAndGet() == 1) {
+                failed.countDown();
+                return CompletableFuture.completedFuture(false);
+            }
+            return loopback.publish(batch);
+        }
+
+        @Override
+        public void stop() {
+            loopback.stop();
+        }
+
+        @Override
+        public String getName() {
+            return "failing-once";
+        }
+    }
+}